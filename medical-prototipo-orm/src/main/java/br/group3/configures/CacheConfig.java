@@ -0,0 +1,67 @@
+package br.group3.configures;
+
+import br.group3.modules.cache.CacheEntidades;
+import br.group3.modules.cache.CamadaRedis;
+import br.group3.modules.medico.Medico;
+import br.group3.modules.paciente.Paciente;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuração dos caches das buscas por ID.
+ * <p>Médicos quase não mudam e ficam mais tempo em cache; pacientes são relidos muitas vezes
+ * durante uma consulta, mas mudam com mais frequência.</p>
+ *
+ * @author Grupo 3
+ * @see CacheEntidades
+ */
+@Configuration
+public class CacheConfig {
+
+    /**
+     * Cache das buscas de pacientes por ID.
+     *
+     * @param maximo A quantidade máxima de pacientes no cache local, lida de {@code cache.paciente.maximo}.
+     * @param validade O tempo de vida das entradas, lido de {@code cache.paciente.validade}.
+     * @param redis A {@link CamadaRedis} compartilhada.
+     * @param objectMapper O {@link ObjectMapper} da aplicação.
+     * @param registro O {@link MeterRegistry} da aplicação.
+     * @return O {@link CacheEntidades} de pacientes.
+     */
+    @Bean
+    public CacheEntidades<Paciente> cachePacientes(@Value("${cache.paciente.maximo:10000}") long maximo,
+                                                   @Value("${cache.paciente.validade:5m}") Duration validade,
+                                                   CamadaRedis redis, ObjectMapper objectMapper,
+                                                   MeterRegistry registro) {
+        return new CacheEntidades<>("paciente", Paciente.class,
+                p -> new Paciente(p.getIdPaciente(), p.getNomeCompleto(), p.getDataNascimento(),
+                        p.getCpf(), p.getEndereco(), p.getTelefone(), p.getVersao()),
+                maximo, validade, redis, objectMapper, registro);
+    }
+
+    /**
+     * Cache das buscas de médicos por ID.
+     *
+     * @param maximo A quantidade máxima de médicos no cache local, lida de {@code cache.medico.maximo}.
+     * @param validade O tempo de vida das entradas, lido de {@code cache.medico.validade}.
+     * @param redis A {@link CamadaRedis} compartilhada.
+     * @param objectMapper O {@link ObjectMapper} da aplicação.
+     * @param registro O {@link MeterRegistry} da aplicação.
+     * @return O {@link CacheEntidades} de médicos.
+     */
+    @Bean
+    public CacheEntidades<Medico> cacheMedicos(@Value("${cache.medico.maximo:5000}") long maximo,
+                                               @Value("${cache.medico.validade:30m}") Duration validade,
+                                               CamadaRedis redis, ObjectMapper objectMapper,
+                                               MeterRegistry registro) {
+        return new CacheEntidades<>("medico", Medico.class,
+                m -> new Medico(m.getIdMedico(), m.getNomeCompleto(), m.getCrm(),
+                        m.getTelefone(), m.getEmail(), m.getEspecialidade(), m.getVersao()),
+                maximo, validade, redis, objectMapper, registro);
+    }
+}
@@ -0,0 +1,84 @@
+package br.group3.configures;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Geradores de ID de pacientes, médicos e exames de prontuário.
+ * <p>Com {@code GenerationType.IDENTITY} o ID só existe depois do INSERT, então o Hibernate
+ * precisa executar cada INSERT na hora e não consegue agrupá-los em lotes JDBC. Por isso as
+ * três entidades reservam IDs em blocos de {@value #TAMANHO_ALOCACAO} na tabela {@value #TABELA}
+ * (otimizador {@code pooled} do Hibernate): um acesso à tabela atende {@value #TAMANHO_ALOCACAO}
+ * inserções, que vão ao banco em lotes ({@code hibernate.jdbc.batch_size}).</p>
+ * <p>Na partida, o próximo valor de cada gerador é levado para depois do maior ID já gravado,
+ * para que bancos criados com AUTO_INCREMENT (ou alimentados fora da aplicação) não gerem
+ * IDs repetidos.</p>
+ *
+ * @author Grupo 3
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class GeradoresId implements InitializingBean {
+
+    /**
+     * Tabela que guarda o próximo valor de cada gerador.
+     */
+    public static final String TABELA = "gerador_id";
+
+    /**
+     * Coluna com o nome do gerador.
+     */
+    public static final String COLUNA_NOME = "entidade";
+
+    /**
+     * Coluna com o próximo valor do gerador.
+     */
+    public static final String COLUNA_VALOR = "proximo_id";
+
+    /**
+     * Quantidade de IDs reservados a cada acesso à tabela {@value #TABELA}.
+     */
+    public static final int TAMANHO_ALOCACAO = 50;
+
+    private record Gerador(String nome, String tabela, String colunaId) {
+    }
+
+    private static final List<Gerador> GERADORES = List.of(
+            new Gerador("paciente", "paciente", "id_paciente"),
+            new Gerador("medico", "medico", "id_medico"),
+            new Gerador("prontuario_exame", "prontuario_exame", "id_exame"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Construtor para injeção de dependência do {@link JdbcTemplate}.
+     * <p>Depende do {@code entityManagerFactory} para rodar depois que o Hibernate criou as tabelas.</p>
+     *
+     * @param jdbcTemplate O {@link JdbcTemplate} da aplicação.
+     */
+    @Autowired
+    public GeradoresId(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Cria a linha de cada gerador, se faltar, e a avança para depois do maior ID existente.
+     * <p>O otimizador {@code pooled} entrega os IDs do bloco que termina no valor lido, então o
+     * valor precisa ficar pelo menos {@value #TAMANHO_ALOCACAO} acima do maior ID.</p>
+     */
+    @Override
+    public void afterPropertiesSet() {
+        for (Gerador gerador : GERADORES) {
+            jdbcTemplate.update("INSERT IGNORE INTO " + TABELA + " (" + COLUNA_NOME + ", " + COLUNA_VALOR
+                    + ") VALUES (?, 0)", gerador.nome());
+            jdbcTemplate.update("UPDATE " + TABELA + " SET " + COLUNA_VALOR + " = GREATEST(" + COLUNA_VALOR
+                    + ", (SELECT COALESCE(MAX(" + gerador.colunaId() + "), 0) FROM " + gerador.tabela() + ") + ?)"
+                    + " WHERE " + COLUNA_NOME + " = ?", TAMANHO_ALOCACAO, gerador.nome());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package br.group3.configures;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Configuração da execução das importações em massa.
+ *
+ * @author Grupo 3
+ */
+@Configuration
+public class ImportacaoConfig {
+
+    /**
+     * Executor das importações em massa.
+     * <p>Uma thread só: importações enviadas ao mesmo tempo esperam na fila em vez de disputar
+     * o banco entre si. A validação de cada lote já usa vários núcleos.</p>
+     *
+     * @return Um {@link ExecutorService} de uma thread, encerrado junto com o contexto do Spring.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService executorImportacao() {
+        return Executors.newSingleThreadExecutor(Thread.ofPlatform().name("importacao").daemon().factory());
+    }
+}
@@ -0,0 +1,32 @@
+package br.group3.configures;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import redis.clients.jedis.JedisPooled;
+
+/**
+ * Configuração do acesso ao Redis usado pelo relay do outbox.
+ * <p>Também habilita o agendamento de tarefas do Spring, necessário para o
+ * {@link br.group3.modules.outbox.OutboxRelay}.</p>
+ *
+ * @author Grupo 3
+ */
+@Configuration
+@EnableScheduling
+public class RedisConfig {
+
+    /**
+     * Cliente Redis com pool de conexões, compartilhado pela aplicação.
+     *
+     * @param host O host do Redis, lido de {@code redis.host}.
+     * @param porta A porta do Redis, lida de {@code redis.porta}.
+     * @return Uma instância de {@link JedisPooled}, fechada junto com o contexto do Spring.
+     */
+    @Bean(destroyMethod = "close")
+    public JedisPooled jedisPooled(@Value("${redis.host:localhost}") String host,
+                                   @Value("${redis.porta:6379}") int porta) {
+        return new JedisPooled(host, porta);
+    }
+}
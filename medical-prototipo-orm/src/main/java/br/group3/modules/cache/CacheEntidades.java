@@ -0,0 +1,186 @@
+package br.group3.modules.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import redis.clients.jedis.exceptions.JedisException;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cache de entidades por ID em duas camadas, usado nas buscas por ID de pacientes e médicos.
+ * <p>A primeira camada é um cache Caffeine local, limitado em quantidade e com expiração após a
+ * escrita. A segunda, opcional, é o Redis ({@link CamadaRedis}), compartilhado entre as instâncias:
+ * uma instância recém-iniciada encontra lá o que as outras já leram do banco. Só entidades
+ * encontradas são guardadas; uma busca por ID inexistente vai sempre ao banco.</p>
+ * <p>O cache local guarda cópias: quem recebe a entidade pode alterá-la sem afetar o que está em
+ * cache. As alterações invalidam as duas camadas depois do commit, e a invalidação é publicada
+ * para as outras instâncias. Uma leitura concorrente com a alteração ainda pode recolocar o valor
+ * antigo; a expiração limita esse caso.</p>
+ * <p>Métricas: as do Caffeine ({@code cache.gets}, {@code cache.evictions}, ...), o contador
+ * {@code cache.redis.gets} por resultado e o gauge {@code cache.razao.acerto} por camada, todos
+ * com a tag {@code cache}.</p>
+ *
+ * @param <V> O tipo da entidade.
+ * @author Grupo 3
+ */
+public class CacheEntidades<V> {
+
+    private final String nome;
+    private final Class<V> tipo;
+    private final UnaryOperator<V> copiar;
+    private final Duration validade;
+    private final CamadaRedis redis;
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, V> local;
+    private final Counter acertosRedis;
+    private final Counter faltasRedis;
+    private final Counter errosRedis;
+
+    /**
+     * Cria o cache e registra suas métricas.
+     *
+     * @param nome O nome do cache, usado nas chaves do Redis, nas invalidações e nas métricas.
+     * @param tipo A classe da entidade, para ler o JSON guardado no Redis.
+     * @param copiar Cria uma cópia independente da entidade.
+     * @param maximoLocal A quantidade máxima de entidades no cache local.
+     * @param validade O tempo de vida das entradas, nas duas camadas.
+     * @param redis A {@link CamadaRedis} compartilhada.
+     * @param objectMapper O {@link ObjectMapper} usado no JSON guardado no Redis.
+     * @param registro O {@link MeterRegistry} onde as métricas são publicadas.
+     */
+    public CacheEntidades(String nome, Class<V> tipo, UnaryOperator<V> copiar, long maximoLocal, Duration validade,
+                          CamadaRedis redis, ObjectMapper objectMapper, MeterRegistry registro) {
+        this.nome = nome;
+        this.tipo = tipo;
+        this.copiar = copiar;
+        this.validade = validade;
+        this.redis = redis;
+        this.objectMapper = objectMapper;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(maximoLocal)
+                .expireAfterWrite(validade)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(registro, local, nome);
+        Counter acertos = contador(registro, nome, "acerto");
+        Counter faltas = contador(registro, nome, "falta");
+        this.acertosRedis = acertos;
+        this.faltasRedis = faltas;
+        this.errosRedis = contador(registro, nome, "erro");
+        Gauge.builder("cache.razao.acerto", local, cache -> cache.stats().hitRate())
+                .tag("cache", nome).tag("camada", "local")
+                .register(registro);
+        // Sobre os contadores, não sobre 'this': o gauge guarda a referência antes de o objeto ficar pronto
+        Gauge.builder("cache.razao.acerto", () -> razaoAcerto(acertos, faltas))
+                .tag("cache", nome).tag("camada", "redis")
+                .register(registro);
+
+        redis.registrar(nome, local::invalidate, local::invalidateAll);
+    }
+
+    /**
+     * Busca uma entidade pelo ID: no cache local, depois no Redis e, por fim, no banco.
+     *
+     * @param id O ID da entidade.
+     * @param carregar Busca a entidade no banco quando ela não está em cache.
+     * @return Um {@link Optional} com a entidade, ou vazio se ela não existir.
+     */
+    public Optional<V> buscar(Long id, Function<Long, Optional<V>> carregar) {
+        V emCache = local.getIfPresent(id);
+        if (emCache != null) {
+            return Optional.of(copiar.apply(emCache));
+        }
+        V valor = lerRedis(id);
+        if (valor == null) {
+            Optional<V> doBanco = carregar.apply(id);
+            if (doBanco.isEmpty()) {
+                return doBanco;
+            }
+            valor = doBanco.get();
+            gravarRedis(id, valor);
+        }
+        local.put(id, copiar.apply(valor));
+        return Optional.of(valor);
+    }
+
+    /**
+     * Invalida a entidade nas duas camadas e nas outras instâncias.
+     * <p>Dentro de uma transação, a invalidação só acontece depois do commit, para que nenhuma
+     * instância recarregue o valor anterior enquanto a alteração ainda não está visível.</p>
+     *
+     * @param id O ID da entidade alterada ou removida.
+     */
+    public void invalidar(Long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidarAgora(id);
+                }
+            });
+        } else {
+            invalidarAgora(id);
+        }
+    }
+
+    private void invalidarAgora(Long id) {
+        local.invalidate(id);
+        redis.invalidar(nome, chave(id), id);
+    }
+
+    private V lerRedis(Long id) {
+        if (!redis.habilitada()) {
+            return null;
+        }
+        try {
+            String json = redis.ler(chave(id));
+            if (json == null) {
+                faltasRedis.increment();
+                return null;
+            }
+            acertosRedis.increment();
+            return objectMapper.readValue(json, tipo);
+        } catch (JedisException | JsonProcessingException e) {
+            errosRedis.increment();
+            return null;
+        }
+    }
+
+    private void gravarRedis(Long id, V valor) {
+        if (!redis.habilitada()) {
+            return;
+        }
+        try {
+            redis.gravar(chave(id), objectMapper.writeValueAsString(valor), validade);
+        } catch (JedisException | JsonProcessingException e) {
+            errosRedis.increment();
+        }
+    }
+
+    private String chave(Long id) {
+        return "cache:" + nome + ":" + id;
+    }
+
+    private static double razaoAcerto(Counter acertos, Counter faltas) {
+        double consultas = acertos.count() + faltas.count();
+        return consultas == 0 ? 0 : acertos.count() / consultas;
+    }
+
+    private static Counter contador(MeterRegistry registro, String nome, String resultado) {
+        return Counter.builder("cache.redis.gets")
+                .tag("cache", nome).tag("resultado", resultado)
+                .register(registro);
+    }
+}
@@ -0,0 +1,194 @@
+package br.group3.modules.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.exceptions.JedisException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+/**
+ * Acesso ao Redis compartilhado pelos {@link CacheEntidades}: a segunda camada de cache e o canal
+ * de invalidação entre instâncias.
+ * <p>A segunda camada guarda o JSON das entidades com expiração e pode ser desligada com
+ * {@code cache.redis.habilitado=false}; nesse caso cada instância só tem seu cache local. O canal
+ * {@code cache.invalidacao.canal} funciona sempre: cada alteração publica
+ * {@code <cache>:<id>:<instância>} e as outras instâncias descartam a entrada local.</p>
+ * <p>Enquanto a assinatura do canal está caída, invalidações podem se perder; por isso, a cada
+ * nova assinatura, os caches locais são esvaziados. Falhas do Redis nunca interrompem uma leitura:
+ * a entidade vem do banco.</p>
+ *
+ * @author Grupo 3
+ */
+@Component
+public class CamadaRedis {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CamadaRedis.class);
+
+    private static final String SEPARADOR = ":";
+    private static final long ESPERA_RECONEXAO_MS = 1000;
+
+    private record Assinante(LongConsumer invalidar, Runnable esvaziar) {
+    }
+
+    private final JedisPooled jedis;
+    private final boolean habilitada;
+    private final String canal;
+    private final String instancia = UUID.randomUUID().toString();
+    private final Map<String, Assinante> assinantes = new ConcurrentHashMap<>();
+    private final JedisPubSub ouvinte = new JedisPubSub() {
+        @Override
+        public void onSubscribe(String canal, int assinaturas) {
+            assinantes.values().forEach(assinante -> assinante.esvaziar().run());
+        }
+
+        @Override
+        public void onMessage(String canal, String mensagem) {
+            receber(mensagem);
+        }
+    };
+
+    private volatile boolean ativa = true;
+    private Thread assinatura;
+
+    /**
+     * Construtor para injeção de dependências.
+     *
+     * @param jedis O cliente Redis da aplicação.
+     * @param habilitada Se a segunda camada de cache está ligada, lido de {@code cache.redis.habilitado}.
+     * @param canal O canal de invalidação, lido de {@code cache.invalidacao.canal}.
+     */
+    @Autowired
+    public CamadaRedis(JedisPooled jedis,
+                       @Value("${cache.redis.habilitado:true}") boolean habilitada,
+                       @Value("${cache.invalidacao.canal:cache:invalidacao}") String canal) {
+        this.jedis = jedis;
+        this.habilitada = habilitada;
+        this.canal = canal;
+    }
+
+    /**
+     * Inicia a thread que assina o canal de invalidação e refaz a assinatura quando a conexão cai.
+     */
+    @PostConstruct
+    public void iniciar() {
+        assinatura = Thread.ofPlatform().name("cache-invalidacao").daemon().start(() -> {
+            while (ativa) {
+                try {
+                    jedis.subscribe(ouvinte, canal);
+                } catch (JedisException e) {
+                    if (ativa) {
+                        LOG.warn("Assinatura de invalidação do cache caiu, nova tentativa em {} ms: {}",
+                                ESPERA_RECONEXAO_MS, e.getMessage());
+                    }
+                }
+                try {
+                    Thread.sleep(ESPERA_RECONEXAO_MS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+    }
+
+    /**
+     * Cancela a assinatura do canal de invalidação.
+     */
+    @PreDestroy
+    public void parar() {
+        ativa = false;
+        if (ouvinte.isSubscribed()) {
+            ouvinte.unsubscribe();
+        }
+        if (assinatura != null) {
+            assinatura.interrupt();
+        }
+    }
+
+    /**
+     * Registra um cache para receber as invalidações publicadas pelas outras instâncias.
+     *
+     * @param nome O nome do cache.
+     * @param invalidar Descarta a entrada local de um ID.
+     * @param esvaziar Descarta todas as entradas locais.
+     */
+    public void registrar(String nome, LongConsumer invalidar, Runnable esvaziar) {
+        assinantes.put(nome, new Assinante(invalidar, esvaziar));
+    }
+
+    /**
+     * Indica se a segunda camada de cache está ligada.
+     *
+     * @return {@code true} se as entidades também são guardadas no Redis.
+     */
+    public boolean habilitada() {
+        return habilitada;
+    }
+
+    /**
+     * Lê o JSON guardado em uma chave.
+     *
+     * @param chave A chave no Redis.
+     * @return O JSON, ou {@code null} se a chave não existir.
+     * @throws JedisException Se o Redis estiver indisponível.
+     */
+    public String ler(String chave) {
+        return jedis.get(chave);
+    }
+
+    /**
+     * Guarda o JSON de uma entidade com expiração.
+     *
+     * @param chave A chave no Redis.
+     * @param json O JSON da entidade.
+     * @param validade O tempo até a chave expirar.
+     * @throws JedisException Se o Redis estiver indisponível.
+     */
+    public void gravar(String chave, String json, Duration validade) {
+        jedis.psetex(chave, validade.toMillis(), json);
+    }
+
+    /**
+     * Remove a chave de uma entidade alterada e avisa as outras instâncias.
+     *
+     * @param nome O nome do cache.
+     * @param chave A chave da entidade no Redis.
+     * @param id O ID da entidade.
+     */
+    public void invalidar(String nome, String chave, long id) {
+        try {
+            if (habilitada) {
+                jedis.del(chave);
+            }
+            jedis.publish(canal, nome + SEPARADOR + id + SEPARADOR + instancia);
+        } catch (JedisException e) {
+            // As outras instâncias ficam com a entrada antiga até ela expirar
+            LOG.warn("Falha ao invalidar {} no Redis: {}", chave, e.getMessage());
+        }
+    }
+
+    private void receber(String mensagem) {
+        String[] partes = mensagem.split(SEPARADOR, 3);
+        if (partes.length != 3 || instancia.equals(partes[2])) {
+            return; // a própria instância já invalidou a entrada local
+        }
+        Assinante assinante = assinantes.get(partes[0]);
+        if (assinante != null) {
+            try {
+                assinante.invalidar().accept(Long.parseLong(partes[1]));
+            } catch (NumberFormatException e) {
+                LOG.warn("Mensagem de invalidação inválida: {}", mensagem);
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package br.group3.modules.consulta;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resumo relacional de uma consulta agendada no sistema NoSQL.
+ *
+ * <p>Esta entidade mapeia a tabela "consulta", alimentada pelo middleware a partir dos eventos
+ * do MongoDB. O ID é o mesmo {@code idConsulta} do documento de origem, o que torna a gravação
+ * idempotente: reprocessar um evento apenas sobrescreve a linha. Os índices por paciente e por
+ * médico atendem os relatórios feitos direto no MySQL.</p>
+ *
+ * @author Grupo 3
+ */
+@Entity
+@Table(name = "consulta", indexes = {
+        @Index(name = "idx_consulta_paciente", columnList = "id_paciente"),
+        @Index(name = "idx_consulta_medico", columnList = "id_medico, data_hora")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class Consulta {
+
+    /**
+     * O ID da consulta no sistema de origem.
+     * <p>Não é gerado pelo banco: vem do documento do MongoDB.</p>
+     */
+    @Id
+    @Column(name = "id_consulta")
+    private Long idConsulta;
+
+    /**
+     * A data e hora marcadas para a consulta.
+     */
+    @Column(name = "data_hora", nullable = false)
+    private LocalDateTime dataHora;
+
+    /**
+     * O motivo informado no agendamento.
+     */
+    @Column(name = "motivo", nullable = false, length = 500)
+    private String motivo;
+
+    /**
+     * O ID do médico responsável.
+     */
+    @Column(name = "id_medico", nullable = false)
+    private Long idMedico;
+
+    /**
+     * O ID do paciente atendido.
+     */
+    @Column(name = "id_paciente", nullable = false)
+    private Long idPaciente;
+
+    /**
+     * A situação da consulta: "Agendada", "Realizada" ou "Cancelada".
+     */
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+}
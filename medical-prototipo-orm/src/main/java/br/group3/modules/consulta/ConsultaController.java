@@ -0,0 +1,76 @@
+package br.group3.modules.consulta;
+
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST usado pelo middleware para sincronizar consultas vindas do sistema NoSQL.
+ * <p>A escrita é um {@code PUT} no ID de origem: criar e atualizar são a mesma operação,
+ * e reenviar o mesmo evento não duplica a consulta.</p>
+ *
+ * @author Grupo 3
+ * @see ConsultaService
+ * @see ConsultaDTO
+ * @see Consulta
+ */
+@RestController
+@RequestMapping("/api/consultas")
+public class ConsultaController {
+
+    private final ConsultaService consultaService;
+
+    /**
+     * Construtor para injeção de dependência do {@link ConsultaService}.
+     *
+     * @param consultaService A instância de {@link ConsultaService} a ser injetada.
+     */
+    @Autowired
+    public ConsultaController(ConsultaService consultaService) {
+        this.consultaService = consultaService;
+    }
+
+    /**
+     * Cria ou substitui uma consulta.
+     *
+     * @param id O ID da consulta no sistema de origem, passado como variável de caminho.
+     * @param consultaDTO O DTO com os dados atuais da consulta.
+     * É anotado com {@link Valid} para ativar as validações definidas no DTO.
+     * @return Uma {@link ResponseEntity} vazia com status HTTP 201 (Created) se a consulta foi criada,
+     * ou 204 (No Content) se ela já existia.
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<Void> sincronizarConsulta(@PathVariable Long id,
+                                                    @Valid @RequestBody ConsultaDTO consultaDTO) {
+        boolean criada = consultaService.sincronizarConsulta(id, consultaDTO);
+        return criada ? ResponseEntity.status(HttpStatus.CREATED).build() : ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Busca uma consulta pelo seu ID.
+     *
+     * @param id O ID da consulta a ser buscada, passado como variável de caminho.
+     * @return Uma {@link ResponseEntity} contendo a {@link Consulta} encontrada e o status HTTP 200 (OK),
+     * ou status 404 (Not Found) se a consulta não for encontrada.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Consulta> buscarConsultaPorId(@PathVariable Long id) {
+        return consultaService.buscarConsultaPorId(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Remove uma consulta pelo seu ID.
+     *
+     * @param id O ID da consulta a ser removida, passado como variável de caminho.
+     * @return Uma {@link ResponseEntity} com status HTTP 204 (No Content), exista ou não a consulta.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> removerConsulta(@PathVariable Long id) {
+        consultaService.removerConsulta(id);
+        return ResponseEntity.noContent().build();
+    }
+}
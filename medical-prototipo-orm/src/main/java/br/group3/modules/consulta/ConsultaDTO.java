@@ -0,0 +1,58 @@
+package br.group3.modules.consulta;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO (Data Transfer Object) para representar os dados de entrada de uma {@link br.group3.modules.consulta.Consulta}.
+ * Recebido do middleware quando uma consulta é criada ou alterada no sistema NoSQL.
+ * Inclui validações para garantir a integridade dos dados recebidos.
+ *
+ * @author Grupo 3
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsultaDTO {
+
+    /**
+     * A data e hora da consulta. Obrigatória.
+     */
+    @NotNull(message = "A data e hora da consulta são obrigatórias.")
+    private LocalDateTime dataHora;
+
+    /**
+     * O motivo da consulta. Deve ser preenchido e ter no máximo 500 caracteres.
+     */
+    @NotBlank(message = "O motivo é obrigatório.")
+    @Size(max = 500, message = "O motivo não pode exceder 500 caracteres.")
+    private String motivo;
+
+    /**
+     * O ID do médico responsável. Obrigatório.
+     */
+    @NotNull(message = "O ID do médico é obrigatório.")
+    private Long idMedico;
+
+    /**
+     * O ID do paciente. Obrigatório.
+     */
+    @NotNull(message = "O ID do paciente é obrigatório.")
+    private Long idPaciente;
+
+    /**
+     * A situação da consulta, com os mesmos valores aceitos pelo sistema NoSQL.
+     */
+    @NotNull(message = "O status é obrigatório.")
+    @Pattern(regexp = "Agendada|Realizada|Cancelada", message = "O status deve ser Agendada, Realizada ou Cancelada.")
+    private String status;
+}
@@ -0,0 +1,77 @@
+package br.group3.modules.consulta;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Serviço que mantém a tabela {@link Consulta} sincronizada com o sistema NoSQL.
+ * <p>As escritas chegam pelo middleware e usam o ID de origem, então são idempotentes.
+ * Ao contrário de pacientes e médicos, nada é registrado no outbox: a tabela é uma
+ * cópia para relatórios, e publicar a alteração devolveria o evento ao sistema de origem.</p>
+ *
+ * @author Grupo 3
+ * @see Consulta
+ * @see IConsultaRepository
+ * @see ConsultaDTO
+ */
+@Service
+public class ConsultaService {
+
+    private final IConsultaRepository consultaRepository;
+
+    /**
+     * Construtor para injeção de dependência do {@link IConsultaRepository}.
+     *
+     * @param consultaRepository A instância de {@link IConsultaRepository} a ser injetada.
+     */
+    @Autowired
+    public ConsultaService(IConsultaRepository consultaRepository) {
+        this.consultaRepository = consultaRepository;
+    }
+
+    /**
+     * Cria ou substitui a consulta com o ID informado.
+     *
+     * @param id O ID da consulta no sistema de origem.
+     * @param consultaDTO O {@link ConsultaDTO} com os dados atuais da consulta.
+     * @return {@code true} se a consulta ainda não existia.
+     */
+    @Transactional
+    public boolean sincronizarConsulta(Long id, ConsultaDTO consultaDTO) {
+        Optional<Consulta> existente = consultaRepository.findById(id);
+        Consulta consulta = existente.orElseGet(Consulta::new);
+        consulta.setIdConsulta(id);
+        consulta.setDataHora(consultaDTO.getDataHora());
+        consulta.setMotivo(consultaDTO.getMotivo());
+        consulta.setIdMedico(consultaDTO.getIdMedico());
+        consulta.setIdPaciente(consultaDTO.getIdPaciente());
+        consulta.setStatus(consultaDTO.getStatus());
+
+        // Numa consulta já carregada o Hibernate só emite o UPDATE se algum campo mudou
+        consultaRepository.save(consulta);
+        return existente.isEmpty();
+    }
+
+    /**
+     * Busca uma consulta pelo seu ID.
+     *
+     * @param id O ID da consulta a ser buscada.
+     * @return Um {@link Optional} contendo a {@link Consulta} se encontrada, ou vazio caso contrário.
+     */
+    public Optional<Consulta> buscarConsultaPorId(Long id) {
+        return consultaRepository.findById(id);
+    }
+
+    /**
+     * Remove a consulta com o ID informado. Não faz nada se ela não existir.
+     *
+     * @param id O ID da consulta a ser removida.
+     */
+    @Transactional
+    public void removerConsulta(Long id) {
+        consultaRepository.deleteById(id);
+    }
+}
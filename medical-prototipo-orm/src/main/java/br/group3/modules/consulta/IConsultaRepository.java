@@ -0,0 +1,15 @@
+package br.group3.modules.consulta;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositório Spring Data JPA para a entidade {@link Consulta}.
+ *
+ * @author Grupo 3
+ * @see Consulta
+ * @see org.springframework.data.jpa.repository.JpaRepository
+ */
+@Repository
+public interface IConsultaRepository extends JpaRepository<Consulta, Long> {
+}
@@ -0,0 +1,37 @@
+package br.group3.modules.etag;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Contador de alterações de uma entidade, usado no ETag das listagens.
+ * <p>Esta entidade mapeia a tabela "contador_alteracao", com uma linha por entidade
+ * (paciente, médico). A linha é criada no primeiro incremento.</p>
+ *
+ * @author Grupo 3
+ * @see ContadorAlteracoes
+ */
+@Entity
+@Table(name = "contador_alteracao")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContadorAlteracao {
+
+    /**
+     * O nome da entidade contada (ex.: "paciente").
+     */
+    @Id
+    @Column(name = "entidade", length = 50)
+    private String entidade;
+
+    /**
+     * Quantas transações já alteraram a entidade.
+     */
+    @Column(name = "alteracoes", nullable = false)
+    private Long alteracoes;
+}
@@ -0,0 +1,151 @@
+package br.group3.modules.etag;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Contador de alterações por entidade, usado no ETag das listagens.
+ * <p>Cada transação que cria, altera ou remove pacientes ou médicos soma 1 ao
+ * {@link ContadorAlteracao} da entidade. Enquanto o contador não muda, nenhuma página da listagem
+ * mudou, e a listagem pode responder 304 (Not Modified) com uma única leitura, sem consultar a
+ * tabela da entidade.</p>
+ * <p>O incremento acontece depois do commit, em uma transação própria e curta: a transação que
+ * alterou os dados nunca segura a linha do contador, e escritas concorrentes (inclusive os lotes
+ * da importação) não esperam umas pelas outras. Entre o commit e o incremento, uma listagem ainda
+ * pode receber o ETag anterior por alguns milissegundos.</p>
+ * <p>Se o incremento falhar, os dados já estão gravados, mas o contador ficou para trás: quem tem
+ * o ETag anterior receberia 304 para uma listagem que mudou. Por isso o incremento perdido fica
+ * guardado em memória e é somado na próxima tentativa (o próximo incremento da entidade, a próxima
+ * leitura do contador ou a retentativa a cada {@code etag.contador.retentativa-ms}, padrão 1
+ * segundo). Enquanto ele não for aplicado, {@link #atual} não devolve valor e a listagem responde
+ * sem ETag.</p>
+ *
+ * @author Grupo 3
+ */
+@Component
+public class ContadorAlteracoes {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ContadorAlteracoes.class);
+
+    private final IContadorAlteracaoRepository contadorAlteracaoRepository;
+    private final TransactionTemplate novaTransacao;
+
+    // Incrementos que falharam e ainda precisam ser somados, por entidade
+    private final ConcurrentMap<String, Long> perdidos = new ConcurrentHashMap<>();
+
+    /**
+     * Construtor para injeção de dependências.
+     *
+     * @param contadorAlteracaoRepository O repositório de {@link ContadorAlteracao}.
+     * @param transactionManager Usado para abrir a transação própria de cada incremento.
+     */
+    @Autowired
+    public ContadorAlteracoes(IContadorAlteracaoRepository contadorAlteracaoRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.contadorAlteracaoRepository = contadorAlteracaoRepository;
+        this.novaTransacao = new TransactionTemplate(transactionManager);
+        this.novaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Lê o contador atual de uma entidade.
+     * <p>Se houver incrementos perdidos, tenta aplicá-los antes da leitura.</p>
+     *
+     * @param entidade O nome da entidade, como {@code paciente}.
+     * @return A quantidade de transações que alteraram a entidade, ou vazio se algum incremento
+     * ainda não foi aplicado e o valor gravado está atrasado.
+     */
+    public OptionalLong atual(String entidade) {
+        if (perdidos.containsKey(entidade)) {
+            incrementar(entidade, 0);
+            if (perdidos.containsKey(entidade)) {
+                return OptionalLong.empty();
+            }
+        }
+        return OptionalLong.of(contadorAlteracaoRepository.findById(entidade)
+                .map(ContadorAlteracao::getAlteracoes)
+                .orElse(0L));
+    }
+
+    /**
+     * Registra que a transação atual alterou a entidade.
+     * <p>Dentro de uma transação, o contador é incrementado uma única vez, depois do commit; se houver
+     * rollback, não é incrementado. Fora de uma transação, é incrementado na hora.</p>
+     *
+     * @param entidade O nome da entidade alterada.
+     */
+    public void registrar(String entidade) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            incrementar(entidade, 1);
+            return;
+        }
+        String chave = ContadorAlteracoes.class.getName() + "." + entidade;
+        if (TransactionSynchronizationManager.hasResource(chave)) {
+            return; // já registrada nesta transação
+        }
+        TransactionSynchronizationManager.bindResource(chave, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                incrementar(entidade, 1);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(chave);
+            }
+        });
+    }
+
+    /**
+     * Tenta de novo, periodicamente, os incrementos que falharam, para que o ETag volte mesmo sem
+     * novas escritas nem leituras da entidade.
+     */
+    @Scheduled(fixedDelayString = "${etag.contador.retentativa-ms:1000}")
+    public void reaplicarPerdidos() {
+        for (String entidade : perdidos.keySet()) {
+            incrementar(entidade, 0);
+        }
+    }
+
+    private void incrementar(String entidade, long quantidade) {
+        // Leva junto o que ficou para trás; se falhar de novo, tudo volta para perdidos
+        Long anteriores = perdidos.remove(entidade);
+        long total = quantidade + (anteriores == null ? 0 : anteriores);
+        if (total == 0) {
+            return;
+        }
+        try {
+            try {
+                novaTransacao.executeWithoutResult(status -> {
+                    if (contadorAlteracaoRepository.incrementar(entidade, total) == 0) {
+                        contadorAlteracaoRepository.saveAndFlush(new ContadorAlteracao(entidade, total));
+                    }
+                });
+            } catch (DataIntegrityViolationException e) {
+                // Outra instância criou a linha ao mesmo tempo: agora ela existe
+                novaTransacao.executeWithoutResult(status -> contadorAlteracaoRepository.incrementar(entidade, total));
+            }
+            if (anteriores != null) {
+                LOG.info("Incrementos pendentes do contador de alterações de '{}' aplicados", entidade);
+            }
+        } catch (RuntimeException e) {
+            perdidos.merge(entidade, total, Long::sum);
+            LOG.warn("Não foi possível incrementar o contador de alterações de '{}'; a listagem fica sem ETag até "
+                    + "a próxima tentativa: {}", entidade, e.getMessage());
+        }
+    }
+}
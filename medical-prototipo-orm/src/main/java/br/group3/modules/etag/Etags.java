@@ -0,0 +1,98 @@
+package br.group3.modules.etag;
+
+/**
+ * ETags das respostas de pacientes e médicos.
+ * <p>Os ETags são fortes e têm dois formatos:</p>
+ * <ul>
+ *     <li>{@code "<entidade>-<id>-<versão>"} para um registro, com a versão da coluna {@code @Version};</li>
+ *     <li>{@code "<entidade>-lista-<alterações>"} para as páginas da listagem, com o
+ *     {@link ContadorAlteracoes} da entidade.</li>
+ * </ul>
+ * <p>O cliente devolve o ETag em {@code If-None-Match}, para receber 304 (Not Modified) se nada
+ * mudou, ou em {@code If-Match} no PUT, para que a atualização só aconteça sobre a versão que ele
+ * leu.</p>
+ *
+ * @author Grupo 3
+ */
+public final class Etags {
+
+    private static final String QUALQUER = "*";
+    private static final String PREFIXO_FRACO = "W/";
+
+    private Etags() {
+    }
+
+    /**
+     * Monta o ETag de um registro.
+     *
+     * @param entidade O nome da entidade, como {@code paciente}.
+     * @param id O ID do registro.
+     * @param versao A versão do registro.
+     * @return O ETag, já entre aspas.
+     */
+    public static String daEntidade(String entidade, Long id, Long versao) {
+        return "\"" + entidade + "-" + id + "-" + versao + "\"";
+    }
+
+    /**
+     * Monta o ETag das páginas da listagem de uma entidade.
+     *
+     * @param entidade O nome da entidade, como {@code paciente}.
+     * @param alteracoes O valor do {@link ContadorAlteracoes} da entidade.
+     * @return O ETag, já entre aspas.
+     */
+    public static String daListagem(String entidade, long alteracoes) {
+        return "\"" + entidade + "-lista-" + alteracoes + "\"";
+    }
+
+    /**
+     * Verifica se o cabeçalho {@code If-None-Match} corresponde ao ETag atual, na comparação fraca
+     * que o cabeçalho pede: o prefixo {@code W/} é ignorado.
+     *
+     * @param seNaoCorresponder O valor do cabeçalho, ou {@code null} se ausente.
+     * @param etag O ETag atual.
+     * @return {@code true} se o cliente já tem esta versão e a resposta pode ser 304 (Not Modified).
+     */
+    public static boolean corresponde(String seNaoCorresponder, String etag) {
+        if (seNaoCorresponder == null) {
+            return false;
+        }
+        for (String candidato : seNaoCorresponder.split(",")) {
+            candidato = candidato.trim();
+            if (candidato.startsWith(PREFIXO_FRACO)) {
+                candidato = candidato.substring(PREFIXO_FRACO.length());
+            }
+            if (candidato.equals(QUALQUER) || candidato.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Extrai do cabeçalho {@code If-Match} a versão que o registro precisa ter para ser atualizado.
+     *
+     * @param seCorresponder O valor do cabeçalho, ou {@code null} se ausente.
+     * @param entidade O nome da entidade, como {@code paciente}.
+     * @param id O ID do registro a atualizar.
+     * @return A versão exigida, ou {@code null} se o cabeçalho estiver ausente ou for {@code *}.
+     * @throws IllegalArgumentException Se o cabeçalho não trouxer um ETag forte deste registro.
+     */
+    public static Long versaoExigida(String seCorresponder, String entidade, Long id) {
+        if (seCorresponder == null || seCorresponder.trim().equals(QUALQUER)) {
+            return null;
+        }
+        String prefixo = "\"" + entidade + "-" + id + "-";
+        for (String candidato : seCorresponder.split(",")) {
+            candidato = candidato.trim();
+            if (candidato.startsWith(prefixo) && candidato.endsWith("\"") && candidato.length() > prefixo.length() + 1) {
+                try {
+                    return Long.valueOf(candidato.substring(prefixo.length(), candidato.length() - 1));
+                } catch (NumberFormatException e) {
+                    // segue para o próximo ETag da lista
+                }
+            }
+        }
+        throw new IllegalArgumentException("If-Match sem ETag do registro " + entidade + " " + id + ": " + seCorresponder);
+    }
+}
@@ -0,0 +1,28 @@
+package br.group3.modules.etag;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositório Spring Data JPA para a entidade {@link ContadorAlteracao}.
+ *
+ * @author Grupo 3
+ * @see ContadorAlteracao
+ */
+@Repository
+public interface IContadorAlteracaoRepository extends JpaRepository<ContadorAlteracao, String> {
+
+    /**
+     * Soma ao contador da entidade, no próprio banco.
+     *
+     * @param entidade O nome da entidade.
+     * @param quantidade Quanto somar: 1 por transação, mais os incrementos que falharam antes.
+     * @return Quantas linhas foram alteradas: 0 se o contador ainda não existe.
+     */
+    @Modifying
+    @Query("UPDATE ContadorAlteracao c SET c.alteracoes = c.alteracoes + :quantidade WHERE c.entidade = :entidade")
+    int incrementar(@Param("entidade") String entidade, @Param("quantidade") long quantidade);
+}
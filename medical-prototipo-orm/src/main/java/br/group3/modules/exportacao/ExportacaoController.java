@@ -0,0 +1,84 @@
+package br.group3.modules.exportacao;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Controlador REST para exportar o cadastro completo de pacientes e médicos.
+ * <p>A resposta é escrita enquanto os registros são lidos do banco, fora da thread da
+ * requisição, então o primeiro byte sai antes de a consulta terminar e o tamanho da
+ * tabela não pesa na memória do servidor.</p>
+ *
+ * @author Grupo 3
+ * @see ExportacaoService
+ */
+@RestController
+@RequestMapping("/api/exportacao")
+@CrossOrigin(origins = "*")
+public class ExportacaoController {
+
+    private final ExportacaoService exportacaoService;
+
+    /**
+     * Construtor para injeção de dependência do {@link ExportacaoService}.
+     *
+     * @param exportacaoService A instância de {@link ExportacaoService} a ser injetada.
+     */
+    @Autowired
+    public ExportacaoController(ExportacaoService exportacaoService) {
+        this.exportacaoService = exportacaoService;
+    }
+
+    /**
+     * Exporta todos os pacientes.
+     *
+     * @param formato O formato do arquivo: {@code ndjson} (padrão) ou {@code csv}.
+     * @return Uma {@link ResponseEntity} com o arquivo {@code pacientes.<formato>} escrito aos poucos
+     * e o status HTTP 200 (OK), ou status 400 (Bad Request) se o formato for desconhecido.
+     */
+    @GetMapping("/pacientes")
+    public ResponseEntity<StreamingResponseBody> exportarPacientes(@RequestParam(defaultValue = "ndjson") String formato) {
+        FormatoExportacao formatoExportacao;
+        try {
+            formatoExportacao = FormatoExportacao.de(formato);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return arquivo("pacientes", formatoExportacao,
+                saida -> exportacaoService.exportarPacientes(formatoExportacao, saida));
+    }
+
+    /**
+     * Exporta todos os médicos.
+     *
+     * @param formato O formato do arquivo: {@code ndjson} (padrão) ou {@code csv}.
+     * @return Uma {@link ResponseEntity} com o arquivo {@code medicos.<formato>} escrito aos poucos
+     * e o status HTTP 200 (OK), ou status 400 (Bad Request) se o formato for desconhecido.
+     */
+    @GetMapping("/medicos")
+    public ResponseEntity<StreamingResponseBody> exportarMedicos(@RequestParam(defaultValue = "ndjson") String formato) {
+        FormatoExportacao formatoExportacao;
+        try {
+            formatoExportacao = FormatoExportacao.de(formato);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return arquivo("medicos", formatoExportacao,
+                saida -> exportacaoService.exportarMedicos(formatoExportacao, saida));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> arquivo(String nome, FormatoExportacao formato,
+                                                                 StreamingResponseBody corpo) {
+        ContentDisposition anexo = ContentDisposition.attachment()
+                .filename(nome + "." + formato.extensao())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(formato.tipo())
+                .header(HttpHeaders.CONTENT_DISPOSITION, anexo.toString())
+                .body(corpo);
+    }
+}
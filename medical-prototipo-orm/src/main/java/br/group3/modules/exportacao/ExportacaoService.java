@@ -0,0 +1,171 @@
+package br.group3.modules.exportacao;
+
+import br.group3.modules.medico.IMedicoRepository;
+import br.group3.modules.medico.Medico;
+import br.group3.modules.paciente.IPacienteRepository;
+import br.group3.modules.paciente.Paciente;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Serviço que exporta o cadastro de pacientes e médicos em NDJSON ou CSV.
+ * <p>Os registros são lidos por um cursor do banco ({@code percorrerTodos} dos repositórios) e
+ * escritos um a um na saída; cada entidade é desanexada do contexto de persistência logo depois
+ * de escrita. Assim a memória usada não depende do tamanho da tabela: em qualquer momento só
+ * existem o bloco lido do banco e o buffer da resposta. Quando o cliente lê devagar, a escrita
+ * na saída bloqueia e a leitura do cursor espera junto.</p>
+ *
+ * @author Grupo 3
+ * @see FormatoExportacao
+ */
+@Service
+public class ExportacaoService {
+
+    private record Coluna<T>(String nome, Function<T, Object> valor) {
+    }
+
+    private static final List<Coluna<Paciente>> COLUNAS_PACIENTE = List.of(
+            new Coluna<>("idPaciente", Paciente::getIdPaciente),
+            new Coluna<>("nomeCompleto", Paciente::getNomeCompleto),
+            new Coluna<>("dataNascimento", Paciente::getDataNascimento),
+            new Coluna<>("cpf", Paciente::getCpf),
+            new Coluna<>("endereco", Paciente::getEndereco),
+            new Coluna<>("telefone", Paciente::getTelefone));
+
+    private static final List<Coluna<Medico>> COLUNAS_MEDICO = List.of(
+            new Coluna<>("idMedico", Medico::getIdMedico),
+            new Coluna<>("nomeCompleto", Medico::getNomeCompleto),
+            new Coluna<>("crm", Medico::getCrm),
+            new Coluna<>("telefone", Medico::getTelefone),
+            new Coluna<>("email", Medico::getEmail),
+            new Coluna<>("especialidade", Medico::getEspecialidade));
+
+    private final IPacienteRepository pacienteRepository;
+    private final IMedicoRepository medicoRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter escritorJson;
+
+    /**
+     * Construtor para injeção de dependências.
+     *
+     * @param pacienteRepository O repositório de {@link Paciente}.
+     * @param medicoRepository O repositório de {@link Medico}.
+     * @param entityManager O {@link EntityManager} da transação, usado para desanexar as entidades já escritas.
+     * @param objectMapper O {@link ObjectMapper} da aplicação, para que o NDJSON tenha o mesmo formato da API.
+     */
+    @Autowired
+    public ExportacaoService(IPacienteRepository pacienteRepository,
+                             IMedicoRepository medicoRepository,
+                             EntityManager entityManager,
+                             ObjectMapper objectMapper) {
+        this.pacienteRepository = pacienteRepository;
+        this.medicoRepository = medicoRepository;
+        this.entityManager = entityManager;
+        // Sem flush a cada registro: a saída é descarregada quando o buffer da resposta enche
+        this.escritorJson = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Escreve todos os pacientes na saída, em ordem de ID.
+     *
+     * @param formato O {@link FormatoExportacao} desejado.
+     * @param saida A saída da resposta; não é fechada.
+     * @return A quantidade de pacientes exportados.
+     * @throws IOException Se a escrita falhar, por exemplo quando o cliente desconecta.
+     */
+    @Transactional(readOnly = true)
+    public long exportarPacientes(FormatoExportacao formato, OutputStream saida) throws IOException {
+        try (Stream<Paciente> pacientes = pacienteRepository.percorrerTodos()) {
+            return exportar(pacientes, formato, COLUNAS_PACIENTE, saida);
+        }
+    }
+
+    /**
+     * Escreve todos os médicos na saída, em ordem de ID.
+     *
+     * @param formato O {@link FormatoExportacao} desejado.
+     * @param saida A saída da resposta; não é fechada.
+     * @return A quantidade de médicos exportados.
+     * @throws IOException Se a escrita falhar, por exemplo quando o cliente desconecta.
+     */
+    @Transactional(readOnly = true)
+    public long exportarMedicos(FormatoExportacao formato, OutputStream saida) throws IOException {
+        try (Stream<Medico> medicos = medicoRepository.percorrerTodos()) {
+            return exportar(medicos, formato, COLUNAS_MEDICO, saida);
+        }
+    }
+
+    private <T> long exportar(Stream<T> registros, FormatoExportacao formato, List<Coluna<T>> colunas,
+                              OutputStream saida) throws IOException {
+        return switch (formato) {
+            case NDJSON -> escreverNdjson(registros.iterator(), saida);
+            case CSV -> escreverCsv(registros.iterator(), colunas, saida);
+        };
+    }
+
+    private <T> long escreverNdjson(Iterator<T> registros, OutputStream saida) throws IOException {
+        long total = 0;
+        try (JsonGenerator gerador = escritorJson.createGenerator(saida)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            while (registros.hasNext()) {
+                T registro = registros.next();
+                escritorJson.writeValue(gerador, registro);
+                gerador.writeRaw('\n');
+                entityManager.detach(registro);
+                total++;
+            }
+        }
+        return total;
+    }
+
+    private <T> long escreverCsv(Iterator<T> registros, List<Coluna<T>> colunas, OutputStream saida) throws IOException {
+        long total = 0;
+        // Não é fechado para não fechar a saída da resposta; o flush no fim basta
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        escreverLinhaCsv(escritor, colunas.stream().map(Coluna::nome).toList());
+        while (registros.hasNext()) {
+            T registro = registros.next();
+            escreverLinhaCsv(escritor, colunas.stream().map(coluna -> coluna.valor().apply(registro)).toList());
+            entityManager.detach(registro);
+            total++;
+        }
+        escritor.flush();
+        return total;
+    }
+
+    private static void escreverLinhaCsv(Writer escritor, List<?> valores) throws IOException {
+        for (int i = 0; i < valores.size(); i++) {
+            if (i > 0) {
+                escritor.write(',');
+            }
+            Object valor = valores.get(i);
+            if (valor != null) {
+                escritor.write(campoCsv(valor.toString()));
+            }
+        }
+        escritor.write("\r\n");
+    }
+
+    private static String campoCsv(String valor) {
+        boolean precisaAspas = valor.indexOf(',') >= 0 || valor.indexOf('"') >= 0
+                || valor.indexOf('\n') >= 0 || valor.indexOf('\r') >= 0;
+        return precisaAspas ? '"' + valor.replace("\"", "\"\"") + '"' : valor;
+    }
+}
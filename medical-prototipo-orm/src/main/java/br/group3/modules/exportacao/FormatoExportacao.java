@@ -0,0 +1,60 @@
+package br.group3.modules.exportacao;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * Formatos aceitos pelos endpoints de exportação.
+ *
+ * @author Grupo 3
+ */
+public enum FormatoExportacao {
+
+    /**
+     * Um objeto JSON por linha, com os mesmos campos das respostas da API.
+     */
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+
+    /**
+     * Valores separados por vírgula, com uma linha de cabeçalho (RFC 4180).
+     */
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+    private final MediaType tipo;
+    private final String extensao;
+
+    FormatoExportacao(MediaType tipo, String extensao) {
+        this.tipo = tipo;
+        this.extensao = extensao;
+    }
+
+    /**
+     * Retorna o tipo de conteúdo da resposta.
+     *
+     * @return O {@link MediaType} do formato.
+     */
+    public MediaType tipo() {
+        return tipo;
+    }
+
+    /**
+     * Retorna a extensão sugerida para o arquivo exportado.
+     *
+     * @return A extensão, sem o ponto.
+     */
+    public String extensao() {
+        return extensao;
+    }
+
+    /**
+     * Converte o valor do parâmetro {@code formato} da requisição.
+     *
+     * @param valor O valor recebido, sem diferenciar maiúsculas de minúsculas.
+     * @return O formato correspondente.
+     * @throws IllegalArgumentException Se o valor não corresponder a nenhum formato.
+     */
+    public static FormatoExportacao de(String valor) {
+        return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,13 @@
+package br.group3.modules.importacao;
+
+import java.util.Map;
+
+/**
+ * Um registro recusado pela importação.
+ *
+ * @param linha A linha do arquivo onde o registro começa.
+ * @param erros As mensagens de erro, por campo.
+ * @author Grupo 3
+ */
+public record ErroImportacao(long linha, Map<String, String> erros) {
+}
@@ -0,0 +1,35 @@
+package br.group3.modules.importacao;
+
+import java.util.Locale;
+
+/**
+ * Formatos de arquivo aceitos pela importação em massa.
+ * <p>Os dois formatos aceitam os arquivos gerados pela exportação; colunas ou campos que não
+ * existem no DTO, como o ID, são ignorados.</p>
+ *
+ * @author Grupo 3
+ */
+public enum FormatoImportacao {
+
+    /**
+     * Valores separados por vírgula (RFC 4180), com uma linha de cabeçalho com os nomes dos campos.
+     */
+    CSV,
+
+    /**
+     * Um array JSON de objetos ou um objeto JSON por linha (NDJSON).
+     */
+    JSON;
+
+    /**
+     * Converte o valor do parâmetro {@code formato} da requisição; {@code ndjson} equivale a {@link #JSON}.
+     *
+     * @param valor O valor recebido, sem diferenciar maiúsculas de minúsculas.
+     * @return O formato correspondente.
+     * @throws IllegalArgumentException Se o valor não corresponder a nenhum formato.
+     */
+    public static FormatoImportacao de(String valor) {
+        String normalizado = valor.trim().toUpperCase(Locale.ROOT);
+        return "NDJSON".equals(normalizado) ? JSON : valueOf(normalizado);
+    }
+}
@@ -0,0 +1,80 @@
+package br.group3.modules.importacao;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Controlador REST para a importação em massa de pacientes a partir de arquivos.
+ * <p>A importação roda em segundo plano: o envio responde com 202 (Accepted) e o endereço
+ * onde acompanhar o progresso, os registros por segundo e os erros linha a linha.</p>
+ *
+ * @author Grupo 3
+ * @see ImportacaoService
+ */
+@RestController
+@RequestMapping("/api/importacao")
+@CrossOrigin(origins = "*")
+public class ImportacaoController {
+
+    private final ImportacaoService importacaoService;
+
+    /**
+     * Construtor para injeção de dependência do {@link ImportacaoService}.
+     *
+     * @param importacaoService A instância de {@link ImportacaoService} a ser injetada.
+     */
+    @Autowired
+    public ImportacaoController(ImportacaoService importacaoService) {
+        this.importacaoService = importacaoService;
+    }
+
+    /**
+     * Inicia a importação de um arquivo de pacientes.
+     *
+     * @param arquivo O arquivo, enviado como {@code multipart/form-data} no campo {@code arquivo}.
+     * @param formato O formato do arquivo: {@code csv} (padrão), {@code json} ou {@code ndjson}.
+     * @return Uma {@link ResponseEntity} com o {@link ProgressoImportacao} inicial, o cabeçalho {@code Location}
+     * da consulta de progresso e o status HTTP 202 (Accepted), ou status 400 (Bad Request) se o
+     * arquivo estiver vazio ou o formato for desconhecido.
+     * @throws IOException Se o arquivo não puder ser gravado no disco.
+     */
+    @PostMapping(value = "/pacientes", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ProgressoImportacao> importarPacientes(@RequestParam("arquivo") MultipartFile arquivo,
+                                                                 @RequestParam(defaultValue = "csv") String formato)
+            throws IOException {
+        FormatoImportacao formatoImportacao;
+        try {
+            formatoImportacao = FormatoImportacao.de(formato);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (arquivo.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        ProgressoImportacao progresso = importacaoService.importarPacientes(formatoImportacao, arquivo);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/importacao/" + progresso.id()))
+                .body(progresso);
+    }
+
+    /**
+     * Consulta o progresso de uma importação.
+     *
+     * @param id O ID da importação, devolvido no envio do arquivo.
+     * @return Uma {@link ResponseEntity} com o {@link ProgressoImportacao} e o status HTTP 200 (OK),
+     * ou status 404 (Not Found) se a importação não existir ou já tiver expirado.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ProgressoImportacao> consultarImportacao(@PathVariable UUID id) {
+        return importacaoService.consultar(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
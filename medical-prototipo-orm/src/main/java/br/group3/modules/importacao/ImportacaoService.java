@@ -0,0 +1,189 @@
+package br.group3.modules.importacao;
+
+import br.group3.modules.paciente.PacienteDTO;
+import br.group3.modules.paciente.PacienteService;
+import br.group3.modules.paciente.ResultadoItemLote;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Serviço que importa arquivos grandes de pacientes em segundo plano.
+ * <p>O arquivo enviado é copiado para um arquivo temporário e lido registro a registro por um
+ * {@link LeitorRegistros}. Os registros são agrupados em lotes de {@code importacao.lote} e cada
+ * lote passa por {@link PacienteService#salvarPacientesEmLote(List)}: validação em paralelo,
+ * recusa de CPFs duplicados e gravação em lotes JDBC, em uma transação própria. Um lote gravado
+ * continua gravado mesmo que a importação falhe depois; o progresso informa quantos foram.</p>
+ * <p>Se o banco recusar um lote inteiro (um CPF gravado por outra requisição entre a verificação e
+ * o INSERT, por exemplo), os registros do lote são gravados um a um, e só os recusados ficam como
+ * duplicados ou inválidos. Falhas que não são do registro, como a queda do banco, encerram a
+ * importação.</p>
+ * <p>As importações concluídas ficam disponíveis para consulta por uma hora.</p>
+ *
+ * @author Grupo 3
+ * @see TarefaImportacao
+ */
+@Service
+public class ImportacaoService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ImportacaoService.class);
+
+    private static final Duration RETENCAO = Duration.ofHours(1);
+
+    private final PacienteService pacienteService;
+    private final ObjectMapper objectMapper;
+    private final Executor executor;
+    private final int tamanhoLote;
+    private final Map<UUID, TarefaImportacao> tarefas = new ConcurrentHashMap<>();
+
+    /**
+     * Construtor para injeção de dependências.
+     *
+     * @param pacienteService O {@link PacienteService} que grava cada lote.
+     * @param objectMapper O {@link ObjectMapper} da aplicação, usado para converter os registros.
+     * @param executor O executor das importações, declarado em {@code ImportacaoConfig}.
+     * @param tamanhoLote A quantidade de registros por lote e por transação, lida de {@code importacao.lote}.
+     */
+    @Autowired
+    public ImportacaoService(PacienteService pacienteService,
+                             ObjectMapper objectMapper,
+                             @Qualifier("executorImportacao") Executor executor,
+                             @Value("${importacao.lote:500}") int tamanhoLote) {
+        this.pacienteService = pacienteService;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    /**
+     * Agenda a importação de um arquivo de pacientes.
+     *
+     * @param formato O {@link FormatoImportacao} do arquivo.
+     * @param arquivo O arquivo enviado na requisição.
+     * @return O progresso inicial da importação, com o ID para consultas.
+     * @throws IOException Se o arquivo não puder ser copiado para o disco.
+     */
+    public ProgressoImportacao importarPacientes(FormatoImportacao formato, MultipartFile arquivo) throws IOException {
+        removerAntigas();
+        // O arquivo da requisição é apagado quando ela termina; a importação continua depois disso
+        Path temporario = Files.createTempFile("importacao-pacientes-", "." + formato.name().toLowerCase());
+        try {
+            arquivo.transferTo(temporario);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporario);
+            throw e;
+        }
+        TarefaImportacao tarefa = new TarefaImportacao();
+        tarefas.put(tarefa.getId(), tarefa);
+        executor.execute(() -> executar(tarefa, formato, temporario));
+        return tarefa.progresso();
+    }
+
+    /**
+     * Consulta o progresso de uma importação.
+     *
+     * @param id O ID devolvido por {@link #importarPacientes(FormatoImportacao, MultipartFile)}.
+     * @return Um {@link Optional} com o progresso, ou vazio se a importação não existir ou já tiver expirado.
+     */
+    public Optional<ProgressoImportacao> consultar(UUID id) {
+        return Optional.ofNullable(tarefas.get(id)).map(TarefaImportacao::progresso);
+    }
+
+    private void executar(TarefaImportacao tarefa, FormatoImportacao formato, Path arquivo) {
+        try (LeitorRegistros<PacienteDTO> leitor = LeitorRegistros.abrir(formato,
+                Files.newBufferedReader(arquivo, StandardCharsets.UTF_8), objectMapper, PacienteDTO.class)) {
+            List<RegistroLido<PacienteDTO>> lote = new ArrayList<>(tamanhoLote);
+            for (RegistroLido<PacienteDTO> lido = leitor.proximo(); lido != null; lido = leitor.proximo()) {
+                tarefa.registroLido();
+                if (lido.registro() == null) {
+                    tarefa.invalido(lido.linha(), lido.erros());
+                    continue;
+                }
+                lote.add(lido);
+                if (lote.size() == tamanhoLote) {
+                    gravar(tarefa, lote);
+                    lote.clear();
+                }
+            }
+            gravar(tarefa, lote);
+            tarefa.concluir();
+        } catch (IOException | UncheckedIOException e) {
+            tarefa.falhar("Erro ao ler o arquivo: " + e.getMessage());
+        } catch (RuntimeException e) {
+            LOG.error("Falha na importação {}: {}", tarefa.getId(), e.getMessage());
+            tarefa.falhar("Erro ao gravar: " + e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(arquivo);
+            } catch (IOException e) {
+                LOG.warn("Não foi possível apagar o arquivo temporário {}: {}", arquivo, e.getMessage());
+            }
+        }
+    }
+
+    private void gravar(TarefaImportacao tarefa, List<RegistroLido<PacienteDTO>> lote) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        List<ResultadoItemLote> resultados;
+        try {
+            resultados = pacienteService.salvarPacientesEmLote(lote.stream().map(RegistroLido::registro).toList());
+        } catch (RuntimeException e) {
+            LOG.warn("Lote de {} registros da importação {} recusado ({}); gravando um a um",
+                    lote.size(), tarefa.getId(), e.getMessage());
+            lote.forEach(lido -> gravarSozinho(tarefa, lido));
+            return;
+        }
+        contabilizar(tarefa, lote, resultados);
+    }
+
+    private void gravarSozinho(TarefaImportacao tarefa, RegistroLido<PacienteDTO> lido) {
+        try {
+            contabilizar(tarefa, List.of(lido), pacienteService.salvarPacientesEmLote(List.of(lido.registro())));
+        } catch (DuplicateKeyException e) {
+            tarefa.duplicado(lido.linha(), Map.of("cpf", "Já existe um paciente com este CPF."));
+        } catch (DataIntegrityViolationException | ConstraintViolationException e) {
+            tarefa.invalido(lido.linha(), Map.of("paciente", "Recusado pelo banco: " + e.getMessage()));
+        }
+    }
+
+    private static void contabilizar(TarefaImportacao tarefa, List<RegistroLido<PacienteDTO>> lote,
+                                     List<ResultadoItemLote> resultados) {
+        for (ResultadoItemLote resultado : resultados) {
+            long linha = lote.get(resultado.getIndice()).linha();
+            switch (resultado.getStatus()) {
+                case CRIADO -> tarefa.gravado();
+                case INVALIDO -> tarefa.invalido(linha, resultado.getErros());
+                case DUPLICADO -> tarefa.duplicado(linha, resultado.getErros());
+            }
+        }
+    }
+
+    private void removerAntigas() {
+        Instant limite = Instant.now().minus(RETENCAO);
+        tarefas.values().removeIf(tarefa -> tarefa.terminada() && tarefa.getConcluidaEm().isBefore(limite));
+    }
+}
@@ -0,0 +1,204 @@
+package br.group3.modules.importacao;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lê um arquivo de importação registro a registro, sem carregá-lo inteiro.
+ * <p>Cada registro é convertido no DTO pelo {@link ObjectMapper} da aplicação (datas no formato
+ * ISO, como na API). Um registro que não pode ser convertido não interrompe a leitura: volta
+ * com os erros por campo. Já um arquivo JSON malformado não tem como ser retomado e faz
+ * {@link #proximo()} lançar {@link IOException}.</p>
+ *
+ * @param <T> O tipo do DTO.
+ * @author Grupo 3
+ */
+public abstract class LeitorRegistros<T> implements Closeable {
+
+    private final ObjectReader conversor;
+    private final Class<T> tipo;
+
+    private LeitorRegistros(ObjectMapper objectMapper, Class<T> tipo) {
+        this.tipo = tipo;
+        // Os arquivos exportados trazem o ID e outros campos que o DTO não tem
+        this.conversor = objectMapper.readerFor(tipo).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    /**
+     * Abre a leitura de um arquivo.
+     *
+     * @param formato O {@link FormatoImportacao} do arquivo.
+     * @param entrada O conteúdo do arquivo; é fechado junto com o leitor.
+     * @param objectMapper O {@link ObjectMapper} usado na conversão.
+     * @param tipo A classe do DTO.
+     * @param <T> O tipo do DTO.
+     * @return O leitor posicionado no primeiro registro.
+     * @throws IOException Se a leitura do início do arquivo falhar.
+     */
+    public static <T> LeitorRegistros<T> abrir(FormatoImportacao formato, Reader entrada,
+                                               ObjectMapper objectMapper, Class<T> tipo) throws IOException {
+        return switch (formato) {
+            case CSV -> new Csv<>(entrada, objectMapper, tipo);
+            case JSON -> new Json<>(entrada, objectMapper, tipo);
+        };
+    }
+
+    /**
+     * Lê o próximo registro.
+     *
+     * @return O {@link RegistroLido}, ou {@code null} no fim do arquivo.
+     * @throws IOException Se a leitura falhar ou o arquivo estiver malformado.
+     */
+    public abstract RegistroLido<T> proximo() throws IOException;
+
+    RegistroLido<T> converter(long linha, JsonNode valor) {
+        try {
+            return new RegistroLido<>(linha, conversor.treeToValue(valor, tipo), Map.of());
+        } catch (JsonMappingException e) {
+            String campo = e.getPath().isEmpty() || e.getPath().get(0).getFieldName() == null
+                    ? "registro"
+                    : e.getPath().get(0).getFieldName();
+            return new RegistroLido<>(linha, null, Map.of(campo, "Valor inválido: " + e.getOriginalMessage()));
+        } catch (JsonProcessingException e) {
+            return new RegistroLido<>(linha, null, Map.of("registro", "Valor inválido: " + e.getOriginalMessage()));
+        }
+    }
+
+    /**
+     * CSV com cabeçalho. Campos vazios viram {@code null}, como a exportação escreve os nulos.
+     */
+    private static final class Csv<T> extends LeitorRegistros<T> {
+
+        private final BufferedReader entrada;
+        private final ObjectMapper objectMapper;
+        private final List<String> cabecalho;
+        private long linhaAtual = 1;
+
+        Csv(Reader entrada, ObjectMapper objectMapper, Class<T> tipo) throws IOException {
+            super(objectMapper, tipo);
+            this.entrada = new BufferedReader(entrada);
+            this.objectMapper = objectMapper;
+            List<String> campos = lerCampos();
+            this.cabecalho = campos == null ? List.of() : campos.stream().map(String::trim).toList();
+        }
+
+        @Override
+        public RegistroLido<T> proximo() throws IOException {
+            while (true) {
+                long inicio = linhaAtual;
+                List<String> campos = lerCampos();
+                if (campos == null) {
+                    return null;
+                }
+                if (campos.size() == 1 && campos.get(0).isEmpty()) {
+                    continue; // linha em branco
+                }
+                if (campos.size() != cabecalho.size()) {
+                    return new RegistroLido<>(inicio, null, Map.of("registro",
+                            "Esperadas " + cabecalho.size() + " colunas, encontradas " + campos.size() + "."));
+                }
+                ObjectNode valor = objectMapper.createObjectNode();
+                for (int i = 0; i < campos.size(); i++) {
+                    String campo = campos.get(i);
+                    if (campo.isEmpty()) {
+                        valor.putNull(cabecalho.get(i));
+                    } else {
+                        valor.put(cabecalho.get(i), campo);
+                    }
+                }
+                return converter(inicio, valor);
+            }
+        }
+
+        /**
+         * Lê um registro, que pode ocupar várias linhas quando um campo entre aspas tem quebras de linha.
+         */
+        private List<String> lerCampos() throws IOException {
+            int c = entrada.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> campos = new ArrayList<>();
+            StringBuilder campo = new StringBuilder();
+            boolean entreAspas = false;
+            while (c != -1) {
+                if (entreAspas) {
+                    if (c == '"') {
+                        entrada.mark(1);
+                        if (entrada.read() == '"') {
+                            campo.append('"');
+                        } else {
+                            entrada.reset();
+                            entreAspas = false;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            linhaAtual++;
+                        }
+                        campo.append((char) c);
+                    }
+                } else if (c == '"') {
+                    entreAspas = true;
+                } else if (c == ',') {
+                    campos.add(campo.toString());
+                    campo.setLength(0);
+                } else if (c == '\n') {
+                    linhaAtual++;
+                    break;
+                } else if (c != '\r') {
+                    campo.append((char) c);
+                }
+                c = entrada.read();
+            }
+            campos.add(campo.toString());
+            return campos;
+        }
+
+        @Override
+        public void close() throws IOException {
+            entrada.close();
+        }
+    }
+
+    /**
+     * Array JSON ou NDJSON: o {@link MappingIterator} percorre os elementos do array ou os objetos
+     * em sequência, lendo um de cada vez.
+     */
+    private static final class Json<T> extends LeitorRegistros<T> {
+
+        private final MappingIterator<JsonNode> valores;
+
+        Json(Reader entrada, ObjectMapper objectMapper, Class<T> tipo) throws IOException {
+            super(objectMapper, tipo);
+            this.valores = objectMapper.readerFor(JsonNode.class).readValues(entrada);
+        }
+
+        @Override
+        public RegistroLido<T> proximo() throws IOException {
+            if (!valores.hasNextValue()) {
+                return null;
+            }
+            long linha = valores.getParser().currentTokenLocation().getLineNr();
+            return converter(linha, valores.nextValue());
+        }
+
+        @Override
+        public void close() throws IOException {
+            valores.close();
+        }
+    }
+}
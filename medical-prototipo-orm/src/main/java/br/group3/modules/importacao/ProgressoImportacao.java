@@ -0,0 +1,36 @@
+package br.group3.modules.importacao;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Situação de uma importação, devolvida por {@code GET /api/importacao/{id}}.
+ *
+ * @param id O identificador da importação.
+ * @param status A {@link TarefaImportacao.Status} atual.
+ * @param registrosLidos Quantos registros já foram lidos do arquivo.
+ * @param gravados Quantos registros foram gravados; cada lote é confirmado no banco separadamente.
+ * @param invalidos Quantos registros foram recusados por erros de conversão ou validação.
+ * @param duplicados Quantos registros foram recusados por CPF já cadastrado ou repetido no arquivo.
+ * @param registrosPorSegundo A vazão média desde o início, em registros lidos por segundo.
+ * @param iniciadaEm O instante em que a leitura começou.
+ * @param concluidaEm O instante em que a importação terminou, ou {@code null} se ainda estiver em andamento.
+ * @param falha A causa da falha quando o status é {@code FALHOU}, ou {@code null}.
+ * @param erros Os registros recusados, na ordem do arquivo, limitados a {@value TarefaImportacao#MAXIMO_ERROS}.
+ * @param errosOmitidos Quantos registros recusados ficaram de fora de {@code erros} por causa do limite.
+ * @author Grupo 3
+ */
+public record ProgressoImportacao(UUID id,
+                                  TarefaImportacao.Status status,
+                                  long registrosLidos,
+                                  long gravados,
+                                  long invalidos,
+                                  long duplicados,
+                                  double registrosPorSegundo,
+                                  Instant iniciadaEm,
+                                  Instant concluidaEm,
+                                  String falha,
+                                  List<ErroImportacao> erros,
+                                  long errosOmitidos) {
+}
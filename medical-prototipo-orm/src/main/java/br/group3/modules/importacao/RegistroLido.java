@@ -0,0 +1,15 @@
+package br.group3.modules.importacao;
+
+import java.util.Map;
+
+/**
+ * Um registro lido do arquivo de importação.
+ *
+ * @param linha A linha do arquivo onde o registro começa, a partir de 1.
+ * @param registro O DTO convertido, ou {@code null} se o registro não pôde ser convertido.
+ * @param erros Os erros de conversão por campo; vazio quando {@code registro} não é nulo.
+ * @param <T> O tipo do DTO.
+ * @author Grupo 3
+ */
+public record RegistroLido<T>(long linha, T registro, Map<String, String> erros) {
+}
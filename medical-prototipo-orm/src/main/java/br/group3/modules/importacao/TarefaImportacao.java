@@ -0,0 +1,128 @@
+package br.group3.modules.importacao;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Estado de uma importação em andamento ou concluída.
+ * <p>É atualizada só pela thread que executa a importação e lida pelas requisições de progresso;
+ * os métodos são sincronizados para que {@link #progresso()} devolva uma fotografia consistente.</p>
+ *
+ * @author Grupo 3
+ */
+public class TarefaImportacao {
+
+    /**
+     * Quantidade máxima de registros recusados guardados para o relatório de progresso.
+     */
+    public static final int MAXIMO_ERROS = 1000;
+
+    /**
+     * Situação da importação.
+     */
+    public enum Status {
+        EM_ANDAMENTO,
+        CONCLUIDA,
+        FALHOU
+    }
+
+    private final UUID id = UUID.randomUUID();
+    private final Instant iniciadaEm = Instant.now();
+    private final long inicioNanos = System.nanoTime();
+    private final List<ErroImportacao> erros = new ArrayList<>();
+
+    private Status status = Status.EM_ANDAMENTO;
+    private long registrosLidos;
+    private long gravados;
+    private long invalidos;
+    private long duplicados;
+    private long errosOmitidos;
+    private long duracaoNanos = -1;
+    private Instant concluidaEm;
+    private String falha;
+
+    /**
+     * Retorna o identificador da importação.
+     *
+     * @return O {@link UUID} gerado na criação.
+     */
+    public UUID getId() {
+        return id;
+    }
+
+    synchronized void registroLido() {
+        registrosLidos++;
+    }
+
+    synchronized void gravado() {
+        gravados++;
+    }
+
+    synchronized void invalido(long linha, Map<String, String> motivo) {
+        invalidos++;
+        guardarErro(linha, motivo);
+    }
+
+    synchronized void duplicado(long linha, Map<String, String> motivo) {
+        duplicados++;
+        guardarErro(linha, motivo);
+    }
+
+    synchronized void concluir() {
+        terminar(Status.CONCLUIDA, null);
+    }
+
+    synchronized void falhar(String causa) {
+        terminar(Status.FALHOU, causa);
+    }
+
+    /**
+     * Indica se a importação terminou, com ou sem sucesso.
+     *
+     * @return {@code true} se o status não for mais {@link Status#EM_ANDAMENTO}.
+     */
+    public synchronized boolean terminada() {
+        return status != Status.EM_ANDAMENTO;
+    }
+
+    /**
+     * Retorna o instante em que a importação terminou.
+     *
+     * @return O instante, ou {@code null} se ainda estiver em andamento.
+     */
+    public synchronized Instant getConcluidaEm() {
+        return concluidaEm;
+    }
+
+    /**
+     * Monta o relatório de progresso com os contadores atuais.
+     *
+     * @return Um {@link ProgressoImportacao} com a situação neste momento.
+     */
+    public synchronized ProgressoImportacao progresso() {
+        long nanos = duracaoNanos >= 0 ? duracaoNanos : System.nanoTime() - inicioNanos;
+        double segundos = nanos / (double) Duration.ofSeconds(1).toNanos();
+        double porSegundo = segundos > 0 ? registrosLidos / segundos : 0;
+        return new ProgressoImportacao(id, status, registrosLidos, gravados, invalidos, duplicados,
+                Math.round(porSegundo * 10) / 10.0, iniciadaEm, concluidaEm, falha, List.copyOf(erros), errosOmitidos);
+    }
+
+    private void guardarErro(long linha, Map<String, String> motivo) {
+        if (erros.size() < MAXIMO_ERROS) {
+            erros.add(new ErroImportacao(linha, motivo));
+        } else {
+            errosOmitidos++;
+        }
+    }
+
+    private void terminar(Status resultado, String causa) {
+        status = resultado;
+        falha = causa;
+        duracaoNanos = System.nanoTime() - inicioNanos;
+        concluidaEm = Instant.now();
+    }
+}
@@ -1,8 +1,21 @@
 package br.group3.modules.medico;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 /**
  * Repositório Spring Data JPA para a entidade {@link Medico}.
  * <p>
@@ -21,4 +34,60 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface IMedicoRepository extends JpaRepository<Medico, Long> {
+
+    /**
+     * Busca os médicos seguintes a um ID, em ordem crescente de ID.
+     *
+     * @param aposId O ID do último médico já entregue; {@code 0} para começar do início.
+     * @param limite A quantidade máxima de médicos.
+     * @return Os médicos com ID maior que {@code aposId}.
+     */
+    @Query("SELECT m FROM Medico m WHERE m.idMedico > :aposId ORDER BY m.idMedico")
+    List<Medico> buscarPaginaPorId(@Param("aposId") long aposId, Limit limite);
+
+    /**
+     * Busca a primeira página de médicos em ordem alfabética, desempatada pelo ID.
+     *
+     * @param limite A quantidade máxima de médicos.
+     * @return Os primeiros médicos na ordem de nome e ID.
+     */
+    List<Medico> findAllByOrderByNomeCompletoAscIdMedicoAsc(Limit limite);
+
+    /**
+     * Busca os médicos seguintes a uma posição da ordem alfabética, usando o índice
+     * {@code idx_medico_nome} como faixa a partir de {@code aposNome}.
+     *
+     * @param aposNome O nome do último médico já entregue.
+     * @param aposId O ID do último médico já entregue.
+     * @param limite A quantidade máxima de médicos.
+     * @return Os médicos depois de {@code (aposNome, aposId)} na ordem de nome e ID.
+     */
+    @Query("SELECT m FROM Medico m WHERE m.nomeCompleto >= :aposNome"
+            + " AND (m.nomeCompleto > :aposNome OR m.idMedico > :aposId)"
+            + " ORDER BY m.nomeCompleto, m.idMedico")
+    List<Medico> buscarPaginaPorNome(@Param("aposNome") String aposNome, @Param("aposId") long aposId, Limit limite);
+
+    /**
+     * Busca só a versão de um médico, sem carregar a entidade.
+     * <p>Usada para responder 304 (Not Modified) às buscas condicionais por ID.</p>
+     *
+     * @param id O ID do médico.
+     * @return A versão atual, ou vazio se o médico não existir.
+     */
+    @Query("SELECT m.versao FROM Medico m WHERE m.idMedico = :id")
+    Optional<Long> buscarVersao(@Param("id") Long id);
+
+    /**
+     * Percorre todos os médicos em ordem de ID, por um cursor somente-leitura lido em blocos.
+     *
+     * @return Um {@link Stream} com todos os médicos; precisa ser fechado e consumido dentro de uma transação.
+     * @see br.group3.modules.paciente.IPacienteRepository#percorrerTodos()
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT m FROM Medico m ORDER BY m.idMedico")
+    Stream<Medico> percorrerTodos();
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package br.group3.modules.medico;
 
+import br.group3.configures.GeradoresId;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -16,7 +17,7 @@ import lombok.Setter;
  * @author Grupo 3
  */
 @Entity
-@Table(name = "medico")
+@Table(name = "medico", indexes = @Index(name = "idx_medico_nome", columnList = "nome_completo, id_medico"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -25,10 +26,14 @@ public class Medico {
 
     /**
      * O ID único do médico.
-     * <p>É gerado automaticamente pelo banco de dados para garantir exclusividade.</p>
+     * <p>É reservado em blocos pelo gerador {@code medico} da tabela {@value GeradoresId#TABELA},
+     * o que permite gravar médicos em lotes JDBC.</p>
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "gerador_medico")
+    @TableGenerator(name = "gerador_medico", table = GeradoresId.TABELA, pkColumnName = GeradoresId.COLUNA_NOME,
+            valueColumnName = GeradoresId.COLUNA_VALOR, pkColumnValue = "medico",
+            allocationSize = GeradoresId.TAMANHO_ALOCACAO)
     @Column(name = "id_medico")
     private Long idMedico;
 
@@ -67,4 +72,28 @@ public class Medico {
      */
     @Column(name = "especialidade", length = 100)
     private String especialidade;
-}
\ No newline at end of file
+
+    /**
+     * A versão do registro, incrementada pelo Hibernate a cada atualização.
+     * <p>Uma atualização que parte de uma versão antiga falha em vez de sobrescrever a alteração de
+     * outra pessoa. A versão também compõe o ETag das respostas da API.</p>
+     */
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
+    /**
+     * Cria um médico ainda sem versão, que recebe a versão inicial ao ser gravado.
+     *
+     * @param idMedico O ID do médico, ou {@code null} para um médico novo.
+     * @param nomeCompleto O nome completo.
+     * @param crm O CRM.
+     * @param telefone O telefone de contato.
+     * @param email O e-mail.
+     * @param especialidade A especialidade.
+     */
+    public Medico(Long idMedico, String nomeCompleto, String crm, String telefone, String email,
+                  String especialidade) {
+        this(idMedico, nomeCompleto, crm, telefone, email, especialidade, null);
+    }
+}
@@ -1,13 +1,18 @@
 package br.group3.modules.medico;
 
+import br.group3.modules.etag.Etags;
+import br.group3.modules.paginacao.PedidoPagina;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 /**
  * Controlador REST para gerenciar operações relacionadas a médicos.
@@ -15,6 +20,9 @@ import java.util.Optional;
  * em registros de médicos, interagindo com o {@link MedicoService}.</p>
  * <p>Os dados de entrada são formatados usando {@link MedicoDTO} e
  * as respostas de sucesso retornam a entidade {@link Medico} completa.</p>
+ * <p>As leituras e as atualizações levam o cabeçalho {@code ETag} (ver {@link Etags}): as buscas
+ * aceitam {@code If-None-Match} e respondem 304 (Not Modified) se nada mudou, e o PUT aceita
+ * {@code If-Match} e responde 412 (Precondition Failed) se o médico mudou desde a leitura.</p>
  *
  * @author Grupo 3
  * @see MedicoService
@@ -25,6 +33,8 @@ import java.util.Optional;
 @RequestMapping("/api/medicos")
 public class MedicoController {
 
+    private static final String ENTIDADE = "medico";
+
     private final MedicoService medicoService;
 
     /**
@@ -49,32 +59,80 @@ public class MedicoController {
     @PostMapping
     public ResponseEntity<Medico> criarMedico(@Valid @RequestBody MedicoDTO medicoDTO) {
         Medico novoMedico = medicoService.salvarMedico(medicoDTO);
-        return ResponseEntity.status(HttpStatus.CREATED).body(novoMedico);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(Etags.daEntidade(ENTIDADE, novoMedico.getIdMedico(), novoMedico.getVersao()))
+                .body(novoMedico);
     }
 
     /**
-     * Retorna todos os médicos cadastrados no sistema.
+     * Retorna uma página dos médicos cadastrados no sistema.
+     * <p>A listagem é paginada por cursor: o corpo é o array de médicos da página e, se houver
+     * mais, o cabeçalho {@code X-Proximo-Cursor} traz o cursor a enviar no parâmetro {@code cursor}
+     * para obter a próxima (o cabeçalho {@code Link} com {@code rel="next"} traz a URL pronta).</p>
      *
+     * @param tamanho A quantidade máxima de médicos da página; valores acima de
+     * {@value PedidoPagina#TAMANHO_MAXIMO} são reduzidos a ele.
+     * @param ordem A ordem da listagem: {@code id} (padrão) ou {@code nome}.
+     * @param cursor O cursor recebido na página anterior, ou ausente para a primeira página.
+     * @param seNaoCorresponder O cabeçalho {@code If-None-Match}, com o ETag de uma leitura anterior.
      * @return Uma {@link ResponseEntity} contendo uma {@link List} de entidades {@link Medico}
-     * e o status HTTP 200 (OK). A lista pode estar vazia se não houver médicos.
+     * e o status HTTP 200 (OK), status 304 (Not Modified) se nenhum médico mudou desde o ETag recebido,
+     * ou status 400 (Bad Request) se a ordem, o cursor ou o tamanho forem inválidos.
      */
     @GetMapping
-    public ResponseEntity<List<Medico>> listarTodosMedicos() {
-        List<Medico> medicos = medicoService.listarTodosMedicos();
-        return ResponseEntity.ok(medicos);
+    public ResponseEntity<List<Medico>> listarMedicos(
+            @RequestParam(defaultValue = "" + PedidoPagina.TAMANHO_PADRAO) int tamanho,
+            @RequestParam(defaultValue = "id") String ordem,
+            @RequestParam(required = false) String cursor,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String seNaoCorresponder) {
+        PedidoPagina pedido;
+        try {
+            pedido = PedidoPagina.de(ordem, cursor, tamanho);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        // Lido antes da página: se uma escrita terminar no meio, o ETag fica mais antigo que o corpo,
+        // e a próxima leitura condicional recebe a página de novo em vez de um 304 indevido
+        OptionalLong alteracoes = medicoService.contarAlteracoesMedicos();
+        if (alteracoes.isEmpty()) {
+            // Contador atrasado: sem ETag, o cliente não guarda um validador que daria 304 indevido
+            return medicoService.listarMedicos(pedido).comoResposta(null);
+        }
+        String etag = Etags.daListagem(ENTIDADE, alteracoes.getAsLong());
+        if (Etags.corresponde(seNaoCorresponder, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return medicoService.listarMedicos(pedido).comoResposta(etag);
     }
 
     /**
      * Busca um médico pelo seu ID.
+     * <p>Com {@code If-None-Match}, só a versão do médico é lida do banco; o médico é carregado
+     * apenas se tiver mudado.</p>
      *
      * @param id O ID do médico a ser buscado, passado como variável de caminho.
+     * @param seNaoCorresponder O cabeçalho {@code If-None-Match}, com o ETag de uma leitura anterior.
      * @return Uma {@link ResponseEntity} contendo a entidade {@link Medico} do médico encontrado
-     * e o status HTTP 200 (OK), ou status 404 (Not Found) se o médico não for encontrado.
+     * e o status HTTP 200 (OK), status 304 (Not Modified) se o médico não mudou desde o ETag recebido,
+     * ou status 404 (Not Found) se o médico não for encontrado.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Medico> buscarMedicoPorId(@PathVariable Long id) {
+    public ResponseEntity<Medico> buscarMedicoPorId(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String seNaoCorresponder) {
+        if (seNaoCorresponder != null) {
+            Optional<Long> versao = medicoService.buscarVersaoMedico(id);
+            if (versao.isPresent()) {
+                String etag = Etags.daEntidade(ENTIDADE, id, versao.get());
+                if (Etags.corresponde(seNaoCorresponder, etag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+                }
+            }
+        }
         Optional<Medico> medico = medicoService.buscarMedicoPorId(id);
-        return medico.map(ResponseEntity::ok)
+        return medico.map(encontrado -> ResponseEntity.ok()
+                        .eTag(Etags.daEntidade(ENTIDADE, id, encontrado.getVersao()))
+                        .body(encontrado))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
@@ -86,15 +144,33 @@ public class MedicoController {
      * @param id O ID do médico a ser atualizado, passado como variável de caminho.
      * @param medicoDTO O DTO contendo os novos dados do médico.
      * É anotado com {@link Valid} para ativar as validações definidas no DTO.
+     * @param seCorresponder O cabeçalho {@code If-Match}, com o ETag da versão lida pelo cliente.
      * @return Uma {@link ResponseEntity} contendo a entidade {@link Medico} do médico atualizado
-     * e o status HTTP 200 (OK), ou status 404 (Not Found) se o médico não for encontrado.
+     * e o status HTTP 200 (OK), status 404 (Not Found) se o médico não for encontrado, status 412
+     * (Precondition Failed) se o médico não estiver na versão de {@code If-Match}, ou status 409 (Conflict)
+     * se, sem {@code If-Match}, outra atualização do mesmo médico terminar antes desta.
      */
     @PutMapping("/{id}")
     public ResponseEntity<Medico> atualizarMedico(@PathVariable Long id,
-                                                  @Valid @RequestBody MedicoDTO medicoDTO) {
-        Medico medicoAtualizado = medicoService.atualizarMedico(id, medicoDTO);
+                                                  @Valid @RequestBody MedicoDTO medicoDTO,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String seCorresponder) {
+        Long versaoExigida;
+        try {
+            versaoExigida = Etags.versaoExigida(seCorresponder, ENTIDADE, id);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        Medico medicoAtualizado;
+        try {
+            medicoAtualizado = medicoService.atualizarMedico(id, medicoDTO, versaoExigida);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(versaoExigida != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT)
+                    .build();
+        }
         if (medicoAtualizado != null) {
-            return ResponseEntity.ok(medicoAtualizado);
+            return ResponseEntity.ok()
+                    .eTag(Etags.daEntidade(ENTIDADE, id, medicoAtualizado.getVersao()))
+                    .body(medicoAtualizado);
         }
         return ResponseEntity.notFound().build();
     }
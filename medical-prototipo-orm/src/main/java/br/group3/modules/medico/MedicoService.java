@@ -1,15 +1,27 @@
 package br.group3.modules.medico;
 
+import br.group3.modules.cache.CacheEntidades;
+import br.group3.modules.etag.ContadorAlteracoes;
+import br.group3.modules.outbox.OutboxService;
+import br.group3.modules.paginacao.CursorPagina;
+import br.group3.modules.paginacao.Pagina;
+import br.group3.modules.paginacao.PedidoPagina;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 /**
  * Serviço responsável pelas operações de negócio relacionadas à entidade {@link Medico}.
  * <p>Esta classe gerencia as operações de CRUD (Create, Read, Update, Delete)
  * para médicos, interagindo com o {@link IMedicoRepository} para acessar o banco de dados.</p>
+ * <p>Toda escrita registra, na mesma transação, um evento no outbox por meio do
+ * {@link OutboxService}, que depois é publicado no Redis para o middleware.</p>
  *
  * @author Grupo 3
  * @see Medico
@@ -19,16 +31,29 @@ import java.util.Optional;
 @Service
 public class MedicoService {
 
+    private static final String ENTIDADE = "medico";
+
     private final IMedicoRepository  medicoRepository;
+    private final OutboxService outboxService;
+    private final CacheEntidades<Medico> cache;
+    private final ContadorAlteracoes contadorAlteracoes;
 
     /**
-     * Construtor para injeção de dependência do {@link IMedicoRepository}.
+     * Construtor para injeção de dependência do {@link IMedicoRepository}, do {@link OutboxService}
+     * e do cache das buscas por ID.
      *
      * @param medicoRepository A instância de {@link IMedicoRepository} a ser injetada.
+     * @param outboxService O {@link OutboxService} que registra os eventos de alteração.
+     * @param cache O {@link CacheEntidades} das buscas de médicos por ID.
+     * @param contadorAlteracoes O {@link ContadorAlteracoes} usado no ETag da listagem.
      */
     @Autowired
-    public MedicoService(IMedicoRepository medicoRepository) {
+    public MedicoService(IMedicoRepository medicoRepository, OutboxService outboxService,
+                         CacheEntidades<Medico> cache, ContadorAlteracoes contadorAlteracoes) {
         this.medicoRepository = medicoRepository;
+        this.outboxService = outboxService;
+        this.cache = cache;
+        this.contadorAlteracoes = contadorAlteracoes;
     }
 
     /**
@@ -37,6 +62,7 @@ public class MedicoService {
      * @param medicoDTO O DTO {@link MedicoDTO} contendo os dados do médico.
      * @return O médico salvo como entidade {@link Medico}, incluindo o ID gerado.
      */
+    @Transactional
     public Medico salvarMedico(MedicoDTO medicoDTO) {
         Medico medico = new Medico();
         medico.setNomeCompleto(medicoDTO.getNomeCompleto());
@@ -45,17 +71,42 @@ public class MedicoService {
         medico.setEmail(medicoDTO.getEmail());
         medico.setEspecialidade(medicoDTO.getEspecialidade());
 
-        return medicoRepository.save(medico);
+        Medico salvo = medicoRepository.save(medico);
+        outboxService.registrar(ENTIDADE, OutboxService.Operacao.CRIADO, salvo);
+        contadorAlteracoes.registrar(ENTIDADE);
+        return salvo;
     }
 
     /**
      * Busca um médico pelo seu ID.
+     * <p>A busca passa pelo {@link CacheEntidades}: o médico pode vir do cache, sem ligação com o contexto
+     * de persistência.</p>
      *
      * @param id O ID do médico a ser buscado.
      * @return Um {@link Optional} contendo o médico como entidade {@link Medico} se encontrado, ou vazio caso contrário.
      */
     public Optional<Medico> buscarMedicoPorId(Long id) {
-        return medicoRepository.findById(id);
+        return cache.buscar(id, medicoRepository::findById);
+    }
+
+    /**
+     * Busca só a versão de um médico, sem carregar a entidade.
+     *
+     * @param id O ID do médico.
+     * @return Um {@link Optional} com a versão atual, ou vazio se o médico não existir.
+     */
+    public Optional<Long> buscarVersaoMedico(Long id) {
+        return medicoRepository.buscarVersao(id);
+    }
+
+    /**
+     * Retorna quantas transações já alteraram os médicos, usado no ETag da listagem.
+     *
+     * @return O valor atual do {@link ContadorAlteracoes} dos médicos, ou vazio se ele estiver atrasado
+     * por um incremento que falhou.
+     */
+    public OptionalLong contarAlteracoesMedicos() {
+        return contadorAlteracoes.atual(ENTIDADE);
     }
 
     /**
@@ -67,25 +118,59 @@ public class MedicoService {
         return medicoRepository.findAll();
     }
 
+    /**
+     * Retorna uma página de médicos, continuando a partir do cursor do pedido.
+     *
+     * @param pedido A ordem, o cursor e o tamanho da página.
+     * @return A {@link Pagina} de entidades {@link Medico}.
+     * @see br.group3.modules.paciente.PacienteService#listarPacientes(PedidoPagina)
+     */
+    public Pagina<Medico> listarMedicos(PedidoPagina pedido) {
+        Limit limite = Limit.of(pedido.tamanho() + 1);
+        CursorPagina apos = pedido.apos();
+        List<Medico> encontrados = switch (pedido.ordem()) {
+            case ID -> medicoRepository.buscarPaginaPorId(apos == null ? 0 : apos.ultimoId(), limite);
+            case NOME -> apos == null
+                    ? medicoRepository.findAllByOrderByNomeCompletoAscIdMedicoAsc(limite)
+                    : medicoRepository.buscarPaginaPorNome(apos.ultimoNome(), apos.ultimoId(), limite);
+        };
+        return Pagina.de(encontrados, pedido.tamanho(),
+                m -> new CursorPagina(pedido.ordem(), m.getIdMedico(), m.getNomeCompleto()));
+    }
+
     /**
      * Atualiza as informações de um médico existente a partir de um DTO.
+     * <p>Com {@code versaoExigida}, a atualização só acontece se o médico ainda estiver nessa versão.
+     * Uma atualização concorrente que termine antes desta também a faz falhar, pela coluna
+     * {@code @Version}.</p>
      *
      * @param id O ID do médico a ser atualizado.
      * @param medicoDTO O objeto {@link MedicoDTO} com as informações atualizadas.
+     * @param versaoExigida A versão lida pelo cliente, ou {@code null} para atualizar qualquer versão.
      * @return O médico atualizado como entidade {@link Medico}, ou {@code null} se o médico com o ID fornecido não for encontrado.
+     * @throws OptimisticLockingFailureException Se o médico estiver em outra versão ou for alterado durante a atualização.
      */
-    public Medico atualizarMedico(Long id, MedicoDTO medicoDTO) {
+    @Transactional
+    public Medico atualizarMedico(Long id, MedicoDTO medicoDTO, Long versaoExigida) {
         Optional<Medico> medicoExistente = medicoRepository.findById(id);
 
         if (medicoExistente.isPresent()) {
             Medico medico = medicoExistente.get();
+            if (versaoExigida != null && !versaoExigida.equals(medico.getVersao())) {
+                throw new OptimisticLockingFailureException("O médico " + id + " está na versão "
+                        + medico.getVersao() + ", não na " + versaoExigida);
+            }
             medico.setNomeCompleto(medicoDTO.getNomeCompleto());
             medico.setCrm(medicoDTO.getCrm());
             medico.setTelefone(medicoDTO.getTelefone());
             medico.setEmail(medicoDTO.getEmail());
             medico.setEspecialidade(medicoDTO.getEspecialidade());
 
-            return medicoRepository.save(medico);
+            Medico atualizado = medicoRepository.save(medico);
+            outboxService.registrar(ENTIDADE, OutboxService.Operacao.ATUALIZADO, atualizado);
+            contadorAlteracoes.registrar(ENTIDADE);
+            cache.invalidar(id);
+            return atualizado;
         }
         return null;
     }
@@ -95,7 +180,11 @@ public class MedicoService {
      *
      * @param id O ID do médico a ser deletado.
      */
+    @Transactional
     public void deletarMedico(Long id) {
         medicoRepository.deleteById(id);
+        outboxService.registrarRemocao(ENTIDADE, "idMedico", id);
+        contadorAlteracoes.registrar(ENTIDADE);
+        cache.invalidar(id);
     }
 }
\ No newline at end of file
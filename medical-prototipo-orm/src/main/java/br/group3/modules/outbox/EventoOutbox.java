@@ -0,0 +1,53 @@
+package br.group3.modules.outbox;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Representa um evento aguardando publicação no Redis.
+ * <p>Esta entidade mapeia a tabela "evento_outbox". Cada alteração de paciente ou médico
+ * grava uma linha nesta tabela na mesma transação da alteração; o {@link OutboxRelay}
+ * publica as linhas e as remove em seguida.</p>
+ *
+ * @author Grupo 3
+ */
+@Entity
+@Table(name = "evento_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoOutbox {
+
+    /**
+     * O ID do evento, que também define a ordem de publicação.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_evento")
+    private Long idEvento;
+
+    /**
+     * O canal do Redis em que o evento será publicado.
+     */
+    @Column(name = "canal", nullable = false, length = 100)
+    private String canal;
+
+    /**
+     * O conteúdo do evento em JSON.
+     */
+    @Lob
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    /**
+     * O momento em que o evento foi registrado.
+     */
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+}
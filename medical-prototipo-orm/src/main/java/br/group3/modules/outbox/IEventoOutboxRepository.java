@@ -0,0 +1,27 @@
+package br.group3.modules.outbox;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositório Spring Data JPA para a entidade {@link EventoOutbox}.
+ *
+ * @author Grupo 3
+ * @see EventoOutbox
+ */
+@Repository
+public interface IEventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    /**
+     * Busca os eventos mais antigos, em ordem de registro.
+     * <p>Não bloqueia as linhas: quem chama precisa ter a {@link TravaRelay}, que garante uma
+     * única instância publicando e, portanto, a ordem dos eventos.</p>
+     *
+     * @param pageable Define quantos eventos buscar.
+     * @return Os eventos encontrados, do mais antigo para o mais novo.
+     */
+    List<EventoOutbox> findByOrderByIdEventoAsc(Pageable pageable);
+}
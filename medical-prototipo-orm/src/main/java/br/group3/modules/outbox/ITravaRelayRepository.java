@@ -0,0 +1,32 @@
+package br.group3.modules.outbox;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repositório Spring Data JPA para a entidade {@link TravaRelay}.
+ *
+ * @author Grupo 3
+ * @see TravaRelay
+ */
+@Repository
+public interface ITravaRelayRepository extends JpaRepository<TravaRelay, String> {
+
+    /**
+     * Bloqueia a linha do relay até o fim da transação, sem esperar por ela.
+     * <p>Se outra instância já tiver a linha bloqueada, ela é pulada ({@code SKIP LOCKED}) e o
+     * resultado vem vazio. Deve ser chamado dentro de uma transação.</p>
+     *
+     * @param nome O nome do relay.
+     * @return A trava, ou vazio se ela estiver com outra instância (ou ainda não existir).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    Optional<TravaRelay> findComTravaByNome(String nome);
+}
@@ -0,0 +1,138 @@
+package br.group3.modules.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.StreamEntryID;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tarefa em segundo plano que drena o outbox para o Redis.
+ * <p>A cada {@code outbox.relay.intervalo-ms} busca até {@code outbox.relay.lote} eventos,
+ * publica todos em um único pipeline do Jedis e, só depois da confirmação do Redis,
+ * remove as linhas publicadas. Se o Redis estiver fora do ar, os eventos continuam na
+ * tabela e são publicados na próxima execução; a entrega é, portanto, pelo menos uma vez.</p>
+ * <p>Cada lote começa bloqueando a {@link TravaRelay} do outbox. Com várias instâncias da
+ * aplicação, só uma publica por vez; as outras pulam o ciclo. Assim os eventos saem na ordem
+ * do ID, como {@link OutboxService#registrarLote} promete.</p>
+ * <p>Com {@code outbox.relay.modo=streams} os eventos são gravados com {@code XADD} no campo
+ * {@code payload}, para o modo de ingestão por Redis Streams do middleware; caso contrário
+ * são enviados com {@code PUBLISH}.</p>
+ * <p>Cada payload sai com o {@code idEvento} da linha do outbox como primeiro campo. Uma
+ * republicação (o Redis confirmou, mas a remoção não chegou a ser gravada) leva o mesmo
+ * {@code idEvento}, e é por ele que o middleware reconhece o evento repetido.</p>
+ *
+ * @author Grupo 3
+ * @see OutboxService
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OutboxRelay.class);
+
+    /**
+     * Nome da linha de {@link TravaRelay} disputada pelas instâncias.
+     */
+    static final String TRAVA = "outbox";
+
+    private final IEventoOutboxRepository eventoOutboxRepository;
+    private final ITravaRelayRepository travaRelayRepository;
+    private final JedisPooled jedis;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoLote;
+    private final boolean usarStreams;
+
+    /**
+     * Construtor para injeção de dependências.
+     *
+     * @param eventoOutboxRepository O repositório de {@link EventoOutbox}.
+     * @param travaRelayRepository O repositório de {@link TravaRelay}.
+     * @param jedis O cliente Redis compartilhado.
+     * @param transactionTemplate Usado para abrir uma transação por lote.
+     * @param tamanhoLote Quantos eventos publicar por execução, lido de {@code outbox.relay.lote}.
+     * @param modo "pubsub" ou "streams", lido de {@code outbox.relay.modo}.
+     */
+    @Autowired
+    public OutboxRelay(IEventoOutboxRepository eventoOutboxRepository,
+                       ITravaRelayRepository travaRelayRepository,
+                       JedisPooled jedis,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${outbox.relay.lote:500}") int tamanhoLote,
+                       @Value("${outbox.relay.modo:pubsub}") String modo) {
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        this.travaRelayRepository = travaRelayRepository;
+        this.jedis = jedis;
+        this.transactionTemplate = transactionTemplate;
+        this.tamanhoLote = tamanhoLote;
+        this.usarStreams = "streams".equalsIgnoreCase(modo);
+    }
+
+    /**
+     * Publica lotes até esvaziar o outbox ou até o Redis falhar.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.intervalo-ms:200}")
+    public void drenar() {
+        try {
+            int publicados;
+            do {
+                publicados = publicarLote();
+            } while (publicados == tamanhoLote);
+        } catch (Exception e) {
+            LOG.warn("Falha ao publicar eventos do outbox, nova tentativa no próximo ciclo: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Publica e remove um lote de eventos em uma única transação.
+     * <p>Se outra instância estiver com a trava, não publica nada.</p>
+     *
+     * @return Quantos eventos foram publicados.
+     */
+    public int publicarLote() {
+        Integer publicados = transactionTemplate.execute(status -> {
+            if (travaRelayRepository.findComTravaByNome(TRAVA).isEmpty()) {
+                if (!travaRelayRepository.existsById(TRAVA)) {
+                    // Primeira execução contra este banco: cria a linha e publica no próximo ciclo
+                    travaRelayRepository.save(new TravaRelay(TRAVA));
+                }
+                return 0;
+            }
+            List<EventoOutbox> eventos = eventoOutboxRepository.findByOrderByIdEventoAsc(PageRequest.of(0, tamanhoLote));
+            if (eventos.isEmpty()) {
+                return 0;
+            }
+            try (Pipeline pipeline = jedis.pipelined()) {
+                for (EventoOutbox evento : eventos) {
+                    if (usarStreams) {
+                        pipeline.xadd(evento.getCanal(), StreamEntryID.NEW_ENTRY, Map.of("payload", comIdEvento(evento)));
+                    } else {
+                        pipeline.publish(evento.getCanal(), comIdEvento(evento));
+                    }
+                }
+                // sync lança exceção se o Redis não responder; aí a transação é desfeita e nada é removido
+                pipeline.sync();
+            }
+            eventoOutboxRepository.deleteAllInBatch(eventos);
+            return eventos.size();
+        });
+        return publicados == null ? 0 : publicados;
+    }
+
+    /**
+     * Acrescenta o {@code idEvento} no início do payload, que é sempre um objeto JSON.
+     */
+    private static String comIdEvento(EventoOutbox evento) {
+        String payload = evento.getPayload();
+        String resto = payload.substring(1).trim();
+        return "{\"idEvento\":" + evento.getIdEvento() + (resto.equals("}") ? "" : ",") + resto;
+    }
+}
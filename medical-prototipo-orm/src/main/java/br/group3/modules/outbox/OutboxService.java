@@ -0,0 +1,126 @@
+package br.group3.modules.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Serviço que registra eventos no outbox transacional.
+ * <p>Os serviços de paciente e médico chamam este serviço dentro da própria transação
+ * de escrita: ou a alteração e o evento são gravados juntos, ou nenhum dos dois é.
+ * A publicação no Redis fica a cargo do {@link OutboxRelay}, fora do caminho da requisição.</p>
+ * <p>O payload é o JSON da entidade acrescido dos campos {@code entidade} e {@code operacao}.</p>
+ *
+ * @author Grupo 3
+ * @see EventoOutbox
+ * @see OutboxRelay
+ */
+@Service
+public class OutboxService {
+
+    /**
+     * Tipos de alteração publicados no outbox.
+     */
+    public enum Operacao {
+        CRIADO, ATUALIZADO, REMOVIDO
+    }
+
+    private final IEventoOutboxRepository eventoOutboxRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final String canal;
+
+    /**
+     * Construtor para injeção de dependências.
+     *
+     * @param eventoOutboxRepository O repositório de {@link EventoOutbox}.
+     * @param jdbcTemplate O {@link JdbcTemplate} usado para gravar eventos em lote.
+     * @param objectMapper O {@link ObjectMapper} da aplicação, usado para serializar as entidades.
+     * @param canal O canal do Redis de destino, lido de {@code outbox.canal}.
+     */
+    @Autowired
+    public OutboxService(IEventoOutboxRepository eventoOutboxRepository,
+                         JdbcTemplate jdbcTemplate,
+                         ObjectMapper objectMapper,
+                         @Value("${outbox.canal:eventos:sistema2}") String canal) {
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.canal = canal;
+    }
+
+    /**
+     * Registra a criação ou atualização de uma entidade.
+     * <p>Precisa ser chamado dentro de uma transação já aberta.</p>
+     *
+     * @param entidade O nome da entidade (ex.: "paciente").
+     * @param operacao A {@link Operacao} realizada.
+     * @param dados A entidade alterada, serializada como corpo do evento.
+     * @return O {@link EventoOutbox} gravado.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public EventoOutbox registrar(String entidade, Operacao operacao, Object dados) {
+        ObjectNode payload = objectMapper.valueToTree(dados);
+        return gravar(entidade, operacao, payload);
+    }
+
+    /**
+     * Registra a criação ou atualização de várias entidades com um único comando em lote.
+     * <p>O ID do evento é gerado pelo banco (AUTO_INCREMENT) porque define a ordem de publicação
+     * entre instâncias; pela JPA isso obrigaria um INSERT por evento. Aqui os eventos vão em um
+     * lote JDBC, na ordem da lista. Precisa ser chamado dentro de uma transação já aberta,
+     * cuja conexão o {@link JdbcTemplate} compartilha.</p>
+     *
+     * @param entidade O nome da entidade (ex.: "paciente").
+     * @param operacao A {@link Operacao} realizada.
+     * @param dados As entidades alteradas, já com seus IDs.
+     * @return A quantidade de eventos gravados.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int registrarLote(String entidade, Operacao operacao, List<?> dados) {
+        LocalDateTime agora = LocalDateTime.now();
+        List<Object[]> linhas = dados.stream()
+                .map(dado -> new Object[]{canal, comCabecalho(objectMapper.valueToTree(dado), entidade, operacao), agora})
+                .toList();
+        jdbcTemplate.batchUpdate("INSERT INTO evento_outbox (canal, payload, criado_em) VALUES (?, ?, ?)", linhas);
+        return linhas.size();
+    }
+
+    /**
+     * Registra a remoção de uma entidade, identificada apenas pelo seu ID.
+     * <p>Precisa ser chamado dentro de uma transação já aberta.</p>
+     *
+     * @param entidade O nome da entidade (ex.: "paciente").
+     * @param campoId O nome do campo de ID no payload (ex.: "idPaciente").
+     * @param id O ID da entidade removida.
+     * @return O {@link EventoOutbox} gravado.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public EventoOutbox registrarRemocao(String entidade, String campoId, Long id) {
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.put(campoId, id);
+        return gravar(entidade, Operacao.REMOVIDO, payload);
+    }
+
+    private EventoOutbox gravar(String entidade, Operacao operacao, ObjectNode payload) {
+        EventoOutbox evento = new EventoOutbox();
+        evento.setCanal(canal);
+        evento.setPayload(comCabecalho(payload, entidade, operacao));
+        evento.setCriadoEm(LocalDateTime.now());
+        return eventoOutboxRepository.save(evento);
+    }
+
+    private static String comCabecalho(ObjectNode payload, String entidade, Operacao operacao) {
+        payload.put("entidade", entidade);
+        payload.put("operacao", operacao.name());
+        return payload.toString();
+    }
+}
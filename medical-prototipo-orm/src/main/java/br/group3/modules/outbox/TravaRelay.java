@@ -0,0 +1,34 @@
+package br.group3.modules.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Linha bloqueada pelo {@link OutboxRelay} enquanto publica um lote.
+ * <p>Esta entidade mapeia a tabela "trava_relay", com uma linha por relay. Só a instância que
+ * consegue bloquear a linha publica naquele ciclo; as demais pulam o ciclo. Como o bloqueio
+ * dura apenas a transação do lote, uma instância que cair libera a vez automaticamente.</p>
+ *
+ * @author Grupo 3
+ */
+@Entity
+@Table(name = "trava_relay")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TravaRelay {
+
+    /**
+     * O nome do relay (ex.: "outbox").
+     */
+    @Id
+    @Column(name = "nome", length = 50)
+    private String nome;
+}
@@ -1,14 +1,27 @@
 package br.group3.modules.paciente;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 /**
  * Interface de Data Access Object (DAO) para a entidade {@link Paciente}.
  * <p>Esta interface estende {@link JpaRepository}, fornecendo métodos CRUD
  * básicos e funcionalidades de paginação e ordenação para a entidade Paciente.
- * Não são necessários métodos adicionais aqui, pois a funcionalidade padrão
- * do Spring Data JPA já atende às necessidades básicas de persistência para Paciente.</p>
+ * Os métodos adicionais atendem às operações em lote.</p>
  *
  * @author Grupo 3
  * @see Paciente
@@ -17,4 +30,72 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface IPacienteRepository extends JpaRepository<Paciente, Long> {
 
+    /**
+     * Busca, em uma única consulta, os pacientes cujos CPFs estão na coleção informada.
+     *
+     * @param cpfs Os CPFs procurados.
+     * @return Os pacientes encontrados; CPFs sem cadastro são ignorados.
+     */
+    List<Paciente> findByCpfIn(Collection<String> cpfs);
+
+    /**
+     * Busca os pacientes seguintes a um ID, em ordem crescente de ID.
+     *
+     * @param aposId O ID do último paciente já entregue; {@code 0} para começar do início.
+     * @param limite A quantidade máxima de pacientes.
+     * @return Os pacientes com ID maior que {@code aposId}.
+     */
+    @Query("SELECT p FROM Paciente p WHERE p.idPaciente > :aposId ORDER BY p.idPaciente")
+    List<Paciente> buscarPaginaPorId(@Param("aposId") long aposId, Limit limite);
+
+    /**
+     * Busca a primeira página de pacientes em ordem alfabética, desempatada pelo ID.
+     *
+     * @param limite A quantidade máxima de pacientes.
+     * @return Os primeiros pacientes na ordem de nome e ID.
+     */
+    List<Paciente> findAllByOrderByNomeCompletoAscIdPacienteAsc(Limit limite);
+
+    /**
+     * Busca os pacientes seguintes a uma posição da ordem alfabética.
+     * <p>A primeira condição é redundante, mas deixa o banco usar o índice {@code idx_paciente_nome}
+     * como faixa, a partir de {@code aposNome}; a segunda exclui o que já foi entregue.</p>
+     *
+     * @param aposNome O nome do último paciente já entregue.
+     * @param aposId O ID do último paciente já entregue.
+     * @param limite A quantidade máxima de pacientes.
+     * @return Os pacientes depois de {@code (aposNome, aposId)} na ordem de nome e ID.
+     */
+    @Query("SELECT p FROM Paciente p WHERE p.nomeCompleto >= :aposNome"
+            + " AND (p.nomeCompleto > :aposNome OR p.idPaciente > :aposId)"
+            + " ORDER BY p.nomeCompleto, p.idPaciente")
+    List<Paciente> buscarPaginaPorNome(@Param("aposNome") String aposNome, @Param("aposId") long aposId, Limit limite);
+
+    /**
+     * Busca só a versão de um paciente, sem carregar a entidade.
+     * <p>Usada para responder 304 (Not Modified) às buscas condicionais por ID.</p>
+     *
+     * @param id O ID do paciente.
+     * @return A versão atual, ou vazio se o paciente não existir.
+     */
+    @Query("SELECT p.versao FROM Paciente p WHERE p.idPaciente = :id")
+    Optional<Long> buscarVersao(@Param("id") Long id);
+
+    /**
+     * Percorre todos os pacientes em ordem de ID, sem carregá-los de uma vez.
+     * <p>O resultado vem de um cursor somente-leitura e só para frente, lido do banco em blocos
+     * de 1000 linhas (no MySQL, com {@code useCursorFetch=true} na URL). As entidades são
+     * carregadas sem cópia para verificação de alterações, mas continuam no contexto de
+     * persistência: quem percorre deve desanexá-las. O {@link Stream} precisa ser fechado e
+     * consumido dentro de uma transação.</p>
+     *
+     * @return Um {@link Stream} com todos os pacientes.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT p FROM Paciente p ORDER BY p.idPaciente")
+    Stream<Paciente> percorrerTodos();
 }
\ No newline at end of file
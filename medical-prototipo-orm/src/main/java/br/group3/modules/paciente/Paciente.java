@@ -1,5 +1,6 @@
 package br.group3.modules.paciente;
 
+import br.group3.configures.GeradoresId;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -17,7 +18,7 @@ import java.time.LocalDate;
  * @author Grupo 3
  */
 @Entity
-@Table(name = "paciente")
+@Table(name = "paciente", indexes = @Index(name = "idx_paciente_nome", columnList = "nome_completo, id_paciente"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -26,10 +27,14 @@ public class Paciente {
 
     /**
      * O ID único do paciente.
-     * <p>É gerado automaticamente pelo banco de dados.</p>
+     * <p>É reservado em blocos pelo gerador {@code paciente} da tabela {@value GeradoresId#TABELA},
+     * o que permite gravar pacientes em lotes JDBC.</p>
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "gerador_paciente")
+    @TableGenerator(name = "gerador_paciente", table = GeradoresId.TABELA, pkColumnName = GeradoresId.COLUNA_NOME,
+            valueColumnName = GeradoresId.COLUNA_VALOR, pkColumnValue = "paciente",
+            allocationSize = GeradoresId.TAMANHO_ALOCACAO)
     @Column(name = "id_paciente")
     private Long idPaciente;
 
@@ -67,4 +72,27 @@ public class Paciente {
     @Column(name = "telefone", length = 20)
     private String telefone;
 
-}
\ No newline at end of file
+    /**
+     * A versão do registro, incrementada pelo Hibernate a cada atualização.
+     * <p>Uma atualização que parte de uma versão antiga falha em vez de sobrescrever a alteração de
+     * outra pessoa. A versão também compõe o ETag das respostas da API.</p>
+     */
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
+    /**
+     * Cria um paciente ainda sem versão, que recebe a versão inicial ao ser gravado.
+     *
+     * @param idPaciente O ID do paciente, ou {@code null} para um paciente novo.
+     * @param nomeCompleto O nome completo.
+     * @param dataNascimento A data de nascimento.
+     * @param cpf O CPF.
+     * @param endereco O endereço.
+     * @param telefone O telefone de contato.
+     */
+    public Paciente(Long idPaciente, String nomeCompleto, LocalDate dataNascimento, String cpf, String endereco,
+                    String telefone) {
+        this(idPaciente, nomeCompleto, dataNascimento, cpf, endereco, telefone, null);
+    }
+}
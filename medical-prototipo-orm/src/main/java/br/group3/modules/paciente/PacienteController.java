@@ -1,13 +1,18 @@
 package br.group3.modules.paciente;
 
- import jakarta.validation.Valid;
+import br.group3.modules.etag.Etags;
+import br.group3.modules.paginacao.PedidoPagina;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 /**
  * Controlador REST para gerenciar operações relacionadas a pacientes.
@@ -15,6 +20,9 @@ import java.util.Optional;
  * em registros de pacientes, interagindo com o {@link PacienteService}.</p>
  * <p>Os dados de entrada são formatados usando {@link PacienteDTO} e
  * as respostas de sucesso retornam a entidade {@link Paciente} completa.</p>
+ * <p>As leituras e as atualizações levam o cabeçalho {@code ETag} (ver {@link Etags}): as buscas
+ * aceitam {@code If-None-Match} e respondem 304 (Not Modified) se nada mudou, e o PUT aceita
+ * {@code If-Match} e responde 412 (Precondition Failed) se o paciente mudou desde a leitura.</p>
  *
  * @author Grupo 3
  * @see PacienteService
@@ -26,6 +34,13 @@ import java.util.Optional;
 @CrossOrigin(origins = "*")
 public class PacienteController {
 
+    /**
+     * Quantidade máxima de itens aceitos em uma requisição de lote.
+     */
+    public static final int LOTE_MAXIMO = 1000;
+
+    private static final String ENTIDADE = "paciente";
+
     private final PacienteService pacienteService;
 
     /**
@@ -50,32 +65,98 @@ public class PacienteController {
     @PostMapping
     public ResponseEntity<Paciente> criarPaciente(@Valid @RequestBody PacienteDTO pacienteDTO) {
         Paciente novoPaciente = pacienteService.salvarPaciente(pacienteDTO);
-        return ResponseEntity.status(HttpStatus.CREATED).body(novoPaciente);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(Etags.daEntidade(ENTIDADE, novoPaciente.getIdPaciente(), novoPaciente.getVersao()))
+                .body(novoPaciente);
+    }
+
+    /**
+     * Cria vários pacientes de uma só vez.
+     * <p>Os itens são validados um a um e os válidos são gravados em uma única transação.
+     * Itens inválidos ou com CPF duplicado não interrompem o lote: cada um recebe seu
+     * próprio {@link ResultadoItemLote} na resposta.</p>
+     *
+     * @param pacientesDTO A lista de DTOs com os dados dos pacientes, com no máximo {@value #LOTE_MAXIMO} itens.
+     * @return Uma {@link ResponseEntity} com um {@link ResultadoItemLote} por item, na ordem recebida,
+     * e o status HTTP 200 (OK), ou status 400 (Bad Request) se a lista estiver vazia ou exceder o limite.
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<List<ResultadoItemLote>> criarPacientesEmLote(@RequestBody List<PacienteDTO> pacientesDTO) {
+        if (pacientesDTO.isEmpty() || pacientesDTO.size() > LOTE_MAXIMO) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(pacienteService.salvarPacientesEmLote(pacientesDTO));
     }
 
     /**
-     * Retorna todos os pacientes cadastrados no sistema.
+     * Retorna uma página dos pacientes cadastrados no sistema.
+     * <p>A listagem é paginada por cursor: o corpo é o array de pacientes da página e, se houver
+     * mais, o cabeçalho {@code X-Proximo-Cursor} traz o cursor a enviar no parâmetro {@code cursor}
+     * para obter a próxima (o cabeçalho {@code Link} com {@code rel="next"} traz a URL pronta).</p>
      *
+     * @param tamanho A quantidade máxima de pacientes da página; valores acima de
+     * {@value PedidoPagina#TAMANHO_MAXIMO} são reduzidos a ele.
+     * @param ordem A ordem da listagem: {@code id} (padrão) ou {@code nome}.
+     * @param cursor O cursor recebido na página anterior, ou ausente para a primeira página.
+     * @param seNaoCorresponder O cabeçalho {@code If-None-Match}, com o ETag de uma leitura anterior.
      * @return Uma {@link ResponseEntity} contendo uma {@link List} de entidades {@link Paciente}
-     * e o status HTTP 200 (OK). A lista pode estar vazia se não houver pacientes.
+     * e o status HTTP 200 (OK), status 304 (Not Modified) se nenhum paciente mudou desde o ETag recebido,
+     * ou status 400 (Bad Request) se a ordem, o cursor ou o tamanho forem inválidos.
      */
     @GetMapping
-    public ResponseEntity<List<Paciente>> listarTodosPacientes() {
-        List<Paciente> pacientes = pacienteService.listarTodosPacientes();
-        return ResponseEntity.ok(pacientes);
+    public ResponseEntity<List<Paciente>> listarPacientes(
+            @RequestParam(defaultValue = "" + PedidoPagina.TAMANHO_PADRAO) int tamanho,
+            @RequestParam(defaultValue = "id") String ordem,
+            @RequestParam(required = false) String cursor,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String seNaoCorresponder) {
+        PedidoPagina pedido;
+        try {
+            pedido = PedidoPagina.de(ordem, cursor, tamanho);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        // Lido antes da página: se uma escrita terminar no meio, o ETag fica mais antigo que o corpo,
+        // e a próxima leitura condicional recebe a página de novo em vez de um 304 indevido
+        OptionalLong alteracoes = pacienteService.contarAlteracoesPacientes();
+        if (alteracoes.isEmpty()) {
+            // Contador atrasado: sem ETag, o cliente não guarda um validador que daria 304 indevido
+            return pacienteService.listarPacientes(pedido).comoResposta(null);
+        }
+        String etag = Etags.daListagem(ENTIDADE, alteracoes.getAsLong());
+        if (Etags.corresponde(seNaoCorresponder, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return pacienteService.listarPacientes(pedido).comoResposta(etag);
     }
 
     /**
      * Busca um paciente pelo seu ID.
+     * <p>Com {@code If-None-Match}, só a versão do paciente é lida do banco; o paciente é carregado
+     * apenas se tiver mudado.</p>
      *
      * @param id O ID do paciente a ser buscado, passado como variável de caminho.
+     * @param seNaoCorresponder O cabeçalho {@code If-None-Match}, com o ETag de uma leitura anterior.
      * @return Uma {@link ResponseEntity} contendo a entidade {@link Paciente} do paciente encontrado
-     * e o status HTTP 200 (OK), ou status 404 (Not Found) se o paciente não for encontrado.
+     * e o status HTTP 200 (OK), status 304 (Not Modified) se o paciente não mudou desde o ETag recebido,
+     * ou status 404 (Not Found) se o paciente não for encontrado.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Paciente> buscarPacientePorId(@PathVariable Long id) {
+    public ResponseEntity<Paciente> buscarPacientePorId(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String seNaoCorresponder) {
+        if (seNaoCorresponder != null) {
+            Optional<Long> versao = pacienteService.buscarVersaoPaciente(id);
+            if (versao.isPresent()) {
+                String etag = Etags.daEntidade(ENTIDADE, id, versao.get());
+                if (Etags.corresponde(seNaoCorresponder, etag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+                }
+            }
+        }
         Optional<Paciente> paciente = pacienteService.buscarPacientePorId(id);
-        return paciente.map(ResponseEntity::ok)
+        return paciente.map(encontrado -> ResponseEntity.ok()
+                        .eTag(Etags.daEntidade(ENTIDADE, id, encontrado.getVersao()))
+                        .body(encontrado))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
@@ -87,15 +168,33 @@ public class PacienteController {
      * @param id O ID do paciente a ser atualizado, passado como variável de caminho.
      * @param pacienteDTO O DTO contendo os novos dados do paciente.
      * É anotado com {@link Valid} para ativar as validações definidas no DTO.
+     * @param seCorresponder O cabeçalho {@code If-Match}, com o ETag da versão lida pelo cliente.
      * @return Uma {@link ResponseEntity} contendo a entidade {@link Paciente} do paciente atualizado
-     * e o status HTTP 200 (OK), ou status 404 (Not Found) se o paciente não for encontrado.
+     * e o status HTTP 200 (OK), status 404 (Not Found) se o paciente não for encontrado, status 412
+     * (Precondition Failed) se o paciente não estiver na versão de {@code If-Match}, ou status 409 (Conflict)
+     * se, sem {@code If-Match}, outra atualização do mesmo paciente terminar antes desta.
      */
     @PutMapping("/{id}")
     public ResponseEntity<Paciente> atualizarPaciente(@PathVariable Long id,
-                                                      @Valid @RequestBody PacienteDTO pacienteDTO) {
-        Paciente pacienteAtualizado = pacienteService.atualizarPaciente(id, pacienteDTO);
+                                                      @Valid @RequestBody PacienteDTO pacienteDTO,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String seCorresponder) {
+        Long versaoExigida;
+        try {
+            versaoExigida = Etags.versaoExigida(seCorresponder, ENTIDADE, id);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        Paciente pacienteAtualizado;
+        try {
+            pacienteAtualizado = pacienteService.atualizarPaciente(id, pacienteDTO, versaoExigida);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(versaoExigida != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT)
+                    .build();
+        }
         if (pacienteAtualizado != null) {
-            return ResponseEntity.ok(pacienteAtualizado);
+            return ResponseEntity.ok()
+                    .eTag(Etags.daEntidade(ENTIDADE, id, pacienteAtualizado.getVersao()))
+                    .body(pacienteAtualizado);
         }
         return ResponseEntity.notFound().build();
     }
@@ -1,14 +1,36 @@
 package br.group3.modules.paciente;
 
+import br.group3.modules.cache.CacheEntidades;
+import br.group3.modules.etag.ContadorAlteracoes;
+import br.group3.modules.outbox.OutboxService;
+import br.group3.modules.paginacao.CursorPagina;
+import br.group3.modules.paginacao.Pagina;
+import br.group3.modules.paginacao.PedidoPagina;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Serviço responsável pelas operações de negócio relacionadas à entidade {@link Paciente}.
  * <p>Esta classe gerencia as operações de CRUD (Create, Read, Update, Delete)
  * para pacientes, interagindo com o {@link IPacienteRepository} para acessar o banco de dados.</p>
+ * <p>Toda escrita registra, na mesma transação, um evento no outbox por meio do
+ * {@link OutboxService}, que depois é publicado no Redis para o middleware.</p>
  *
  * @author Grupo 3
  * @see Paciente
@@ -18,16 +40,32 @@ import java.util.Optional;
 @Service
 public class PacienteService {
 
+    private static final String ENTIDADE = "paciente";
+
     private final IPacienteRepository IPacienteRepository;
+    private final OutboxService outboxService;
+    private final Validator validator;
+    private final CacheEntidades<Paciente> cache;
+    private final ContadorAlteracoes contadorAlteracoes;
 
     /**
-     * Construtor para injeção de dependência do {@link IPacienteRepository}.
+     * Construtor para injeção de dependência do {@link IPacienteRepository}, do {@link OutboxService},
+     * do {@link Validator} e do cache das buscas por ID.
      *
      * @param IPacienteRepository A instância de {@link IPacienteRepository} a ser injetada.
+     * @param outboxService O {@link OutboxService} que registra os eventos de alteração.
+     * @param validator O {@link Validator} usado para validar os itens de um lote.
+     * @param cache O {@link CacheEntidades} das buscas de pacientes por ID.
+     * @param contadorAlteracoes O {@link ContadorAlteracoes} usado no ETag da listagem.
      */
     @Autowired
-    public PacienteService(IPacienteRepository IPacienteRepository) {
+    public PacienteService(IPacienteRepository IPacienteRepository, OutboxService outboxService, Validator validator,
+                           CacheEntidades<Paciente> cache, ContadorAlteracoes contadorAlteracoes) {
         this.IPacienteRepository = IPacienteRepository;
+        this.outboxService = outboxService;
+        this.validator = validator;
+        this.cache = cache;
+        this.contadorAlteracoes = contadorAlteracoes;
     }
 
     /**
@@ -36,6 +74,7 @@ public class PacienteService {
      * @param pacienteDTO O DTO {@link PacienteDTO} contendo os dados do paciente.
      * @return O paciente salvo como entidade {@link Paciente}, incluindo o ID gerado.
      */
+    @Transactional
     public Paciente salvarPaciente(PacienteDTO pacienteDTO) {
         Paciente paciente = new Paciente();
         paciente.setNomeCompleto(pacienteDTO.getNomeCompleto());
@@ -44,17 +83,118 @@ public class PacienteService {
         paciente.setEndereco(pacienteDTO.getEndereco());
         paciente.setTelefone(pacienteDTO.getTelefone());
 
-        return IPacienteRepository.save(paciente);
+        Paciente salvo = IPacienteRepository.save(paciente);
+        outboxService.registrar(ENTIDADE, OutboxService.Operacao.CRIADO, salvo);
+        contadorAlteracoes.registrar(ENTIDADE);
+        return salvo;
+    }
+
+    /**
+     * Salva uma lista de pacientes em uma única transação.
+     * <p>Cada item é validado com as mesmas regras do {@link PacienteDTO}, em paralelo. Itens inválidos
+     * ou com CPF já cadastrado (no banco ou repetido no próprio lote) são recusados
+     * individualmente; os demais são gravados juntos, em lotes JDBC, assim como seus eventos no outbox.</p>
+     *
+     * @param pacientesDTO A lista de DTOs {@link PacienteDTO} a ser gravada.
+     * @return Um {@link ResultadoItemLote} para cada item, na mesma ordem da lista recebida.
+     */
+    @Transactional
+    public List<ResultadoItemLote> salvarPacientesEmLote(List<PacienteDTO> pacientesDTO) {
+        Set<String> cpfsExistentes = IPacienteRepository.findByCpfIn(pacientesDTO.stream()
+                        .filter(Objects::nonNull)
+                        .map(PacienteDTO::getCpf)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .map(Paciente::getCpf)
+                .collect(Collectors.toCollection(HashSet::new));
+
+        // O Validator é thread-safe; toList mantém a ordem da lista mesmo em paralelo
+        List<Map<String, String>> errosPorItem = pacientesDTO.parallelStream().map(this::validar).toList();
+
+        List<ResultadoItemLote> resultados = new ArrayList<>(pacientesDTO.size());
+        List<Paciente> aGravar = new ArrayList<>();
+        List<ResultadoItemLote> resultadosAGravar = new ArrayList<>();
+
+        for (int i = 0; i < pacientesDTO.size(); i++) {
+            PacienteDTO pacienteDTO = pacientesDTO.get(i);
+            Map<String, String> erros = errosPorItem.get(i);
+            if (!erros.isEmpty()) {
+                resultados.add(new ResultadoItemLote(i, ResultadoItemLote.Status.INVALIDO, null, erros));
+                continue;
+            }
+            // add devolve false quando o CPF já estava no conjunto: cadastrado antes ou repetido no lote
+            if (!cpfsExistentes.add(pacienteDTO.getCpf())) {
+                resultados.add(new ResultadoItemLote(i, ResultadoItemLote.Status.DUPLICADO, null,
+                        Map.of("cpf", "Já existe um paciente com este CPF.")));
+                continue;
+            }
+            Paciente paciente = new Paciente();
+            paciente.setNomeCompleto(pacienteDTO.getNomeCompleto());
+            paciente.setDataNascimento(pacienteDTO.getDataNascimento());
+            paciente.setCpf(pacienteDTO.getCpf());
+            paciente.setEndereco(pacienteDTO.getEndereco());
+            paciente.setTelefone(pacienteDTO.getTelefone());
+            aGravar.add(paciente);
+
+            ResultadoItemLote resultado = new ResultadoItemLote(i, ResultadoItemLote.Status.CRIADO, null, Map.of());
+            resultadosAGravar.add(resultado);
+            resultados.add(resultado);
+        }
+
+        List<Paciente> gravados = IPacienteRepository.saveAll(aGravar);
+        for (int i = 0; i < gravados.size(); i++) {
+            resultadosAGravar.get(i).setIdPaciente(gravados.get(i).getIdPaciente());
+        }
+        if (!gravados.isEmpty()) {
+            outboxService.registrarLote(ENTIDADE, OutboxService.Operacao.CRIADO, gravados);
+            contadorAlteracoes.registrar(ENTIDADE);
+        }
+        return resultados;
+    }
+
+    private Map<String, String> validar(PacienteDTO pacienteDTO) {
+        if (pacienteDTO == null) {
+            return Map.of("paciente", "O item do lote não pode ser nulo.");
+        }
+        Map<String, String> erros = new LinkedHashMap<>();
+        for (ConstraintViolation<PacienteDTO> violacao : validator.validate(pacienteDTO)) {
+            erros.merge(violacao.getPropertyPath().toString(), violacao.getMessage(),
+                    (existente, novo) -> existente + "; " + novo);
+        }
+        return erros;
     }
 
     /**
      * Busca um paciente pelo seu ID.
+     * <p>A busca passa pelo {@link CacheEntidades}: o paciente pode vir do cache, sem ligação com o contexto
+     * de persistência.</p>
      *
      * @param id O ID do paciente a ser buscado.
      * @return Um {@link Optional} contendo o paciente como entidade {@link Paciente} se encontrado, ou vazio caso contrário.
      */
     public Optional<Paciente> buscarPacientePorId(Long id) {
-        return IPacienteRepository.findById(id);
+        return cache.buscar(id, IPacienteRepository::findById);
+    }
+
+    /**
+     * Busca só a versão de um paciente, sem carregar a entidade.
+     *
+     * @param id O ID do paciente.
+     * @return Um {@link Optional} com a versão atual, ou vazio se o paciente não existir.
+     */
+    public Optional<Long> buscarVersaoPaciente(Long id) {
+        return IPacienteRepository.buscarVersao(id);
+    }
+
+    /**
+     * Retorna quantas transações já alteraram os pacientes, usado no ETag da listagem.
+     *
+     * @return O valor atual do {@link ContadorAlteracoes} dos pacientes, ou vazio se ele estiver atrasado
+     * por um incremento que falhou.
+     */
+    public OptionalLong contarAlteracoesPacientes() {
+        return contadorAlteracoes.atual(ENTIDADE);
     }
 
     /**
@@ -66,25 +206,60 @@ public class PacienteService {
         return IPacienteRepository.findAll();
     }
 
+    /**
+     * Retorna uma página de pacientes, continuando a partir do cursor do pedido.
+     * <p>A consulta busca um paciente a mais que o tamanho da página só para saber se existe
+     * uma próxima; o cursor dela aponta para o último paciente entregue.</p>
+     *
+     * @param pedido A ordem, o cursor e o tamanho da página.
+     * @return A {@link Pagina} de entidades {@link Paciente}.
+     */
+    public Pagina<Paciente> listarPacientes(PedidoPagina pedido) {
+        Limit limite = Limit.of(pedido.tamanho() + 1);
+        CursorPagina apos = pedido.apos();
+        List<Paciente> encontrados = switch (pedido.ordem()) {
+            case ID -> IPacienteRepository.buscarPaginaPorId(apos == null ? 0 : apos.ultimoId(), limite);
+            case NOME -> apos == null
+                    ? IPacienteRepository.findAllByOrderByNomeCompletoAscIdPacienteAsc(limite)
+                    : IPacienteRepository.buscarPaginaPorNome(apos.ultimoNome(), apos.ultimoId(), limite);
+        };
+        return Pagina.de(encontrados, pedido.tamanho(),
+                p -> new CursorPagina(pedido.ordem(), p.getIdPaciente(), p.getNomeCompleto()));
+    }
+
     /**
      * Atualiza as informações de um paciente existente a partir de um DTO.
+     * <p>Com {@code versaoExigida}, a atualização só acontece se o paciente ainda estiver nessa versão.
+     * Uma atualização concorrente que termine antes desta também a faz falhar, pela coluna
+     * {@code @Version}.</p>
      *
      * @param id O ID do paciente a ser atualizado.
      * @param pacienteDTO O objeto {@link PacienteDTO} com as informações atualizadas.
+     * @param versaoExigida A versão lida pelo cliente, ou {@code null} para atualizar qualquer versão.
      * @return O paciente atualizado como entidade {@link Paciente}, ou {@code null} se o paciente com o ID fornecido não for encontrado.
+     * @throws OptimisticLockingFailureException Se o paciente estiver em outra versão ou for alterado durante a atualização.
      */
-    public Paciente atualizarPaciente(Long id, PacienteDTO pacienteDTO) {
+    @Transactional
+    public Paciente atualizarPaciente(Long id, PacienteDTO pacienteDTO, Long versaoExigida) {
         Optional<Paciente> pacienteExistente = IPacienteRepository.findById(id);
 
         if (pacienteExistente.isPresent()) {
             Paciente paciente = pacienteExistente.get();
+            if (versaoExigida != null && !versaoExigida.equals(paciente.getVersao())) {
+                throw new OptimisticLockingFailureException("O paciente " + id + " está na versão "
+                        + paciente.getVersao() + ", não na " + versaoExigida);
+            }
             paciente.setNomeCompleto(pacienteDTO.getNomeCompleto());
             paciente.setDataNascimento(pacienteDTO.getDataNascimento());
             paciente.setCpf(pacienteDTO.getCpf());
             paciente.setEndereco(pacienteDTO.getEndereco());
             paciente.setTelefone(pacienteDTO.getTelefone());
 
-            return IPacienteRepository.save(paciente);
+            Paciente atualizado = IPacienteRepository.save(paciente);
+            outboxService.registrar(ENTIDADE, OutboxService.Operacao.ATUALIZADO, atualizado);
+            contadorAlteracoes.registrar(ENTIDADE);
+            cache.invalidar(id);
+            return atualizado;
         }
         return null;
     }
@@ -94,7 +269,11 @@ public class PacienteService {
      *
      * @param id O ID do paciente a ser deletado.
      */
+    @Transactional
     public void deletarPaciente(Long id) {
         IPacienteRepository.deleteById(id);
+        outboxService.registrarRemocao(ENTIDADE, "idPaciente", id);
+        contadorAlteracoes.registrar(ENTIDADE);
+        cache.invalidar(id);
     }
 }
\ No newline at end of file
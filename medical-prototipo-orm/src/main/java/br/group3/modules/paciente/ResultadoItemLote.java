@@ -0,0 +1,54 @@
+package br.group3.modules.paciente;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+/**
+ * Resultado do processamento de um item de um lote de pacientes.
+ * <p>Cada item enviado para {@code POST /api/pacientes/lote} recebe um resultado próprio,
+ * de modo que um registro inválido não impede que os demais sejam gravados.</p>
+ *
+ * @author Grupo 3
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoItemLote {
+
+    /**
+     * Situação final de um item do lote.
+     */
+    public enum Status {
+        /** O paciente foi gravado. */
+        CRIADO,
+        /** O item não passou nas validações do {@link PacienteDTO}. */
+        INVALIDO,
+        /** Já existe um paciente com o mesmo CPF, no banco ou no próprio lote. */
+        DUPLICADO
+    }
+
+    /**
+     * A posição do item na lista enviada, começando em zero.
+     */
+    private int indice;
+
+    /**
+     * A situação final do item.
+     */
+    private Status status;
+
+    /**
+     * O ID gerado para o paciente, preenchido apenas quando o status é {@link Status#CRIADO}.
+     */
+    private Long idPaciente;
+
+    /**
+     * Os erros encontrados, por campo. Vazio quando o item foi gravado.
+     */
+    private Map<String, String> erros;
+}
@@ -0,0 +1,50 @@
+package br.group3.modules.paginacao;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição de uma listagem paginada: a ordem usada e as chaves do último item entregue.
+ * <p>A próxima página começa logo depois dessas chaves ({@code WHERE id > :ultimoId}, por exemplo),
+ * então o banco desce direto pelo índice até a posição, sem pular linhas como o {@code OFFSET}: a
+ * página 1000 custa o mesmo que a primeira. O cliente recebe o cursor codificado em Base64 e não
+ * precisa interpretá-lo, só devolvê-lo no parâmetro {@code cursor}.</p>
+ *
+ * @param ordem A ordem da listagem que gerou o cursor.
+ * @param ultimoId O ID do último item entregue.
+ * @param ultimoNome O nome do último item entregue; só usado na ordem {@link OrdemListagem#NOME}.
+ * @author Grupo 3
+ */
+public record CursorPagina(OrdemListagem ordem, long ultimoId, String ultimoNome) {
+
+    private static final char SEPARADOR = ':';
+
+    /**
+     * Codifica o cursor no formato enviado ao cliente.
+     *
+     * @return O cursor em Base64 sem preenchimento, seguro para uso em URLs.
+     */
+    public String codificar() {
+        String texto = ordem.name() + SEPARADOR + ultimoId + (ordem == OrdemListagem.NOME ? SEPARADOR + ultimoNome : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica o cursor recebido do cliente.
+     *
+     * @param cursor O valor do parâmetro {@code cursor}.
+     * @param ordem A ordem pedida na requisição; o cursor precisa ter sido gerado por ela.
+     * @return O cursor decodificado.
+     * @throws IllegalArgumentException Se o cursor estiver malformado ou for de outra ordem.
+     */
+    public static CursorPagina decodificar(String cursor, OrdemListagem ordem) {
+        String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        // O nome pode conter ':'; por isso o limite de três partes
+        String[] partes = texto.split(String.valueOf(SEPARADOR), 3);
+        if (partes.length < 2 || OrdemListagem.de(partes[0]) != ordem
+                || (ordem == OrdemListagem.NOME) != (partes.length == 3)) {
+            throw new IllegalArgumentException("Cursor inválido para a ordem " + ordem);
+        }
+        return new CursorPagina(ordem, Long.parseLong(partes[1]), partes.length == 3 ? partes[2] : null);
+    }
+}
@@ -0,0 +1,35 @@
+package br.group3.modules.paginacao;
+
+import java.util.Locale;
+
+/**
+ * Chaves de ordenação aceitas pelas listagens paginadas.
+ * <p>Cada ordem tem um índice que a cobre: {@link #ID} usa a chave primária e {@link #NOME}
+ * o índice sobre {@code (nome_completo, id)}. O ID entra como desempate para que a ordem seja
+ * total e o cursor aponte sempre para uma única linha.</p>
+ *
+ * @author Grupo 3
+ */
+public enum OrdemListagem {
+
+    /**
+     * Ordem crescente de ID, a padrão.
+     */
+    ID,
+
+    /**
+     * Ordem alfabética do nome completo e, para nomes iguais, do ID.
+     */
+    NOME;
+
+    /**
+     * Converte o valor do parâmetro {@code ordem} da requisição.
+     *
+     * @param valor O valor recebido, sem diferenciar maiúsculas de minúsculas.
+     * @return A ordem correspondente.
+     * @throws IllegalArgumentException Se o valor não corresponder a nenhuma ordem.
+     */
+    public static OrdemListagem de(String valor) {
+        return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+    }
+}
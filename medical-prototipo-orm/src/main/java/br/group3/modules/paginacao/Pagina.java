@@ -0,0 +1,67 @@
+package br.group3.modules.paginacao;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Uma página de uma listagem por cursor.
+ * <p>Na resposta HTTP o corpo continua sendo o array de itens, como na listagem completa; o cursor
+ * da próxima página vai no cabeçalho {@value #CABECALHO_CURSOR} e, pronto para seguir, no cabeçalho
+ * {@code Link} com {@code rel="next"}. A última página não tem esses cabeçalhos.</p>
+ *
+ * @param itens Os itens da página, na ordem pedida.
+ * @param proximo O cursor da próxima página, ou {@code null} se esta for a última.
+ * @param <T> O tipo dos itens.
+ * @author Grupo 3
+ */
+public record Pagina<T>(List<T> itens, CursorPagina proximo) {
+
+    /**
+     * Cabeçalho com o cursor da próxima página.
+     */
+    public static final String CABECALHO_CURSOR = "X-Proximo-Cursor";
+
+    /**
+     * Monta a página a partir de uma consulta que buscou até {@code tamanho + 1} itens: o item a
+     * mais só indica que existe uma próxima página e não é entregue.
+     *
+     * @param encontrados Os itens devolvidos pela consulta.
+     * @param tamanho O tamanho da página pedido.
+     * @param cursorDe Gera o cursor a partir do último item entregue.
+     * @param <T> O tipo dos itens.
+     * @return A página com no máximo {@code tamanho} itens.
+     */
+    public static <T> Pagina<T> de(List<T> encontrados, int tamanho, Function<T, CursorPagina> cursorDe) {
+        if (encontrados.size() <= tamanho) {
+            return new Pagina<>(encontrados, null);
+        }
+        List<T> itens = encontrados.subList(0, tamanho);
+        return new Pagina<>(itens, cursorDe.apply(itens.get(tamanho - 1)));
+    }
+
+    /**
+     * Converte a página na resposta HTTP 200 (OK) da requisição atual.
+     *
+     * @param etag O ETag da listagem, enviado no cabeçalho {@code ETag}; {@code null} responde sem ETag.
+     * @return Uma {@link ResponseEntity} com os itens no corpo e, se houver próxima página, os cabeçalhos do cursor.
+     */
+    public ResponseEntity<List<T>> comoResposta(String etag) {
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (etag != null) {
+            resposta.eTag(etag);
+        }
+        if (proximo != null) {
+            String cursor = proximo.codificar();
+            String link = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", cursor)
+                    .toUriString();
+            resposta.header(CABECALHO_CURSOR, cursor)
+                    .header(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+        }
+        return resposta.body(itens);
+    }
+}
@@ -0,0 +1,40 @@
+package br.group3.modules.paginacao;
+
+/**
+ * Parâmetros de uma listagem paginada, já validados.
+ *
+ * @param ordem A ordem dos itens.
+ * @param apos A posição a partir da qual a página começa, ou {@code null} para a primeira página.
+ * @param tamanho A quantidade máxima de itens da página.
+ * @author Grupo 3
+ */
+public record PedidoPagina(OrdemListagem ordem, CursorPagina apos, int tamanho) {
+
+    /**
+     * Tamanho de página usado quando a requisição não informa um.
+     */
+    public static final int TAMANHO_PADRAO = 50;
+
+    /**
+     * Maior tamanho de página aceito; valores acima dele são reduzidos a ele.
+     */
+    public static final int TAMANHO_MAXIMO = 500;
+
+    /**
+     * Monta o pedido a partir dos parâmetros da requisição.
+     *
+     * @param ordem O valor do parâmetro {@code ordem} ({@code id} ou {@code nome}).
+     * @param cursor O valor do parâmetro {@code cursor}, ou {@code null} para a primeira página.
+     * @param tamanho O valor do parâmetro {@code tamanho}.
+     * @return O pedido validado.
+     * @throws IllegalArgumentException Se a ordem for desconhecida, o cursor for inválido ou o tamanho for menor que 1.
+     */
+    public static PedidoPagina de(String ordem, String cursor, int tamanho) {
+        if (tamanho < 1) {
+            throw new IllegalArgumentException("O tamanho da página deve ser maior que zero");
+        }
+        OrdemListagem ordemListagem = OrdemListagem.de(ordem);
+        CursorPagina apos = cursor == null || cursor.isBlank() ? null : CursorPagina.decodificar(cursor, ordemListagem);
+        return new PedidoPagina(ordemListagem, apos, Math.min(tamanho, TAMANHO_MAXIMO));
+    }
+}
@@ -0,0 +1,34 @@
+package br.group3.modules.prontuario;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO (Data Transfer Object) de um exame dentro de um {@link ProntuarioDTO}.
+ *
+ * @author Grupo 3
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExameDTO {
+
+    /**
+     * O nome do exame. Deve ser preenchido e ter no máximo 255 caracteres.
+     */
+    @NotBlank(message = "O nome do exame é obrigatório.")
+    @Size(max = 255, message = "O nome do exame não pode exceder 255 caracteres.")
+    private String nomeExame;
+
+    /**
+     * A data de realização do exame. Pode ser nula.
+     */
+    private LocalDateTime dataRealizacao;
+}
@@ -0,0 +1,63 @@
+package br.group3.modules.prontuario;
+
+import br.group3.configures.GeradoresId;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Um exame de um {@link Prontuario}.
+ *
+ * <p>Esta entidade mapeia a tabela "prontuario_exame". Cada exame embutido no documento do
+ * MongoDB vira uma linha, o que permite consultar exames por nome ou período sem carregar
+ * o prontuário inteiro. A ligação é pela coluna {@code id_prontuario}, sem associação JPA:
+ * os exames são lidos e alterados apenas pelo {@link ProntuarioService}.</p>
+ *
+ * @author Grupo 3
+ */
+@Entity
+@Table(name = "prontuario_exame", indexes = {
+        @Index(name = "idx_exame_prontuario", columnList = "id_prontuario"),
+        @Index(name = "idx_exame_nome", columnList = "nome_exame, data_realizacao")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExameProntuario {
+
+    /**
+     * O ID da linha.
+     * <p>É reservado em blocos pelo gerador {@code prontuario_exame} da tabela {@value GeradoresId#TABELA},
+     * o que permite gravar os exames novos de um prontuário em lotes JDBC.</p>
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "gerador_prontuario_exame")
+    @TableGenerator(name = "gerador_prontuario_exame", table = GeradoresId.TABELA, pkColumnName = GeradoresId.COLUNA_NOME,
+            valueColumnName = GeradoresId.COLUNA_VALOR, pkColumnValue = "prontuario_exame",
+            allocationSize = GeradoresId.TAMANHO_ALOCACAO)
+    @Column(name = "id_exame")
+    private Long idExame;
+
+    /**
+     * O ID do prontuário ao qual o exame pertence.
+     */
+    @Column(name = "id_prontuario", nullable = false)
+    private Long idProntuario;
+
+    /**
+     * O nome do exame. Ex: "Hemograma".
+     */
+    @Column(name = "nome_exame", nullable = false, length = 255)
+    private String nomeExame;
+
+    /**
+     * A data em que o exame foi realizado, quando informada.
+     */
+    @Column(name = "data_realizacao")
+    private LocalDateTime dataRealizacao;
+}
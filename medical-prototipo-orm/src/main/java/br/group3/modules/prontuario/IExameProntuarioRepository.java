@@ -0,0 +1,37 @@
+package br.group3.modules.prontuario;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositório Spring Data JPA para a entidade {@link ExameProntuario}.
+ *
+ * @author Grupo 3
+ * @see ExameProntuario
+ */
+@Repository
+public interface IExameProntuarioRepository extends JpaRepository<ExameProntuario, Long> {
+
+    /**
+     * Lista os exames de um prontuário.
+     *
+     * @param idProntuario O ID do prontuário.
+     * @return Os exames gravados, em ordem de inserção.
+     */
+    List<ExameProntuario> findByIdProntuarioOrderByIdExame(Long idProntuario);
+
+    /**
+     * Remove todos os exames de um prontuário com um único {@code DELETE}.
+     *
+     * @param idProntuario O ID do prontuário.
+     * @return O número de exames removidos.
+     */
+    @Modifying
+    @Query("delete from ExameProntuario e where e.idProntuario = :idProntuario")
+    int removerPorProntuario(@Param("idProntuario") Long idProntuario);
+}
@@ -0,0 +1,15 @@
+package br.group3.modules.prontuario;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositório Spring Data JPA para a entidade {@link Prontuario}.
+ *
+ * @author Grupo 3
+ * @see Prontuario
+ * @see org.springframework.data.jpa.repository.JpaRepository
+ */
+@Repository
+public interface IProntuarioRepository extends JpaRepository<Prontuario, Long> {
+}
@@ -0,0 +1,76 @@
+package br.group3.modules.prontuario;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resumo relacional de um prontuário do sistema NoSQL.
+ *
+ * <p>Esta entidade mapeia a tabela "prontuario" com os campos de primeiro nível do documento.
+ * Os exames, que no MongoDB ficam embutidos no documento, são gravados como linhas de
+ * {@link ExameProntuario}. O ID é o mesmo {@code idProntuario} do documento de origem.</p>
+ *
+ * @author Grupo 3
+ */
+@Entity
+@Table(name = "prontuario", indexes = {
+        @Index(name = "idx_prontuario_paciente", columnList = "id_paciente")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class Prontuario {
+
+    /**
+     * O ID do prontuário no sistema de origem.
+     * <p>Não é gerado pelo banco: vem do documento do MongoDB.</p>
+     */
+    @Id
+    @Column(name = "id_prontuario")
+    private Long idProntuario;
+
+    /**
+     * A data de abertura do prontuário.
+     */
+    @Column(name = "data_criacao", nullable = false)
+    private LocalDateTime dataCriacao;
+
+    /**
+     * O histórico médico do paciente. Texto livre, sem limite prático de tamanho.
+     */
+    @Column(name = "historico_medico", nullable = false, columnDefinition = "TEXT")
+    private String historicoMedico;
+
+    /**
+     * O diagnóstico registrado.
+     */
+    @Column(name = "diagnostico", nullable = false, columnDefinition = "TEXT")
+    private String diagnostico;
+
+    /**
+     * O ID do paciente dono do prontuário.
+     */
+    @Column(name = "id_paciente", nullable = false)
+    private Long idPaciente;
+
+    /**
+     * O tratamento prescrito.
+     */
+    @Column(name = "tratamento", nullable = false, columnDefinition = "TEXT")
+    private String tratamento;
+
+    /**
+     * Hash SHA-256 (em hexadecimal) do conteúdo recebido na última sincronização, exames inclusos.
+     * <p>Quando o mesmo conteúdo chega de novo, a sincronização termina sem ler os exames.</p>
+     */
+    @JsonIgnore
+    @Column(name = "hash_conteudo", nullable = false, length = 64)
+    private String hashConteudo;
+}
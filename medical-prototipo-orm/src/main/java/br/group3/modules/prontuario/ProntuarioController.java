@@ -0,0 +1,90 @@
+package br.group3.modules.prontuario;
+
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST usado pelo middleware para sincronizar prontuários vindos do sistema NoSQL.
+ * <p>O {@code PUT} recebe o documento completo, exames inclusos, e o {@link ProntuarioService}
+ * grava apenas o que mudou desde a última sincronização.</p>
+ *
+ * @author Grupo 3
+ * @see ProntuarioService
+ * @see ProntuarioDTO
+ * @see Prontuario
+ */
+@RestController
+@RequestMapping("/api/prontuarios")
+public class ProntuarioController {
+
+    private final ProntuarioService prontuarioService;
+
+    /**
+     * Construtor para injeção de dependência do {@link ProntuarioService}.
+     *
+     * @param prontuarioService A instância de {@link ProntuarioService} a ser injetada.
+     */
+    @Autowired
+    public ProntuarioController(ProntuarioService prontuarioService) {
+        this.prontuarioService = prontuarioService;
+    }
+
+    /**
+     * Cria ou atualiza um prontuário.
+     *
+     * @param id O ID do prontuário no sistema de origem, passado como variável de caminho.
+     * @param prontuarioDTO O DTO com o documento completo.
+     * É anotado com {@link Valid} para ativar as validações definidas no DTO e em cada exame.
+     * @return Uma {@link ResponseEntity} com o {@link ResultadoSincronizacao} e o status HTTP
+     * 201 (Created) se o prontuário foi criado, ou 200 (OK) caso contrário.
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<ResultadoSincronizacao> sincronizarProntuario(@PathVariable Long id,
+                                                                        @Valid @RequestBody ProntuarioDTO prontuarioDTO) {
+        ResultadoSincronizacao resultado = prontuarioService.sincronizarProntuario(id, prontuarioDTO);
+        HttpStatus status = resultado.getStatus() == ResultadoSincronizacao.Status.CRIADO ? HttpStatus.CREATED : HttpStatus.OK;
+        return ResponseEntity.status(status).body(resultado);
+    }
+
+    /**
+     * Busca um prontuário pelo seu ID, sem os exames.
+     *
+     * @param id O ID do prontuário a ser buscado, passado como variável de caminho.
+     * @return Uma {@link ResponseEntity} contendo o {@link Prontuario} encontrado e o status HTTP 200 (OK),
+     * ou status 404 (Not Found) se o prontuário não for encontrado.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Prontuario> buscarProntuarioPorId(@PathVariable Long id) {
+        return prontuarioService.buscarProntuarioPorId(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Lista os exames de um prontuário.
+     *
+     * @param id O ID do prontuário, passado como variável de caminho.
+     * @return Uma {@link ResponseEntity} com a lista de {@link ExameProntuario} e o status HTTP 200 (OK).
+     */
+    @GetMapping("/{id}/exames")
+    public ResponseEntity<List<ExameProntuario>> listarExames(@PathVariable Long id) {
+        return ResponseEntity.ok(prontuarioService.listarExames(id));
+    }
+
+    /**
+     * Remove um prontuário e seus exames.
+     *
+     * @param id O ID do prontuário a ser removido, passado como variável de caminho.
+     * @return Uma {@link ResponseEntity} com status HTTP 204 (No Content), exista ou não o prontuário.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> removerProntuario(@PathVariable Long id) {
+        prontuarioService.removerProntuario(id);
+        return ResponseEntity.noContent().build();
+    }
+}
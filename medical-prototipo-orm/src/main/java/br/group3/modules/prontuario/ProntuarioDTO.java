@@ -0,0 +1,63 @@
+package br.group3.modules.prontuario;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO (Data Transfer Object) para representar um prontuário completo recebido do middleware,
+ * com a lista de exames embutida como no documento do MongoDB.
+ * Inclui validações para garantir a integridade dos dados recebidos.
+ *
+ * @author Grupo 3
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProntuarioDTO {
+
+    /**
+     * A data de abertura do prontuário. Obrigatória.
+     */
+    @NotNull(message = "A data de criação é obrigatória.")
+    private LocalDateTime dataCriacao;
+
+    /**
+     * O histórico médico. Deve ser preenchido.
+     */
+    @NotBlank(message = "O histórico médico é obrigatório.")
+    private String historicoMedico;
+
+    /**
+     * O diagnóstico. Deve ser preenchido.
+     */
+    @NotBlank(message = "O diagnóstico é obrigatório.")
+    private String diagnostico;
+
+    /**
+     * O ID do paciente. Obrigatório.
+     */
+    @NotNull(message = "O ID do paciente é obrigatório.")
+    private Long idPaciente;
+
+    /**
+     * O tratamento prescrito. Deve ser preenchido.
+     */
+    @NotBlank(message = "O tratamento é obrigatório.")
+    private String tratamento;
+
+    /**
+     * Todos os exames do prontuário, na ordem do documento. Uma lista vazia remove os exames gravados.
+     */
+    @Valid
+    private List<ExameDTO> exames = new ArrayList<>();
+}
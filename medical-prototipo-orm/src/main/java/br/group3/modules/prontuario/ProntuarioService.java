@@ -0,0 +1,189 @@
+package br.group3.modules.prontuario;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Serviço que mantém as tabelas {@link Prontuario} e {@link ExameProntuario} sincronizadas com o sistema NoSQL.
+ * <p>O middleware envia sempre o documento completo, que pode trazer centenas de exames. Para não
+ * regravar tudo a cada alteração, a sincronização é incremental:</p>
+ * <ul>
+ *     <li>o hash do conteúdo recebido é comparado com o da última sincronização; se for igual,
+ *     nada é lido nem gravado;</li>
+ *     <li>os campos do prontuário são copiados para a entidade carregada, e o Hibernate só emite
+ *     o {@code UPDATE} se algum deles mudou;</li>
+ *     <li>os exames são comparados pelo conteúdo (nome e data): os que já estão gravados ficam
+ *     como estão, os que sumiram do documento são removidos e só os novos são inseridos.</li>
+ * </ul>
+ * <p>Como em {@link br.group3.modules.consulta.ConsultaService}, nada é registrado no outbox.</p>
+ *
+ * @author Grupo 3
+ * @see Prontuario
+ * @see ExameProntuario
+ * @see ProntuarioDTO
+ */
+@Service
+public class ProntuarioService {
+
+    // Separa os campos no cálculo do hash, para que "ab"+"c" e "a"+"bc" não colidam
+    private static final char SEPARADOR = '\u001F';
+
+    private final IProntuarioRepository prontuarioRepository;
+    private final IExameProntuarioRepository exameRepository;
+
+    /**
+     * Construtor para injeção de dependência dos repositórios de prontuário e de exames.
+     *
+     * @param prontuarioRepository A instância de {@link IProntuarioRepository} a ser injetada.
+     * @param exameRepository A instância de {@link IExameProntuarioRepository} a ser injetada.
+     */
+    @Autowired
+    public ProntuarioService(IProntuarioRepository prontuarioRepository, IExameProntuarioRepository exameRepository) {
+        this.prontuarioRepository = prontuarioRepository;
+        this.exameRepository = exameRepository;
+    }
+
+    /**
+     * Cria ou atualiza o prontuário com o ID informado, gravando apenas as diferenças.
+     *
+     * @param id O ID do prontuário no sistema de origem.
+     * @param prontuarioDTO O {@link ProntuarioDTO} com o documento completo.
+     * @return O {@link ResultadoSincronizacao} com o que foi gravado.
+     */
+    @Transactional
+    public ResultadoSincronizacao sincronizarProntuario(Long id, ProntuarioDTO prontuarioDTO) {
+        String hash = calcularHash(prontuarioDTO);
+        Optional<Prontuario> existente = prontuarioRepository.findById(id);
+        if (existente.isPresent() && hash.equals(existente.get().getHashConteudo())) {
+            return new ResultadoSincronizacao(id, ResultadoSincronizacao.Status.INALTERADO, 0, 0, 0);
+        }
+
+        Prontuario prontuario = existente.orElseGet(Prontuario::new);
+        prontuario.setIdProntuario(id);
+        prontuario.setDataCriacao(prontuarioDTO.getDataCriacao());
+        prontuario.setHistoricoMedico(prontuarioDTO.getHistoricoMedico());
+        prontuario.setDiagnostico(prontuarioDTO.getDiagnostico());
+        prontuario.setIdPaciente(prontuarioDTO.getIdPaciente());
+        prontuario.setTratamento(prontuarioDTO.getTratamento());
+        prontuario.setHashConteudo(hash);
+        prontuarioRepository.save(prontuario);
+
+        List<ExameDTO> recebidos = prontuarioDTO.getExames() == null ? List.of() : prontuarioDTO.getExames();
+        if (existente.isEmpty()) {
+            List<ExameProntuario> novos = new ArrayList<>(recebidos.size());
+            for (ExameDTO exame : recebidos) {
+                novos.add(new ExameProntuario(null, id, exame.getNomeExame(), exame.getDataRealizacao()));
+            }
+            exameRepository.saveAll(novos);
+            return new ResultadoSincronizacao(id, ResultadoSincronizacao.Status.CRIADO, novos.size(), 0, 0);
+        }
+        return atualizarExames(id, recebidos);
+    }
+
+    private ResultadoSincronizacao atualizarExames(Long id, List<ExameDTO> recebidos) {
+        // Agrupa os exames gravados pelo conteúdo; o mesmo exame pode aparecer mais de uma vez
+        Map<String, Deque<ExameProntuario>> gravados = new HashMap<>();
+        for (ExameProntuario exame : exameRepository.findByIdProntuarioOrderByIdExame(id)) {
+            gravados.computeIfAbsent(chave(exame.getNomeExame(), exame.getDataRealizacao()), k -> new ArrayDeque<>())
+                    .add(exame);
+        }
+
+        List<ExameProntuario> novos = new ArrayList<>();
+        int mantidos = 0;
+        for (ExameDTO exame : recebidos) {
+            Deque<ExameProntuario> iguais = gravados.get(chave(exame.getNomeExame(), exame.getDataRealizacao()));
+            if (iguais != null && iguais.poll() != null) {
+                mantidos++;
+            } else {
+                novos.add(new ExameProntuario(null, id, exame.getNomeExame(), exame.getDataRealizacao()));
+            }
+        }
+
+        // O que sobrou nos grupos não veio mais no documento
+        List<ExameProntuario> removidos = new ArrayList<>();
+        gravados.values().forEach(removidos::addAll);
+        if (!removidos.isEmpty()) {
+            exameRepository.deleteAllInBatch(removidos);
+        }
+        if (!novos.isEmpty()) {
+            exameRepository.saveAll(novos);
+        }
+        return new ResultadoSincronizacao(id, ResultadoSincronizacao.Status.ATUALIZADO,
+                novos.size(), removidos.size(), mantidos);
+    }
+
+    private static String chave(String nomeExame, Object dataRealizacao) {
+        return nomeExame + SEPARADOR + Objects.toString(dataRealizacao, "");
+    }
+
+    /**
+     * Calcula o hash SHA-256 do documento recebido, exames inclusos e na ordem recebida.
+     *
+     * @param prontuarioDTO O documento recebido.
+     * @return O hash em hexadecimal, com 64 caracteres.
+     */
+    static String calcularHash(ProntuarioDTO prontuarioDTO) {
+        StringBuilder conteudo = new StringBuilder(256)
+                .append(prontuarioDTO.getDataCriacao()).append(SEPARADOR)
+                .append(prontuarioDTO.getHistoricoMedico()).append(SEPARADOR)
+                .append(prontuarioDTO.getDiagnostico()).append(SEPARADOR)
+                .append(prontuarioDTO.getIdPaciente()).append(SEPARADOR)
+                .append(prontuarioDTO.getTratamento());
+        if (prontuarioDTO.getExames() != null) {
+            for (ExameDTO exame : prontuarioDTO.getExames()) {
+                conteudo.append(SEPARADOR).append(chave(exame.getNomeExame(), exame.getDataRealizacao()));
+            }
+        }
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(conteudo.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    /**
+     * Busca um prontuário pelo seu ID.
+     *
+     * @param id O ID do prontuário a ser buscado.
+     * @return Um {@link Optional} contendo o {@link Prontuario} se encontrado, ou vazio caso contrário.
+     */
+    public Optional<Prontuario> buscarProntuarioPorId(Long id) {
+        return prontuarioRepository.findById(id);
+    }
+
+    /**
+     * Lista os exames gravados de um prontuário.
+     *
+     * @param id O ID do prontuário.
+     * @return Os exames, em ordem de inserção. Vazio se o prontuário não existir.
+     */
+    public List<ExameProntuario> listarExames(Long id) {
+        return exameRepository.findByIdProntuarioOrderByIdExame(id);
+    }
+
+    /**
+     * Remove o prontuário e todos os seus exames. Não faz nada se ele não existir.
+     *
+     * @param id O ID do prontuário a ser removido.
+     */
+    @Transactional
+    public void removerProntuario(Long id) {
+        exameRepository.removerPorProntuario(id);
+        prontuarioRepository.deleteById(id);
+    }
+}
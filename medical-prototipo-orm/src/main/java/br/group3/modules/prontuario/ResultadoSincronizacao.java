@@ -0,0 +1,57 @@
+package br.group3.modules.prontuario;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Resultado da sincronização de um prontuário.
+ * <p>Informa o que precisou ser gravado; um reenvio do mesmo documento resulta em
+ * {@link Status#INALTERADO} sem nenhuma escrita.</p>
+ *
+ * @author Grupo 3
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoSincronizacao {
+
+    /**
+     * Situação final do prontuário.
+     */
+    public enum Status {
+        /** O prontuário ainda não existia e foi gravado. */
+        CRIADO,
+        /** O prontuário já existia e algo mudou. */
+        ATUALIZADO,
+        /** O conteúdo recebido é igual ao gravado. */
+        INALTERADO
+    }
+
+    /**
+     * O ID do prontuário sincronizado.
+     */
+    private Long idProntuario;
+
+    /**
+     * A situação final do prontuário.
+     */
+    private Status status;
+
+    /**
+     * Exames que não existiam e foram inseridos.
+     */
+    private int examesInseridos;
+
+    /**
+     * Exames gravados que não vieram mais no documento e foram removidos.
+     */
+    private int examesRemovidos;
+
+    /**
+     * Exames que já estavam gravados e não foram tocados.
+     */
+    private int examesMantidos;
+}
@@ -0,0 +1,158 @@
+package br.group3.cache;
+
+import br.group3.modules.cache.CacheEntidades;
+import br.group3.modules.cache.CamadaRedis;
+import br.group3.modules.paciente.Paciente;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Classe de testes para {@link CacheEntidades}.
+ * Verifica a ordem das camadas (local, Redis, banco), a invalidação e as métricas,
+ * mockando a {@link CamadaRedis}.
+ *
+ * @author Grupo 3
+ */
+@ExtendWith(MockitoExtension.class)
+public class CacheEntidadesTest {
+
+    @Mock
+    private CamadaRedis redis;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private SimpleMeterRegistry registro;
+    private CacheEntidades<Paciente> cache;
+    private Paciente pacienteExemplo;
+    private AtomicInteger leiturasBanco;
+    private Function<Long, Optional<Paciente>> banco;
+
+    @BeforeEach
+    void setUp() {
+        registro = new SimpleMeterRegistry();
+        cache = new CacheEntidades<>("paciente", Paciente.class,
+                p -> new Paciente(p.getIdPaciente(), p.getNomeCompleto(), p.getDataNascimento(),
+                        p.getCpf(), p.getEndereco(), p.getTelefone()),
+                100, Duration.ofMinutes(5), redis, objectMapper, registro);
+
+        pacienteExemplo = new Paciente(1L, "João da Silva", LocalDate.of(1990, 5, 15),
+                "12345678901", "Rua A, 123", "99999999999");
+        leiturasBanco = new AtomicInteger();
+        banco = id -> {
+            leiturasBanco.incrementAndGet();
+            return id == 1L ? Optional.of(pacienteExemplo) : Optional.empty();
+        };
+    }
+
+    @Test
+    @DisplayName("Deve ler do banco uma única vez e servir as buscas seguintes do cache local")
+    void deveServirDoCacheLocal() throws Exception {
+        when(redis.habilitada()).thenReturn(true);
+
+        Optional<Paciente> primeira = cache.buscar(1L, banco);
+        Optional<Paciente> segunda = cache.buscar(1L, banco);
+
+        assertEquals("João da Silva", primeira.orElseThrow().getNomeCompleto());
+        assertEquals("João da Silva", segunda.orElseThrow().getNomeCompleto());
+        assertEquals(1, leiturasBanco.get());
+        verify(redis, times(1)).ler("cache:paciente:1");
+        verify(redis, times(1)).gravar("cache:paciente:1", objectMapper.writeValueAsString(pacienteExemplo),
+                Duration.ofMinutes(5));
+        assertEquals(1.0, registro.get("cache.gets").tag("cache", "paciente").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, registro.get("cache.redis.gets").tag("resultado", "falta").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve usar o Redis antes de ir ao banco")
+    void deveUsarORedisAntesDoBanco() throws Exception {
+        when(redis.habilitada()).thenReturn(true);
+        when(redis.ler("cache:paciente:1")).thenReturn(objectMapper.writeValueAsString(pacienteExemplo));
+
+        Optional<Paciente> encontrado = cache.buscar(1L, banco);
+
+        assertEquals(LocalDate.of(1990, 5, 15), encontrado.orElseThrow().getDataNascimento());
+        assertEquals(0, leiturasBanco.get());
+        verify(redis, never()).gravar(anyString(), anyString(), any());
+        assertEquals(1.0, registro.get("cache.razao.acerto").tag("camada", "redis").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Deve cair no banco quando o Redis estiver indisponível")
+    void deveCairNoBancoComRedisIndisponivel() {
+        when(redis.habilitada()).thenReturn(true);
+        when(redis.ler("cache:paciente:1")).thenThrow(new JedisConnectionException("sem conexão"));
+
+        Optional<Paciente> encontrado = cache.buscar(1L, banco);
+
+        assertTrue(encontrado.isPresent());
+        assertEquals(1, leiturasBanco.get());
+        assertEquals(1.0, registro.get("cache.redis.gets").tag("resultado", "erro").counter().count());
+    }
+
+    @Test
+    @DisplayName("Não deve guardar buscas por ID inexistente")
+    void naoDeveGuardarIdInexistente() {
+        cache.buscar(99L, banco);
+        cache.buscar(99L, banco);
+
+        assertEquals(2, leiturasBanco.get());
+        verify(redis, never()).gravar(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Alterações no objeto devolvido não devem afetar o cache")
+    void deveIsolarOObjetoDevolvido() {
+        cache.buscar(1L, banco).orElseThrow().setNomeCompleto("Alterado");
+
+        assertEquals("João da Silva", cache.buscar(1L, banco).orElseThrow().getNomeCompleto());
+    }
+
+    @Test
+    @DisplayName("Deve invalidar as duas camadas e avisar as outras instâncias")
+    void deveInvalidarAsDuasCamadas() {
+        cache.buscar(1L, banco);
+
+        cache.invalidar(1L);
+        cache.buscar(1L, banco);
+
+        assertEquals(2, leiturasBanco.get());
+        verify(redis, times(1)).invalidar("paciente", "cache:paciente:1", 1L);
+    }
+
+    @Test
+    @DisplayName("Deve descartar a entrada local quando outra instância invalidar")
+    void deveAplicarInvalidacaoRemota() {
+        ArgumentCaptor<LongConsumer> invalidar = ArgumentCaptor.forClass(LongConsumer.class);
+        verify(redis).registrar(eq("paciente"), invalidar.capture(), any(Runnable.class));
+        cache.buscar(1L, banco);
+
+        invalidar.getValue().accept(1L);
+        cache.buscar(1L, banco);
+
+        assertEquals(2, leiturasBanco.get());
+        verify(redis, never()).invalidar(anyString(), anyString(), anyLong());
+    }
+}
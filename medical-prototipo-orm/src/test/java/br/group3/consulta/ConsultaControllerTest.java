@@ -0,0 +1,80 @@
+package br.group3.consulta;
+
+import br.group3.modules.consulta.ConsultaController;
+import br.group3.modules.consulta.ConsultaDTO;
+import br.group3.modules.consulta.ConsultaService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Classe de testes para {@link ConsultaController}.
+ * Testa os endpoints de sincronização de consultas, simulando requisições HTTP.
+ *
+ * @author Grupo 3
+ */
+@WebMvcTest(ConsultaController.class)
+public class ConsultaControllerTest {
+
+    private static final String CONSULTA_JSON = "{\"dataHora\":\"2025-03-10T14:30:00\",\"motivo\":\"Retorno\","
+            + "\"idMedico\":7,\"idPaciente\":42,\"status\":\"Agendada\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ConsultaService consultaService;
+
+    @Test
+    @DisplayName("PUT /api/consultas/{id} - Deve retornar 201 Created quando a consulta é nova")
+    void deveRetornar201AoCriarConsulta() throws Exception {
+        when(consultaService.sincronizarConsulta(eq(10L), any(ConsultaDTO.class))).thenReturn(true);
+
+        mockMvc.perform(put("/api/consultas/{id}", 10L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CONSULTA_JSON))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("PUT /api/consultas/{id} - Deve retornar 204 No Content quando a consulta já existia")
+    void deveRetornar204AoAtualizarConsulta() throws Exception {
+        when(consultaService.sincronizarConsulta(eq(10L), any(ConsultaDTO.class))).thenReturn(false);
+
+        mockMvc.perform(put("/api/consultas/{id}", 10L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CONSULTA_JSON))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    @DisplayName("PUT /api/consultas/{id} - Deve retornar 400 Bad Request com status desconhecido")
+    void deveRetornar400ComStatusInvalido() throws Exception {
+        mockMvc.perform(put("/api/consultas/{id}", 10L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CONSULTA_JSON.replace("Agendada", "Adiada")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.status").exists());
+
+        verify(consultaService, never()).sincronizarConsulta(any(), any());
+    }
+
+    @Test
+    @DisplayName("DELETE /api/consultas/{id} - Deve remover a consulta e retornar 204 No Content")
+    void deveRemoverConsultaERetornar204() throws Exception {
+        mockMvc.perform(delete("/api/consultas/{id}", 10L))
+                .andExpect(status().isNoContent());
+
+        verify(consultaService, times(1)).removerConsulta(10L);
+    }
+}
@@ -0,0 +1,86 @@
+package br.group3.consulta;
+
+import br.group3.modules.consulta.Consulta;
+import br.group3.modules.consulta.ConsultaDTO;
+import br.group3.modules.consulta.ConsultaService;
+import br.group3.modules.consulta.IConsultaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Classe de testes para {@link ConsultaService}.
+ * Testa a sincronização idempotente das consultas, mockando o repositório.
+ *
+ * @author Grupo 3
+ */
+@ExtendWith(MockitoExtension.class)
+public class ConsultaServiceTest {
+
+    @Mock
+    private IConsultaRepository consultaRepository;
+
+    @InjectMocks
+    private ConsultaService consultaService;
+
+    private ConsultaDTO consultaDTOExemplo;
+
+    /**
+     * Configuração inicial antes de cada teste.
+     * Prepara um ConsultaDTO de exemplo.
+     */
+    @BeforeEach
+    void setUp() {
+        consultaDTOExemplo = new ConsultaDTO(LocalDateTime.of(2025, 3, 10, 14, 30),
+                "Retorno cardiológico", 7L, 42L, "Agendada");
+    }
+
+    @Test
+    @DisplayName("Deve criar a consulta com o ID de origem quando ela não existe")
+    void deveCriarConsultaInexistente() {
+        when(consultaRepository.findById(10L)).thenReturn(Optional.empty());
+
+        boolean criada = consultaService.sincronizarConsulta(10L, consultaDTOExemplo);
+
+        assertTrue(criada);
+        ArgumentCaptor<Consulta> captor = ArgumentCaptor.forClass(Consulta.class);
+        verify(consultaRepository).save(captor.capture());
+        assertEquals(10L, captor.getValue().getIdConsulta());
+        assertEquals("Retorno cardiológico", captor.getValue().getMotivo());
+        assertEquals(42L, captor.getValue().getIdPaciente());
+    }
+
+    @Test
+    @DisplayName("Deve sobrescrever a consulta existente ao receber o mesmo ID")
+    void deveSobrescreverConsultaExistente() {
+        Consulta existente = new Consulta(10L, LocalDateTime.of(2025, 3, 10, 14, 30),
+                "Retorno cardiológico", 7L, 42L, "Agendada");
+        when(consultaRepository.findById(10L)).thenReturn(Optional.of(existente));
+        consultaDTOExemplo.setStatus("Realizada");
+
+        boolean criada = consultaService.sincronizarConsulta(10L, consultaDTOExemplo);
+
+        assertFalse(criada);
+        assertEquals("Realizada", existente.getStatus());
+        verify(consultaRepository).save(existente);
+    }
+
+    @Test
+    @DisplayName("Deve remover a consulta pelo ID")
+    void deveRemoverConsulta() {
+        consultaService.removerConsulta(10L);
+
+        verify(consultaRepository, times(1)).deleteById(10L);
+    }
+}
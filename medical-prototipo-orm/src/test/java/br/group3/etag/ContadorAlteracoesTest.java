@@ -0,0 +1,105 @@
+package br.group3.etag;
+
+import br.group3.modules.etag.ContadorAlteracao;
+import br.group3.modules.etag.ContadorAlteracoes;
+import br.group3.modules.etag.IContadorAlteracaoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Classe de testes para {@link ContadorAlteracoes}.
+ * Verifica o incremento do contador e o tratamento de um incremento que falhou: o contador fica
+ * sem valor até que o incremento perdido seja aplicado.
+ *
+ * @author Grupo 3
+ */
+@ExtendWith(MockitoExtension.class)
+public class ContadorAlteracoesTest {
+
+    @Mock
+    private IContadorAlteracaoRepository contadorAlteracaoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ContadorAlteracoes contadorAlteracoes;
+
+    /**
+     * Configuração inicial antes de cada teste.
+     * Cria o contador com o gerenciador de transações mockado (fora de uma transação, o incremento é imediato).
+     */
+    @BeforeEach
+    void setUp() {
+        contadorAlteracoes = new ContadorAlteracoes(contadorAlteracaoRepository, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Deve incrementar na hora fora de uma transação e criar o contador se ele não existir")
+    void deveIncrementarECriarContador() {
+        when(contadorAlteracaoRepository.incrementar("paciente", 1L)).thenReturn(0);
+
+        contadorAlteracoes.registrar("paciente");
+
+        verify(contadorAlteracaoRepository).saveAndFlush(argThat(c -> c.getEntidade().equals("paciente") && c.getAlteracoes() == 1L));
+    }
+
+    @Test
+    @DisplayName("Deve ficar sem valor enquanto um incremento perdido não for aplicado")
+    void deveFicarSemValorComIncrementoPerdido() {
+        when(contadorAlteracaoRepository.incrementar("paciente", 1L)).thenThrow(new DataAccessResourceFailureException("banco fora"));
+        when(contadorAlteracaoRepository.incrementar("paciente", 2L)).thenThrow(new DataAccessResourceFailureException("banco fora"));
+
+        contadorAlteracoes.registrar("paciente");
+        contadorAlteracoes.registrar("paciente");
+        // A leitura tenta aplicar os dois incrementos perdidos e falha de novo
+        assertEquals(OptionalLong.empty(), contadorAlteracoes.atual("paciente"));
+
+        verify(contadorAlteracaoRepository, times(2)).incrementar("paciente", 2L);
+        verify(contadorAlteracaoRepository, never()).findById(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar os incrementos perdidos na retentativa e voltar a devolver o valor")
+    void deveAplicarIncrementosPerdidosNaRetentativa() {
+        when(contadorAlteracaoRepository.incrementar("medico", 1L))
+                .thenThrow(new DataAccessResourceFailureException("banco fora"))
+                .thenReturn(1);
+        when(contadorAlteracaoRepository.incrementar("medico", 2L)).thenReturn(1);
+        when(contadorAlteracaoRepository.findById("medico")).thenReturn(Optional.of(new ContadorAlteracao("medico", 9L)));
+
+        contadorAlteracoes.registrar("medico");
+        contadorAlteracoes.registrar("medico"); // leva junto o incremento perdido
+
+        assertEquals(OptionalLong.of(9L), contadorAlteracoes.atual("medico"));
+        verify(contadorAlteracaoRepository).incrementar("medico", 2L);
+
+        contadorAlteracoes.reaplicarPerdidos();
+        verifyNoMoreInteractions(ignoreStubs(contadorAlteracaoRepository));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar na leitura o incremento perdido e então devolver o valor")
+    void deveAplicarIncrementoPerdidoNaLeitura() {
+        when(contadorAlteracaoRepository.incrementar("paciente", 1L))
+                .thenThrow(new DataAccessResourceFailureException("banco fora"))
+                .thenReturn(1);
+        when(contadorAlteracaoRepository.findById("paciente")).thenReturn(Optional.of(new ContadorAlteracao("paciente", 3L)));
+
+        contadorAlteracoes.registrar("paciente");
+
+        assertEquals(OptionalLong.of(3L), contadorAlteracoes.atual("paciente"));
+        verify(contadorAlteracaoRepository, times(2)).incrementar("paciente", 1L);
+    }
+}
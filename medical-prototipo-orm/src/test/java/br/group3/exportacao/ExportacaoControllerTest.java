@@ -0,0 +1,82 @@
+package br.group3.exportacao;
+
+import br.group3.modules.exportacao.ExportacaoController;
+import br.group3.modules.exportacao.ExportacaoService;
+import br.group3.modules.exportacao.FormatoExportacao;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Classe de testes para {@link ExportacaoController}.
+ * Testa os endpoints de exportação, simulando requisições HTTP com resposta assíncrona.
+ *
+ * @author Grupo 3
+ */
+@WebMvcTest(ExportacaoController.class)
+public class ExportacaoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ExportacaoService exportacaoService;
+
+    @Test
+    @DisplayName("GET /api/exportacao/pacientes - Deve escrever o NDJSON do serviço como anexo")
+    void deveExportarPacientesEmNdjson() throws Exception {
+        when(exportacaoService.exportarPacientes(eq(FormatoExportacao.NDJSON), any(OutputStream.class)))
+                .thenAnswer(invocacao -> {
+                    OutputStream saida = invocacao.getArgument(1);
+                    saida.write("{\"idPaciente\":1}\n".getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+
+        MvcResult resultado = mockMvc.perform(get("/api/exportacao/pacientes"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", containsString("pacientes.ndjson")))
+                .andExpect(content().string("{\"idPaciente\":1}\n"));
+    }
+
+    @Test
+    @DisplayName("GET /api/exportacao/medicos - Deve exportar em CSV quando pedido")
+    void deveExportarMedicosEmCsv() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/api/exportacao/medicos").param("formato", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", containsString("medicos.csv")));
+
+        verify(exportacaoService, times(1)).exportarMedicos(eq(FormatoExportacao.CSV), any(OutputStream.class));
+    }
+
+    @Test
+    @DisplayName("GET /api/exportacao/pacientes - Deve retornar 400 Bad Request para formato desconhecido")
+    void deveRetornar400ParaFormatoDesconhecido() throws Exception {
+        mockMvc.perform(get("/api/exportacao/pacientes").param("formato", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(exportacaoService);
+    }
+}
@@ -0,0 +1,120 @@
+package br.group3.exportacao;
+
+import br.group3.modules.exportacao.ExportacaoService;
+import br.group3.modules.exportacao.FormatoExportacao;
+import br.group3.modules.medico.IMedicoRepository;
+import br.group3.modules.medico.Medico;
+import br.group3.modules.paciente.IPacienteRepository;
+import br.group3.modules.paciente.Paciente;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Classe de testes para {@link ExportacaoService}.
+ * Verifica o conteúdo exportado em cada formato, mockando os repositórios e o EntityManager.
+ *
+ * @author Grupo 3
+ */
+@ExtendWith(MockitoExtension.class)
+public class ExportacaoServiceTest {
+
+    @Mock
+    private IPacienteRepository pacienteRepository;
+
+    @Mock
+    private IMedicoRepository medicoRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ObjectMapper objectMapper;
+    private ExportacaoService exportacaoService;
+    private Paciente pacienteExemplo;
+    private Paciente pacienteComVirgula;
+
+    /**
+     * Configuração inicial antes de cada teste.
+     * Configura o ObjectMapper como o Spring Boot faz e prepara pacientes de exemplo.
+     */
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        exportacaoService = new ExportacaoService(pacienteRepository, medicoRepository, entityManager, objectMapper);
+
+        pacienteExemplo = new Paciente(1L, "João da Silva", LocalDate.of(1990, 5, 15),
+                "12345678901", "Rua A", "99999999999");
+        pacienteComVirgula = new Paciente(2L, "Maria \"Mari\" Souza", null,
+                "98765432109", "Av. B, 456", "88888888888");
+    }
+
+    @Test
+    @DisplayName("Deve exportar um paciente por linha em NDJSON e desanexar cada um")
+    void deveExportarPacientesEmNdjson() throws Exception {
+        when(pacienteRepository.percorrerTodos()).thenReturn(Stream.of(pacienteExemplo, pacienteComVirgula));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        long total = exportacaoService.exportarPacientes(FormatoExportacao.NDJSON, saida);
+
+        String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, total);
+        assertEquals(2, linhas.length);
+        JsonNode primeira = objectMapper.readTree(linhas[0]);
+        assertEquals(1L, primeira.get("idPaciente").asLong());
+        assertEquals("1990-05-15", primeira.get("dataNascimento").asText());
+        assertEquals("Maria \"Mari\" Souza", objectMapper.readTree(linhas[1]).get("nomeCompleto").asText());
+        verify(entityManager).detach(pacienteExemplo);
+        verify(entityManager).detach(pacienteComVirgula);
+    }
+
+    @Test
+    @DisplayName("Deve exportar pacientes em CSV com cabeçalho e aspas nos campos que precisam")
+    void deveExportarPacientesEmCsv() throws Exception {
+        when(pacienteRepository.percorrerTodos()).thenReturn(Stream.of(pacienteExemplo, pacienteComVirgula));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        exportacaoService.exportarPacientes(FormatoExportacao.CSV, saida);
+
+        assertEquals("idPaciente,nomeCompleto,dataNascimento,cpf,endereco,telefone\r\n"
+                        + "1,João da Silva,1990-05-15,12345678901,Rua A,99999999999\r\n"
+                        + "2,\"Maria \"\"Mari\"\" Souza\",,98765432109,\"Av. B, 456\",88888888888\r\n",
+                saida.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Deve fechar o cursor dos médicos ao terminar a exportação")
+    void deveFecharCursorAoExportarMedicos() throws Exception {
+        AtomicBoolean fechado = new AtomicBoolean();
+        Medico medico = new Medico(1L, "Dr. Carlos Eduardo", "CRM/MG 789012", "3199887766",
+                "carlos@example.com", "Cardiologia");
+        when(medicoRepository.percorrerTodos()).thenReturn(Stream.of(medico).onClose(() -> fechado.set(true)));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        long total = exportacaoService.exportarMedicos(FormatoExportacao.CSV, saida);
+
+        assertEquals(1, total);
+        assertTrue(saida.toString(StandardCharsets.UTF_8).startsWith("idMedico,nomeCompleto,crm,telefone,email,especialidade\r\n"));
+        assertTrue(fechado.get());
+        verify(entityManager).detach(medico);
+    }
+}
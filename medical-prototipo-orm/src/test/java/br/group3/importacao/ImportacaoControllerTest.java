@@ -0,0 +1,89 @@
+package br.group3.importacao;
+
+import br.group3.modules.importacao.FormatoImportacao;
+import br.group3.modules.importacao.ImportacaoController;
+import br.group3.modules.importacao.ImportacaoService;
+import br.group3.modules.importacao.ProgressoImportacao;
+import br.group3.modules.importacao.TarefaImportacao;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Classe de testes para {@link ImportacaoController}.
+ * Testa o envio de arquivos e a consulta de progresso, simulando requisições HTTP.
+ *
+ * @author Grupo 3
+ */
+@WebMvcTest(ImportacaoController.class)
+public class ImportacaoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ImportacaoService importacaoService;
+
+    private static ProgressoImportacao progresso(UUID id) {
+        return new ProgressoImportacao(id, TarefaImportacao.Status.EM_ANDAMENTO, 0, 0, 0, 0, 0,
+                Instant.now(), null, null, List.of(), 0);
+    }
+
+    @Test
+    @DisplayName("POST /api/importacao/pacientes - Deve aceitar o arquivo e retornar 202 Accepted com o endereço do progresso")
+    void deveAceitarArquivo() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(importacaoService.importarPacientes(eq(FormatoImportacao.JSON), any(MultipartFile.class)))
+                .thenReturn(progresso(id));
+        MockMultipartFile arquivo = new MockMultipartFile("arquivo", "pacientes.ndjson", "application/x-ndjson",
+                "{\"nomeCompleto\":\"A\"}\n".getBytes());
+
+        mockMvc.perform(multipart("/api/importacao/pacientes").file(arquivo).param("formato", "ndjson"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/importacao/" + id))
+                .andExpect(jsonPath("$.status").value("EM_ANDAMENTO"));
+    }
+
+    @Test
+    @DisplayName("POST /api/importacao/pacientes - Deve retornar 400 Bad Request para arquivo vazio ou formato desconhecido")
+    void deveRetornar400ParaArquivoVazioOuFormatoDesconhecido() throws Exception {
+        MockMultipartFile vazio = new MockMultipartFile("arquivo", "pacientes.csv", "text/csv", new byte[0]);
+        MockMultipartFile arquivo = new MockMultipartFile("arquivo", "pacientes.xml", "text/xml", "<a/>".getBytes());
+
+        mockMvc.perform(multipart("/api/importacao/pacientes").file(vazio))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(multipart("/api/importacao/pacientes").file(arquivo).param("formato", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(importacaoService);
+    }
+
+    @Test
+    @DisplayName("GET /api/importacao/{id} - Deve retornar o progresso ou 404 Not Found")
+    void deveConsultarProgresso() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(importacaoService.consultar(id)).thenReturn(Optional.of(progresso(id)));
+
+        mockMvc.perform(get("/api/importacao/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id.toString()));
+        mockMvc.perform(get("/api/importacao/{id}", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+}
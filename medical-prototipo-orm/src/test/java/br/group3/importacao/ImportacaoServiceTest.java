@@ -0,0 +1,188 @@
+package br.group3.importacao;
+
+import br.group3.modules.importacao.ErroImportacao;
+import br.group3.modules.importacao.FormatoImportacao;
+import br.group3.modules.importacao.ImportacaoService;
+import br.group3.modules.importacao.ProgressoImportacao;
+import br.group3.modules.importacao.TarefaImportacao;
+import br.group3.modules.paciente.PacienteDTO;
+import br.group3.modules.paciente.PacienteService;
+import br.group3.modules.paciente.ResultadoItemLote;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Classe de testes para {@link ImportacaoService}.
+ * Executa as importações na própria thread do teste, mockando o serviço de pacientes.
+ *
+ * @author Grupo 3
+ */
+@ExtendWith(MockitoExtension.class)
+public class ImportacaoServiceTest {
+
+    private static final String CPF_JA_CADASTRADO = "00000000000";
+
+    @Mock
+    private PacienteService pacienteService;
+
+    private ImportacaoService importacaoService;
+    private List<List<PacienteDTO>> lotesGravados;
+
+    /**
+     * Configuração inicial antes de cada teste.
+     * Cria o serviço com lotes de dois registros e simula a gravação: todo CPF é novo, exceto
+     * {@value #CPF_JA_CADASTRADO}.
+     */
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        importacaoService = new ImportacaoService(pacienteService, objectMapper, Runnable::run, 2);
+
+        lotesGravados = new ArrayList<>();
+        lenient().when(pacienteService.salvarPacientesEmLote(anyList())).thenAnswer(invocacao -> {
+            List<PacienteDTO> lote = invocacao.getArgument(0);
+            lotesGravados.add(lote);
+            return IntStream.range(0, lote.size())
+                    .mapToObj(i -> CPF_JA_CADASTRADO.equals(lote.get(i).getCpf())
+                            ? new ResultadoItemLote(i, ResultadoItemLote.Status.DUPLICADO, null,
+                                    Map.of("cpf", "Já existe um paciente com este CPF."))
+                            : new ResultadoItemLote(i, ResultadoItemLote.Status.CRIADO, (long) i, Map.of()))
+                    .toList();
+        });
+    }
+
+    private ProgressoImportacao importar(FormatoImportacao formato, String conteudo) throws Exception {
+        MockMultipartFile arquivo = new MockMultipartFile("arquivo", "pacientes", "text/plain",
+                conteudo.getBytes(StandardCharsets.UTF_8));
+        ProgressoImportacao inicial = importacaoService.importarPacientes(formato, arquivo);
+        return importacaoService.consultar(inicial.id()).orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Deve importar um CSV em lotes e informar as linhas recusadas")
+    void deveImportarCsvEmLotes() throws Exception {
+        String csv = "idPaciente,nomeCompleto,dataNascimento,cpf,endereco,telefone\r\n"
+                + "1,João da Silva,1990-05-15,12345678901,Rua A,99999999999\r\n"
+                + "2,\"Souza, Maria\",1985-10-20,98765432109,\"Av. B, 456\",\r\n"
+                + "3,Data Errada,15/05/1990,11122233344,,\r\n"
+                + "4,Já Cadastrado,,00000000000,,\r\n"
+                + "5,Colunas a menos\r\n";
+
+        ProgressoImportacao progresso = importar(FormatoImportacao.CSV, csv);
+
+        assertEquals(TarefaImportacao.Status.CONCLUIDA, progresso.status());
+        assertEquals(5, progresso.registrosLidos());
+        assertEquals(2, progresso.gravados());
+        assertEquals(2, progresso.invalidos());
+        assertEquals(1, progresso.duplicados());
+        assertEquals(List.of(4L, 5L, 6L), progresso.erros().stream().map(ErroImportacao::linha).sorted().toList());
+        assertTrue(progresso.erros().stream().anyMatch(erro -> erro.linha() == 4 && erro.erros().containsKey("dataNascimento")));
+
+        assertEquals(List.of(2, 1), lotesGravados.stream().map(List::size).toList());
+        PacienteDTO segundo = lotesGravados.get(0).get(1);
+        assertEquals("Souza, Maria", segundo.getNomeCompleto());
+        assertEquals("Av. B, 456", segundo.getEndereco());
+        assertNull(segundo.getTelefone());
+        assertEquals(LocalDate.of(1985, 10, 20), segundo.getDataNascimento());
+    }
+
+    @Test
+    @DisplayName("Deve importar um array JSON e também NDJSON")
+    void deveImportarJsonENdjson() throws Exception {
+        String array = "[\n"
+                + "  {\"nomeCompleto\": \"João da Silva\", \"cpf\": \"12345678901\"},\n"
+                + "  {\"nomeCompleto\": \"Maria Souza\", \"cpf\": \"98765432109\", \"dataNascimento\": \"1985-10-20\"}\n"
+                + "]";
+        String ndjson = "{\"nomeCompleto\":\"João da Silva\",\"cpf\":\"12345678901\"}\n"
+                + "{\"nomeCompleto\":\"Maria Souza\",\"cpf\":\"98765432109\",\"dataNascimento\":\"ontem\"}\n";
+
+        ProgressoImportacao progressoArray = importar(FormatoImportacao.JSON, array);
+        ProgressoImportacao progressoNdjson = importar(FormatoImportacao.JSON, ndjson);
+
+        assertEquals(2, progressoArray.gravados());
+        assertEquals(1, progressoNdjson.gravados());
+        assertEquals(1, progressoNdjson.invalidos());
+        assertEquals(2L, progressoNdjson.erros().get(0).linha());
+    }
+
+    @Test
+    @DisplayName("Deve marcar a importação como falha quando o JSON estiver malformado, mantendo os lotes gravados")
+    void deveFalharComJsonMalformado() throws Exception {
+        String ndjson = "{\"nomeCompleto\":\"A\",\"cpf\":\"12345678901\"}\n"
+                + "{\"nomeCompleto\":\"B\",\"cpf\":\"98765432109\"}\n"
+                + "{\"nomeCompleto\": \n";
+
+        ProgressoImportacao progresso = importar(FormatoImportacao.JSON, ndjson);
+
+        assertEquals(TarefaImportacao.Status.FALHOU, progresso.status());
+        assertEquals(2, progresso.gravados());
+        assertNotNull(progresso.falha());
+        assertNotNull(progresso.concluidaEm());
+    }
+
+    @Test
+    @DisplayName("Deve gravar um a um os registros de um lote recusado pelo banco")
+    void deveGravarUmAUmQuandoLoteForRecusado() throws Exception {
+        // Outra requisição gravou o CPF 22222222222 entre a verificação e o INSERT
+        doAnswer(invocacao -> {
+            List<PacienteDTO> lote = invocacao.getArgument(0);
+            lotesGravados.add(lote);
+            if (lote.stream().anyMatch(paciente -> "22222222222".equals(paciente.getCpf()))) {
+                throw new DuplicateKeyException("Duplicate entry '22222222222' for key 'cpf'");
+            }
+            return IntStream.range(0, lote.size())
+                    .mapToObj(i -> new ResultadoItemLote(i, ResultadoItemLote.Status.CRIADO, (long) i, Map.of()))
+                    .toList();
+        }).when(pacienteService).salvarPacientesEmLote(anyList());
+        String ndjson = "{\"nomeCompleto\":\"A\",\"cpf\":\"11111111111\"}\n"
+                + "{\"nomeCompleto\":\"B\",\"cpf\":\"22222222222\"}\n"
+                + "{\"nomeCompleto\":\"C\",\"cpf\":\"33333333333\"}\n";
+
+        ProgressoImportacao progresso = importar(FormatoImportacao.JSON, ndjson);
+
+        assertEquals(TarefaImportacao.Status.CONCLUIDA, progresso.status());
+        assertEquals(2, progresso.gravados());
+        assertEquals(1, progresso.duplicados());
+        assertEquals(2L, progresso.erros().get(0).linha());
+        assertEquals(List.of(2, 1, 1, 1), lotesGravados.stream().map(List::size).toList());
+    }
+
+    @Test
+    @DisplayName("Deve marcar a importação como falha quando o banco estiver fora do ar")
+    void deveFalharQuandoBancoEstiverForaDoAr() throws Exception {
+        doThrow(new DataAccessResourceFailureException("Conexão recusada"))
+                .when(pacienteService).salvarPacientesEmLote(anyList());
+        String ndjson = "{\"nomeCompleto\":\"A\",\"cpf\":\"11111111111\"}\n";
+
+        ProgressoImportacao progresso = importar(FormatoImportacao.JSON, ndjson);
+
+        assertEquals(TarefaImportacao.Status.FALHOU, progresso.status());
+        assertEquals(0, progresso.gravados());
+    }
+
+    @Test
+    @DisplayName("Deve retornar vazio ao consultar uma importação inexistente")
+    void deveRetornarVazioParaImportacaoInexistente() {
+        assertTrue(importacaoService.consultar(java.util.UUID.randomUUID()).isEmpty());
+    }
+}
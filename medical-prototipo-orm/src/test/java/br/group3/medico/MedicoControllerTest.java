@@ -4,6 +4,10 @@ import br.group3.modules.medico.Medico;
 import br.group3.modules.medico.MedicoController;
 import br.group3.modules.medico.MedicoDTO;
 import br.group3.modules.medico.MedicoService;
+import br.group3.modules.paginacao.CursorPagina;
+import br.group3.modules.paginacao.OrdemListagem;
+import br.group3.modules.paginacao.Pagina;
+import br.group3.modules.paginacao.PedidoPagina;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,13 +15,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -96,7 +104,8 @@ public class MedicoControllerTest {
         List<Medico> medicos = Arrays.asList(medicoExemplo,
                 new Medico(2L, "Dr. Bruno Costa", "CRM/RJ 654321", "21998877665",
                         "bruno.costa@example.com", "Pediatria"));
-        when(medicoService.listarTodosMedicos()).thenReturn(medicos);
+        when(medicoService.contarAlteracoesMedicos()).thenReturn(OptionalLong.of(0L));
+        when(medicoService.listarMedicos(any(PedidoPagina.class))).thenReturn(new Pagina<>(medicos, null));
 
         mockMvc.perform(get("/api/medicos")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -104,9 +113,56 @@ public class MedicoControllerTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(2))
                 .andExpect(jsonPath("$[0].nomeCompleto").value("Dr. Ana Paula"))
-                .andExpect(jsonPath("$[1].nomeCompleto").value("Dr. Bruno Costa"));
+                .andExpect(jsonPath("$[1].nomeCompleto").value("Dr. Bruno Costa"))
+                .andExpect(header().doesNotExist(Pagina.CABECALHO_CURSOR))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"medico-lista-0\""));
 
-        verify(medicoService, times(1)).listarTodosMedicos();
+        verify(medicoService, times(1)).listarMedicos(new PedidoPagina(OrdemListagem.ID, null, PedidoPagina.TAMANHO_PADRAO));
+    }
+
+    @Test
+    @DisplayName("GET /api/medicos - Deve informar o cursor da próxima página quando houver mais itens")
+    void deveInformarCursorDaProximaPagina() throws Exception {
+        CursorPagina proximo = new CursorPagina(OrdemListagem.NOME, 1L, medicoExemplo.getNomeCompleto());
+        when(medicoService.listarMedicos(any(PedidoPagina.class))).thenReturn(new Pagina<>(List.of(medicoExemplo), proximo));
+
+        mockMvc.perform(get("/api/medicos").param("tamanho", "1").param("ordem", "nome"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().string(Pagina.CABECALHO_CURSOR, proximo.codificar()))
+                .andExpect(header().string("Link", containsString("cursor=" + proximo.codificar())));
+
+        verify(medicoService, times(1)).listarMedicos(new PedidoPagina(OrdemListagem.NOME, null, 1));
+    }
+
+    @Test
+    @DisplayName("GET /api/medicos - Deve continuar a partir do cursor recebido")
+    void deveContinuarAPartirDoCursor() throws Exception {
+        CursorPagina apos = new CursorPagina(OrdemListagem.ID, 1L, null);
+        when(medicoService.listarMedicos(any(PedidoPagina.class))).thenReturn(new Pagina<>(List.of(), null));
+
+        mockMvc.perform(get("/api/medicos").param("cursor", apos.codificar()).param("tamanho", "10000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        verify(medicoService, times(1)).listarMedicos(new PedidoPagina(OrdemListagem.ID, apos, PedidoPagina.TAMANHO_MAXIMO));
+    }
+
+    @Test
+    @DisplayName("GET /api/medicos - Deve retornar 400 Bad Request para cursor, ordem ou tamanho inválidos")
+    void deveRetornar400ParaPaginacaoInvalida() throws Exception {
+        String cursorDeOutraOrdem = new CursorPagina(OrdemListagem.ID, 1L, null).codificar();
+
+        mockMvc.perform(get("/api/medicos").param("cursor", "nao-e-um-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/medicos").param("ordem", "nome").param("cursor", cursorDeOutraOrdem))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/medicos").param("ordem", "cpf"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/medicos").param("tamanho", "0"))
+                .andExpect(status().isBadRequest());
+
+        verify(medicoService, never()).listarMedicos(any(PedidoPagina.class));
     }
 
     @Test
@@ -145,7 +201,7 @@ public class MedicoControllerTest {
         Medico medicoAtualizadoRetorno = new Medico(1L, "Dr. Ana Paula Silva", "CRM/SP 123456", "11987654322",
                 "ana.paula.silva@example.com", "Cardiologia");
 
-        when(medicoService.atualizarMedico(eq(1L), any(MedicoDTO.class))).thenReturn(medicoAtualizadoRetorno);
+        when(medicoService.atualizarMedico(eq(1L), any(MedicoDTO.class), isNull())).thenReturn(medicoAtualizadoRetorno);
 
         mockMvc.perform(put("/api/medicos/{id}", 1L)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -155,20 +211,97 @@ public class MedicoControllerTest {
                 .andExpect(jsonPath("$.nomeCompleto").value("Dr. Ana Paula Silva"))
                 .andExpect(jsonPath("$.email").value("ana.paula.silva@example.com"));
 
-        verify(medicoService, times(1)).atualizarMedico(eq(1L), any(MedicoDTO.class));
+        verify(medicoService, times(1)).atualizarMedico(eq(1L), any(MedicoDTO.class), isNull());
     }
 
     @Test
     @DisplayName("PUT /api/medicos/{id} - Deve retornar 404 Not Found ao atualizar médico inexistente")
     void deveRetornar404AoAtualizarMedicoInexistente() throws Exception {
-        when(medicoService.atualizarMedico(eq(99L), any(MedicoDTO.class))).thenReturn(null);
+        when(medicoService.atualizarMedico(eq(99L), any(MedicoDTO.class), isNull())).thenReturn(null);
 
         mockMvc.perform(put("/api/medicos/{id}", 99L)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(medicoDTOExemplo)))
                 .andExpect(status().isNotFound());
 
-        verify(medicoService, times(1)).atualizarMedico(eq(99L), any(MedicoDTO.class));
+        verify(medicoService, times(1)).atualizarMedico(eq(99L), any(MedicoDTO.class), isNull());
+    }
+
+    @Test
+    @DisplayName("GET /api/medicos/{id} - Deve retornar 304 Not Modified sem carregar o médico se o ETag não mudou")
+    void deveRetornar304SemCarregarMedico() throws Exception {
+        when(medicoService.buscarVersaoMedico(1L)).thenReturn(Optional.of(4L));
+
+        mockMvc.perform(get("/api/medicos/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"medico-1-4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"medico-1-4\""))
+                .andExpect(content().string(""));
+
+        verify(medicoService, never()).buscarMedicoPorId(anyLong());
+    }
+
+    @Test
+    @DisplayName("GET /api/medicos/{id} - Deve retornar o corpo e o novo ETag se o ETag recebido for antigo")
+    void deveRetornarNovoEtagSeVersaoMudou() throws Exception {
+        when(medicoService.buscarVersaoMedico(1L)).thenReturn(Optional.of(4L));
+        when(medicoService.buscarMedicoPorId(1L)).thenReturn(Optional.of(new Medico(1L, "Dr. Ana Paula", "CRM/SP 123456", "11987654321",
+                "ana.paula@example.com", "Cardiologia", 4L)));
+
+        mockMvc.perform(get("/api/medicos/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"medico-1-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"medico-1-4\""))
+                .andExpect(jsonPath("$.versao").value(4));
+    }
+
+    @Test
+    @DisplayName("GET /api/medicos - Deve retornar 304 Not Modified se nenhum médico mudou")
+    void deveRetornar304NaListagemSemAlteracoes() throws Exception {
+        when(medicoService.contarAlteracoesMedicos()).thenReturn(OptionalLong.of(7L));
+
+        mockMvc.perform(get("/api/medicos").header(HttpHeaders.IF_NONE_MATCH, "\"medico-lista-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"medico-lista-7\""));
+
+        verify(medicoService, never()).listarMedicos(any(PedidoPagina.class));
+    }
+
+    @Test
+    @DisplayName("PUT /api/medicos/{id} - Deve atualizar com If-Match e retornar o novo ETag")
+    void deveAtualizarComIfMatch() throws Exception {
+        when(medicoService.atualizarMedico(eq(1L), any(MedicoDTO.class), eq(3L))).thenReturn(new Medico(1L, "Dr. Ana Paula", "CRM/SP 123456", "11987654321",
+                "ana.paula@example.com", "Cardiologia", 4L));
+
+        mockMvc.perform(put("/api/medicos/{id}", 1L)
+                        .header(HttpHeaders.IF_MATCH, "\"medico-1-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(medicoDTOExemplo)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"medico-1-4\""));
+    }
+
+    @Test
+    @DisplayName("PUT /api/medicos/{id} - Deve retornar 412 Precondition Failed se a versão do If-Match estiver desatualizada")
+    void deveRetornar412ComVersaoDesatualizada() throws Exception {
+        when(medicoService.atualizarMedico(eq(1L), any(MedicoDTO.class), eq(3L)))
+                .thenThrow(new OptimisticLockingFailureException("versão desatualizada"));
+
+        mockMvc.perform(put("/api/medicos/{id}", 1L)
+                        .header(HttpHeaders.IF_MATCH, "\"medico-1-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(medicoDTOExemplo)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("PUT /api/medicos/{id} - Deve retornar 412 Precondition Failed se o If-Match for de outro registro")
+    void deveRetornar412ComEtagDeOutroRegistro() throws Exception {
+        mockMvc.perform(put("/api/medicos/{id}", 1L)
+                        .header(HttpHeaders.IF_MATCH, "\"medico-2-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(medicoDTOExemplo)))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(medicoService, never()).atualizarMedico(anyLong(), any(MedicoDTO.class), any());
     }
 
     @Test
@@ -1,9 +1,16 @@
 package br.group3.medico;
 
+import br.group3.modules.cache.CacheEntidades;
+import br.group3.modules.etag.ContadorAlteracoes;
 import br.group3.modules.medico.IMedicoRepository;
 import br.group3.modules.medico.Medico;
 import br.group3.modules.medico.MedicoDTO;
 import br.group3.modules.medico.MedicoService;
+import br.group3.modules.outbox.OutboxService;
+import br.group3.modules.paginacao.CursorPagina;
+import br.group3.modules.paginacao.OrdemListagem;
+import br.group3.modules.paginacao.Pagina;
+import br.group3.modules.paginacao.PedidoPagina;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,10 +18,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -31,6 +41,15 @@ public class MedicoServiceTest {
     @Mock
     private IMedicoRepository medicoRepository;
 
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private CacheEntidades<Medico> cache;
+
+    @Mock
+    private ContadorAlteracoes contadorAlteracoes;
+
     @InjectMocks
     private MedicoService medicoService;
 
@@ -49,6 +68,10 @@ public class MedicoServiceTest {
         medicoDTOExemplo = new MedicoDTO(
                 "Dr. Fernanda Alves", "CRM/PR 345678", "41987654321",
                 "fernanda.alves@example.com", "Dermatologia");
+
+        // Sem nada em cache: a busca sempre cai no repositório
+        lenient().when(cache.buscar(anyLong(), any())).thenAnswer(invocacao ->
+                invocacao.<Function<Long, Optional<Medico>>>getArgument(1).apply(invocacao.getArgument(0)));
     }
 
     @Test
@@ -62,6 +85,8 @@ public class MedicoServiceTest {
         assertEquals(medicoExemplo.getNomeCompleto(), medicoSalvo.getNomeCompleto());
         assertEquals(medicoExemplo.getIdMedico(), medicoSalvo.getIdMedico());
         verify(medicoRepository, times(1)).save(any(Medico.class));
+        verify(outboxService, times(1)).registrar("medico", OutboxService.Operacao.CRIADO, medicoExemplo);
+        verify(contadorAlteracoes, times(1)).registrar("medico");
     }
 
     @Test
@@ -104,6 +129,32 @@ public class MedicoServiceTest {
         verify(medicoRepository, times(1)).findAll();
     }
 
+    @Test
+    @DisplayName("Deve listar a primeira página por nome com o cursor do último médico entregue")
+    void deveListarPrimeiraPaginaPorNome() {
+        Medico segundo = new Medico(2L, "Dr. Gabriela Rocha", "CRM/RS 987654", "51991122334",
+                "gabriela.rocha@example.com", "Ginecologia");
+        when(medicoRepository.findAllByOrderByNomeCompletoAscIdMedicoAsc(Limit.of(2)))
+                .thenReturn(List.of(medicoExemplo, segundo));
+
+        Pagina<Medico> pagina = medicoService.listarMedicos(new PedidoPagina(OrdemListagem.NOME, null, 1));
+
+        assertEquals(List.of(medicoExemplo), pagina.itens());
+        assertEquals(new CursorPagina(OrdemListagem.NOME, 1L, "Dr. Carlos Eduardo"), pagina.proximo());
+    }
+
+    @Test
+    @DisplayName("Deve encerrar a listagem por ID quando não houver mais médicos depois do cursor")
+    void deveListarUltimaPaginaPorId() {
+        when(medicoRepository.buscarPaginaPorId(1L, Limit.of(51))).thenReturn(List.of());
+
+        Pagina<Medico> pagina = medicoService.listarMedicos(
+                new PedidoPagina(OrdemListagem.ID, new CursorPagina(OrdemListagem.ID, 1L, null), 50));
+
+        assertTrue(pagina.itens().isEmpty());
+        assertNull(pagina.proximo());
+    }
+
     @Test
     @DisplayName("Deve atualizar médico existente com sucesso")
     void deveAtualizarMedicoExistenteComSucesso() {
@@ -119,13 +170,15 @@ public class MedicoServiceTest {
                 "carlos.eduardo.lima@example.com", "Ortopedia e Traumatologia");
         when(medicoRepository.save(any(Medico.class))).thenReturn(medicoAtualizadoRetorno);
 
-        Medico resultadoAtualizacao = medicoService.atualizarMedico(1L, medicoDTOAtualizado);
+        Medico resultadoAtualizacao = medicoService.atualizarMedico(1L, medicoDTOAtualizado, null);
 
         assertNotNull(resultadoAtualizacao);
         assertEquals("Dr. Carlos Eduardo Lima", resultadoAtualizacao.getNomeCompleto());
         assertEquals("Ortopedia e Traumatologia", resultadoAtualizacao.getEspecialidade());
         verify(medicoRepository, times(1)).findById(1L);
         verify(medicoRepository, times(1)).save(any(Medico.class));
+        verify(contadorAlteracoes, times(1)).registrar("medico");
+        verify(cache, times(1)).invalidar(1L);
     }
 
     @Test
@@ -133,13 +186,27 @@ public class MedicoServiceTest {
     void naoDeveAtualizarMedicoInexistente() {
         when(medicoRepository.findById(99L)).thenReturn(Optional.empty());
 
-        Medico resultadoAtualizacao = medicoService.atualizarMedico(99L, medicoDTOExemplo);
+        Medico resultadoAtualizacao = medicoService.atualizarMedico(99L, medicoDTOExemplo, null);
 
         assertNull(resultadoAtualizacao);
         verify(medicoRepository, times(1)).findById(99L);
         verify(medicoRepository, never()).save(any(Medico.class));
     }
 
+    @Test
+    @DisplayName("Não deve atualizar médico que mudou desde a versão lida pelo cliente")
+    void naoDeveAtualizarMedicoEmOutraVersao() {
+        when(medicoRepository.findById(1L)).thenReturn(Optional.of(new Medico(1L, "Dr. Carlos Eduardo", "CRM/MG 789012", "3199887766",
+                "carlos.eduardo@example.com", "Ortopedia", 5L)));
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> medicoService.atualizarMedico(1L, medicoDTOExemplo, 4L));
+
+        verify(medicoRepository, never()).save(any(Medico.class));
+        verify(outboxService, never()).registrar(anyString(), any(), any());
+        verify(cache, never()).invalidar(anyLong());
+    }
+
     @Test
     @DisplayName("Deve deletar médico com sucesso")
     void deveDeletarMedicoComSucesso() {
@@ -148,5 +215,8 @@ public class MedicoServiceTest {
         medicoService.deletarMedico(1L);
 
         verify(medicoRepository, times(1)).deleteById(1L);
+        verify(outboxService, times(1)).registrarRemocao("medico", "idMedico", 1L);
+        verify(contadorAlteracoes, times(1)).registrar("medico");
+        verify(cache, times(1)).invalidar(1L);
     }
 }
\ No newline at end of file
@@ -0,0 +1,128 @@
+package br.group3.outbox;
+
+import br.group3.modules.outbox.EventoOutbox;
+import br.group3.modules.outbox.IEventoOutboxRepository;
+import br.group3.modules.outbox.ITravaRelayRepository;
+import br.group3.modules.outbox.OutboxRelay;
+import br.group3.modules.outbox.TravaRelay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Classe de testes para {@link OutboxRelay}.
+ * Verifica a publicação em pipeline, a remoção dos eventos e a trava entre instâncias, mockando o
+ * Redis e os repositórios.
+ *
+ * @author Grupo 3
+ */
+@ExtendWith(MockitoExtension.class)
+public class OutboxRelayTest {
+
+    @Mock
+    private IEventoOutboxRepository eventoOutboxRepository;
+
+    @Mock
+    private ITravaRelayRepository travaRelayRepository;
+
+    @Mock
+    private JedisPooled jedis;
+
+    @Mock
+    private Pipeline pipeline;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxRelay outboxRelay;
+    private List<EventoOutbox> eventos;
+
+    /**
+     * Configuração inicial antes de cada teste.
+     * Prepara dois eventos de exemplo e cria o relay com lote de 10 eventos.
+     */
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(eventoOutboxRepository, travaRelayRepository, jedis,
+                new TransactionTemplate(transactionManager), 10, "pubsub");
+        eventos = List.of(
+                new EventoOutbox(1L, "eventos:sistema2", "{\"idPaciente\":1}", LocalDateTime.now()),
+                new EventoOutbox(2L, "eventos:sistema2", "{\"idPaciente\":2}", LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("Deve publicar o lote em um único pipeline e remover os eventos publicados")
+    void devePublicarERemoverLote() {
+        when(travaRelayRepository.findComTravaByNome("outbox")).thenReturn(Optional.of(new TravaRelay("outbox")));
+        when(eventoOutboxRepository.findByOrderByIdEventoAsc(any(Pageable.class))).thenReturn(eventos);
+        when(jedis.pipelined()).thenReturn(pipeline);
+
+        int publicados = outboxRelay.publicarLote();
+
+        assertEquals(2, publicados);
+        verify(pipeline).publish("eventos:sistema2", "{\"idEvento\":1,\"idPaciente\":1}");
+        verify(pipeline).publish("eventos:sistema2", "{\"idEvento\":2,\"idPaciente\":2}");
+        verify(pipeline, times(1)).sync();
+        verify(eventoOutboxRepository, times(1)).deleteAllInBatch(eventos);
+    }
+
+    @Test
+    @DisplayName("Não deve remover os eventos se o Redis falhar")
+    void naoDeveRemoverEventosSeRedisFalhar() {
+        when(travaRelayRepository.findComTravaByNome("outbox")).thenReturn(Optional.of(new TravaRelay("outbox")));
+        when(eventoOutboxRepository.findByOrderByIdEventoAsc(any(Pageable.class))).thenReturn(eventos);
+        when(jedis.pipelined()).thenReturn(pipeline);
+        doThrow(new JedisConnectionException("Redis fora do ar")).when(pipeline).sync();
+
+        assertThrows(JedisConnectionException.class, () -> outboxRelay.publicarLote());
+        verify(eventoOutboxRepository, never()).deleteAllInBatch(anyIterable());
+    }
+
+    @Test
+    @DisplayName("Não deve acessar o Redis quando o outbox estiver vazio")
+    void naoDeveAcessarRedisComOutboxVazio() {
+        when(travaRelayRepository.findComTravaByNome("outbox")).thenReturn(Optional.of(new TravaRelay("outbox")));
+        when(eventoOutboxRepository.findByOrderByIdEventoAsc(any(Pageable.class))).thenReturn(List.of());
+
+        assertEquals(0, outboxRelay.publicarLote());
+        verifyNoInteractions(jedis);
+    }
+
+    @Test
+    @DisplayName("Não deve publicar enquanto outra instância estiver com a trava")
+    void naoDevePublicarSemTrava() {
+        when(travaRelayRepository.findComTravaByNome("outbox")).thenReturn(Optional.empty());
+        when(travaRelayRepository.existsById("outbox")).thenReturn(true);
+
+        assertEquals(0, outboxRelay.publicarLote());
+        verifyNoInteractions(eventoOutboxRepository, jedis);
+        verify(travaRelayRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Deve criar a trava na primeira execução")
+    void deveCriarTravaNaPrimeiraExecucao() {
+        when(travaRelayRepository.findComTravaByNome("outbox")).thenReturn(Optional.empty());
+        when(travaRelayRepository.existsById("outbox")).thenReturn(false);
+
+        assertEquals(0, outboxRelay.publicarLote());
+        verify(travaRelayRepository).save(any(TravaRelay.class));
+        verifyNoInteractions(eventoOutboxRepository, jedis);
+    }
+}
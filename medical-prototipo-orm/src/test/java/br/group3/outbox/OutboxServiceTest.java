@@ -0,0 +1,110 @@
+package br.group3.outbox;
+
+import br.group3.modules.outbox.EventoOutbox;
+import br.group3.modules.outbox.IEventoOutboxRepository;
+import br.group3.modules.outbox.OutboxService;
+import br.group3.modules.paciente.Paciente;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Classe de testes para {@link OutboxService}.
+ * Verifica o conteúdo dos eventos gravados no outbox, mockando o repositório.
+ *
+ * @author Grupo 3
+ */
+@ExtendWith(MockitoExtension.class)
+public class OutboxServiceTest {
+
+    @Mock
+    private IEventoOutboxRepository eventoOutboxRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ObjectMapper objectMapper;
+    private OutboxService outboxService;
+
+    /**
+     * Configuração inicial antes de cada teste.
+     * Configura o ObjectMapper como o Spring Boot faz e cria o serviço.
+     */
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        outboxService = new OutboxService(eventoOutboxRepository, jdbcTemplate, objectMapper, "eventos:sistema2");
+        lenient().when(eventoOutboxRepository.save(any(EventoOutbox.class))).thenAnswer(invocacao -> invocacao.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("Deve gravar a entidade com os campos entidade e operacao no payload")
+    void deveRegistrarEntidadeNoPayload() throws Exception {
+        Paciente paciente = new Paciente(1L, "João da Silva", LocalDate.of(1990, 5, 15),
+                "12345678901", "Rua A, 123", "99999999999");
+
+        EventoOutbox evento = outboxService.registrar("paciente", OutboxService.Operacao.CRIADO, paciente);
+
+        JsonNode payload = objectMapper.readTree(evento.getPayload());
+        assertEquals("eventos:sistema2", evento.getCanal());
+        assertNotNull(evento.getCriadoEm());
+        assertEquals(1L, payload.get("idPaciente").asLong());
+        assertEquals("12345678901", payload.get("cpf").asText());
+        assertEquals("1990-05-15", payload.get("dataNascimento").asText());
+        assertEquals("paciente", payload.get("entidade").asText());
+        assertEquals("CRIADO", payload.get("operacao").asText());
+        verify(eventoOutboxRepository, times(1)).save(any(EventoOutbox.class));
+    }
+
+    @Test
+    @DisplayName("Deve gravar a remoção apenas com o ID da entidade")
+    void deveRegistrarRemocao() throws Exception {
+        EventoOutbox evento = outboxService.registrarRemocao("medico", "idMedico", 7L);
+
+        JsonNode payload = objectMapper.readTree(evento.getPayload());
+        assertEquals(7L, payload.get("idMedico").asLong());
+        assertEquals("medico", payload.get("entidade").asText());
+        assertEquals("REMOVIDO", payload.get("operacao").asText());
+        assertEquals(3, payload.size());
+    }
+
+    @Test
+    @DisplayName("Deve gravar os eventos de um lote com um único comando em lote, na ordem da lista")
+    @SuppressWarnings("unchecked")
+    void deveRegistrarLoteComUmComando() throws Exception {
+        Paciente primeiro = new Paciente(1L, "João da Silva", LocalDate.of(1990, 5, 15),
+                "12345678901", "Rua A, 123", "99999999999");
+        Paciente segundo = new Paciente(2L, "Maria Souza", LocalDate.of(1985, 10, 20),
+                "98765432109", "Av. B, 456", "88888888888");
+
+        int gravados = outboxService.registrarLote("paciente", OutboxService.Operacao.CRIADO, List.of(primeiro, segundo));
+
+        ArgumentCaptor<List<Object[]>> linhas = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(startsWith("INSERT INTO evento_outbox"), linhas.capture());
+        assertEquals(2, gravados);
+        assertEquals(2, linhas.getValue().size());
+        assertEquals("eventos:sistema2", linhas.getValue().get(0)[0]);
+        JsonNode payload = objectMapper.readTree((String) linhas.getValue().get(1)[1]);
+        assertEquals(2L, payload.get("idPaciente").asLong());
+        assertEquals("CRIADO", payload.get("operacao").asText());
+        verifyNoInteractions(eventoOutboxRepository);
+    }
+}
@@ -4,6 +4,11 @@ import br.group3.modules.paciente.Paciente;
 import br.group3.modules.paciente.PacienteController;
 import br.group3.modules.paciente.PacienteDTO;
 import br.group3.modules.paciente.PacienteService;
+import br.group3.modules.paciente.ResultadoItemLote;
+import br.group3.modules.paginacao.CursorPagina;
+import br.group3.modules.paginacao.OrdemListagem;
+import br.group3.modules.paginacao.Pagina;
+import br.group3.modules.paginacao.PedidoPagina;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,14 +17,19 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -100,7 +110,8 @@ public class PacienteControllerTest {
         List<Paciente> pacientes = Arrays.asList(pacienteExemplo,
                 new Paciente(2L, "Fernanda Dias", LocalDate.of(1988, 3, 10),
                         "99988877766", "Rua D, 10", "55555555555"));
-        when(pacienteService.listarTodosPacientes()).thenReturn(pacientes);
+        when(pacienteService.contarAlteracoesPacientes()).thenReturn(OptionalLong.of(0L));
+        when(pacienteService.listarPacientes(any(PedidoPagina.class))).thenReturn(new Pagina<>(pacientes, null));
 
         mockMvc.perform(get("/api/pacientes")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -108,9 +119,56 @@ public class PacienteControllerTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(2))
                 .andExpect(jsonPath("$[0].nomeCompleto").value("Carlos Lima"))
-                .andExpect(jsonPath("$[1].nomeCompleto").value("Fernanda Dias"));
+                .andExpect(jsonPath("$[1].nomeCompleto").value("Fernanda Dias"))
+                .andExpect(header().doesNotExist(Pagina.CABECALHO_CURSOR))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"paciente-lista-0\""));
 
-        verify(pacienteService, times(1)).listarTodosPacientes();
+        verify(pacienteService, times(1)).listarPacientes(new PedidoPagina(OrdemListagem.ID, null, PedidoPagina.TAMANHO_PADRAO));
+    }
+
+    @Test
+    @DisplayName("GET /api/pacientes - Deve informar o cursor da próxima página quando houver mais itens")
+    void deveInformarCursorDaProximaPagina() throws Exception {
+        CursorPagina proximo = new CursorPagina(OrdemListagem.NOME, 1L, pacienteExemplo.getNomeCompleto());
+        when(pacienteService.listarPacientes(any(PedidoPagina.class))).thenReturn(new Pagina<>(List.of(pacienteExemplo), proximo));
+
+        mockMvc.perform(get("/api/pacientes").param("tamanho", "1").param("ordem", "nome"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().string(Pagina.CABECALHO_CURSOR, proximo.codificar()))
+                .andExpect(header().string("Link", containsString("cursor=" + proximo.codificar())));
+
+        verify(pacienteService, times(1)).listarPacientes(new PedidoPagina(OrdemListagem.NOME, null, 1));
+    }
+
+    @Test
+    @DisplayName("GET /api/pacientes - Deve continuar a partir do cursor recebido")
+    void deveContinuarAPartirDoCursor() throws Exception {
+        CursorPagina apos = new CursorPagina(OrdemListagem.ID, 1L, null);
+        when(pacienteService.listarPacientes(any(PedidoPagina.class))).thenReturn(new Pagina<>(List.of(), null));
+
+        mockMvc.perform(get("/api/pacientes").param("cursor", apos.codificar()).param("tamanho", "10000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        verify(pacienteService, times(1)).listarPacientes(new PedidoPagina(OrdemListagem.ID, apos, PedidoPagina.TAMANHO_MAXIMO));
+    }
+
+    @Test
+    @DisplayName("GET /api/pacientes - Deve retornar 400 Bad Request para cursor, ordem ou tamanho inválidos")
+    void deveRetornar400ParaPaginacaoInvalida() throws Exception {
+        String cursorDeOutraOrdem = new CursorPagina(OrdemListagem.ID, 1L, null).codificar();
+
+        mockMvc.perform(get("/api/pacientes").param("cursor", "nao-e-um-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/pacientes").param("ordem", "nome").param("cursor", cursorDeOutraOrdem))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/pacientes").param("ordem", "cpf"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/pacientes").param("tamanho", "0"))
+                .andExpect(status().isBadRequest());
+
+        verify(pacienteService, never()).listarPacientes(any(PedidoPagina.class));
     }
 
     @Test
@@ -149,7 +207,7 @@ public class PacienteControllerTest {
         Paciente pacienteAtualizadoRetorno = new Paciente(1L, "Carlos Lima Junior", LocalDate.of(1995, 8, 25),
                 "11122233344", "Rua C, 789 - Apto 101", "66666666666");
 
-        when(pacienteService.atualizarPaciente(eq(1L), any(PacienteDTO.class))).thenReturn(pacienteAtualizadoRetorno);
+        when(pacienteService.atualizarPaciente(eq(1L), any(PacienteDTO.class), isNull())).thenReturn(pacienteAtualizadoRetorno);
 
         mockMvc.perform(put("/api/pacientes/{id}", 1L)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -159,20 +217,109 @@ public class PacienteControllerTest {
                 .andExpect(jsonPath("$.nomeCompleto").value("Carlos Lima Junior"))
                 .andExpect(jsonPath("$.endereco").value("Rua C, 789 - Apto 101"));
 
-        verify(pacienteService, times(1)).atualizarPaciente(eq(1L), any(PacienteDTO.class));
+        verify(pacienteService, times(1)).atualizarPaciente(eq(1L), any(PacienteDTO.class), isNull());
     }
 
     @Test
     @DisplayName("PUT /api/pacientes/{id} - Deve retornar 404 Not Found ao atualizar paciente inexistente")
     void deveRetornar404AoAtualizarPacienteInexistente() throws Exception {
-        when(pacienteService.atualizarPaciente(eq(99L), any(PacienteDTO.class))).thenReturn(null);
+        when(pacienteService.atualizarPaciente(eq(99L), any(PacienteDTO.class), isNull())).thenReturn(null);
 
         mockMvc.perform(put("/api/pacientes/{id}", 99L)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(pacienteDTOExemplo)))
                 .andExpect(status().isNotFound());
 
-        verify(pacienteService, times(1)).atualizarPaciente(eq(99L), any(PacienteDTO.class));
+        verify(pacienteService, times(1)).atualizarPaciente(eq(99L), any(PacienteDTO.class), isNull());
+    }
+
+    @Test
+    @DisplayName("GET /api/pacientes/{id} - Deve retornar 304 Not Modified sem carregar o paciente se o ETag não mudou")
+    void deveRetornar304SemCarregarPaciente() throws Exception {
+        when(pacienteService.buscarVersaoPaciente(1L)).thenReturn(Optional.of(4L));
+
+        mockMvc.perform(get("/api/pacientes/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"paciente-1-4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"paciente-1-4\""))
+                .andExpect(content().string(""));
+
+        verify(pacienteService, never()).buscarPacientePorId(anyLong());
+    }
+
+    @Test
+    @DisplayName("GET /api/pacientes/{id} - Deve retornar o corpo e o novo ETag se o ETag recebido for antigo")
+    void deveRetornarNovoEtagSeVersaoMudou() throws Exception {
+        when(pacienteService.buscarVersaoPaciente(1L)).thenReturn(Optional.of(4L));
+        when(pacienteService.buscarPacientePorId(1L)).thenReturn(Optional.of(new Paciente(1L, "Carlos Lima", LocalDate.of(1995, 8, 25),
+                "11122233344", "Rua C, 789", "66666666666", 4L)));
+
+        mockMvc.perform(get("/api/pacientes/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"paciente-1-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"paciente-1-4\""))
+                .andExpect(jsonPath("$.versao").value(4));
+    }
+
+    @Test
+    @DisplayName("GET /api/pacientes - Deve retornar 304 Not Modified se nenhum paciente mudou")
+    void deveRetornar304NaListagemSemAlteracoes() throws Exception {
+        when(pacienteService.contarAlteracoesPacientes()).thenReturn(OptionalLong.of(7L));
+
+        mockMvc.perform(get("/api/pacientes").header(HttpHeaders.IF_NONE_MATCH, "\"paciente-lista-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"paciente-lista-7\""));
+
+        verify(pacienteService, never()).listarPacientes(any(PedidoPagina.class));
+    }
+
+    @Test
+    @DisplayName("GET /api/pacientes - Deve listar sem ETag, nem com If-None-Match, se o contador estiver atrasado")
+    void deveListarSemEtagComContadorAtrasado() throws Exception {
+        when(pacienteService.contarAlteracoesPacientes()).thenReturn(OptionalLong.empty());
+        when(pacienteService.listarPacientes(any(PedidoPagina.class))).thenReturn(new Pagina<>(List.of(pacienteExemplo), null));
+
+        mockMvc.perform(get("/api/pacientes").header(HttpHeaders.IF_NONE_MATCH, "\"paciente-lista-7\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$[0].nomeCompleto").value("Carlos Lima"));
+    }
+
+    @Test
+    @DisplayName("PUT /api/pacientes/{id} - Deve atualizar com If-Match e retornar o novo ETag")
+    void deveAtualizarComIfMatch() throws Exception {
+        when(pacienteService.atualizarPaciente(eq(1L), any(PacienteDTO.class), eq(3L))).thenReturn(new Paciente(1L, "Carlos Lima", LocalDate.of(1995, 8, 25),
+                "11122233344", "Rua C, 789", "66666666666", 4L));
+
+        mockMvc.perform(put("/api/pacientes/{id}", 1L)
+                        .header(HttpHeaders.IF_MATCH, "\"paciente-1-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(pacienteDTOExemplo)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"paciente-1-4\""));
+    }
+
+    @Test
+    @DisplayName("PUT /api/pacientes/{id} - Deve retornar 412 Precondition Failed se a versão do If-Match estiver desatualizada")
+    void deveRetornar412ComVersaoDesatualizada() throws Exception {
+        when(pacienteService.atualizarPaciente(eq(1L), any(PacienteDTO.class), eq(3L)))
+                .thenThrow(new OptimisticLockingFailureException("versão desatualizada"));
+
+        mockMvc.perform(put("/api/pacientes/{id}", 1L)
+                        .header(HttpHeaders.IF_MATCH, "\"paciente-1-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(pacienteDTOExemplo)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("PUT /api/pacientes/{id} - Deve retornar 412 Precondition Failed se o If-Match for de outro registro")
+    void deveRetornar412ComEtagDeOutroRegistro() throws Exception {
+        mockMvc.perform(put("/api/pacientes/{id}", 1L)
+                        .header(HttpHeaders.IF_MATCH, "\"paciente-2-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(pacienteDTOExemplo)))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(pacienteService, never()).atualizarPaciente(anyLong(), any(PacienteDTO.class), any());
     }
 
     @Test
@@ -185,4 +332,37 @@ public class PacienteControllerTest {
 
         verify(pacienteService, times(1)).deletarPaciente(1L);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("POST /api/pacientes/lote - Deve retornar o resultado de cada item com 200 OK")
+    void deveCriarPacientesEmLote() throws Exception {
+        List<ResultadoItemLote> resultados = List.of(
+                new ResultadoItemLote(0, ResultadoItemLote.Status.CRIADO, 1L, Map.of()),
+                new ResultadoItemLote(1, ResultadoItemLote.Status.DUPLICADO, null,
+                        Map.of("cpf", "Já existe um paciente com este CPF.")));
+        when(pacienteService.salvarPacientesEmLote(anyList())).thenReturn(resultados);
+
+        mockMvc.perform(post("/api/pacientes/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(pacienteDTOExemplo, pacienteDTOExemplo))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].status").value("CRIADO"))
+                .andExpect(jsonPath("$[0].idPaciente").value(1L))
+                .andExpect(jsonPath("$[1].status").value("DUPLICADO"))
+                .andExpect(jsonPath("$[1].erros.cpf").exists());
+
+        verify(pacienteService, times(1)).salvarPacientesEmLote(anyList());
+    }
+
+    @Test
+    @DisplayName("POST /api/pacientes/lote - Deve retornar 400 Bad Request para lote vazio")
+    void deveRetornar400ParaLoteVazio() throws Exception {
+        mockMvc.perform(post("/api/pacientes/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        verify(pacienteService, never()).salvarPacientesEmLote(anyList());
+    }
+}
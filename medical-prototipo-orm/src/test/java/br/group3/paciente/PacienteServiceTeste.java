@@ -1,9 +1,18 @@
 package br.group3.paciente;
 
+import br.group3.modules.cache.CacheEntidades;
+import br.group3.modules.etag.ContadorAlteracoes;
+import br.group3.modules.outbox.OutboxService;
 import br.group3.modules.paciente.Paciente;
 import br.group3.modules.paciente.IPacienteRepository;
 import br.group3.modules.paciente.PacienteService;
 import br.group3.modules.paciente.PacienteDTO;
+import br.group3.modules.paciente.ResultadoItemLote;
+import br.group3.modules.paginacao.CursorPagina;
+import br.group3.modules.paginacao.OrdemListagem;
+import br.group3.modules.paginacao.Pagina;
+import br.group3.modules.paginacao.PedidoPagina;
+import jakarta.validation.Validation;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,11 +21,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -33,6 +45,15 @@ public class PacienteServiceTeste {
     @Mock
     private IPacienteRepository IPacienteRepository;
 
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private CacheEntidades<Paciente> cache;
+
+    @Mock
+    private ContadorAlteracoes contadorAlteracoes;
+
     @InjectMocks
     private PacienteService pacienteService;
 
@@ -51,6 +72,10 @@ public class PacienteServiceTeste {
         pacienteDTOExemplo = new PacienteDTO(
                 "Maria Souza", LocalDate.of(1985, 10, 20),
                 "98765432109", "Av. B, 456", "88888888888");
+
+        // Sem nada em cache: a busca sempre cai no repositório
+        lenient().when(cache.buscar(anyLong(), any())).thenAnswer(invocacao ->
+                invocacao.<Function<Long, Optional<Paciente>>>getArgument(1).apply(invocacao.getArgument(0)));
     }
 
     @Test
@@ -64,6 +89,8 @@ public class PacienteServiceTeste {
         assertEquals(pacienteExemplo.getNomeCompleto(), pacienteSalvo.getNomeCompleto());
         assertEquals(pacienteExemplo.getIdPaciente(), pacienteSalvo.getIdPaciente());
         verify(IPacienteRepository, times(1)).save(any(Paciente.class));
+        verify(outboxService, times(1)).registrar("paciente", OutboxService.Operacao.CRIADO, pacienteExemplo);
+        verify(contadorAlteracoes, times(1)).registrar("paciente");
     }
 
     @Test
@@ -106,6 +133,36 @@ public class PacienteServiceTeste {
         verify(IPacienteRepository, times(1)).findAll();
     }
 
+    @Test
+    @DisplayName("Deve devolver a página sem o item extra e com o cursor do último paciente entregue")
+    void deveListarPaginaPorIdComProximoCursor() {
+        Paciente segundo = new Paciente(2L, "Pedro Costa", LocalDate.of(1992, 1, 1),
+                "11122233344", "Rua B, 456", "77777777777");
+        Paciente terceiro = new Paciente(3L, "Ana Reis", LocalDate.of(1980, 2, 2),
+                "55566677788", "Rua C, 789", "66666666666");
+        when(IPacienteRepository.buscarPaginaPorId(0L, Limit.of(3)))
+                .thenReturn(List.of(pacienteExemplo, segundo, terceiro));
+
+        Pagina<Paciente> pagina = pacienteService.listarPacientes(new PedidoPagina(OrdemListagem.ID, null, 2));
+
+        assertEquals(List.of(pacienteExemplo, segundo), pagina.itens());
+        assertEquals(new CursorPagina(OrdemListagem.ID, 2L, "Pedro Costa"), pagina.proximo());
+    }
+
+    @Test
+    @DisplayName("Deve continuar a ordem por nome a partir do nome e do ID do cursor")
+    void deveListarPaginaPorNomeAPartirDoCursor() {
+        CursorPagina apos = new CursorPagina(OrdemListagem.NOME, 7L, "João da Silva");
+        when(IPacienteRepository.buscarPaginaPorNome("João da Silva", 7L, Limit.of(3)))
+                .thenReturn(List.of(pacienteExemplo));
+
+        Pagina<Paciente> pagina = pacienteService.listarPacientes(new PedidoPagina(OrdemListagem.NOME, apos, 2));
+
+        assertEquals(List.of(pacienteExemplo), pagina.itens());
+        assertNull(pagina.proximo());
+        verify(IPacienteRepository, never()).findAllByOrderByNomeCompletoAscIdPacienteAsc(any());
+    }
+
     @Test
     @DisplayName("Deve atualizar paciente existente com sucesso")
     void deveAtualizarPacienteExistenteComSucesso() {
@@ -121,13 +178,15 @@ public class PacienteServiceTeste {
                 "12345678901", "Rua A, 123 - Novo", "99999999999");
         when(IPacienteRepository.save(any(Paciente.class))).thenReturn(pacienteAtualizadoRetorno);
 
-        Paciente resultadoAtualizacao = pacienteService.atualizarPaciente(1L, pacienteDTOAtualizado);
+        Paciente resultadoAtualizacao = pacienteService.atualizarPaciente(1L, pacienteDTOAtualizado, null);
 
         assertNotNull(resultadoAtualizacao);
         assertEquals("João da Silva Atualizado", resultadoAtualizacao.getNomeCompleto());
         assertEquals("Rua A, 123 - Novo", resultadoAtualizacao.getEndereco());
         verify(IPacienteRepository, times(1)).findById(1L);
         verify(IPacienteRepository, times(1)).save(any(Paciente.class));
+        verify(contadorAlteracoes, times(1)).registrar("paciente");
+        verify(cache, times(1)).invalidar(1L);
     }
 
     @Test
@@ -135,13 +194,27 @@ public class PacienteServiceTeste {
     void naoDeveAtualizarPacienteInexistente() {
         when(IPacienteRepository.findById(99L)).thenReturn(Optional.empty());
 
-        Paciente resultadoAtualizacao = pacienteService.atualizarPaciente(99L, pacienteDTOExemplo);
+        Paciente resultadoAtualizacao = pacienteService.atualizarPaciente(99L, pacienteDTOExemplo, null);
 
         assertNull(resultadoAtualizacao);
         verify(IPacienteRepository, times(1)).findById(99L);
         verify(IPacienteRepository, never()).save(any(Paciente.class));
     }
 
+    @Test
+    @DisplayName("Não deve atualizar paciente que mudou desde a versão lida pelo cliente")
+    void naoDeveAtualizarPacienteEmOutraVersao() {
+        when(IPacienteRepository.findById(1L)).thenReturn(Optional.of(new Paciente(1L, "João da Silva", LocalDate.of(1990, 5, 15),
+                "12345678901", "Rua A, 123", "99999999999", 5L)));
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> pacienteService.atualizarPaciente(1L, pacienteDTOExemplo, 4L));
+
+        verify(IPacienteRepository, never()).save(any(Paciente.class));
+        verify(outboxService, never()).registrar(anyString(), any(), any());
+        verify(cache, never()).invalidar(anyLong());
+    }
+
     @Test
     @DisplayName("Deve deletar paciente com sucesso")
     void deveDeletarPacienteComSucesso() {
@@ -150,5 +223,44 @@ public class PacienteServiceTeste {
         pacienteService.deletarPaciente(1L);
 
         verify(IPacienteRepository, times(1)).deleteById(1L);
+        verify(outboxService, times(1)).registrarRemocao("paciente", "idPaciente", 1L);
+        verify(contadorAlteracoes, times(1)).registrar("paciente");
+        verify(cache, times(1)).invalidar(1L);
+    }
+
+    @Test
+    @DisplayName("Deve gravar o lote e recusar itens inválidos ou com CPF duplicado")
+    void deveSalvarLoteComResultadoPorItem() {
+        PacienteService servicoComValidacao = new PacienteService(IPacienteRepository, outboxService,
+                Validation.buildDefaultValidatorFactory().getValidator(), cache, contadorAlteracoes);
+
+        PacienteDTO invalido = new PacienteDTO("", LocalDate.of(1990, 1, 1), "123", null, null);
+        PacienteDTO jaCadastrado = new PacienteDTO("João da Silva", LocalDate.of(1990, 5, 15),
+                "12345678901", "Rua A, 123", "99999999999");
+        PacienteDTO repetidoNoLote = new PacienteDTO("Maria Souza Filha", LocalDate.of(2010, 3, 2),
+                "98765432109", "Av. B, 456", "88888888888");
+
+        when(IPacienteRepository.findByCpfIn(anyCollection())).thenReturn(List.of(pacienteExemplo));
+        when(IPacienteRepository.saveAll(anyList())).thenAnswer(invocacao -> {
+            List<Paciente> pacientes = invocacao.getArgument(0);
+            pacientes.get(0).setIdPaciente(10L);
+            return pacientes;
+        });
+
+        List<ResultadoItemLote> resultados = servicoComValidacao.salvarPacientesEmLote(
+                Arrays.asList(pacienteDTOExemplo, invalido, jaCadastrado, repetidoNoLote));
+
+        assertEquals(4, resultados.size());
+        assertEquals(ResultadoItemLote.Status.CRIADO, resultados.get(0).getStatus());
+        assertEquals(10L, resultados.get(0).getIdPaciente());
+        assertEquals(ResultadoItemLote.Status.INVALIDO, resultados.get(1).getStatus());
+        assertTrue(resultados.get(1).getErros().containsKey("cpf"));
+        assertEquals(ResultadoItemLote.Status.DUPLICADO, resultados.get(2).getStatus());
+        assertEquals(ResultadoItemLote.Status.DUPLICADO, resultados.get(3).getStatus());
+        verify(IPacienteRepository, times(1)).saveAll(argThat(pacientes -> ((List<Paciente>) pacientes).size() == 1));
+        verify(outboxService, times(1)).registrarLote(eq("paciente"), eq(OutboxService.Operacao.CRIADO),
+                argThat(pacientes -> pacientes.size() == 1));
+        verify(outboxService, never()).registrar(anyString(), any(), any());
+        verify(contadorAlteracoes, times(1)).registrar("paciente");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+package br.group3.prontuario;
+
+import br.group3.modules.prontuario.ProntuarioController;
+import br.group3.modules.prontuario.ProntuarioDTO;
+import br.group3.modules.prontuario.ProntuarioService;
+import br.group3.modules.prontuario.ResultadoSincronizacao;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Classe de testes para {@link ProntuarioController}.
+ * Testa os endpoints de sincronização de prontuários, simulando requisições HTTP.
+ *
+ * @author Grupo 3
+ */
+@WebMvcTest(ProntuarioController.class)
+public class ProntuarioControllerTest {
+
+    private static final String PRONTUARIO_JSON = "{\"dataCriacao\":\"2025-01-15T10:00:00\","
+            + "\"historicoMedico\":\"Hipertensão controlada\",\"diagnostico\":\"I10\",\"idPaciente\":42,"
+            + "\"tratamento\":\"Losartana 50mg\","
+            + "\"exames\":[{\"nomeExame\":\"Hemograma\",\"dataRealizacao\":\"2025-02-01T08:00:00\"}]}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProntuarioService prontuarioService;
+
+    @Test
+    @DisplayName("PUT /api/prontuarios/{id} - Deve retornar 201 Created com o resultado quando o prontuário é novo")
+    void deveRetornar201AoCriarProntuario() throws Exception {
+        when(prontuarioService.sincronizarProntuario(eq(5L), any(ProntuarioDTO.class)))
+                .thenReturn(new ResultadoSincronizacao(5L, ResultadoSincronizacao.Status.CRIADO, 1, 0, 0));
+
+        mockMvc.perform(put("/api/prontuarios/{id}", 5L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(PRONTUARIO_JSON))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("CRIADO"))
+                .andExpect(jsonPath("$.examesInseridos").value(1));
+    }
+
+    @Test
+    @DisplayName("PUT /api/prontuarios/{id} - Deve retornar 200 OK quando o prontuário já existia")
+    void deveRetornar200AoReenviarProntuario() throws Exception {
+        when(prontuarioService.sincronizarProntuario(eq(5L), any(ProntuarioDTO.class)))
+                .thenReturn(new ResultadoSincronizacao(5L, ResultadoSincronizacao.Status.INALTERADO, 0, 0, 0));
+
+        mockMvc.perform(put("/api/prontuarios/{id}", 5L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(PRONTUARIO_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("INALTERADO"));
+    }
+
+    @Test
+    @DisplayName("PUT /api/prontuarios/{id} - Deve retornar 400 Bad Request com exame sem nome")
+    void deveRetornar400ComExameInvalido() throws Exception {
+        mockMvc.perform(put("/api/prontuarios/{id}", 5L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(PRONTUARIO_JSON.replace("\"Hemograma\"", "\"\"")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors['exames[0].nomeExame']").exists());
+
+        verify(prontuarioService, never()).sincronizarProntuario(any(), any());
+    }
+}
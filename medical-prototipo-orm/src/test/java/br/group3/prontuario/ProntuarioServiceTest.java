@@ -0,0 +1,155 @@
+package br.group3.prontuario;
+
+import br.group3.modules.prontuario.ExameDTO;
+import br.group3.modules.prontuario.ExameProntuario;
+import br.group3.modules.prontuario.IExameProntuarioRepository;
+import br.group3.modules.prontuario.IProntuarioRepository;
+import br.group3.modules.prontuario.Prontuario;
+import br.group3.modules.prontuario.ProntuarioDTO;
+import br.group3.modules.prontuario.ProntuarioService;
+import br.group3.modules.prontuario.ResultadoSincronizacao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Classe de testes para {@link ProntuarioService}.
+ * Testa a sincronização incremental dos prontuários e de seus exames, mockando os repositórios.
+ *
+ * @author Grupo 3
+ */
+@ExtendWith(MockitoExtension.class)
+public class ProntuarioServiceTest {
+
+    private static final LocalDateTime DATA_HEMOGRAMA = LocalDateTime.of(2025, 2, 1, 8, 0);
+    private static final LocalDateTime DATA_GLICEMIA = LocalDateTime.of(2025, 2, 3, 9, 30);
+
+    @Mock
+    private IProntuarioRepository prontuarioRepository;
+
+    @Mock
+    private IExameProntuarioRepository exameRepository;
+
+    @InjectMocks
+    private ProntuarioService prontuarioService;
+
+    private ProntuarioDTO prontuarioDTOExemplo;
+
+    /**
+     * Configuração inicial antes de cada teste.
+     * Prepara um ProntuarioDTO de exemplo com dois exames.
+     */
+    @BeforeEach
+    void setUp() {
+        prontuarioDTOExemplo = new ProntuarioDTO(LocalDateTime.of(2025, 1, 15, 10, 0),
+                "Hipertensão controlada", "I10", 42L, "Losartana 50mg",
+                new ArrayList<>(List.of(new ExameDTO("Hemograma", DATA_HEMOGRAMA),
+                        new ExameDTO("Glicemia", DATA_GLICEMIA))));
+    }
+
+    @Test
+    @DisplayName("Deve criar o prontuário e inserir todos os exames quando ele não existe")
+    @SuppressWarnings("unchecked")
+    void deveCriarProntuarioComExames() {
+        when(prontuarioRepository.findById(5L)).thenReturn(Optional.empty());
+
+        ResultadoSincronizacao resultado = prontuarioService.sincronizarProntuario(5L, prontuarioDTOExemplo);
+
+        assertEquals(ResultadoSincronizacao.Status.CRIADO, resultado.getStatus());
+        assertEquals(2, resultado.getExamesInseridos());
+        ArgumentCaptor<Prontuario> prontuario = ArgumentCaptor.forClass(Prontuario.class);
+        verify(prontuarioRepository).save(prontuario.capture());
+        assertEquals(5L, prontuario.getValue().getIdProntuario());
+        assertEquals(64, prontuario.getValue().getHashConteudo().length());
+        ArgumentCaptor<List<ExameProntuario>> exames = ArgumentCaptor.forClass(List.class);
+        verify(exameRepository).saveAll(exames.capture());
+        assertEquals(List.of("Hemograma", "Glicemia"),
+                exames.getValue().stream().map(ExameProntuario::getNomeExame).toList());
+        verify(exameRepository, never()).findByIdProntuarioOrderByIdExame(any());
+    }
+
+    @Test
+    @DisplayName("Não deve gravar nada quando o conteúdo recebido é igual ao da última sincronização")
+    void naoDeveGravarProntuarioInalterado() {
+        when(prontuarioRepository.findById(5L)).thenReturn(Optional.empty());
+        prontuarioService.sincronizarProntuario(5L, prontuarioDTOExemplo);
+        ArgumentCaptor<Prontuario> gravado = ArgumentCaptor.forClass(Prontuario.class);
+        verify(prontuarioRepository).save(gravado.capture());
+        clearInvocations(prontuarioRepository, exameRepository);
+
+        when(prontuarioRepository.findById(5L)).thenReturn(Optional.of(gravado.getValue()));
+        ResultadoSincronizacao resultado = prontuarioService.sincronizarProntuario(5L, prontuarioDTOExemplo);
+
+        assertEquals(ResultadoSincronizacao.Status.INALTERADO, resultado.getStatus());
+        verify(prontuarioRepository, never()).save(any());
+        verifyNoInteractions(exameRepository);
+    }
+
+    @Test
+    @DisplayName("Deve inserir só os exames novos e remover só os que saíram do documento")
+    @SuppressWarnings("unchecked")
+    void deveAtualizarApenasExamesAlterados() {
+        Prontuario existente = new Prontuario(5L, prontuarioDTOExemplo.getDataCriacao(), "Hipertensão controlada",
+                "I10", 42L, "Losartana 50mg", "hash-anterior");
+        ExameProntuario hemograma = new ExameProntuario(1L, 5L, "Hemograma", DATA_HEMOGRAMA);
+        ExameProntuario colesterol = new ExameProntuario(2L, 5L, "Colesterol", DATA_HEMOGRAMA);
+        when(prontuarioRepository.findById(5L)).thenReturn(Optional.of(existente));
+        when(exameRepository.findByIdProntuarioOrderByIdExame(5L)).thenReturn(List.of(hemograma, colesterol));
+
+        ResultadoSincronizacao resultado = prontuarioService.sincronizarProntuario(5L, prontuarioDTOExemplo);
+
+        assertEquals(ResultadoSincronizacao.Status.ATUALIZADO, resultado.getStatus());
+        assertEquals(1, resultado.getExamesInseridos());
+        assertEquals(1, resultado.getExamesRemovidos());
+        assertEquals(1, resultado.getExamesMantidos());
+        verify(exameRepository).deleteAllInBatch(List.of(colesterol));
+        ArgumentCaptor<List<ExameProntuario>> novos = ArgumentCaptor.forClass(List.class);
+        verify(exameRepository).saveAll(novos.capture());
+        assertEquals(1, novos.getValue().size());
+        assertEquals("Glicemia", novos.getValue().get(0).getNomeExame());
+    }
+
+    @Test
+    @DisplayName("Deve tratar exames repetidos como linhas distintas")
+    void deveManterExamesRepetidos() {
+        prontuarioDTOExemplo.setExames(new ArrayList<>(List.of(new ExameDTO("Hemograma", DATA_HEMOGRAMA))));
+        Prontuario existente = new Prontuario(5L, prontuarioDTOExemplo.getDataCriacao(), "Hipertensão controlada",
+                "I10", 42L, "Losartana 50mg", "hash-anterior");
+        ExameProntuario primeiro = new ExameProntuario(1L, 5L, "Hemograma", DATA_HEMOGRAMA);
+        ExameProntuario repetido = new ExameProntuario(2L, 5L, "Hemograma", DATA_HEMOGRAMA);
+        when(prontuarioRepository.findById(5L)).thenReturn(Optional.of(existente));
+        when(exameRepository.findByIdProntuarioOrderByIdExame(5L)).thenReturn(List.of(primeiro, repetido));
+
+        ResultadoSincronizacao resultado = prontuarioService.sincronizarProntuario(5L, prontuarioDTOExemplo);
+
+        assertEquals(1, resultado.getExamesMantidos());
+        assertEquals(1, resultado.getExamesRemovidos());
+        verify(exameRepository).deleteAllInBatch(List.of(repetido));
+        verify(exameRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve remover os exames antes do prontuário")
+    void deveRemoverProntuarioEExames() {
+        prontuarioService.removerProntuario(5L);
+
+        var ordem = inOrder(exameRepository, prontuarioRepository);
+        ordem.verify(exameRepository).removerPorProntuario(5L);
+        ordem.verify(prontuarioRepository).deleteById(5L);
+    }
+}
@@ -65,8 +65,15 @@ public class MedicoController implements Initializable {
     private Button cancelarButton;
     @FXML
     private Button salvarButton;
+    @FXML
+    private Button carregarMaisButton;
 
     private final String API_BASE_URL = "http://localhost:8083/api/medicos";
+    // A API devolve os médicos em páginas; o cursor da próxima vem neste cabeçalho
+    private static final String CABECALHO_CURSOR = "X-Proximo-Cursor";
+    private String proximoCursor;
+    // ETag da listagem: enquanto a API responder 304 (Not Modified), a tabela carregada continua atual
+    private String etagListagem;
     private final HttpClient httpClient = HttpClient.newBuilder().build();
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -149,6 +156,8 @@ public class MedicoController implements Initializable {
                 request = HttpRequest.newBuilder()
                         .uri(URI.create(API_BASE_URL + "/" + selectedMedico.getId()))
                         .header("Content-Type", "application/json")
+                        // Só atualiza se ninguém alterou o médico desde que ele foi carregado
+                        .header("If-Match", etagDe(selectedMedico))
                         .PUT(HttpRequest.BodyPublishers.ofString(json))
                         .build();
             }
@@ -157,6 +166,15 @@ public class MedicoController implements Initializable {
 
             if (response.statusCode() == 201 || response.statusCode() == 200) {
                 exibirAlerta(Alert.AlertType.INFORMATION, "Sucesso", "Médico salvo com sucesso!");
+                // A resposta já traz o médico salvo: a tabela é atualizada sem baixar a listagem de novo
+                aplicarNaTabela(objectMapper.readValue(response.body(), Medico.class), isAdding);
+                limparCampos();
+                desabilitarCampos(true);
+                desabilitarBotoes(false, true, true, true, true);
+                isAdding = false;
+            } else if (response.statusCode() == 412) {
+                exibirAlerta(Alert.AlertType.WARNING, "Médico Alterado",
+                        "Este registro foi alterado por outra pessoa depois de carregado. A lista foi recarregada; confira os dados e salve novamente.");
                 carregarMedicos();
                 limparCampos();
                 desabilitarCampos(true);
@@ -204,6 +222,7 @@ public class MedicoController implements Initializable {
     private void onAtualizar() {
         Medico selectedMedico = tabela.getSelectionModel().getSelectedItem();
         if (selectedMedico != null) {
+            recarregarSeAlterado(selectedMedico);
             desabilitarCampos(false);
             desabilitarBotoes(true, true, true, false, false);
             isAdding = false;
@@ -233,7 +252,7 @@ public class MedicoController implements Initializable {
 
                     if (response.statusCode() == 204) {
                         exibirAlerta(Alert.AlertType.INFORMATION, "Sucesso", "Médico excluído com sucesso!");
-                        carregarMedicos();
+                        tabela.getItems().remove(selectedMedico);
                         limparCampos();
                         desabilitarCampos(true);
                         desabilitarBotoes(false, true, true, true, true);
@@ -271,19 +290,45 @@ public class MedicoController implements Initializable {
         isAdding = false;
     }
 
+    @FXML
+    private void onCarregarMais() {
+        if (proximoCursor != null) {
+            carregarPagina(proximoCursor);
+        }
+    }
+
     private void carregarMedicos() {
+        carregarPagina(null);
+    }
+
+    // Sem cursor, substitui a tabela pela primeira página; com cursor, acrescenta a página seguinte
+    private void carregarPagina(String cursor) {
         try {
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(API_BASE_URL))
-                    .GET()
-                    .build();
+            HttpRequest.Builder builder = HttpRequest.newBuilder()
+                    .uri(URI.create(cursor == null ? API_BASE_URL : API_BASE_URL + "?cursor=" + cursor))
+                    .GET();
+            if (cursor == null && etagListagem != null) {
+                builder.header("If-None-Match", etagListagem);
+            }
 
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
 
+            if (response.statusCode() == 304) {
+                return; // nada mudou: a tabela e o cursor continuam valendo
+            }
             if (response.statusCode() == 200) {
                 Medico[] medicosArray = objectMapper.readValue(response.body(), Medico[].class);
-                ObservableList<Medico> medicos = FXCollections.observableArrayList(Arrays.asList(medicosArray));
-                tabela.setItems(medicos);
+                if (cursor == null) {
+                    ObservableList<Medico> medicos = FXCollections.observableArrayList(Arrays.asList(medicosArray));
+                    tabela.setItems(medicos);
+                } else {
+                    tabela.getItems().addAll(medicosArray);
+                }
+                if (cursor == null) {
+                    etagListagem = response.headers().firstValue("ETag").orElse(null);
+                }
+                proximoCursor = response.headers().firstValue(CABECALHO_CURSOR).orElse(null);
+                carregarMaisButton.setDisable(proximoCursor == null);
             } else {
                 String errorMessage = "Erro desconhecido ao carregar médicos.";
                 if (response.body() != null && !response.body().isEmpty()) {
@@ -307,6 +352,50 @@ public class MedicoController implements Initializable {
     }
 
     
+    // Atualiza a tabela com o médico devolvido pela API
+    private void aplicarNaTabela(Medico salvo, boolean novo) {
+        ObservableList<Medico> itens = tabela.getItems();
+        if (novo) {
+            // Na ordem por ID o médico novo é o último; se ainda há páginas por carregar, ele aparece nelas
+            if (proximoCursor == null) {
+                itens.add(salvo);
+            }
+            return;
+        }
+        for (int i = 0; i < itens.size(); i++) {
+            if (itens.get(i).getId() == salvo.getId()) {
+                itens.set(i, salvo);
+                return;
+            }
+        }
+    }
+
+    // Antes de editar, confere com uma requisição condicional se o médico mudou desde que foi carregado
+    private void recarregarSeAlterado(Medico medico) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(API_BASE_URL + "/" + medico.getId()))
+                    .header("If-None-Match", etagDe(medico))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 200) {
+                Medico atual = objectMapper.readValue(response.body(), Medico.class);
+                aplicarNaTabela(atual, false);
+                tabela.getSelectionModel().select(atual);
+                preencherCampos(atual);
+            }
+        } catch (IOException | InterruptedException e) {
+            // Sem conexão, edita o que já está na tela; o If-Match do salvamento protege contra sobrescrita
+            System.err.println("Não foi possível conferir a versão do médico: " + e.getMessage());
+        }
+    }
+
+    // Mesmo formato do ETag da API para um registro: "<entidade>-<id>-<versão>"
+    private String etagDe(Medico medico) {
+        return "\"medico-" + medico.getId() + "-" + medico.getVersao() + "\"";
+    }
+
     private void preencherCampos(Medico med) {
         idField.setText(String.valueOf(med.getId()));
         nomeCompletoField.setText(med.getNomeCompleto());
@@ -67,8 +67,15 @@ public class PacienteController implements Initializable {
     private Button cancelarButton;
     @FXML
     private Button salvarButton;
+    @FXML
+    private Button carregarMaisButton;
 
     private final String API_BASE_URL = "http://localhost:8083/api/pacientes";
+    // A API devolve os pacientes em páginas; o cursor da próxima vem neste cabeçalho
+    private static final String CABECALHO_CURSOR = "X-Proximo-Cursor";
+    private String proximoCursor;
+    // ETag da listagem: enquanto a API responder 304 (Not Modified), a tabela carregada continua atual
+    private String etagListagem;
     private final HttpClient httpClient = HttpClient.newBuilder().build();
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -149,6 +156,8 @@ public class PacienteController implements Initializable {
                 request = HttpRequest.newBuilder()
                         .uri(URI.create(API_BASE_URL + "/" + selectedPaciente.getId()))
                         .header("Content-Type", "application/json")
+                        // Só atualiza se ninguém alterou o paciente desde que ele foi carregado
+                        .header("If-Match", etagDe(selectedPaciente))
                         .PUT(HttpRequest.BodyPublishers.ofString(json))
                         .build();
             }
@@ -157,6 +166,15 @@ public class PacienteController implements Initializable {
 
             if (response.statusCode() == 201 || response.statusCode() == 200) {
                 exibirAlerta(Alert.AlertType.INFORMATION, "Sucesso", "Paciente salvo com sucesso!");
+                // A resposta já traz o paciente salvo: a tabela é atualizada sem baixar a listagem de novo
+                aplicarNaTabela(objectMapper.readValue(response.body(), Paciente.class), isAdding);
+                limparCampos();
+                desabilitarCampos(true);
+                desabilitarBotoes(false, true, true, true, true);
+                isAdding = false;
+            } else if (response.statusCode() == 412) {
+                exibirAlerta(Alert.AlertType.WARNING, "Paciente Alterado",
+                        "Este registro foi alterado por outra pessoa depois de carregado. A lista foi recarregada; confira os dados e salve novamente.");
                 carregarPacientes();
                 limparCampos();
                 desabilitarCampos(true);
@@ -204,6 +222,7 @@ public class PacienteController implements Initializable {
     private void onAtualizar() {
         Paciente selectedPaciente = tabela.getSelectionModel().getSelectedItem();
         if (selectedPaciente != null) {
+            recarregarSeAlterado(selectedPaciente);
             desabilitarCampos(false);
             desabilitarBotoes(true, true, true, false, false);
             isAdding = false;
@@ -233,7 +252,7 @@ public class PacienteController implements Initializable {
 
                     if (response.statusCode() == 204) {
                         exibirAlerta(Alert.AlertType.INFORMATION, "Sucesso", "Paciente excluído com sucesso!");
-                        carregarPacientes();
+                        tabela.getItems().remove(selectedPaciente);
                         limparCampos();
                         desabilitarCampos(true);
                         desabilitarBotoes(false, true, true, true, true);
@@ -271,19 +290,45 @@ public class PacienteController implements Initializable {
         isAdding = false;
     }
 
+    @FXML
+    private void onCarregarMais() {
+        if (proximoCursor != null) {
+            carregarPagina(proximoCursor);
+        }
+    }
+
     private void carregarPacientes() {
+        carregarPagina(null);
+    }
+
+    // Sem cursor, substitui a tabela pela primeira página; com cursor, acrescenta a página seguinte
+    private void carregarPagina(String cursor) {
         try {
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(API_BASE_URL))
-                    .GET()
-                    .build();
+            HttpRequest.Builder builder = HttpRequest.newBuilder()
+                    .uri(URI.create(cursor == null ? API_BASE_URL : API_BASE_URL + "?cursor=" + cursor))
+                    .GET();
+            if (cursor == null && etagListagem != null) {
+                builder.header("If-None-Match", etagListagem);
+            }
 
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
 
+            if (response.statusCode() == 304) {
+                return; // nada mudou: a tabela e o cursor continuam valendo
+            }
             if (response.statusCode() == 200) {
                 Paciente[] pacientesArray = objectMapper.readValue(response.body(), Paciente[].class);
-                ObservableList<Paciente> pacientes = FXCollections.observableArrayList(Arrays.asList(pacientesArray));
-                tabela.setItems(pacientes);
+                if (cursor == null) {
+                    ObservableList<Paciente> pacientes = FXCollections.observableArrayList(Arrays.asList(pacientesArray));
+                    tabela.setItems(pacientes);
+                } else {
+                    tabela.getItems().addAll(pacientesArray);
+                }
+                if (cursor == null) {
+                    etagListagem = response.headers().firstValue("ETag").orElse(null);
+                }
+                proximoCursor = response.headers().firstValue(CABECALHO_CURSOR).orElse(null);
+                carregarMaisButton.setDisable(proximoCursor == null);
             } else {
                 String errorMessage = "Erro desconhecido ao carregar pacientes.";
                 if (response.body() != null && !response.body().isEmpty()) {
@@ -306,6 +351,50 @@ public class PacienteController implements Initializable {
         }
     }
 
+    // Atualiza a tabela com o paciente devolvido pela API
+    private void aplicarNaTabela(Paciente salvo, boolean novo) {
+        ObservableList<Paciente> itens = tabela.getItems();
+        if (novo) {
+            // Na ordem por ID o paciente novo é o último; se ainda há páginas por carregar, ele aparece nelas
+            if (proximoCursor == null) {
+                itens.add(salvo);
+            }
+            return;
+        }
+        for (int i = 0; i < itens.size(); i++) {
+            if (itens.get(i).getId() == salvo.getId()) {
+                itens.set(i, salvo);
+                return;
+            }
+        }
+    }
+
+    // Antes de editar, confere com uma requisição condicional se o paciente mudou desde que foi carregado
+    private void recarregarSeAlterado(Paciente paciente) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(API_BASE_URL + "/" + paciente.getId()))
+                    .header("If-None-Match", etagDe(paciente))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 200) {
+                Paciente atual = objectMapper.readValue(response.body(), Paciente.class);
+                aplicarNaTabela(atual, false);
+                tabela.getSelectionModel().select(atual);
+                preencherCampos(atual);
+            }
+        } catch (IOException | InterruptedException e) {
+            // Sem conexão, edita o que já está na tela; o If-Match do salvamento protege contra sobrescrita
+            System.err.println("Não foi possível conferir a versão do paciente: " + e.getMessage());
+        }
+    }
+
+    // Mesmo formato do ETag da API para um registro: "<entidade>-<id>-<versão>"
+    private String etagDe(Paciente paciente) {
+        return "\"paciente-" + paciente.getId() + "-" + paciente.getVersao() + "\"";
+    }
+
     private void preencherCampos(Paciente pac) {
         idField.setText(String.valueOf(pac.getId()));
         nomeCompletoField.setText(pac.getNomeCompleto());
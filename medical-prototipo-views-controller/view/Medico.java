@@ -3,6 +3,7 @@ package view;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleLongProperty;
 import javafx.beans.property.SimpleStringProperty;
  
 public class Medico {
@@ -13,6 +14,8 @@ public class Medico {
     private final SimpleStringProperty especialidade;
     private final SimpleStringProperty email;
     private final SimpleStringProperty telefone;
+    // Versão lida da API, devolvida no If-Match ao salvar
+    private final SimpleLongProperty versao;
 
     @JsonCreator  
     public Medico(
@@ -22,13 +25,15 @@ public class Medico {
             @JsonProperty("crm") String crm,
             @JsonProperty("especialidade") String especialidade,
             @JsonProperty("email") String email,
-            @JsonProperty("telefone") String telefone) {
+            @JsonProperty("telefone") String telefone,
+            @JsonProperty("versao") long versao) {
         this.id = new SimpleIntegerProperty(id);
         this.nomeCompleto = new SimpleStringProperty(nomeCompleto);
         this.crm = new SimpleStringProperty(crm);
         this.especialidade = new SimpleStringProperty(especialidade);
         this.email = new SimpleStringProperty(email);
         this.telefone = new SimpleStringProperty(telefone);
+        this.versao = new SimpleLongProperty(versao);
     }
 
      
@@ -104,4 +109,16 @@ public class Medico {
     public SimpleStringProperty telefoneProperty() {
         return telefone;
     }
-}
\ No newline at end of file
+
+    public long getVersao() {
+        return versao.get();
+    }
+
+    public void setVersao(long versao) {
+        this.versao.set(versao);
+    }
+
+    public SimpleLongProperty versaoProperty() {
+        return versao;
+    }
+}
@@ -3,6 +3,7 @@ package view;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleLongProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import java.time.LocalDate;
@@ -15,6 +16,8 @@ public class Paciente {
     private final SimpleObjectProperty<LocalDate> dataNascimento;
     private final SimpleStringProperty endereco;
     private final SimpleStringProperty telefone;
+    // Versão lida da API, devolvida no If-Match ao salvar
+    private final SimpleLongProperty versao;
 
     @JsonCreator
     public Paciente(
@@ -23,13 +26,15 @@ public class Paciente {
             @JsonProperty("cpf") String cpf,
             @JsonProperty("dataNascimento") LocalDate dataNascimento,
             @JsonProperty("endereco") String endereco,
-            @JsonProperty("telefone") String telefone) {
+            @JsonProperty("telefone") String telefone,
+            @JsonProperty("versao") long versao) {
         this.id = new SimpleIntegerProperty(id);
         this.nomeCompleto = new SimpleStringProperty(nomeCompleto);
         this.cpf = new SimpleStringProperty(cpf);
         this.dataNascimento = new SimpleObjectProperty<>(dataNascimento);
         this.endereco = new SimpleStringProperty(endereco);
         this.telefone = new SimpleStringProperty(telefone);
+        this.versao = new SimpleLongProperty(versao);
     }
 
  
@@ -104,4 +109,16 @@ public class Paciente {
     public SimpleStringProperty telefoneProperty() {
         return telefone;
     }
-}
\ No newline at end of file
+
+    public long getVersao() {
+        return versao.get();
+    }
+
+    public void setVersao(long versao) {
+        this.versao.set(versao);
+    }
+
+    public SimpleLongProperty versaoProperty() {
+        return versao;
+    }
+}
@@ -0,0 +1,40 @@
+package br.group3.benchmarks;
+
+import java.util.StringJoiner;
+
+/**
+ * Eventos de exemplo com tamanhos próximos dos reais.
+ * <p>{@code paciente} é o cadastro simples publicado pelos dois sistemas (cerca de 250 bytes).
+ * {@code prontuario} é o mesmo paciente acompanhado do histórico de atendimentos e exames,
+ * na casa de alguns kilobytes, como chega quando o prontuário completo é sincronizado.</p>
+ */
+final class Payloads {
+
+    private Payloads() {
+    }
+
+    static String paciente(int id) {
+        return "{\"idPaciente\":" + id
+                + ",\"nomeCompleto\":\"Maria Aparecida da Silva Santos " + id + "\""
+                + ",\"dataNascimento\":\"1987-04-12\""
+                + ",\"cpf\":\"" + String.format("%011d", id) + "\""
+                + ",\"endereco\":\"Rua das Palmeiras, 1450, apto 302, Setor Bueno, Goiânia - GO\""
+                + ",\"telefone\":\"(62) 99876-5432\""
+                + ",\"entidade\":\"paciente\",\"operacao\":\"ATUALIZADO\"}";
+    }
+
+    static String prontuario(int id, int atendimentos) {
+        String paciente = paciente(id);
+        StringJoiner lista = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < atendimentos; i++) {
+            lista.add("{\"idConsulta\":" + (id * 100 + i)
+                    + ",\"data\":\"2025-0" + (1 + i % 9) + "-1" + (i % 10) + "T14:30:00\""
+                    + ",\"crmMedico\":\"CRM/GO " + (10000 + i) + "\""
+                    + ",\"motivo\":\"Retorno para acompanhamento de hipertensão arterial e ajuste de medicação\""
+                    + ",\"diagnostico\":\"I10 - Hipertensão essencial (primária)\""
+                    + ",\"exames\":[{\"codigo\":\"HEMO\",\"resultado\":\"Hemoglobina 13,8 g/dL\"},"
+                    + "{\"codigo\":\"GLIC\",\"resultado\":\"Glicemia de jejum 92 mg/dL\"}]}");
+        }
+        return paciente.substring(0, paciente.length() - 1) + ",\"atendimentos\":" + lista + "}";
+    }
+}
@@ -0,0 +1,82 @@
+package br.group3.benchmarks;
+
+import br.group3.Roteador;
+import br.group3.despacho.Processador;
+import br.group3.pipeline.Transformador;
+import br.group3.resiliencia.EventoOrigem;
+import br.group3.sinks.Sink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo por evento das etapas comuns do {@link Roteador} (métricas de entrada e log), com um
+ * transformador que só conclui o evento.
+ * <p>{@code log.payload.amostragem} varia entre nenhum payload registrado, 1% e todos os eventos. Com
+ * os loggers assíncronos, quem processa o evento só publica no ring buffer; a redação e a escrita
+ * ficam na thread de I/O, que aqui grava no appender nulo para não inundar a saída do JMH. O filtro
+ * de duplicados fica desligado para que o mesmo evento passe sempre pelo caminho completo, e várias
+ * threads medem também a disputa pelo ring buffer.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-Ddedupe.capacidade=0", "-Dlog.formato=nulo"})
+@Threads(4)
+@State(Scope.Benchmark)
+public class RoteadorBenchmark {
+
+    private static final Runnable NADA = () -> { };
+
+    @Param({"0", "0.01", "1"})
+    public String amostragem;
+
+    private Processador processador;
+    private String evento;
+
+    @Setup
+    public void preparar() {
+        // Lida pelo RedacaoPayload na primeira chamada, que acontece só depois do setup
+        System.setProperty("log.payload.amostragem", amostragem);
+        evento = Payloads.paciente(4242);
+        processador = Roteador.processadorPara(new Transformador() {
+            @Override
+            public String nome() {
+                return "benchmark";
+            }
+
+            @Override
+            public List<String> canais() {
+                return List.of();
+            }
+
+            @Override
+            public List<Sink> sinks() {
+                return List.of();
+            }
+
+            @Override
+            public void transformarEEnviar(EventoOrigem origem) {
+                origem.concluir();
+            }
+        });
+    }
+
+    @Benchmark
+    public void rotear() {
+        processador.processar("eventos:sistema1", evento, NADA);
+    }
+}
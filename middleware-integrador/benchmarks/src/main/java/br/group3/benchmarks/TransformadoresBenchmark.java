@@ -0,0 +1,81 @@
+package br.group3.benchmarks;
+
+import br.group3.transformers.NosqlToSqlTransformer;
+import br.group3.transformers.SqlToNosqlTransformer;
+import com.google.gson.Gson;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo por mensagem dos transformadores, sem nenhum I/O.
+ * <p>Os métodos {@code nosqlParaSql} e {@code sqlParaNosql} medem o caminho completo de cada
+ * direção; os demais isolam as etapas (parse com Gson em {@code Map} e {@code Document.parse})
+ * para mostrar onde o tempo é gasto. {@code gsonMapRemap} reproduz a conversão NoSQL -> SQL
+ * anterior ao {@code CodecPaciente} (parse em {@code Map}, cópia para {@code Map.of} e nova
+ * serialização) e serve de referência para comparar com {@code nosqlParaSql}. Rode com {@code -prof gc} para ver a taxa de alocação
+ * ({@code gc.alloc.rate.norm} é bytes alocados por mensagem).</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class TransformadoresBenchmark {
+
+    private static final Gson GSON = new Gson();
+
+    @Param({"paciente", "prontuario"})
+    public String tipo;
+
+    private String evento;
+
+    @Setup
+    public void preparar() {
+        evento = "paciente".equals(tipo) ? Payloads.paciente(4242) : Payloads.prontuario(4242, 20);
+    }
+
+    @Benchmark
+    public String nosqlParaSql() {
+        return NosqlToSqlTransformer.transformar(evento);
+    }
+
+    @Benchmark
+    public SqlToNosqlTransformer.OperacaoMongo sqlParaNosql() {
+        return SqlToNosqlTransformer.transformar(evento);
+    }
+
+    @Benchmark
+    public Map<?, ?> gsonParseMap() {
+        return GSON.fromJson(evento, Map.class);
+    }
+
+    @Benchmark
+    public String gsonMapRemap() {
+        Map<?, ?> dados = GSON.fromJson(evento, Map.class);
+        return GSON.toJson(Map.of(
+                "nomeCompleto", dados.get("nomeCompleto"),
+                "dataNascimento", dados.get("dataNascimento"),
+                "cpf", dados.get("cpf"),
+                "endereco", dados.get("endereco"),
+                "telefone", dados.get("telefone")));
+    }
+
+    @Benchmark
+    public Document documentParse() {
+        return Document.parse(evento);
+    }
+}
@@ -0,0 +1,204 @@
+package br.group3.carga;
+
+import br.group3.ingestao.ConsumidorStreams;
+import org.HdrHistogram.Histogram;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.StreamEntryID;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Uma rodada de carga: publica {@code total} eventos na taxa pedida e mede quanto tempo cada um
+ * leva para aparecer no banco de destino.
+ * <p>O envio é em malha aberta: o instante previsto do evento {@code i} é
+ * {@code inicio + i / taxa}, fixado antes do envio, e a latência é medida a partir dele. Se o
+ * gerador ou o Redis atrasarem, os eventos atrasados não "somem" da medição (o problema da
+ * omissão coordenada): o atraso entra na latência. Com taxa 0 os eventos são publicados o mais
+ * rápido possível e o instante previsto é o do próprio envio.</p>
+ * <p>Cada evento leva um CPF único, {@code prefixo + sequência}. Uma thread consulta o destino
+ * a cada {@code intervaloSondaMs} pelo intervalo de CPFs ainda pendentes; a resolução da
+ * latência é, portanto, a desse intervalo.</p>
+ */
+final class Execucao {
+
+    /**
+     * Resultado de uma rodada.
+     *
+     * @param histograma latências ponta a ponta, em nanossegundos.
+     * @param duracaoEnvioNs tempo entre o primeiro e o último envio.
+     * @param duracaoTotalNs tempo entre o primeiro envio e o último evento visto no destino.
+     */
+    record Resultado(double taxaAlvo, long enviados, long visiveis, Histogram histograma,
+                     long duracaoEnvioNs, long duracaoTotalNs) {
+
+        long perdidos() {
+            return enviados - visiveis;
+        }
+
+        double taxaEnvio() {
+            return duracaoEnvioNs == 0 ? 0 : enviados * 1e9 / duracaoEnvioNs;
+        }
+
+        double vazaoVisivel() {
+            return duracaoTotalNs == 0 ? 0 : visiveis * 1e9 / duracaoTotalNs;
+        }
+    }
+
+    private static final int LOTE_PIPELINE = 256;
+    private static final int DIGITOS_SEQUENCIA = 7;
+
+    private final Jedis jedis;
+    private final boolean streams;
+    private final String canal;
+    private final boolean sistema2;
+    private final Sonda sonda;
+    private final String prefixoCpf;
+    private final double taxa;
+    private final int total;
+    private final long intervaloSondaMs;
+    private final long esperaMaximaNs;
+
+    // Instante previsto de cada envio; publicado para a thread da sonda pelo volatile 'enviados'
+    private final long[] previstoEm;
+    private final boolean[] visto;
+    private volatile int enviados;
+
+    private final Histogram histograma = new Histogram(TimeUnit.HOURS.toNanos(1), 3);
+    private long visiveis;
+    private long ultimoVistoEm;
+
+    Execucao(Jedis jedis, boolean streams, String canal, boolean sistema2, Sonda sonda, String prefixoCpf,
+             double taxa, int total, long intervaloSondaMs, long esperaMaximaMs) {
+        if (total > Math.pow(10, DIGITOS_SEQUENCIA)) {
+            throw new IllegalArgumentException("No máximo 10 milhões de eventos por rodada");
+        }
+        this.jedis = jedis;
+        this.streams = streams;
+        this.canal = canal;
+        this.sistema2 = sistema2;
+        this.sonda = sonda;
+        this.prefixoCpf = prefixoCpf;
+        this.taxa = taxa;
+        this.total = total;
+        this.intervaloSondaMs = intervaloSondaMs;
+        this.esperaMaximaNs = TimeUnit.MILLISECONDS.toNanos(esperaMaximaMs);
+        this.previstoEm = new long[total];
+        this.visto = new boolean[total];
+    }
+
+    Resultado executar() throws Exception {
+        Thread sondagem = Thread.ofPlatform().name("carga-sonda").start(this::sondar);
+        long inicio = System.nanoTime();
+        publicar(inicio);
+        long fimEnvio = System.nanoTime();
+        sondagem.join();
+        long duracaoTotal = visiveis == 0 ? 0 : ultimoVistoEm - inicio;
+        return new Resultado(taxa, total, visiveis, histograma, fimEnvio - inicio, duracaoTotal);
+    }
+
+    private void publicar(long inicio) {
+        long intervaloNs = taxa > 0 ? (long) (1e9 / taxa) : 0;
+        Pipeline pipeline = jedis.pipelined();
+        int noPipeline = 0;
+        for (int i = 0; i < total; i++) {
+            long previsto;
+            if (intervaloNs > 0) {
+                previsto = inicio + i * intervaloNs;
+                long agora;
+                while ((agora = System.nanoTime()) < previsto) {
+                    // Adiantado: esvazia o pipeline antes de esperar, para não segurar eventos já "enviados"
+                    if (noPipeline > 0) {
+                        pipeline.sync();
+                        noPipeline = 0;
+                    } else {
+                        LockSupport.parkNanos(Math.min(previsto - agora, 100_000));
+                    }
+                }
+            } else {
+                previsto = System.nanoTime();
+            }
+            previstoEm[i] = previsto;
+            String payload = payload(i);
+            if (streams) {
+                pipeline.xadd(canal, StreamEntryID.NEW_ENTRY, Map.of(ConsumidorStreams.CAMPO_PAYLOAD, payload));
+            } else {
+                pipeline.publish(canal, payload);
+            }
+            enviados = i + 1;
+            if (++noPipeline >= LOTE_PIPELINE) {
+                pipeline.sync();
+                noPipeline = 0;
+            }
+        }
+        pipeline.sync();
+        pipeline.close();
+    }
+
+    private String payload(int sequencia) {
+        String cpf = cpf(sequencia);
+        String corpo = "{\"nomeCompleto\":\"Paciente de Carga " + cpf + "\""
+                + ",\"dataNascimento\":\"1987-04-12\""
+                + ",\"cpf\":\"" + cpf + "\""
+                + ",\"endereco\":\"Rua das Palmeiras, 1450, Setor Bueno, Goiânia - GO\""
+                + ",\"telefone\":\"(62) 99876-5432\"";
+        // O outbox do ORM identifica a entidade e a operação; o sistema 1 publica só o documento
+        return sistema2 ? corpo + ",\"entidade\":\"paciente\",\"operacao\":\"CRIADO\"}" : corpo + "}";
+    }
+
+    private String cpf(int sequencia) {
+        String numero = String.valueOf(sequencia);
+        return prefixoCpf + "0".repeat(DIGITOS_SEQUENCIA - numero.length()) + numero;
+    }
+
+    private void sondar() {
+        int menorPendente = 0;
+        long ultimoProgresso = System.nanoTime();
+        long proximoRelatorio = ultimoProgresso + TimeUnit.SECONDS.toNanos(1);
+        try {
+            while (menorPendente < total) {
+                Thread.sleep(intervaloSondaMs);
+                int limite = enviados;
+                if (System.nanoTime() >= proximoRelatorio) {
+                    System.out.println("  enviados " + limite + "/" + total + ", visíveis " + visiveis);
+                    proximoRelatorio += TimeUnit.SECONDS.toNanos(1);
+                }
+                if (menorPendente >= limite) {
+                    continue;
+                }
+                long antes = visiveis;
+                sonda.visiveis(cpf(menorPendente), cpf(limite - 1), this::registrarVisivel);
+                while (menorPendente < limite && visto[menorPendente]) {
+                    menorPendente++;
+                }
+
+                long agora = System.nanoTime();
+                if (visiveis > antes || limite < total) {
+                    ultimoProgresso = agora;
+                } else if (agora - ultimoProgresso > esperaMaximaNs) {
+                    System.err.println("Nenhum evento novo visível em " + TimeUnit.NANOSECONDS.toSeconds(esperaMaximaNs)
+                            + " s; " + (total - visiveis) + " eventos dados como perdidos");
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("Erro ao consultar o destino: " + e.getMessage());
+        }
+    }
+
+    private void registrarVisivel(String cpf) {
+        int sequencia = Integer.parseInt(cpf.substring(prefixoCpf.length()));
+        if (sequencia >= total || visto[sequencia]) {
+            return;
+        }
+        long agora = System.nanoTime();
+        visto[sequencia] = true;
+        visiveis++;
+        ultimoVistoEm = agora;
+        histograma.recordValue(Math.max(1, agora - previstoEm[sequencia]));
+    }
+}
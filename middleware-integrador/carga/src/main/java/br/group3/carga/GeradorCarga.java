@@ -0,0 +1,111 @@
+package br.group3.carga;
+
+import br.group3.Roteador;
+import br.group3.config.Configuracao;
+import org.HdrHistogram.Histogram;
+import redis.clients.jedis.Jedis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Gerador de carga ponta a ponta: publica pacientes sintéticos no Redis e mede quanto tempo
+ * cada um leva para ficar visível no banco de destino, passando pelo middleware.
+ * <p>{@code carga.sistema=1} publica em {@code eventos:sistema1} e observa a tabela {@code paciente}
+ * do MySQL (via API); {@code carga.sistema=2} publica em {@code eventos:sistema2} e observa a
+ * coleção de pacientes do MongoDB. Com {@code middleware.modo=streams} os eventos são gravados
+ * com {@code XADD} em vez de {@code PUBLISH}.</p>
+ * <p>Uma rodada publica a {@code carga.taxa} eventos por segundo durante {@code carga.duracaoSeg}
+ * segundos; com taxa 0 publica {@code carga.eventos} eventos o mais rápido possível. Com
+ * {@code carga.rampa} (taxas separadas por vírgula, como {@code 500,1000,2000,4000}) uma rodada é
+ * feita para cada taxa, e a maior que foi sustentada (nenhum evento perdido, p99 até
+ * {@code carga.slaMs} e taxa de envio atingida) é informada no final.</p>
+ * <p>Demais configurações: {@code carga.sondaMs} (intervalo de consulta ao destino),
+ * {@code carga.esperaMaxSeg} (quanto esperar sem novos eventos visíveis antes de dar os
+ * restantes como perdidos), {@code carga.limpar} (apagar os registros gerados ao fim de cada
+ * rodada) e {@code carga.distribuicao} (imprimir a distribuição completa do HdrHistogram).</p>
+ */
+public final class GeradorCarga {
+
+    private GeradorCarga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        boolean sistema2 = "2".equals(Configuracao.texto("carga.sistema", "1"));
+        boolean streams = "streams".equalsIgnoreCase(Configuracao.texto("middleware.modo", "pubsub"));
+        String canal = sistema2 ? Roteador.CANAL_SISTEMA_2 : Roteador.CANAL_SISTEMA_1;
+        int duracaoSeg = Configuracao.inteiro("carga.duracaoSeg", 30);
+        long sondaMs = Configuracao.longo("carga.sondaMs", 50);
+        long esperaMaxMs = Configuracao.longo("carga.esperaMaxSeg", 30) * 1000;
+        long slaMs = Configuracao.longo("carga.slaMs", 1000);
+        boolean limpar = Boolean.parseBoolean(Configuracao.texto("carga.limpar", "true"));
+        boolean distribuicao = Boolean.parseBoolean(Configuracao.texto("carga.distribuicao", "false"));
+
+        List<Double> taxas = new ArrayList<>();
+        for (String taxa : Configuracao.texto("carga.rampa", Configuracao.texto("carga.taxa", "1000")).split(",")) {
+            taxas.add(Double.parseDouble(taxa.trim()));
+        }
+
+        // Prefixo de 4 dígitos por rodada ("9" + número da execução): os CPFs gerados não se
+        // misturam com os de outras rodadas nem com os de cadastros reais de teste
+        int execucao = ThreadLocalRandom.current().nextInt(100, 1000);
+
+        System.out.println("Gerando carga em '" + canal + "' (" + (streams ? "XADD" : "PUBLISH") + "), destino "
+                + (sistema2 ? "MongoDB" : "MySQL") + ", taxas " + taxas);
+
+        Double maiorSustentada = null;
+        try (Jedis jedis = new Jedis(Configuracao.texto("redis.host", "localhost"), Configuracao.inteiro("redis.porta", 6379));
+             Sonda sonda = sistema2 ? new SondaMongo() : new SondaMysql()) {
+            for (int i = 0; i < taxas.size(); i++) {
+                double taxa = taxas.get(i);
+                int total = taxa > 0 ? (int) Math.ceil(taxa * duracaoSeg) : Configuracao.inteiro("carga.eventos", 100_000);
+                String prefixo = "9" + (100 + (execucao - 100 + i) % 900);
+
+                System.out.println();
+                System.out.println("Rodada " + (i + 1) + ": " + (taxa > 0 ? String.format("%.0f eventos/s", taxa) : "taxa máxima")
+                        + ", " + total + " eventos, CPFs " + prefixo + "*");
+                Execucao.Resultado resultado = new Execucao(jedis, streams, canal, sistema2, sonda, prefixo,
+                        taxa, total, sondaMs, esperaMaxMs).executar();
+                relatar(resultado, distribuicao);
+
+                boolean sustentada = resultado.perdidos() == 0
+                        && resultado.histograma().getValueAtPercentile(99) <= slaMs * 1_000_000
+                        && (taxa == 0 || resultado.taxaEnvio() >= taxa * 0.95);
+                if (sustentada && taxa > 0) {
+                    maiorSustentada = maiorSustentada == null ? taxa : Math.max(maiorSustentada, taxa);
+                }
+                if (limpar) {
+                    System.out.println("Registros de carga apagados: " + sonda.limpar(prefixo));
+                }
+            }
+        }
+
+        if (taxas.size() > 1) {
+            System.out.println();
+            System.out.println(maiorSustentada == null
+                    ? "Nenhuma taxa da rampa foi sustentada com p99 até " + slaMs + " ms"
+                    : String.format("Maior taxa sustentada: %.0f eventos/s (p99 até %d ms, sem perdas)", maiorSustentada, slaMs));
+        }
+    }
+
+    private static void relatar(Execucao.Resultado resultado, boolean distribuicao) {
+        Histogram h = resultado.histograma();
+        System.out.printf("Enviados %d (%.0f/s), visíveis %d, perdidos %d; vazão até o destino %.0f eventos/s%n",
+                resultado.enviados(), resultado.taxaEnvio(), resultado.visiveis(), resultado.perdidos(),
+                resultado.vazaoVisivel());
+        if (h.getTotalCount() == 0) {
+            return;
+        }
+        System.out.printf("Latência ponta a ponta (ms): p50 %.1f | p90 %.1f | p99 %.1f | p99.9 %.1f | máx %.1f%n",
+                ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(90)), ms(h.getValueAtPercentile(99)),
+                ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()));
+        if (distribuicao) {
+            h.outputPercentileDistribution(System.out, 1_000_000.0);
+        }
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,27 @@
+package br.group3.carga;
+
+import java.util.function.Consumer;
+
+/**
+ * Consulta o banco de destino para saber quais eventos gerados já estão visíveis.
+ * <p>Os eventos de uma execução têm CPFs sequenciais com o mesmo prefixo, então a sonda só
+ * precisa de uma consulta por intervalo, servida pelo índice único de {@code cpf}.</p>
+ */
+interface Sonda extends AutoCloseable {
+
+    /**
+     * Entrega ao consumidor cada CPF entre {@code cpfMinimo} e {@code cpfMaximo} (inclusive)
+     * que já esteja gravado no destino.
+     */
+    void visiveis(String cpfMinimo, String cpfMaximo, Consumer<String> cpfVisivel) throws Exception;
+
+    /**
+     * Apaga os registros gerados pela execução.
+     *
+     * @return quantos registros foram apagados.
+     */
+    long limpar(String prefixoCpf) throws Exception;
+
+    @Override
+    void close() throws Exception;
+}
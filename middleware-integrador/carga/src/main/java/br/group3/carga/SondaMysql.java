@@ -0,0 +1,56 @@
+package br.group3.carga;
+
+import br.group3.config.Configuracao;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+/**
+ * {@link Sonda} da tabela {@code paciente} do MySQL, destino dos eventos de {@code eventos:sistema1}.
+ * <p>Configurações: {@code carga.mysql.url}, {@code carga.mysql.usuario} e {@code carga.mysql.senha}
+ * (padrões iguais aos do {@code application.properties} do ORM).</p>
+ */
+final class SondaMysql implements Sonda {
+
+    private final Connection conexao;
+    private final PreparedStatement consulta;
+
+    SondaMysql() throws SQLException {
+        this.conexao = DriverManager.getConnection(
+                Configuracao.texto("carga.mysql.url", "jdbc:mysql://localhost:3306/mydatabase"),
+                Configuracao.texto("carga.mysql.usuario", "myuser"),
+                Configuracao.texto("carga.mysql.senha", "secret"));
+        // Cada consulta precisa ver o que foi confirmado depois da anterior
+        conexao.setAutoCommit(true);
+        conexao.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        this.consulta = conexao.prepareStatement("SELECT cpf FROM paciente WHERE cpf BETWEEN ? AND ?");
+    }
+
+    @Override
+    public void visiveis(String cpfMinimo, String cpfMaximo, Consumer<String> cpfVisivel) throws SQLException {
+        consulta.setString(1, cpfMinimo);
+        consulta.setString(2, cpfMaximo);
+        try (ResultSet rs = consulta.executeQuery()) {
+            while (rs.next()) {
+                cpfVisivel.accept(rs.getString(1));
+            }
+        }
+    }
+
+    @Override
+    public long limpar(String prefixoCpf) throws SQLException {
+        try (PreparedStatement delete = conexao.prepareStatement("DELETE FROM paciente WHERE cpf LIKE ?")) {
+            delete.setString(1, prefixoCpf + "%");
+            return delete.executeUpdate();
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        conexao.close();
+    }
+}
@@ -1,41 +1,150 @@
 package br.group3;
 
-import br.group3.transformers.NosqlToSqlTransformer;
-import br.group3.transformers.SqlToNosqlTransformer;
-import com.google.gson.Gson;
+import br.group3.ciclo.CicloVida.Fase;
+import br.group3.ciclo.CicloVida;
+import br.group3.config.Configuracao;
+import br.group3.ingestao.ConsumidorStreams;
+import br.group3.metricas.ServidorMetricas;
+import br.group3.pipeline.TabelaRoteamento;
+import br.group3.resiliencia.FilaMensagensMortas;
+import br.group3.spool.SpoolEventos;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPubSub;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 public class App {
 
-    // Defina os nomes dos canais aqui
-    private static final String CANAL_SISTEMA_1 = "eventos:sistema1";
-    private static final String CANAL_SISTEMA_2 = "eventos:sistema2";
+    private static final Logger LOG = LoggerFactory.getLogger(App.class);
+
+    public static void main(String[] args) throws Exception {
+        String host = Configuracao.texto("redis.host", "localhost");
+        int porta = Configuracao.inteiro("redis.porta", 6379);
+        String modo = Configuracao.texto("middleware.modo", "pubsub");
+
+        LOG.info("🚀 Middleware Integrador em Java iniciado no modo '{}'. Ouvindo eventos...", modo);
+
+        // Um pipeline por transformador do META-INF/services, cada um com seu despachante: a transformação
+        // roda fora da thread que lê o Redis. Os sinks são abertos aqui, já na partida.
+        TabelaRoteamento tabela = TabelaRoteamento.carregar();
+
+        // Prometheus coleta em GET /metrics; metricas.porta=0 desliga o servidor
+        int portaMetricas = Configuracao.inteiro("metricas.porta", 9464);
+        ServidorMetricas servidorMetricas = portaMetricas > 0 ? ServidorMetricas.iniciar(portaMetricas) : null;
+
+        // No pub/sub o Redis não guarda os eventos: o spool em disco cobre os que estavam em andamento numa queda.
+        // No modo streams isso já é papel da lista de pendentes do grupo de consumidores.
+        boolean streams = "streams".equalsIgnoreCase(modo);
+        SpoolEventos spool = !streams && Boolean.parseBoolean(Configuracao.texto("spool.habilitado", "true"))
+                ? new SpoolEventos()
+                : null;
+
+        // Encerramento: parar a entrada, drenar filas e sinks dentro de desligamento.prazoMs e só então
+        // fechar o que os eventos em andamento ainda usam. O spool fica por último: os sinks já
+        // descarregaram e concluíram o que conseguiram gravar.
+        CicloVida ciclo = new CicloVida();
+        ciclo.registrarDrenagem("pipelines", tabela::fechar);
+        ciclo.registrar(Fase.FECHAR, "dlq", restante -> FilaMensagensMortas.instancia().fechar());
+        if (spool != null) {
+            ciclo.registrar(Fase.FECHAR, "spool", restante -> spool.fechar());
+        }
+        if (servidorMetricas != null) {
+            ciclo.registrar(Fase.FECHAR, "metricas", restante -> servidorMetricas.parar());
+        }
+
+        if (streams) {
+            // Redis Streams com grupo de consumidores: várias instâncias dividem o trabalho sem perder eventos
+            // (streams não aceitam padrões: só os canais exatos da tabela são lidos)
+            ConsumidorStreams consumidor = new ConsumidorStreams(host, porta, tabela, tabela.canais());
+            ciclo.registrar(Fase.PARAR_ENTRADA, "leitura dos streams", restante -> {
+                if (!consumidor.parar(restante)) {
+                    LOG.warn("A leitura dos streams não terminou dentro do prazo");
+                }
+            });
+            // Depois da drenagem: confirma as entradas que os sinks concluíram
+            ciclo.registrar(Fase.FECHAR, "confirmacoes dos streams", restante -> consumidor.fechar());
+            ciclo.instalarGancho();
+            try {
+                consumidor.executar();
+            } finally {
+                ciclo.encerrar();
+            }
+            return;
+        }
 
-    public static void main(String[] args) {
         // Conexão com o Redis (ajuste host e port se necessário)
-        Jedis jedis = new Jedis("localhost", 6379);
-        System.out.println("🚀 Middleware Integrador em Java iniciado. Ouvindo eventos...");
+        Jedis jedis = new Jedis(host, porta);
+
+        if (spool != null) {
+            spool.recuperar((sequencia, canal, mensagem) ->
+                    tabela.submeter(canal, mensagem, () -> spool.concluir(sequencia)));
+        }
+
+        // Canais exatos e padrões precisam de comandos diferentes na mesma conexão
+        String[] canais = tabela.canais();
+        String[] padroes = tabela.padroes();
+        AtomicBoolean padroesAssinados = new AtomicBoolean(padroes.length == 0 || canais.length == 0);
 
         JedisPubSub jedisPubSub = new JedisPubSub() {
+            @Override
+            public void onSubscribe(String channel, int subscribedChannels) {
+                // Com a conexão já assinando os canais, os padrões entram nela (uma única vez)
+                if (padroesAssinados.compareAndSet(false, true)) {
+                    psubscribe(padroes);
+                }
+            }
+
             @Override
             public void onMessage(String channel, String message) {
-                System.out.println("Recebido do canal '" + channel + "': " + message);
-
-                // Lógica de Roteamento
-                if (channel.equals(CANAL_SISTEMA_1)) {
-                    // Evento do Sistema 1 (NoSQL) -> Transformar para SQL
-                    System.out.println("Iniciando transformação NoSQL -> SQL");
-                    NosqlToSqlTransformer.transformarEEnviar(message);
-                } else if (channel.equals(CANAL_SISTEMA_2)) {
-                    // Evento do Sistema 2 (SQL) -> Transformar para NoSQL
-                    System.out.println("Iniciando transformação SQL -> NoSQL");
-                    SqlToNosqlTransformer.transformarEEnviar(message);
+                receber(channel, channel, message);
+            }
+
+            @Override
+            public void onPMessage(String pattern, String channel, String message) {
+                receber(pattern, channel, message);
+            }
+
+            private void receber(String assinatura, String channel, String message) {
+                if (spool == null) {
+                    tabela.submeterPorAssinatura(assinatura, channel, message, null);
+                    return;
                 }
+                // Registrado antes de despachar: se o processo cair daqui em diante, o evento é reprocessado
+                long sequencia = spool.registrar(channel, message);
+                tabela.submeterPorAssinatura(assinatura, channel, message, () -> spool.concluir(sequencia));
             }
         };
 
-        // A chamada subscribe é bloqueante, ela vai manter o programa rodando
-        jedis.subscribe(jedisPubSub, CANAL_SISTEMA_1, CANAL_SISTEMA_2);
+        CountDownLatch leituraEncerrada = new CountDownLatch(1);
+        ciclo.registrar(Fase.PARAR_ENTRADA, "assinaturas do Redis", restante -> {
+            // Sem assinaturas o subscribe retorna; o que o listener já estava entregando termina antes da drenagem
+            if (jedisPubSub.isSubscribed()) {
+                jedisPubSub.unsubscribe();
+                jedisPubSub.punsubscribe();
+            }
+            if (!leituraEncerrada.await(restante.toNanos(), TimeUnit.NANOSECONDS)) {
+                LOG.warn("A leitura do Redis não terminou dentro do prazo");
+            }
+        });
+        ciclo.registrar(Fase.FECHAR, "conexao do Redis", restante -> jedis.close());
+        ciclo.instalarGancho();
+
+        // A chamada subscribe é bloqueante, ela vai manter o programa rodando. Sem canais exatos a conexão
+        // assina direto os padrões; com os dois, os padrões entram no primeiro onSubscribe.
+        try {
+            if (canais.length == 0) {
+                jedis.psubscribe(jedisPubSub, padroes);
+            } else {
+                jedis.subscribe(jedisPubSub, canais);
+            }
+        } finally {
+            leituraEncerrada.countDown();
+            // Também quando a conexão cai: o que já foi recebido é drenado antes de o processo sair
+            ciclo.encerrar();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package br.group3;
+
+import br.group3.despacho.FiltroDuplicados;
+import br.group3.despacho.Processador;
+import br.group3.logs.RedacaoPayload;
+import br.group3.metricas.Metricas;
+import br.group3.pipeline.TabelaRoteamento;
+import br.group3.pipeline.Transformador;
+import br.group3.resiliencia.EventoOrigem;
+import br.group3.resiliencia.FilaMensagensMortas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Etapas comuns a todos os pipelines, executadas antes do transformador.
+ * <p>A escolha do pipeline de cada canal fica na {@link TabelaRoteamento}; aqui ficam as métricas de
+ * entrada, o {@link FiltroDuplicados}, que descarta reentregas de um evento já concluído, e o envio
+ * para a DLQ de eventos que o transformador não conseguiu tratar.</p>
+ * <p>Métricas: {@code middleware.eventos.recebidos} e {@code middleware.eventos.duplicados},
+ * por canal.</p>
+ */
+public final class Roteador {
+
+    private static final Logger LOG = LoggerFactory.getLogger(Roteador.class);
+
+    // Defina os nomes dos canais aqui
+    public static final String CANAL_SISTEMA_1 = "eventos:sistema1";
+    public static final String CANAL_SISTEMA_2 = "eventos:sistema2";
+    // Consultas e prontuários do sistema 1 têm canais próprios, cada um com seu pipeline
+    public static final String CANAL_CONSULTAS = "eventos:sistema1:consultas";
+    public static final String CANAL_PRONTUARIOS = "eventos:sistema1:prontuarios";
+
+    private static final FiltroDuplicados DUPLICADOS = new FiltroDuplicados();
+
+    private Roteador() {
+    }
+
+    /**
+     * Esquece que o evento já foi visto, para que uma nova entrega dele (a republicação a partir
+     * da DLQ, ou a reentrega depois de uma falha) seja processada.
+     *
+     * @param identidade a de {@link EventoOrigem#identidade()}; {@code null} não faz nada.
+     */
+    public static void esquecer(String channel, String identidade) {
+        DUPLICADOS.esquecer(channel, identidade);
+    }
+
+    /**
+     * Processador do despachante de um pipeline: aplica as etapas comuns e chama o transformador.
+     */
+    public static Processador processadorPara(Transformador transformador) {
+        return (channel, message, idEntrega, aoConcluir) -> rotear(transformador, channel, message, idEntrega, aoConcluir);
+    }
+
+    /**
+     * @param aoConcluir repassado aos sinks junto com o evento; veja {@link Processador}.
+     */
+    private static void rotear(Transformador transformador, String channel, String message, String idEntrega,
+                               Runnable aoConcluir) {
+        // O payload só é formatado (e redigido) se a linha for gravada, e na thread de I/O dos logs
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Recebido do canal '{}': {}", channel, RedacaoPayload.de(message));
+        } else if (RedacaoPayload.amostrar()) {
+            LOG.info("Amostra do canal '{}': {}", channel, RedacaoPayload.de(message));
+        }
+        Metricas.contador("middleware.eventos.recebidos", "canal", channel).increment();
+
+        String identidade = FiltroDuplicados.identidade(message, idEntrega);
+        FiltroDuplicados.Entrada entrada = DUPLICADOS.entrar(channel, identidade, aoConcluir);
+        if (entrada.duplicado()) {
+            // Já confirmado pelo filtro, ou confirmado quando a primeira cópia terminar
+            Metricas.contador("middleware.eventos.duplicados", "canal", channel).increment();
+            LOG.debug("Evento repetido ignorado no canal '{}'", channel);
+            return;
+        }
+
+        EventoOrigem origem = new EventoOrigem(channel, message, identidade, entrada.aoConcluir());
+        try {
+            transformador.transformarEEnviar(origem);
+        } catch (RuntimeException e) {
+            // Evento que nem chegou a um sink (JSON inválido, por exemplo): guardado para análise
+            FilaMensagensMortas.instancia().enviar(origem, transformador.nome(), "falha no processamento: " + e.getMessage());
+            throw e;
+        }
+    }
+}
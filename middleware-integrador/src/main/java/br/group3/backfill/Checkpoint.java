@@ -0,0 +1,73 @@
+package br.group3.backfill;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Arquivo que registra os blocos já copiados, para que a {@link CopiaInicial} possa ser retomada.
+ * <p>A primeira linha guarda o tamanho do bloco ({@code bloco=10000}); cada linha seguinte, o ID
+ * inicial de um bloco concluído. As linhas são acrescentadas e forçadas ao disco à medida que os
+ * blocos terminam, em qualquer ordem. Retomar com outro tamanho de bloco não é permitido, porque
+ * os IDs iniciais deixariam de corresponder.</p>
+ */
+final class Checkpoint implements AutoCloseable {
+
+    private static final String PREFIXO_BLOCO = "bloco=";
+
+    private final Set<Long> concluidos = new HashSet<>();
+    private final FileChannel canal;
+
+    Checkpoint(Path arquivo, long tamanhoBloco) throws IOException {
+        boolean existia = Files.exists(arquivo);
+        this.canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (!existia) {
+            gravar(PREFIXO_BLOCO + tamanhoBloco);
+            return;
+        }
+
+        String conteudo = Files.readString(arquivo, StandardCharsets.UTF_8);
+        // Uma linha sem quebra no final é de uma escrita interrompida: é descartada e o bloco, copiado de novo
+        int fimCompleto = conteudo.lastIndexOf('\n') + 1;
+        canal.truncate(conteudo.substring(0, fimCompleto).getBytes(StandardCharsets.UTF_8).length);
+        List<String> linhas = conteudo.substring(0, fimCompleto).lines().toList();
+        if (linhas.isEmpty() || !linhas.get(0).equals(PREFIXO_BLOCO + tamanhoBloco)) {
+            canal.close();
+            throw new IllegalStateException("O checkpoint '" + arquivo + "' foi criado com outro tamanho de bloco ("
+                    + (linhas.isEmpty() ? "vazio" : linhas.get(0)) + "); apague-o ou use o mesmo backfill.bloco");
+        }
+        for (String linha : linhas.subList(1, linhas.size())) {
+            concluidos.add(Long.parseLong(linha));
+        }
+    }
+
+    boolean concluido(long inicioBloco) {
+        return concluidos.contains(inicioBloco);
+    }
+
+    int quantidadeConcluidos() {
+        return concluidos.size();
+    }
+
+    synchronized void registrar(long inicioBloco) throws IOException {
+        gravar(String.valueOf(inicioBloco));
+    }
+
+    private void gravar(String linha) throws IOException {
+        canal.position(canal.size());
+        canal.write(ByteBuffer.wrap((linha + "\n").getBytes(StandardCharsets.UTF_8)));
+        canal.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+}
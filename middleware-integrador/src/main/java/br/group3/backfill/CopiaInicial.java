@@ -0,0 +1,271 @@
+package br.group3.backfill;
+
+import br.group3.config.Configuracao;
+import br.group3.reconciliacao.DigestoPaciente;
+import br.group3.sinks.MongoSink;
+import br.group3.transformers.SqlToNosqlTransformer;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ferramenta de linha de comando que copia todos os pacientes do MySQL para o MongoDB, sem passar pelo Redis.
+ * <p>Uso: {@code java -cp ... br.group3.backfill.CopiaInicial}. O intervalo de {@code id_paciente} é
+ * dividido em blocos de {@code backfill.bloco} IDs, distribuídos entre {@code backfill.threads}
+ * threads. Cada thread tem sua conexão JDBC e lê o bloco em streaming (cursor no servidor, de
+ * {@code backfill.fetch} linhas por vez), gravando no MongoDB em {@code bulkWrite} não ordenados de
+ * {@code backfill.lote} upserts. {@code backfill.taxaMaxima} limita os documentos por segundo de
+ * todas as threads somadas (0, o padrão, não limita), para não disputar o banco com o tráfego normal.</p>
+ * <p>Os documentos têm o mesmo formato e a mesma chave ({@code idPaciente}) que os gravados pelo
+ * {@link SqlToNosqlTransformer}, inclusive o {@link DigestoPaciente#CAMPO} e a {@code versao} do
+ * paciente, então a cópia pode ser repetida sem duplicar nada. Ela também pode rodar com o
+ * middleware ligado: um documento só é substituído se ainda não tiver {@code versao} ou tiver uma
+ * mais antiga que a lida do MySQL. Se o pipeline gravou uma alteração depois que a cópia leu a
+ * linha, o documento dele fica. Um paciente removido durante a cópia ainda pode ser recriado por
+ * ela; o {@code Reconciliador} encontra esse caso. Os blocos concluídos vão para o arquivo
+ * {@code backfill.checkpoint}; se a cópia for interrompida, rodá-la de novo pula esses blocos.</p>
+ * <p>Conexões: {@code mysql.url}, {@code mysql.usuario} e {@code mysql.senha}, como no
+ * {@code Reconciliador}, e as chaves {@code mongo.*} do {@link MongoSink}.</p>
+ */
+public final class CopiaInicial {
+
+    private static final ReplaceOptions UPSERT = new ReplaceOptions().upsert(true);
+    private static final BulkWriteOptions NAO_ORDENADO = new BulkWriteOptions().ordered(false);
+    private static final String CAMPO_VERSAO = "versao";
+    private static final int CHAVE_DUPLICADA = 11000;
+
+    private final MongoCollection<Document> pacientes;
+    private final Checkpoint checkpoint;
+    private final LimitadorTaxa limitador;
+    private final int fetch;
+    private final int lote;
+
+    private final ConcurrentLinkedQueue<Long> blocos = new ConcurrentLinkedQueue<>();
+    private final long tamanhoBloco;
+    private final AtomicLong copiados = new AtomicLong();
+    private final AtomicLong mantidos = new AtomicLong();
+    private final AtomicInteger blocosConcluidos = new AtomicInteger();
+    private final AtomicInteger blocosComFalha = new AtomicInteger();
+
+    private CopiaInicial(MongoCollection<Document> pacientes, Checkpoint checkpoint, long tamanhoBloco) {
+        this.pacientes = pacientes;
+        this.checkpoint = checkpoint;
+        this.tamanhoBloco = tamanhoBloco;
+        this.limitador = new LimitadorTaxa(Configuracao.longo("backfill.taxaMaxima", 0));
+        this.fetch = Configuracao.inteiro("backfill.fetch", 5000);
+        this.lote = Configuracao.inteiro("backfill.lote", 1000);
+    }
+
+    public static void main(String[] args) throws Exception {
+        long tamanhoBloco = Configuracao.longo("backfill.bloco", 10_000);
+        int threads = Configuracao.inteiro("backfill.threads", 4);
+        Path arquivoCheckpoint = Path.of(Configuracao.texto("backfill.checkpoint", "backfill.checkpoint"));
+
+        // Mesmos índices únicos usados pelo pipeline: os upserts por idPaciente dependem deles
+        new SqlToNosqlTransformer().preparar();
+        MongoCollection<Document> pacientes = MongoSink.instancia()
+                .colecao(Configuracao.texto("mongo.colecao.pacientes", "pacientes"));
+
+        long[] limites;
+        try (Connection conexao = conectar()) {
+            limites = limites(conexao);
+        }
+        if (limites == null) {
+            System.out.println("Nenhum paciente no MySQL");
+            MongoSink.instancia().fechar();
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        int falhas;
+        try (Checkpoint checkpoint = new Checkpoint(arquivoCheckpoint, tamanhoBloco)) {
+            CopiaInicial copia = new CopiaInicial(pacientes, checkpoint, tamanhoBloco);
+            int total = copia.planejar(limites[0], limites[1]);
+            System.out.println("Copiando IDs " + limites[0] + " a " + limites[1] + ": " + total + " blocos de "
+                    + tamanhoBloco + " (" + checkpoint.quantidadeConcluidos() + " já concluídos), " + threads + " threads");
+            falhas = copia.executar(threads);
+        }
+        MongoSink.instancia().fechar();
+
+        long segundos = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - inicio));
+        System.out.println("Cópia encerrada em " + segundos + " s" + (falhas == 0
+                ? ""
+                : "; " + falhas + " blocos falharam e serão copiados na próxima execução"));
+        if (falhas > 0) {
+            System.exit(1);
+        }
+    }
+
+    private int planejar(long menorId, long maiorId) {
+        int total = 0;
+        for (long bloco = menorId - Math.floorMod(menorId, tamanhoBloco); bloco <= maiorId; bloco += tamanhoBloco) {
+            total++;
+            if (!checkpoint.concluido(bloco)) {
+                blocos.add(bloco);
+            }
+        }
+        return total;
+    }
+
+    private int executar(int threads) throws InterruptedException {
+        CountDownLatch fim = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            Thread.ofPlatform().name("backfill-" + i).start(() -> {
+                try {
+                    trabalhar();
+                } finally {
+                    fim.countDown();
+                }
+            });
+        }
+        long inicio = System.nanoTime();
+        int restantes = blocos.size();
+        boolean terminou;
+        do {
+            terminou = fim.await(5, TimeUnit.SECONDS);
+            long segundos = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - inicio));
+            System.out.println("  " + blocosConcluidos.get() + "/" + restantes + " blocos, " + copiados.get()
+                    + " pacientes (" + copiados.get() / segundos + "/s), " + mantidos.get()
+                    + " já mais novos no MongoDB");
+        } while (!terminou);
+        return blocosComFalha.get();
+    }
+
+    private void trabalhar() {
+        try (Connection conexao = conectar()) {
+            Long bloco;
+            while ((bloco = blocos.poll()) != null) {
+                try {
+                    copiarBloco(conexao, bloco, bloco + tamanhoBloco - 1);
+                    checkpoint.registrar(bloco);
+                    blocosConcluidos.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    // Fica fora do checkpoint: a próxima execução tenta o bloco de novo
+                    blocosComFalha.incrementAndGet();
+                    System.err.println("Falha ao copiar o bloco " + bloco + ": " + e.getMessage());
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Não foi possível conectar ao MySQL: " + e.getMessage());
+            blocosComFalha.addAndGet(blocos.size());
+            blocos.clear();
+        }
+    }
+
+    private void copiarBloco(Connection conexao, long primeiroId, long ultimoId) throws SQLException, InterruptedException {
+        String sql = "SELECT id_paciente, nome_completo, data_nascimento, cpf, endereco, telefone, versao"
+                + " FROM paciente WHERE id_paciente BETWEEN ? AND ?";
+        try (PreparedStatement ps = conexao.prepareStatement(sql)) {
+            ps.setFetchSize(fetch);
+            ps.setLong(1, primeiroId);
+            ps.setLong(2, ultimoId);
+            List<WriteModel<Document>> escritas = new ArrayList<>(lote);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Document paciente = documento(rs);
+                    escritas.add(new ReplaceOneModel<>(maisAntigo(paciente), paciente, UPSERT));
+                    if (escritas.size() >= lote) {
+                        gravar(escritas);
+                        escritas = new ArrayList<>(lote);
+                    }
+                }
+            }
+            if (!escritas.isEmpty()) {
+                gravar(escritas);
+            }
+        }
+    }
+
+    /**
+     * Filtro do upsert: o documento do paciente, desde que ainda sem versão ou com uma mais antiga.
+     * <p>Se o pipeline já gravou a mesma versão ou uma mais nova, o filtro não encontra nada, o upsert
+     * tenta inserir e o índice único de {@code idPaciente} recusa: a recusa é o "manter" esperado.</p>
+     */
+    private static Bson maisAntigo(Document paciente) {
+        Bson semVersao = Filters.exists(CAMPO_VERSAO, false);
+        Object versao = paciente.get(CAMPO_VERSAO);
+        return Filters.and(Filters.eq("idPaciente", paciente.get("idPaciente")),
+                versao == null ? semVersao : Filters.or(semVersao, Filters.lt(CAMPO_VERSAO, versao)));
+    }
+
+    private void gravar(List<WriteModel<Document>> escritas) throws InterruptedException {
+        limitador.adquirir(escritas.size());
+        int recusados = 0;
+        try {
+            pacientes.bulkWrite(escritas, NAO_ORDENADO);
+        } catch (MongoBulkWriteException e) {
+            // Chave duplicada é o documento mais novo do pipeline; qualquer outro erro falha o bloco
+            if (e.getWriteConcernError() != null) {
+                throw e;
+            }
+            for (BulkWriteError erro : e.getWriteErrors()) {
+                if (erro.getCode() != CHAVE_DUPLICADA) {
+                    throw e;
+                }
+            }
+            recusados = e.getWriteErrors().size();
+        }
+        copiados.addAndGet(escritas.size() - recusados);
+        mantidos.addAndGet(recusados);
+    }
+
+    // Mesmo formato do evento do outbox depois de passar pelo SqlToNosqlTransformer
+    private static Document documento(ResultSet rs) throws SQLException {
+        Document paciente = new Document("idPaciente", rs.getLong("id_paciente"))
+                .append("nomeCompleto", rs.getString("nome_completo"))
+                .append("dataNascimento", rs.getString("data_nascimento"))
+                .append("cpf", rs.getString("cpf"))
+                .append("endereco", rs.getString("endereco"))
+                .append("telefone", rs.getString("telefone"));
+        long versao = rs.getLong("versao");
+        if (!rs.wasNull()) {
+            paciente.append(CAMPO_VERSAO, versao);
+        }
+        paciente.append("entidade", "paciente");
+        paciente.append(DigestoPaciente.CAMPO, DigestoPaciente.crc(paciente));
+        return paciente;
+    }
+
+    private static long[] limites(Connection conexao) throws SQLException {
+        try (PreparedStatement ps = conexao.prepareStatement("SELECT MIN(id_paciente), MAX(id_paciente) FROM paciente");
+             ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            long menor = rs.getLong(1);
+            return rs.wasNull() ? null : new long[]{menor, rs.getLong(2)};
+        }
+    }
+
+    private static Connection conectar() throws SQLException {
+        Properties propriedades = new Properties();
+        propriedades.setProperty("user", Configuracao.texto("mysql.usuario", "myuser"));
+        propriedades.setProperty("password", Configuracao.texto("mysql.senha", "secret"));
+        // Sem isso o Connector/J ignora o fetch size e traz o bloco inteiro para a memória
+        propriedades.setProperty("useCursorFetch", "true");
+        return DriverManager.getConnection(Configuracao.texto("mysql.url", "jdbc:mysql://localhost:3306/mydatabase"), propriedades);
+    }
+}
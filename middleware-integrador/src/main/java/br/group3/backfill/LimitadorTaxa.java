@@ -0,0 +1,36 @@
+package br.group3.backfill;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita a vazão total de várias threads a {@code porSegundo} unidades por segundo.
+ * <p>Cada chamada a {@link #adquirir} reserva o próximo intervalo livre e espera até ele chegar,
+ * então os lotes ficam espaçados por igual em vez de saírem em rajadas no começo de cada segundo.
+ * Com taxa 0 não há limite.</p>
+ */
+final class LimitadorTaxa {
+
+    private final long nanosPorUnidade;
+    private long proximoLivre = System.nanoTime();
+
+    LimitadorTaxa(long porSegundo) {
+        this.nanosPorUnidade = porSegundo > 0 ? TimeUnit.SECONDS.toNanos(1) / porSegundo : 0;
+    }
+
+    void adquirir(int unidades) throws InterruptedException {
+        if (nanosPorUnidade == 0) {
+            return;
+        }
+        long espera;
+        synchronized (this) {
+            long agora = System.nanoTime();
+            // Tempo ocioso não vira crédito: depois de uma pausa a taxa volta ao normal, sem rajada
+            long inicio = Math.max(proximoLivre, agora);
+            proximoLivre = inicio + unidades * nanosPorUnidade;
+            espera = inicio - agora;
+        }
+        if (espera > 0) {
+            TimeUnit.NANOSECONDS.sleep(espera);
+        }
+    }
+}
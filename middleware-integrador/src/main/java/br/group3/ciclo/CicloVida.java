@@ -0,0 +1,159 @@
+package br.group3.ciclo;
+
+import br.group3.config.Configuracao;
+import br.group3.despacho.Drenagem;
+import org.apache.logging.log4j.LogManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Encerramento ordenado do middleware, disparado pelo gancho de desligamento da JVM (SIGTERM, Ctrl+C)
+ * ou pela thread principal quando a leitura do Redis termina por conta própria.
+ * <p>As etapas são agrupadas por {@link Fase} e, dentro de cada fase, rodam na ordem em que foram
+ * registradas. Todas dividem um único prazo, {@code desligamento.prazoMs}: cada etapa recebe o tempo
+ * que sobrou das anteriores, e as que chegam depois do prazo rodam com prazo zero (fecham o que
+ * puderem sem esperar). Uma etapa que falha é registrada e não impede as seguintes.</p>
+ * <p>O resumo final informa quantos eventos foram drenados e quantos foram abandonados. Os
+ * abandonados não foram concluídos e voltam pelo spool (pub/sub) ou pela lista de pendentes do
+ * grupo (streams) na próxima partida. Depois do resumo, o Log4j é encerrado.</p>
+ */
+public final class CicloVida {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CicloVida.class);
+
+    /**
+     * Ordem do encerramento.
+     */
+    public enum Fase {
+        /** Para de receber eventos: cancela as assinaturas ou o laço de leitura dos streams. */
+        PARAR_ENTRADA,
+        /** Termina o que já está nas filas e em execução, descarrega os lotes dos sinks e fecha os clientes. */
+        DRENAR,
+        /** Libera o que ainda precisa existir durante a drenagem: confirmações, DLQ, spool, métricas. */
+        FECHAR
+    }
+
+    @FunctionalInterface
+    public interface Etapa {
+
+        /**
+         * @param restante tempo que sobra do prazo total; pode ser zero.
+         */
+        void executar(Duration restante) throws Exception;
+    }
+
+    private record Registro(Fase fase, String nome, Etapa etapa) {
+    }
+
+    private final Duration prazo;
+    private final List<Registro> etapas = new ArrayList<>();
+    private final AtomicBoolean iniciado = new AtomicBoolean();
+    private final CountDownLatch concluido = new CountDownLatch(1);
+
+    private volatile Drenagem drenagem = Drenagem.VAZIA;
+
+    public CicloVida() {
+        this(Duration.ofMillis(Configuracao.longo("desligamento.prazoMs", 25_000)));
+    }
+
+    public CicloVida(Duration prazo) {
+        this.prazo = prazo;
+    }
+
+    public synchronized CicloVida registrar(Fase fase, String nome, Etapa etapa) {
+        if (iniciado.get()) {
+            throw new IllegalStateException("Encerramento já iniciado; etapa '" + nome + "' não registrada");
+        }
+        etapas.add(new Registro(fase, nome, etapa));
+        return this;
+    }
+
+    /**
+     * Registra, na fase {@link Fase#DRENAR}, uma etapa cujo resultado entra no resumo final.
+     */
+    public CicloVida registrarDrenagem(String nome, Function<Duration, Drenagem> etapa) {
+        return registrar(Fase.DRENAR, nome, restante -> {
+            Drenagem resultado = etapa.apply(restante);
+            synchronized (this) {
+                drenagem = drenagem.somar(resultado);
+            }
+        });
+    }
+
+    /**
+     * Instala o gancho de desligamento da JVM que chama {@link #encerrar()}.
+     */
+    public CicloVida instalarGancho() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::encerrar, "desligamento"));
+        return this;
+    }
+
+    /**
+     * Executa as etapas uma única vez. Quem chamar enquanto o encerramento está em andamento espera
+     * ele terminar.
+     */
+    public void encerrar() {
+        if (!iniciado.compareAndSet(false, true)) {
+            aguardar();
+            return;
+        }
+        long inicio = System.nanoTime();
+        long limite = inicio + prazo.toNanos();
+        LOG.info("Encerrando o middleware (prazo de {} ms)...", prazo.toMillis());
+
+        List<Registro> ordenadas;
+        synchronized (this) {
+            ordenadas = etapas.stream().sorted(Comparator.comparing(Registro::fase)).toList();
+        }
+        try {
+            for (Registro registro : ordenadas) {
+                executar(registro, limite);
+            }
+            long totalMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+            Drenagem resultado = drenagem;
+            LOG.info("Middleware encerrado em {} ms: {} eventos drenados, {} abandonados{}", totalMs,
+                    resultado.drenados(), resultado.abandonados(),
+                    resultado.abandonados() > 0 ? " (serão reentregues na próxima partida)" : "");
+            if (System.nanoTime() > limite) {
+                LOG.warn("O encerramento passou do prazo de {} ms; aumente desligamento.prazoMs ou o tempo de espera"
+                        + " do orquestrador", prazo.toMillis());
+            }
+        } finally {
+            // Os loggers são assíncronos e o gancho próprio do Log4j está desligado: esvazia o ring buffer
+            // depois do resumo, para que as últimas linhas não se percam
+            LogManager.shutdown();
+            concluido.countDown();
+        }
+    }
+
+    private static void executar(Registro registro, long limite) {
+        long inicio = System.nanoTime();
+        try {
+            registro.etapa().executar(Duration.ofNanos(Math.max(0, limite - inicio)));
+            LOG.info("Etapa '{}' concluída em {} ms", registro.nome(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Etapa '{}' interrompida", registro.nome());
+        } catch (Exception e) {
+            LOG.error("Erro na etapa '{}' do encerramento", registro.nome(), e);
+        }
+    }
+
+    private void aguardar() {
+        try {
+            concluido.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package br.group3.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Leitura centralizada das configurações do middleware.
+ * <p>Cada chave é procurada primeiro nas propriedades de sistema ({@code -Dchave=valor})
+ * e depois nas variáveis de ambiente, com a chave em maiúsculas e os pontos trocados
+ * por sublinhado ({@code mongo.uri} vira {@code MONGO_URI}). Se nenhuma das duas
+ * estiver definida, o valor padrão informado é usado.</p>
+ */
+public final class Configuracao {
+
+    private static final Logger LOG = LoggerFactory.getLogger(Configuracao.class);
+
+    private Configuracao() {
+    }
+
+    public static String texto(String chave, String padrao) {
+        String valor = System.getProperty(chave);
+        if (valor == null || valor.isBlank()) {
+            valor = System.getenv(chave.toUpperCase().replace('.', '_').replace('-', '_'));
+        }
+        return (valor == null || valor.isBlank()) ? padrao : valor.trim();
+    }
+
+    public static int inteiro(String chave, int padrao) {
+        String valor = texto(chave, null);
+        if (valor == null) {
+            return padrao;
+        }
+        try {
+            return Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            LOG.warn("Valor inválido para '{}': {}. Usando {}", chave, valor, padrao);
+            return padrao;
+        }
+    }
+
+    public static long longo(String chave, long padrao) {
+        String valor = texto(chave, null);
+        if (valor == null) {
+            return padrao;
+        }
+        try {
+            return Long.parseLong(valor);
+        } catch (NumberFormatException e) {
+            LOG.warn("Valor inválido para '{}': {}. Usando {}", chave, valor, padrao);
+            return padrao;
+        }
+    }
+}
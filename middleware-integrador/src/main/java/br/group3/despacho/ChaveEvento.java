@@ -0,0 +1,87 @@
+package br.group3.despacho;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+/**
+ * Extrai do payload a chave da entidade que o evento altera.
+ * <p>A chave é o tipo da entidade mais o seu ID, que nunca muda: {@code paciente:12},
+ * {@code medico:5}, {@code consulta:3}. O tipo vem do campo {@code entidade} (publicado pelo
+ * outbox do sistema 2) ou, na falta dele, do ID presente: {@code idConsulta} e
+ * {@code idProntuario} têm prioridade, porque esses eventos também trazem o paciente e o médico.
+ * {@code cpf} e {@code crm} só são usados quando não há ID: podem ser alterados, e a alteração
+ * mudaria a faixa do evento.</p>
+ * <p>A leitura é feita em streaming, no primeiro nível do JSON, e ignora os demais campos sem
+ * montar nenhum objeto.</p>
+ */
+public final class ChaveEvento {
+
+    private ChaveEvento() {
+    }
+
+    /**
+     * @return a chave encontrada, ou {@code null} se o evento não tiver nenhum identificador
+     * ou não for um objeto JSON válido.
+     */
+    public static String extrair(String mensagem) {
+        String entidade = null;
+        String idConsulta = null;
+        String idProntuario = null;
+        String idPaciente = null;
+        String idMedico = null;
+        String cpf = null;
+        String crm = null;
+        try (JsonReader reader = new JsonReader(new StringReader(mensagem))) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                return null;
+            }
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String campo = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.skipValue();
+                    continue;
+                }
+                switch (campo) {
+                    case "entidade" -> entidade = reader.nextString();
+                    case "idConsulta" -> idConsulta = reader.nextString();
+                    case "idProntuario" -> idProntuario = reader.nextString();
+                    case "idPaciente" -> idPaciente = reader.nextString();
+                    case "idMedico" -> idMedico = reader.nextString();
+                    case "cpf" -> cpf = reader.nextString();
+                    case "crm" -> crm = reader.nextString();
+                    default -> reader.skipValue();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            return null;
+        }
+
+        if ("medico".equals(entidade)) {
+            return chave("medico", idMedico, "crm", crm);
+        }
+        if ("paciente".equals(entidade)) {
+            return chave("paciente", idPaciente, "cpf", cpf);
+        }
+        if (idConsulta != null) {
+            return "consulta:" + idConsulta;
+        }
+        if (idProntuario != null) {
+            return "prontuario:" + idProntuario;
+        }
+        if (idPaciente != null || cpf != null) {
+            return chave("paciente", idPaciente, "cpf", cpf);
+        }
+        return chave("medico", idMedico, "crm", crm);
+    }
+
+    private static String chave(String entidade, String id, String campoAlternativo, String alternativo) {
+        if (id != null) {
+            return entidade + ":" + id;
+        }
+        return alternativo == null ? null : entidade + ":" + campoAlternativo + ":" + alternativo;
+    }
+}
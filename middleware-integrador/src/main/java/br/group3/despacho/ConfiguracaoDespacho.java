@@ -0,0 +1,34 @@
+package br.group3.despacho;
+
+import br.group3.config.Configuracao;
+
+/**
+ * Configurações do despachante de um pipeline.
+ * <p>Procura primeiro {@code pipeline.<nome>.despacho.<chave>} e depois a chave global
+ * {@code despacho.<chave>}, para que cada pipeline possa ter concorrência e filas próprias.</p>
+ */
+final class ConfiguracaoDespacho {
+
+    private final String pipeline;
+
+    ConfiguracaoDespacho(String pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    String texto(String chave, String padrao) {
+        String global = Configuracao.texto("despacho." + chave, padrao);
+        return pipeline == null ? global : Configuracao.texto("pipeline." + pipeline + ".despacho." + chave, global);
+    }
+
+    int inteiro(String chave, int padrao) {
+        int global = Configuracao.inteiro("despacho." + chave, padrao);
+        return pipeline == null ? global : Configuracao.inteiro("pipeline." + pipeline + ".despacho." + chave, global);
+    }
+
+    /**
+     * Valor da tag {@code pipeline} nas métricas e sufixo dos nomes de thread.
+     */
+    String rotulo() {
+        return pipeline == null ? "padrao" : pipeline;
+    }
+}
@@ -0,0 +1,67 @@
+package br.group3.despacho;
+
+import java.time.Duration;
+
+/**
+ * Camada que separa a leitura dos eventos do Redis do trabalho de transformação.
+ * <p>A thread que lê o Redis apenas chama {@link #submeter}; a transformação e o I/O
+ * acontecem em outras threads. Quando a fila interna está cheia, {@code submeter}
+ * bloqueia, aplicando contrapressão na leitura.</p>
+ */
+public interface Despachante {
+
+    /**
+     * Entrega um evento para processamento assíncrono.
+     *
+     * @param canal      canal (ou stream) de origem do evento.
+     * @param mensagem   conteúdo do evento.
+     * @param idEntrega  ID da entrega na origem (a entrada do Redis Stream); {@code null} quando não houver.
+     * @param aoConcluir chamado quando o evento estiver gravado no destino ou na DLQ (veja {@link Processador});
+     *                   pode ser {@code null}. Se o processador lançar exceção, não é chamado.
+     */
+    void submeter(String canal, String mensagem, String idEntrega, Runnable aoConcluir);
+
+    default void submeter(String canal, String mensagem, Runnable aoConcluir) {
+        submeter(canal, mensagem, null, aoConcluir);
+    }
+
+    default void submeter(String canal, String mensagem) {
+        submeter(canal, mensagem, null);
+    }
+
+    /**
+     * Quantidade de eventos aguardando na fila neste momento.
+     */
+    int profundidadeFila();
+
+    /**
+     * Tempo médio, em milissegundos, que os eventos passaram na fila antes de começarem a ser processados.
+     */
+    double tempoEsperaMedioMs();
+
+    /**
+     * Maior tempo de espera na fila observado, em milissegundos.
+     */
+    double tempoEsperaMaximoMs();
+
+    /**
+     * Eventos submetidos que ainda não terminaram de ser processados, na fila ou em execução.
+     */
+    long emAndamento();
+
+    /**
+     * Para de aceitar eventos e aguarda o processamento do que já foi submetido, por até 30 segundos.
+     */
+    default void fechar() {
+        fechar(Duration.ofSeconds(30));
+    }
+
+    /**
+     * Para de aceitar eventos e aguarda o processamento do que já foi submetido até o fim do prazo.
+     * O que continuar na fila depois disso é descartado sem chamar {@code aoConcluir}; eventos já em
+     * execução não são interrompidos, mas contam como abandonados.
+     *
+     * @return quantos eventos terminaram dentro do prazo e quantos foram abandonados.
+     */
+    Drenagem fechar(Duration prazo);
+}
@@ -0,0 +1,253 @@
+package br.group3.despacho;
+
+import br.group3.metricas.Metricas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link Despachante} que preserva a ordem dos eventos de uma mesma entidade.
+ * <p>Os eventos são distribuídos entre {@code despacho.faixas} faixas (padrão: número de
+ * processadores). Cada faixa tem sua própria fila limitada e uma única thread, então os
+ * eventos de uma faixa são processados na ordem em que chegaram. A faixa é escolhida pelo
+ * hash da chave do evento ({@link ChaveEvento}): duas alterações do mesmo paciente caem
+ * sempre na mesma faixa, enquanto pacientes diferentes são processados em paralelo.
+ * Eventos sem chave são distribuídos em rodízio.</p>
+ * <p>O desequilíbrio entre as faixas (maior volume dividido pela média) pode ser consultado
+ * em {@link #desequilibrio()}; quando passa de {@code despacho.desequilibrio.alerta}
+ * um aviso é registrado.</p>
+ */
+public class DespachanteParticionado implements Despachante {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DespachanteParticionado.class);
+
+    private record Tarefa(String canal, String mensagem, String idEntrega, Runnable aoConcluir, long enfileiradaEm) {
+    }
+
+    private static final Tarefa FIM = new Tarefa(null, null, null, null, 0);
+    private static final Runnable NADA = () -> { };
+    private static final int INTERVALO_VERIFICACAO = 10_000;
+
+    private final Processador processador;
+    private final BlockingQueue<Tarefa>[] filas;
+    private final LongAdder[] submetidas;
+    private final Thread[] threads;
+    private final double limiteDesequilibrio;
+
+    private final AtomicInteger rodizio = new AtomicInteger();
+    private final LongAdder totalSubmetidas = new LongAdder();
+    private final LongAdder esperaTotalNs = new LongAdder();
+    private final LongAdder iniciadas = new LongAdder();
+    private final LongAdder finalizadas = new LongAdder();
+    private final AtomicLong esperaMaximaNs = new AtomicLong();
+
+    private volatile boolean aceitando = true;
+
+    public DespachanteParticionado(Processador processador) {
+        this(processador, null);
+    }
+
+    /**
+     * @param pipeline nome do pipeline, para ler {@code pipeline.<nome>.despacho.*}; {@code null} usa só as chaves globais.
+     */
+    public DespachanteParticionado(Processador processador, String pipeline) {
+        this.processador = processador;
+        ConfiguracaoDespacho config = new ConfiguracaoDespacho(pipeline);
+        int faixas = Math.max(1, config.inteiro("faixas", Runtime.getRuntime().availableProcessors()));
+        int capacidadePorFaixa = Math.max(1, config.inteiro("fila.capacidade", 10_000) / faixas);
+        this.limiteDesequilibrio = Double.parseDouble(config.texto("desequilibrio.alerta", "2.0"));
+
+        this.filas = novasFilas(faixas);
+        this.submetidas = new LongAdder[faixas];
+        this.threads = new Thread[faixas];
+        for (int i = 0; i < faixas; i++) {
+            BlockingQueue<Tarefa> fila = new ArrayBlockingQueue<>(capacidadePorFaixa);
+            filas[i] = fila;
+            submetidas[i] = new LongAdder();
+            threads[i] = Thread.ofVirtual().name("despacho-" + config.rotulo() + "-faixa-" + i).start(() -> consumir(fila));
+            Metricas.medidor("middleware.despacho.faixa.fila", fila, BlockingQueue::size,
+                    "pipeline", config.rotulo(), "faixa", String.valueOf(i));
+        }
+    }
+
+    // Java não cria arrays de tipo genérico: o array nasce com curinga e só recebe filas de Tarefa
+    @SuppressWarnings("unchecked")
+    private static BlockingQueue<Tarefa>[] novasFilas(int faixas) {
+        return (BlockingQueue<Tarefa>[]) new BlockingQueue<?>[faixas];
+    }
+
+    @Override
+    public void submeter(String canal, String mensagem, String idEntrega, Runnable aoConcluir) {
+        if (!aceitando) {
+            throw new IllegalStateException("Despachante encerrado");
+        }
+        int faixa = faixa(ChaveEvento.extrair(mensagem));
+        try {
+            // put bloqueia enquanto a fila da faixa estiver cheia: é a contrapressão sobre quem lê o Redis
+            filas[faixa].put(new Tarefa(canal, mensagem, idEntrega, aoConcluir, System.nanoTime()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido ao enfileirar evento do canal " + canal, e);
+        }
+        submetidas[faixa].increment();
+        totalSubmetidas.increment();
+        if (totalSubmetidas.sum() % INTERVALO_VERIFICACAO == 0) {
+            verificarDesequilibrio();
+        }
+    }
+
+    int faixa(String chave) {
+        if (chave == null) {
+            return Math.floorMod(rodizio.getAndIncrement(), filas.length);
+        }
+        // Espalha os bits altos do hash, como o HashMap faz, antes de reduzir ao número de faixas
+        int h = chave.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), filas.length);
+    }
+
+    private void consumir(BlockingQueue<Tarefa> fila) {
+        try {
+            while (true) {
+                Tarefa tarefa = fila.take();
+                if (tarefa == FIM) {
+                    return;
+                }
+                long espera = System.nanoTime() - tarefa.enfileiradaEm();
+                esperaTotalNs.add(espera);
+                iniciadas.increment();
+                esperaMaximaNs.accumulateAndGet(espera, Math::max);
+                executar(tarefa);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void executar(Tarefa tarefa) {
+        try {
+            processador.processar(tarefa.canal(), tarefa.mensagem(), tarefa.idEntrega(),
+                    tarefa.aoConcluir() == null ? NADA : tarefa.aoConcluir());
+        } catch (Exception e) {
+            Metricas.contador("middleware.eventos.falhas", "canal", tarefa.canal()).increment();
+            LOG.error("Erro ao processar evento do canal '{}': {}", tarefa.canal(), e.getMessage());
+            // Sem chamar aoConcluir: o evento continua pendente e é reentregue (XAUTOCLAIM ou spool)
+        } finally {
+            finalizadas.increment();
+        }
+    }
+
+    private void verificarDesequilibrio() {
+        double desequilibrio = desequilibrio();
+        if (desequilibrio > limiteDesequilibrio) {
+            LOG.warn("Faixas de processamento desequilibradas: a mais carregada recebeu {}x a média",
+                    String.format("%.2f", desequilibrio));
+        }
+    }
+
+    /**
+     * Número de faixas de processamento.
+     */
+    public int faixas() {
+        return filas.length;
+    }
+
+    /**
+     * Eventos aguardando na fila de uma faixa específica.
+     */
+    public int profundidadeFila(int faixa) {
+        return filas[faixa].size();
+    }
+
+    /**
+     * Total de eventos já submetidos a uma faixa específica.
+     */
+    public long submetidas(int faixa) {
+        return submetidas[faixa].sum();
+    }
+
+    /**
+     * Razão entre o volume da faixa mais carregada e a média das faixas; 1.0 indica distribuição perfeita.
+     */
+    public double desequilibrio() {
+        long total = 0;
+        long maximo = 0;
+        for (LongAdder contador : submetidas) {
+            long valor = contador.sum();
+            total += valor;
+            maximo = Math.max(maximo, valor);
+        }
+        return total == 0 ? 1.0 : maximo / ((double) total / filas.length);
+    }
+
+    @Override
+    public int profundidadeFila() {
+        int total = 0;
+        for (BlockingQueue<Tarefa> fila : filas) {
+            total += fila.size();
+        }
+        return total;
+    }
+
+    @Override
+    public double tempoEsperaMedioMs() {
+        long total = iniciadas.sum();
+        return total == 0 ? 0 : esperaTotalNs.sum() / (total * 1_000_000.0);
+    }
+
+    @Override
+    public double tempoEsperaMaximoMs() {
+        return esperaMaximaNs.get() / 1_000_000.0;
+    }
+
+    @Override
+    public long emAndamento() {
+        return Math.max(0, totalSubmetidas.sum() - finalizadas.sum());
+    }
+
+    @Override
+    public synchronized Drenagem fechar(Duration prazo) {
+        if (!aceitando) {
+            return Drenagem.VAZIA;
+        }
+        aceitando = false;
+        long limite = System.nanoTime() + prazo.toNanos();
+        long antes = emAndamento();
+        try {
+            for (BlockingQueue<Tarefa> fila : filas) {
+                // Com a fila cheia, o FIM só entra quando a faixa consumir algo: a espera também conta no prazo
+                if (!fila.offer(FIM, Math.max(0, limite - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    break;
+                }
+            }
+            for (Thread thread : threads) {
+                thread.join(Duration.ofNanos(Math.max(1, limite - System.nanoTime())));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        descartarFilas();
+        return Drenagem.entre(antes, emAndamento());
+    }
+
+    /**
+     * Esvazia as filas das faixas que não terminaram no prazo. A tarefa em execução não é interrompida
+     * (interromper uma escrita em andamento pode fechar canais compartilhados), mas a thread da faixa
+     * sai logo depois dela.
+     */
+    private void descartarFilas() {
+        for (BlockingQueue<Tarefa> fila : filas) {
+            // Os eventos descartados continuam contando em emAndamento: nunca terminaram
+            fila.clear();
+            if (!fila.offer(FIM)) {
+                LOG.warn("Não foi possível sinalizar o fim de uma faixa de despacho");
+            }
+        }
+    }
+}
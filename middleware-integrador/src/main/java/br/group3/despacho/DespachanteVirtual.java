@@ -0,0 +1,163 @@
+package br.group3.despacho;
+
+import br.group3.metricas.Metricas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link Despachante} que processa cada evento em uma thread virtual própria.
+ * <p>Os eventos entram em uma fila limitada ({@code despacho.fila.capacidade}); uma thread
+ * de alimentação retira da fila e inicia uma thread virtual por evento, respeitando o
+ * máximo de eventos simultâneos ({@code despacho.concorrencia}). Não há garantia de ordem
+ * entre eventos.</p>
+ */
+public class DespachanteVirtual implements Despachante {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DespachanteVirtual.class);
+
+    private record Tarefa(String canal, String mensagem, String idEntrega, Runnable aoConcluir, long enfileiradaEm) {
+    }
+
+    private static final Tarefa FIM = new Tarefa(null, null, null, null, 0);
+    private static final Runnable NADA = () -> { };
+
+    private final Processador processador;
+    private final BlockingQueue<Tarefa> fila;
+    private final Semaphore vagas;
+    private final ExecutorService virtuais = Executors.newVirtualThreadPerTaskExecutor();
+    private final Thread alimentador;
+
+    private final LongAdder esperaTotalNs = new LongAdder();
+    private final LongAdder iniciadas = new LongAdder();
+    private final LongAdder submetidas = new LongAdder();
+    private final LongAdder finalizadas = new LongAdder();
+    private final AtomicLong esperaMaximaNs = new AtomicLong();
+
+    private volatile boolean aceitando = true;
+
+    public DespachanteVirtual(Processador processador) {
+        this(processador, null);
+    }
+
+    /**
+     * @param pipeline nome do pipeline, para ler {@code pipeline.<nome>.despacho.*}; {@code null} usa só as chaves globais.
+     */
+    public DespachanteVirtual(Processador processador, String pipeline) {
+        this.processador = processador;
+        ConfiguracaoDespacho config = new ConfiguracaoDespacho(pipeline);
+        this.fila = new ArrayBlockingQueue<>(config.inteiro("fila.capacidade", 10_000));
+        this.vagas = new Semaphore(config.inteiro("concorrencia", 256));
+        this.alimentador = Thread.ofPlatform().name("despacho-" + config.rotulo() + "-alimentador").daemon(true)
+                .start(this::alimentar);
+    }
+
+    @Override
+    public void submeter(String canal, String mensagem, String idEntrega, Runnable aoConcluir) {
+        if (!aceitando) {
+            throw new IllegalStateException("Despachante encerrado");
+        }
+        Tarefa tarefa = new Tarefa(canal, mensagem, idEntrega, aoConcluir, System.nanoTime());
+        try {
+            // put bloqueia enquanto a fila estiver cheia: é a contrapressão sobre quem lê o Redis
+            fila.put(tarefa);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido ao enfileirar evento do canal " + canal, e);
+        }
+        submetidas.increment();
+    }
+
+    private void alimentar() {
+        try {
+            while (true) {
+                Tarefa tarefa = fila.take();
+                if (tarefa == FIM) {
+                    return;
+                }
+                vagas.acquire();
+                long espera = System.nanoTime() - tarefa.enfileiradaEm();
+                esperaTotalNs.add(espera);
+                iniciadas.increment();
+                esperaMaximaNs.accumulateAndGet(espera, Math::max);
+                try {
+                    virtuais.execute(() -> executar(tarefa));
+                } catch (RejectedExecutionException e) {
+                    // Encerramento que estourou o prazo: a tarefa fica como abandonada
+                    vagas.release();
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void executar(Tarefa tarefa) {
+        try {
+            processador.processar(tarefa.canal(), tarefa.mensagem(), tarefa.idEntrega(),
+                    tarefa.aoConcluir() == null ? NADA : tarefa.aoConcluir());
+        } catch (Exception e) {
+            Metricas.contador("middleware.eventos.falhas", "canal", tarefa.canal()).increment();
+            LOG.error("Erro ao processar evento do canal '{}': {}", tarefa.canal(), e.getMessage());
+            // Sem chamar aoConcluir: o evento continua pendente e é reentregue (XAUTOCLAIM ou spool)
+        } finally {
+            finalizadas.increment();
+            vagas.release();
+        }
+    }
+
+    @Override
+    public int profundidadeFila() {
+        return fila.size();
+    }
+
+    @Override
+    public double tempoEsperaMedioMs() {
+        long total = iniciadas.sum();
+        return total == 0 ? 0 : esperaTotalNs.sum() / (total * 1_000_000.0);
+    }
+
+    @Override
+    public double tempoEsperaMaximoMs() {
+        return esperaMaximaNs.get() / 1_000_000.0;
+    }
+
+    @Override
+    public long emAndamento() {
+        return Math.max(0, submetidas.sum() - finalizadas.sum());
+    }
+
+    @Override
+    public synchronized Drenagem fechar(Duration prazo) {
+        if (!aceitando) {
+            return Drenagem.VAZIA;
+        }
+        aceitando = false;
+        long limite = System.nanoTime() + prazo.toNanos();
+        long antes = emAndamento();
+        try {
+            if (!fila.offer(FIM, Math.max(0, limite - System.nanoTime()), TimeUnit.NANOSECONDS)
+                    || !alimentador.join(Duration.ofNanos(Math.max(1, limite - System.nanoTime())))) {
+                // O alimentador só espera na fila ou por uma vaga: interrompê-lo não afeta nenhuma escrita
+                fila.clear();
+                alimentador.interrupt();
+            }
+            virtuais.shutdown();
+            virtuais.awaitTermination(Math.max(0, limite - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Drenagem.entre(antes, emAndamento());
+    }
+}
@@ -0,0 +1,24 @@
+package br.group3.despacho;
+
+/**
+ * Resultado do encerramento de um {@link Despachante}.
+ * <p>{@code drenados} são os eventos que estavam na fila ou em execução quando a entrada parou e
+ * terminaram dentro do prazo; {@code abandonados}, os que ainda estavam lá quando o prazo acabou.
+ * Os abandonados não tiveram {@code aoConcluir} chamado, então continuam no spool (pub/sub) ou na
+ * lista de pendentes do grupo (streams) e são reentregues na próxima partida.</p>
+ */
+public record Drenagem(long drenados, long abandonados) {
+
+    public static final Drenagem VAZIA = new Drenagem(0, 0);
+
+    /**
+     * Monta o resultado a partir dos eventos em andamento no início e no fim da drenagem.
+     */
+    static Drenagem entre(long emAndamentoAntes, long emAndamentoDepois) {
+        return new Drenagem(Math.max(0, emAndamentoAntes - emAndamentoDepois), emAndamentoDepois);
+    }
+
+    public Drenagem somar(Drenagem outra) {
+        return new Drenagem(drenados + outra.drenados, abandonados + outra.abandonados);
+    }
+}
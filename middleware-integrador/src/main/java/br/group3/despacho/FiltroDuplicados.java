@@ -0,0 +1,177 @@
+package br.group3.despacho;
+
+import br.group3.config.Configuracao;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Descarta reentregas de um evento que já foi concluído.
+ * <p>O evento é reconhecido pela sua identidade, nunca pelo conteúdo: o campo {@code idEvento} do
+ * payload (gravado pelo outbox do sistema 2) ou, na falta dele, o ID da entrada no Redis Stream.
+ * Eventos sem nenhum dos dois (o pub/sub do sistema 1) não passam pelo filtro, já que duas
+ * alterações legítimas podem ter o mesmo conteúdo (A, B e A de novo).</p>
+ * <p>A identidade só vai para o LRU de concluídos (limitado a {@code dedupe.capacidade}) quando o
+ * evento termina. Enquanto a primeira cópia está em andamento, uma reentrega não é processada nem
+ * confirmada: sua confirmação espera a da primeira. Se a primeira cópia for abandonada
+ * ({@link #esquecer}), as reentregas seguintes voltam a ser processadas; uma cópia que passe de
+ * {@code dedupe.emAndamento.prazoMs} sem terminar também é dada como perdida. Com capacidade zero o
+ * filtro fica desligado.</p>
+ */
+public class FiltroDuplicados {
+
+    /**
+     * Resultado de {@link #entrar}.
+     *
+     * @param aoConcluir o que o processamento deve chamar ao terminar, ou {@code null} se o evento é uma
+     *                   reentrega e não deve ser processado.
+     */
+    public record Entrada(Runnable aoConcluir) {
+
+        public boolean duplicado() {
+            return aoConcluir == null;
+        }
+    }
+
+    private static final class EmAndamento {
+        private final long desde = System.nanoTime();
+        private final List<Runnable> aguardando = new ArrayList<>();
+    }
+
+    private static final Entrada DUPLICADO = new Entrada(null);
+
+    private final int capacidade;
+    private final long prazoEmAndamentoNs;
+    private final Map<String, Boolean> concluidos;
+    private final Map<String, EmAndamento> emAndamento = new HashMap<>();
+
+    public FiltroDuplicados() {
+        this(Configuracao.inteiro("dedupe.capacidade", 100_000), Configuracao.longo("dedupe.emAndamento.prazoMs", 300_000));
+    }
+
+    public FiltroDuplicados(int capacidade, long prazoEmAndamentoMs) {
+        this.capacidade = capacidade;
+        this.prazoEmAndamentoNs = prazoEmAndamentoMs * 1_000_000;
+        // accessOrder = true: um evento visto de novo volta para o fim e demora mais a ser descartado
+        this.concluidos = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> maisAntigo) {
+                return size() > FiltroDuplicados.this.capacidade;
+            }
+        };
+    }
+
+    /**
+     * Identidade do evento: o {@code idEvento} do payload ou, na falta dele, o ID da entrega.
+     *
+     * @param idEntrega ID da entrada no Redis Stream; {@code null} no pub/sub.
+     * @return a identidade, ou {@code null} se o evento não tiver nenhuma.
+     */
+    public static String identidade(String mensagem, String idEntrega) {
+        String idEvento = idEvento(mensagem);
+        if (idEvento != null) {
+            return "evento:" + idEvento;
+        }
+        return idEntrega == null ? null : "entrega:" + idEntrega;
+    }
+
+    /**
+     * Registra o início do processamento do evento.
+     * <p>Se o evento é novo, devolve {@code aoConcluir} embrulhado: ao ser chamado, grava a
+     * identidade como concluída e libera as reentregas que ficaram esperando. Se já foi concluído,
+     * confirma a reentrega na hora; se ainda está em andamento, guarda a confirmação dela para
+     * quando a primeira cópia terminar. Nos dois casos devolve uma entrada duplicada.</p>
+     *
+     * @param identidade veja {@link #identidade}; {@code null} desliga o filtro para o evento.
+     */
+    public Entrada entrar(String canal, String identidade, Runnable aoConcluir) {
+        if (capacidade <= 0 || identidade == null) {
+            return new Entrada(aoConcluir);
+        }
+        String chave = chave(canal, identidade);
+        synchronized (this) {
+            EmAndamento andamento = emAndamento.get(chave);
+            if (andamento != null && System.nanoTime() - andamento.desde < prazoEmAndamentoNs) {
+                andamento.aguardando.add(aoConcluir);
+                return DUPLICADO;
+            }
+            if (andamento == null && concluidos.get(chave) != null) {
+                aoConcluir.run();
+                return DUPLICADO;
+            }
+            // Nova, ou a cópia anterior passou do prazo e é dada como perdida: as reentregas dela seguem esta
+            EmAndamento novo = new EmAndamento();
+            if (andamento != null) {
+                novo.aguardando.addAll(andamento.aguardando);
+            }
+            emAndamento.put(chave, novo);
+        }
+        return new Entrada(() -> {
+            concluir(chave);
+            aoConcluir.run();
+        });
+    }
+
+    /**
+     * Remove o evento do filtro, em andamento ou concluído, para que a próxima entrega dele seja
+     * processada. As reentregas que esperavam por ele não são confirmadas e voltam a ser entregues.
+     */
+    public void esquecer(String canal, String identidade) {
+        if (capacidade <= 0 || identidade == null) {
+            return;
+        }
+        String chave = chave(canal, identidade);
+        synchronized (this) {
+            emAndamento.remove(chave);
+            concluidos.remove(chave);
+        }
+    }
+
+    /**
+     * Quantidade de identidades guardadas no momento, concluídas e em andamento.
+     */
+    public synchronized int tamanho() {
+        return concluidos.size() + emAndamento.size();
+    }
+
+    private void concluir(String chave) {
+        EmAndamento andamento;
+        synchronized (this) {
+            andamento = emAndamento.remove(chave);
+            concluidos.put(chave, Boolean.TRUE);
+        }
+        if (andamento != null) {
+            // Fora do lock: as confirmações só enfileiram, mas não há por que segurar as outras faixas
+            andamento.aguardando.forEach(Runnable::run);
+        }
+    }
+
+    private static String chave(String canal, String identidade) {
+        return canal + '\u0000' + identidade;
+    }
+
+    private static String idEvento(String mensagem) {
+        try (JsonReader reader = new JsonReader(new StringReader(mensagem))) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                return null;
+            }
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if ("idEvento".equals(reader.nextName()) && reader.peek() != JsonToken.NULL) {
+                    return reader.nextString();
+                }
+                reader.skipValue();
+            }
+        } catch (IOException | IllegalStateException e) {
+            return null;
+        }
+        return null;
+    }
+}
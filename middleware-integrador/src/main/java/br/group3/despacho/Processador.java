@@ -0,0 +1,22 @@
+package br.group3.despacho;
+
+/**
+ * Trabalho executado pelo {@link Despachante} para cada evento.
+ * <p>A escrita nos destinos é assíncrona (os sinks acumulam lotes), então terminar
+ * {@link #processar} não quer dizer que o evento foi gravado. Por isso o processador recebe
+ * {@code aoConcluir} e deve chamá-lo quando o evento estiver gravado no destino, na DLQ, ou
+ * quando for descartado de propósito (um duplicado, por exemplo).</p>
+ */
+@FunctionalInterface
+public interface Processador {
+
+    /**
+     * @param idEntrega ID da entrega na origem (a entrada do Redis Stream), que identifica uma
+     *                  reentrega do mesmo evento; {@code null} quando a origem não tem um.
+     */
+    void processar(String canal, String mensagem, String idEntrega, Runnable aoConcluir);
+
+    default void processar(String canal, String mensagem, Runnable aoConcluir) {
+        processar(canal, mensagem, null, aoConcluir);
+    }
+}
@@ -0,0 +1,251 @@
+package br.group3.ingestao;
+
+import br.group3.config.Configuracao;
+import br.group3.despacho.Despachante;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.StreamEntryID;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.params.XAutoClaimParams;
+import redis.clients.jedis.params.XReadGroupParams;
+import redis.clients.jedis.resps.StreamEntry;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Modo de ingestão baseado em Redis Streams com grupo de consumidores.
+ * <p>Diferente do pub/sub, os eventos ficam gravados no stream até serem confirmados
+ * com {@code XACK}, então nada se perde enquanto o middleware está parado ou lento.
+ * Várias instâncias podem usar o mesmo grupo: o Redis entrega cada entrada a apenas
+ * um consumidor.</p>
+ * <ul>
+ *     <li>Na partida, as entradas que este consumidor leu e não confirmou são reprocessadas.</li>
+ *     <li>Periodicamente, {@code XAUTOCLAIM} assume entradas paradas há mais de
+ *     {@code streams.claim.ociosoMs} em consumidores que morreram.</li>
+ *     <li>Cada entrada só é confirmada depois que o {@link Despachante} termina de processá-la;
+ *     as confirmações são acumuladas e enviadas em lote com um único {@code XACK} por stream.</li>
+ * </ul>
+ * <p>O produtor deve gravar o evento no campo {@code payload} da entrada
+ * ({@code XADD eventos:sistema1 * payload '{...}'}).</p>
+ * <p>No encerramento, {@link #parar(Duration)} interrompe a leitura; depois que o despachante for
+ * drenado, {@link #fechar()} confirma o que terminou e libera a conexão. Configurações: {@code streams.grupo},
+ * {@code streams.consumidor}, {@code streams.lote}, {@code streams.bloqueioMs},
+ * {@code streams.ack.lote}, {@code streams.claim.ociosoMs} e {@code streams.claim.intervaloMs}.</p>
+ */
+public class ConsumidorStreams {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConsumidorStreams.class);
+
+    public static final String CAMPO_PAYLOAD = "payload";
+
+    private record Concluida(String stream, StreamEntryID id) {
+    }
+
+    private final JedisPooled redis;
+    private final Despachante despachante;
+    private final List<String> streams;
+    private final String grupo;
+    private final String consumidor;
+    private final int tamanhoLote;
+    private final int bloqueioMs;
+    private final int loteAck;
+    private final long claimOciosoMs;
+    private final long claimIntervaloMs;
+
+    // Entradas já processadas pelo despachante, ainda não confirmadas no Redis
+    private final Queue<Concluida> concluidas = new ConcurrentLinkedQueue<>();
+    private final Map<String, StreamEntryID> cursoresClaim = new HashMap<>();
+
+    private final CountDownLatch leituraEncerrada = new CountDownLatch(1);
+
+    private volatile boolean executando = true;
+
+    public ConsumidorStreams(String host, int porta, Despachante despachante, String... streams) {
+        this.redis = new JedisPooled(host, porta);
+        this.despachante = despachante;
+        this.streams = List.of(streams);
+        this.grupo = Configuracao.texto("streams.grupo", "middleware-integrador");
+        this.consumidor = Configuracao.texto("streams.consumidor", ManagementFactory.getRuntimeMXBean().getName());
+        this.tamanhoLote = Configuracao.inteiro("streams.lote", 100);
+        this.bloqueioMs = Configuracao.inteiro("streams.bloqueioMs", 2000);
+        this.loteAck = Configuracao.inteiro("streams.ack.lote", 50);
+        this.claimOciosoMs = Configuracao.longo("streams.claim.ociosoMs", 60_000);
+        this.claimIntervaloMs = Configuracao.longo("streams.claim.intervaloMs", 30_000);
+    }
+
+    /**
+     * Laço principal de consumo. Bloqueia até {@link #parar()} ser chamado; o despachante continua
+     * aberto, e as entradas que ele concluir depois disso são confirmadas em {@link #fechar()}.
+     */
+    public void executar() {
+        try {
+            ler();
+        } finally {
+            leituraEncerrada.countDown();
+        }
+    }
+
+    private void ler() {
+        criarGrupos();
+        LOG.info("Consumidor '{}' do grupo '{}' lendo {}", consumidor, grupo, streams);
+
+        recuperarPendentes();
+
+        long proximoClaim = 0;
+        while (executando) {
+            try {
+                if (System.currentTimeMillis() >= proximoClaim) {
+                    reivindicarOciosas();
+                    proximoClaim = System.currentTimeMillis() + claimIntervaloMs;
+                }
+                List<Map.Entry<String, List<StreamEntry>>> lidas = lerGrupo(StreamEntryID.UNRECEIVED_ENTRY, bloqueioMs);
+                consumir(lidas);
+                // Sem novas entradas dentro do bloqueio: não vale a pena segurar as confirmações
+                if (lidas == null || lidas.isEmpty() || concluidas.size() >= loteAck) {
+                    confirmarPendentes();
+                }
+            } catch (Exception e) {
+                LOG.error("Erro no consumo dos streams: {}", e.getMessage());
+                dormir(1000);
+            }
+        }
+    }
+
+    public void parar() {
+        executando = false;
+    }
+
+    /**
+     * Interrompe a leitura e espera o laço terminar, o que leva no máximo {@code streams.bloqueioMs}.
+     *
+     * @return {@code false} se o laço ainda estava rodando quando o prazo acabou.
+     */
+    public boolean parar(Duration prazo) throws InterruptedException {
+        parar();
+        return leituraEncerrada.await(prazo.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Confirma as entradas já concluídas e fecha a conexão. As que ficaram sem confirmação são
+     * reentregues a este consumidor na próxima partida.
+     */
+    public void fechar() {
+        confirmarPendentes();
+        redis.close();
+    }
+
+    private void criarGrupos() {
+        for (String stream : streams) {
+            try {
+                // '$' só entrega o que chegar depois da criação; MKSTREAM cria o stream vazio se preciso
+                redis.xgroupCreate(stream, grupo, StreamEntryID.LAST_ENTRY, true);
+                LOG.info("Grupo '{}' criado no stream '{}'", grupo, stream);
+            } catch (JedisDataException e) {
+                if (e.getMessage() == null || !e.getMessage().startsWith("BUSYGROUP")) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reprocessa o que este mesmo consumidor recebeu e não confirmou antes de cair.
+     * Ler a partir de um id concreto (e não de '>') devolve a lista de pendentes do consumidor.
+     */
+    private void recuperarPendentes() {
+        for (String stream : streams) {
+            StreamEntryID ultimo = new StreamEntryID(0, 0);
+            while (true) {
+                List<Map.Entry<String, List<StreamEntry>>> lidas = lerGrupo(Map.of(stream, ultimo), 0);
+                if (lidas == null || lidas.isEmpty() || lidas.get(0).getValue().isEmpty()) {
+                    break;
+                }
+                List<StreamEntry> entradas = lidas.get(0).getValue();
+                processar(stream, entradas);
+                ultimo = entradas.get(entradas.size() - 1).getID();
+            }
+        }
+        confirmarPendentes();
+    }
+
+    private List<Map.Entry<String, List<StreamEntry>>> lerGrupo(StreamEntryID aPartirDe, int bloqueio) {
+        Map<String, StreamEntryID> posicoes = new LinkedHashMap<>();
+        for (String stream : streams) {
+            posicoes.put(stream, aPartirDe);
+        }
+        return lerGrupo(posicoes, bloqueio);
+    }
+
+    private List<Map.Entry<String, List<StreamEntry>>> lerGrupo(Map<String, StreamEntryID> posicoes, int bloqueio) {
+        XReadGroupParams params = XReadGroupParams.xReadGroupParams().count(tamanhoLote);
+        if (bloqueio > 0) {
+            params.block(bloqueio);
+        }
+        return redis.xreadGroup(grupo, consumidor, params, posicoes);
+    }
+
+    private void reivindicarOciosas() {
+        for (String stream : streams) {
+            StreamEntryID cursor = cursoresClaim.getOrDefault(stream, new StreamEntryID(0, 0));
+            Map.Entry<StreamEntryID, List<StreamEntry>> resultado = redis.xautoclaim(stream, grupo, consumidor,
+                    claimOciosoMs, cursor, XAutoClaimParams.xAutoClaimParams().count(tamanhoLote));
+            // O Redis devolve o cursor para a próxima varredura; 0-0 indica que a lista de pendentes terminou
+            cursoresClaim.put(stream, resultado.getKey());
+            if (!resultado.getValue().isEmpty()) {
+                LOG.info("Assumidas {} entradas ociosas do stream '{}'", resultado.getValue().size(), stream);
+                processar(stream, resultado.getValue());
+            }
+        }
+    }
+
+    private void consumir(List<Map.Entry<String, List<StreamEntry>>> lidas) {
+        if (lidas == null) {
+            return;
+        }
+        for (Map.Entry<String, List<StreamEntry>> porStream : lidas) {
+            processar(porStream.getKey(), porStream.getValue());
+        }
+    }
+
+    private void processar(String stream, List<StreamEntry> entradas) {
+        for (StreamEntry entrada : entradas) {
+            Concluida concluida = new Concluida(stream, entrada.getID());
+            // Entradas apagadas por XTRIM/XDEL continuam na lista de pendentes sem campos
+            String payload = entrada.getFields() == null ? null : entrada.getFields().get(CAMPO_PAYLOAD);
+            if (payload == null) {
+                concluidas.add(concluida);
+            } else {
+                // O ID da entrada acompanha o evento: uma reentrega (XAUTOCLAIM) é reconhecida por ele
+                despachante.submeter(stream, payload, entrada.getID().toString(), () -> concluidas.add(concluida));
+            }
+        }
+    }
+
+    private void confirmarPendentes() {
+        Map<String, List<StreamEntryID>> porStream = new HashMap<>();
+        Concluida concluida;
+        while ((concluida = concluidas.poll()) != null) {
+            porStream.computeIfAbsent(concluida.stream(), s -> new ArrayList<>()).add(concluida.id());
+        }
+        porStream.forEach((stream, ids) -> redis.xack(stream, grupo, ids.toArray(new StreamEntryID[0])));
+    }
+
+    private static void dormir(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
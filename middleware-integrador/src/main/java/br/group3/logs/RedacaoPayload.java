@@ -0,0 +1,128 @@
+package br.group3.logs;
+
+import br.group3.config.Configuracao;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Como o conteúdo dos eventos aparece nos logs.
+ * <p>Os eventos carregam dados de pacientes, então o payload nunca vai para o log sem passar por aqui.
+ * {@code log.payload} escolhe o modo:</p>
+ * <ul>
+ *     <li>{@code redigido} (padrão): o JSON é copiado com os valores dos campos de
+ *     {@code log.payload.campos} trocados por {@code ***};</li>
+ *     <li>{@code omitido}: só o tamanho do payload;</li>
+ *     <li>{@code completo}: o payload original, para depuração em ambiente de teste.</li>
+ * </ul>
+ * <p>{@link #de} não faz nenhum trabalho: devolve um objeto cujo {@code toString} aplica o modo. Passado
+ * como parâmetro de um log, ele só é formatado se a mensagem for de fato gravada, e na thread de I/O
+ * dos loggers assíncronos. O texto é cortado em {@code log.payload.maxCaracteres}.</p>
+ * <p>{@link #amostrar()} sorteia os eventos cujo payload é registrado em INFO, na fração
+ * {@code log.payload.amostragem}; com o nível DEBUG, todos são registrados.</p>
+ */
+public final class RedacaoPayload {
+
+    private enum Modo { REDIGIDO, OMITIDO, COMPLETO }
+
+    private static final String MASCARA = "***";
+
+    private static final Modo MODO = Modo.valueOf(Configuracao.texto("log.payload", "redigido").toUpperCase());
+    private static final double AMOSTRAGEM = Double.parseDouble(Configuracao.texto("log.payload.amostragem", "0.001"));
+    private static final int MAX_CARACTERES = Configuracao.inteiro("log.payload.maxCaracteres", 1024);
+    private static final Set<String> CAMPOS = Arrays.stream(Configuracao.texto("log.payload.campos",
+                    "nome,nomeCompleto,cpf,rg,endereco,telefone,email,dataNascimento,historicoMedico,diagnostico,tratamento")
+            .split(",")).map(String::trim).filter(c -> !c.isEmpty()).collect(Collectors.toUnmodifiableSet());
+
+    private final String payload;
+
+    private RedacaoPayload(String payload) {
+        this.payload = payload;
+    }
+
+    /**
+     * Embrulha o payload para ser passado como parâmetro de um log.
+     */
+    public static Object de(String payload) {
+        return new RedacaoPayload(payload);
+    }
+
+    /**
+     * Sorteia se o payload deste evento deve ser registrado na amostragem.
+     */
+    public static boolean amostrar() {
+        return AMOSTRAGEM > 0 && ThreadLocalRandom.current().nextDouble() < AMOSTRAGEM;
+    }
+
+    @Override
+    public String toString() {
+        if (payload == null) {
+            return "null";
+        }
+        String texto = switch (MODO) {
+            case COMPLETO -> payload;
+            case OMITIDO -> "<" + payload.length() + " caracteres>";
+            case REDIGIDO -> redigir(payload);
+        };
+        return texto.length() <= MAX_CARACTERES
+                ? texto
+                : texto.substring(0, MAX_CARACTERES) + "...(" + texto.length() + " caracteres)";
+    }
+
+    static String redigir(String json) {
+        StringWriter saida = new StringWriter(json.length());
+        try (JsonReader reader = new JsonReader(new StringReader(json));
+             JsonWriter writer = new JsonWriter(saida)) {
+            copiar(reader, writer, false);
+        } catch (IOException | IllegalStateException e) {
+            return "<payload não JSON com " + json.length() + " caracteres>";
+        }
+        return saida.toString();
+    }
+
+    private static void copiar(JsonReader reader, JsonWriter writer, boolean sensivel) throws IOException {
+        if (sensivel && reader.peek() != JsonToken.NULL) {
+            reader.skipValue();
+            writer.value(MASCARA);
+            return;
+        }
+        switch (reader.peek()) {
+            case BEGIN_OBJECT -> {
+                reader.beginObject();
+                writer.beginObject();
+                while (reader.hasNext()) {
+                    String nome = reader.nextName();
+                    writer.name(nome);
+                    copiar(reader, writer, CAMPOS.contains(nome));
+                }
+                reader.endObject();
+                writer.endObject();
+            }
+            case BEGIN_ARRAY -> {
+                reader.beginArray();
+                writer.beginArray();
+                while (reader.hasNext()) {
+                    copiar(reader, writer, false);
+                }
+                reader.endArray();
+                writer.endArray();
+            }
+            case STRING -> writer.value(reader.nextString());
+            case NUMBER -> writer.jsonValue(reader.nextString());
+            case BOOLEAN -> writer.value(reader.nextBoolean());
+            case NULL -> {
+                reader.nextNull();
+                writer.nullValue();
+            }
+            default -> throw new IllegalStateException("Token inesperado: " + reader.peek());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package br.group3.metricas;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.JvmGcMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmMemoryMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmThreadMetrics;
+import io.micrometer.core.instrument.binder.system.ProcessorMetrics;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+
+import java.time.Duration;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Registro de métricas compartilhado por todo o middleware.
+ * <p>Usa um {@link PrometheusMeterRegistry}; o texto no formato do Prometheus é servido
+ * pelo {@link ServidorMetricas}. Os nomes seguem o padrão do Micrometer (pontos), que o
+ * registro converte para o padrão do Prometheus ({@code middleware.sink.latencia} vira
+ * {@code middleware_sink_latencia_seconds}).</p>
+ * <p>Temporizadores e distribuições publicam histogramas, para que os percentis possam ser
+ * agregados entre instâncias no Prometheus.</p>
+ */
+public final class Metricas {
+
+    private static final PrometheusMeterRegistry REGISTRO = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+
+    static {
+        REGISTRO.config().commonTags("aplicacao", "middleware-integrador");
+        new JvmMemoryMetrics().bindTo(REGISTRO);
+        new JvmGcMetrics().bindTo(REGISTRO);
+        new JvmThreadMetrics().bindTo(REGISTRO);
+        new ProcessorMetrics().bindTo(REGISTRO);
+    }
+
+    private Metricas() {
+    }
+
+    public static MeterRegistry registro() {
+        return REGISTRO;
+    }
+
+    /**
+     * Conteúdo atual de todas as métricas no formato de exposição do Prometheus.
+     */
+    public static String exportar() {
+        return REGISTRO.scrape();
+    }
+
+    /**
+     * Contador com as tags informadas (pares nome/valor). Chamadas repetidas com o mesmo nome e
+     * tags devolvem o mesmo contador.
+     */
+    public static Counter contador(String nome, String... tags) {
+        return Counter.builder(nome).tags(tags).register(REGISTRO);
+    }
+
+    /**
+     * Temporizador com histograma de latência, entre 1 ms e 30 s.
+     */
+    public static Timer temporizador(String nome, String... tags) {
+        return Timer.builder(nome)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(REGISTRO);
+    }
+
+    /**
+     * Distribuição de valores (tamanho de lote, por exemplo) com histograma.
+     */
+    public static DistributionSummary distribuicao(String nome, String... tags) {
+        return DistributionSummary.builder(nome)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(REGISTRO);
+    }
+
+    /**
+     * Medidor lido sob demanda a cada coleta. O registro guarda apenas uma referência fraca ao
+     * objeto observado, então quem registra deve mantê-lo vivo.
+     */
+    public static <T> void medidor(String nome, T objeto, ToDoubleFunction<T> leitura, String... tags) {
+        Gauge.builder(nome, objeto, leitura).tags(tags).register(REGISTRO);
+    }
+}
@@ -0,0 +1,65 @@
+package br.group3.metricas;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+/**
+ * Servidor HTTP embutido que expõe as métricas em {@code GET /metrics} para o Prometheus.
+ * <p>Usa o {@link HttpServer} do próprio JDK, com uma única thread: uma coleta por vez é
+ * suficiente e não disputa recursos com o processamento dos eventos.</p>
+ */
+public final class ServidorMetricas {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ServidorMetricas.class);
+
+    private static final String TIPO_CONTEUDO = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final HttpServer servidor;
+
+    private ServidorMetricas(HttpServer servidor) {
+        this.servidor = servidor;
+    }
+
+    /**
+     * Inicia o servidor na porta informada.
+     */
+    public static ServidorMetricas iniciar(int porta) throws IOException {
+        HttpServer servidor = HttpServer.create(new InetSocketAddress(porta), 0);
+        servidor.createContext("/metrics", ServidorMetricas::responder);
+        servidor.setExecutor(Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "metricas-http");
+            t.setDaemon(true);
+            return t;
+        }));
+        servidor.start();
+        LOG.info("Métricas disponíveis em http://localhost:{}/metrics", porta);
+        return new ServidorMetricas(servidor);
+    }
+
+    private static void responder(HttpExchange troca) throws IOException {
+        try (troca) {
+            if (!"GET".equals(troca.getRequestMethod())) {
+                troca.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] corpo = Metricas.exportar().getBytes(StandardCharsets.UTF_8);
+            troca.getResponseHeaders().set("Content-Type", TIPO_CONTEUDO);
+            troca.sendResponseHeaders(200, corpo.length);
+            try (OutputStream saida = troca.getResponseBody()) {
+                saida.write(corpo);
+            }
+        }
+    }
+
+    public void parar() {
+        servidor.stop(0);
+    }
+}
@@ -0,0 +1,17 @@
+package br.group3.pipeline;
+
+import br.group3.despacho.Despachante;
+
+import java.util.List;
+
+/**
+ * Um transformador, os canais que ele assina e o despachante que executa o seu trabalho.
+ * <p>Cada pipeline tem seu próprio despachante, então um destino lento segura apenas o seu fluxo.
+ * O despachante usa {@code pipeline.<nome>.despacho.*} e, na falta, as chaves globais {@code despacho.*}.</p>
+ */
+public record Pipeline(Transformador transformador, List<String> assinaturas, Despachante despachante) {
+
+    public String nome() {
+        return transformador.nome();
+    }
+}
@@ -0,0 +1,245 @@
+package br.group3.pipeline;
+
+import br.group3.Roteador;
+import br.group3.config.Configuracao;
+import br.group3.despacho.Despachante;
+import br.group3.despacho.DespachanteParticionado;
+import br.group3.despacho.DespachanteVirtual;
+import br.group3.despacho.Drenagem;
+import br.group3.metricas.Metricas;
+import br.group3.sinks.Sink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Tabela imutável de assinatura (canal ou padrão) para {@link Pipeline}, montada uma vez na partida.
+ * <p>Os transformadores são carregados com {@link ServiceLoader} e cada um ganha um despachante
+ * próprio. No pub/sub, o listener recebe o canal (ou o padrão, no {@code PSUBSCRIBE}) que gerou a
+ * mensagem e {@link #submeterPorAssinatura} acha o pipeline com uma única consulta ao mapa. Quem só
+ * conhece o canal concreto (Redis Streams, recuperação do spool) usa {@link #submeter}, que também
+ * testa os padrões.</p>
+ * <p>Como também é um {@link Despachante}, a tabela pode ser entregue no lugar de um despachante
+ * único: as métricas de fila somam todos os pipelines e {@link #fechar(Duration)} encerra despachantes,
+ * transformadores e, por último, os sinks.</p>
+ */
+public final class TabelaRoteamento implements Despachante {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TabelaRoteamento.class);
+
+    private final List<Pipeline> pipelines;
+    private final Map<String, Pipeline> porAssinatura;
+    private final Map<Pattern, Pipeline> porPadrao;
+
+    private TabelaRoteamento(List<Pipeline> pipelines) {
+        Map<String, Pipeline> assinaturas = new LinkedHashMap<>();
+        Map<Pattern, Pipeline> padroes = new LinkedHashMap<>();
+        for (Pipeline pipeline : pipelines) {
+            for (String assinatura : pipeline.assinaturas()) {
+                Pipeline anterior = assinaturas.putIfAbsent(assinatura, pipeline);
+                if (anterior != null) {
+                    throw new IllegalStateException("Assinatura '" + assinatura + "' declarada pelos pipelines '"
+                            + anterior.nome() + "' e '" + pipeline.nome() + "'");
+                }
+                if (ehPadrao(assinatura)) {
+                    padroes.put(globParaRegex(assinatura), pipeline);
+                }
+            }
+        }
+        this.pipelines = List.copyOf(pipelines);
+        this.porAssinatura = Map.copyOf(assinaturas);
+        this.porPadrao = Collections.unmodifiableMap(padroes);
+    }
+
+    /**
+     * Carrega os transformadores do {@code META-INF/services}, prepara cada um e cria seus despachantes.
+     */
+    public static TabelaRoteamento carregar() {
+        List<Transformador> transformadores = new ArrayList<>();
+        ServiceLoader.load(Transformador.class).forEach(transformadores::add);
+        return montar(transformadores);
+    }
+
+    public static TabelaRoteamento montar(List<Transformador> transformadores) {
+        List<Pipeline> pipelines = new ArrayList<>();
+        for (Transformador transformador : transformadores) {
+            String nome = transformador.nome();
+            if (!Boolean.parseBoolean(Configuracao.texto("pipeline." + nome + ".habilitado", "true"))) {
+                LOG.info("Pipeline '{}' desabilitado por configuração", nome);
+                continue;
+            }
+            String configurados = Configuracao.texto("pipeline." + nome + ".canais", null);
+            List<String> assinaturas = configurados == null
+                    ? transformador.canais()
+                    : Arrays.stream(configurados.split(",")).map(String::trim).filter(c -> !c.isEmpty()).toList();
+
+            transformador.preparar();
+            Despachante despachante = criarDespachante(transformador);
+            Metricas.medidor("middleware.despacho.fila", despachante, Despachante::profundidadeFila, "pipeline", nome);
+            Metricas.medidor("middleware.despacho.espera.media.ms", despachante, Despachante::tempoEsperaMedioMs, "pipeline", nome);
+            Metricas.medidor("middleware.despacho.espera.maxima.ms", despachante, Despachante::tempoEsperaMaximoMs, "pipeline", nome);
+
+            pipelines.add(new Pipeline(transformador, List.copyOf(assinaturas), despachante));
+            LOG.info("Pipeline '{}' assinando {}", nome, assinaturas);
+        }
+        return new TabelaRoteamento(pipelines);
+    }
+
+    private static Despachante criarDespachante(Transformador transformador) {
+        String nome = transformador.nome();
+        String modo = Configuracao.texto("pipeline." + nome + ".despacho.modo", Configuracao.texto("despacho.modo", "particionado"));
+        // No modo particionado (padrão) os eventos de uma mesma entidade mantêm a ordem;
+        // no modo virtual cada evento ganha sua thread, sem ordem
+        return "virtual".equalsIgnoreCase(modo)
+                ? new DespachanteVirtual(Roteador.processadorPara(transformador), nome)
+                : new DespachanteParticionado(Roteador.processadorPara(transformador), nome);
+    }
+
+    /**
+     * Canais assinados com {@code SUBSCRIBE}.
+     */
+    public String[] canais() {
+        return porAssinatura.keySet().stream().filter(a -> !ehPadrao(a)).toArray(String[]::new);
+    }
+
+    /**
+     * Padrões assinados com {@code PSUBSCRIBE}.
+     */
+    public String[] padroes() {
+        return porAssinatura.keySet().stream().filter(TabelaRoteamento::ehPadrao).toArray(String[]::new);
+    }
+
+    public List<Pipeline> pipelines() {
+        return pipelines;
+    }
+
+    /**
+     * Entrega o evento ao pipeline da assinatura (canal ou padrão) que o recebeu.
+     */
+    public void submeterPorAssinatura(String assinatura, String canal, String mensagem, Runnable aoConcluir) {
+        encaminhar(porAssinatura.get(assinatura), canal, mensagem, null, aoConcluir);
+    }
+
+    /**
+     * Entrega o evento ao pipeline do canal concreto, testando também os padrões.
+     */
+    @Override
+    public void submeter(String canal, String mensagem, String idEntrega, Runnable aoConcluir) {
+        encaminhar(resolver(canal), canal, mensagem, idEntrega, aoConcluir);
+    }
+
+    private Pipeline resolver(String canal) {
+        Pipeline pipeline = porAssinatura.get(canal);
+        if (pipeline != null) {
+            return pipeline;
+        }
+        for (Map.Entry<Pattern, Pipeline> padrao : porPadrao.entrySet()) {
+            if (padrao.getKey().matcher(canal).matches()) {
+                return padrao.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static void encaminhar(Pipeline pipeline, String canal, String mensagem, String idEntrega, Runnable aoConcluir) {
+        if (pipeline == null) {
+            Metricas.contador("middleware.eventos.sem.rota", "canal", canal).increment();
+            LOG.warn("Evento do canal '{}' descartado: nenhum pipeline assina esse canal", canal);
+            if (aoConcluir != null) {
+                aoConcluir.run();
+            }
+            return;
+        }
+        pipeline.despachante().submeter(canal, mensagem, idEntrega, aoConcluir);
+    }
+
+    @Override
+    public int profundidadeFila() {
+        return pipelines.stream().mapToInt(p -> p.despachante().profundidadeFila()).sum();
+    }
+
+    @Override
+    public double tempoEsperaMedioMs() {
+        return pipelines.stream().mapToDouble(p -> p.despachante().tempoEsperaMedioMs()).max().orElse(0);
+    }
+
+    @Override
+    public double tempoEsperaMaximoMs() {
+        return pipelines.stream().mapToDouble(p -> p.despachante().tempoEsperaMaximoMs()).max().orElse(0);
+    }
+
+    @Override
+    public long emAndamento() {
+        return pipelines.stream().mapToLong(p -> p.despachante().emAndamento()).sum();
+    }
+
+    /**
+     * Drena os despachantes dentro do prazo, depois encerra os transformadores e, por fim, cada sink
+     * uma única vez. Os despachantes trabalham em paralelo, então o prazo é o mesmo para todos; o
+     * resultado de cada pipeline é impresso.
+     */
+    @Override
+    public Drenagem fechar(Duration prazo) {
+        long limite = System.nanoTime() + prazo.toNanos();
+        Drenagem total = Drenagem.VAZIA;
+        for (Pipeline pipeline : pipelines) {
+            Drenagem drenagem = pipeline.despachante().fechar(Duration.ofNanos(Math.max(0, limite - System.nanoTime())));
+            LOG.info("Pipeline '{}' encerrado: {} eventos drenados, {} abandonados",
+                    pipeline.nome(), drenagem.drenados(), drenagem.abandonados());
+            total = total.somar(drenagem);
+        }
+        pipelines.forEach(p -> p.transformador().fechar());
+        Set<Sink> sinks = new LinkedHashSet<>();
+        pipelines.forEach(p -> sinks.addAll(p.transformador().sinks()));
+        sinks.forEach(Sink::fechar);
+        return total;
+    }
+
+    static boolean ehPadrao(String assinatura) {
+        return assinatura.indexOf('*') >= 0 || assinatura.indexOf('?') >= 0 || assinatura.indexOf('[') >= 0;
+    }
+
+    /**
+     * Converte um padrão glob do Redis ({@code *}, {@code ?}, {@code [abc]}, {@code \} para escapar) em regex.
+     */
+    static Pattern globParaRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        boolean emClasse = false;
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (emClasse) {
+                if (c == ']') {
+                    emClasse = false;
+                }
+                regex.append(c == '\\' ? "\\\\" : String.valueOf(c));
+                continue;
+            }
+            switch (c) {
+                case '*' -> regex.append(".*");
+                case '?' -> regex.append('.');
+                case '[' -> {
+                    emClasse = true;
+                    regex.append('[');
+                }
+                case '\\' -> {
+                    if (i + 1 < glob.length()) {
+                        regex.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+                    }
+                }
+                default -> regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+}
@@ -0,0 +1,50 @@
+package br.group3.pipeline;
+
+import br.group3.resiliencia.EventoOrigem;
+import br.group3.sinks.Sink;
+
+import java.util.List;
+
+/**
+ * Ponto de extensão para um novo fluxo de entidade.
+ * <p>As implementações são descobertas com {@link java.util.ServiceLoader}: basta listar a classe em
+ * {@code META-INF/services/br.group3.pipeline.Transformador}. Cada uma vira um {@link Pipeline} com
+ * despachante próprio, alimentado pelos canais que ela declara. Os canais podem ser trocados por
+ * configuração em {@code pipeline.<nome>.canais} (separados por vírgula) e aceitam padrões do
+ * {@code PSUBSCRIBE} ({@code eventos:consulta:*}).</p>
+ */
+public interface Transformador {
+
+    /**
+     * Nome do pipeline, usado nas chaves de configuração ({@code pipeline.<nome>.*}), nas métricas e nos logs.
+     */
+    String nome();
+
+    /**
+     * Canais ou padrões assinados por padrão.
+     */
+    List<String> canais();
+
+    /**
+     * Sinks em que o transformador escreve; encerrados depois dele.
+     */
+    List<Sink> sinks();
+
+    /**
+     * Chamado uma vez na partida, antes do primeiro evento (criação de índices, por exemplo).
+     */
+    default void preparar() {
+    }
+
+    /**
+     * Transforma o evento e o entrega aos sinks. Deve chamar {@link EventoOrigem#concluir()} (diretamente
+     * ou pelo sink) quando o evento estiver gravado.
+     */
+    void transformarEEnviar(EventoOrigem origem);
+
+    /**
+     * Descarrega o que o transformador acumula por conta própria, antes de os sinks serem encerrados.
+     */
+    default void fechar() {
+    }
+}
@@ -0,0 +1,53 @@
+package br.group3.reconciliacao;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * CRC32 de um paciente calculado do mesmo jeito no MySQL e no middleware.
+ * <p>No MySQL o valor é {@code CRC32(CONCAT_WS('|', id_paciente, nome_completo, data_nascimento,
+ * cpf, endereco, telefone))}. Aqui os mesmos campos são unidos com {@code '|'} e, como no
+ * {@code CONCAT_WS}, os nulos são omitidos junto com o separador. O {@code SqlToNosqlTransformer}
+ * grava o resultado em {@link #CAMPO} de cada paciente no MongoDB, o que permite ao
+ * {@link Reconciliador} somar os CRCs de uma faixa no próprio banco.</p>
+ */
+public final class DigestoPaciente {
+
+    /**
+     * Campo do documento do MongoDB com o CRC32 do paciente.
+     */
+    public static final String CAMPO = "_crc32";
+
+    /**
+     * Expressão SQL equivalente a {@link #crc(Map)}, sobre a tabela {@code paciente}.
+     */
+    static final String EXPRESSAO_SQL =
+            "CRC32(CONCAT_WS('|', id_paciente, nome_completo, data_nascimento, cpf, endereco, telefone))";
+
+    private static final String[] CAMPOS = {"idPaciente", "nomeCompleto", "dataNascimento", "cpf", "endereco", "telefone"};
+
+    private DigestoPaciente() {
+    }
+
+    /**
+     * Calcula o CRC32 de um paciente com os campos do evento do outbox ({@code idPaciente},
+     * {@code nomeCompleto}, {@code dataNascimento}, {@code cpf}, {@code endereco}, {@code telefone}).
+     */
+    public static long crc(Map<String, ?> paciente) {
+        StringBuilder linha = new StringBuilder(128);
+        for (String campo : CAMPOS) {
+            Object valor = paciente.get(campo);
+            if (valor == null) {
+                continue;
+            }
+            if (!linha.isEmpty()) {
+                linha.append('|');
+            }
+            linha.append(valor);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(linha.toString().getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,37 @@
+package br.group3.reconciliacao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Intervalo fechado de {@code idPaciente}, a unidade comparada pelo {@link Reconciliador}.
+ */
+record Faixa(long inicio, long fim) {
+
+    long tamanho() {
+        return fim - inicio + 1;
+    }
+
+    /**
+     * Divide a faixa em até {@code partes} faixas contíguas de tamanhos parecidos.
+     */
+    List<Faixa> dividir(int partes) {
+        long passo = Math.max(1, (tamanho() + partes - 1) / partes);
+        List<Faixa> faixas = new ArrayList<>(partes);
+        long i = inicio;
+        while (true) {
+            long ultimo = fim - i < passo ? fim : i + passo - 1;
+            faixas.add(new Faixa(i, ultimo));
+            if (ultimo == fim) {
+                break;
+            }
+            i = ultimo + 1;
+        }
+        return faixas;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + inicio + ", " + fim + "]";
+    }
+}
@@ -0,0 +1,41 @@
+package br.group3.reconciliacao;
+
+import java.util.Iterator;
+
+/**
+ * Um dos dois bancos comparados pelo {@link Reconciliador}.
+ */
+interface Lado extends AutoCloseable {
+
+    /**
+     * Quantidade de pacientes de uma faixa e a soma dos seus CRCs, calculadas no banco.
+     */
+    record Resumo(long quantidade, long soma) {
+    }
+
+    /**
+     * Um paciente: a chave e o CRC gravado ({@code -1} se o registro não tiver CRC).
+     */
+    record Linha(long id, long crc) {
+    }
+
+    /**
+     * Pacientes de uma faixa em ordem de {@code idPaciente}, lidos aos poucos.
+     */
+    interface Cursor extends Iterator<Linha>, AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Menor e maior {@code idPaciente} gravados, ou {@code null} se não houver nenhum.
+     */
+    Faixa limites();
+
+    Resumo resumo(Faixa faixa);
+
+    Cursor linhas(Faixa faixa);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,162 @@
+package br.group3.reconciliacao;
+
+import br.group3.config.Configuracao;
+import com.google.gson.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+
+/**
+ * Lado MySQL da reconciliação: a tabela {@code paciente} do ORM, que é a origem dos dados.
+ * <p>Resumos e CRCs são calculados pelo próprio MySQL ({@link DigestoPaciente#EXPRESSAO_SQL}); só os
+ * totais atravessam a rede. As linhas de uma faixa são lidas em páginas por chave
+ * ({@code id_paciente > ?  ORDER BY id_paciente LIMIT ?}), sem {@code OFFSET}, com memória constante.</p>
+ * <p>Configurações: {@code mysql.url}, {@code mysql.usuario}, {@code mysql.senha} e
+ * {@code reconciliacao.pagina}.</p>
+ */
+final class LadoMysql implements Lado {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LadoMysql.class);
+
+    private final Connection conexao;
+    private final int pagina;
+
+    LadoMysql() {
+        try {
+            this.conexao = DriverManager.getConnection(
+                    Configuracao.texto("mysql.url", "jdbc:mysql://localhost:3306/mydatabase"),
+                    Configuracao.texto("mysql.usuario", "myuser"),
+                    Configuracao.texto("mysql.senha", "secret"));
+        } catch (SQLException e) {
+            throw new IllegalStateException("Não foi possível conectar ao MySQL: " + e.getMessage(), e);
+        }
+        this.pagina = Configuracao.inteiro("reconciliacao.pagina", 1000);
+    }
+
+    @Override
+    public Faixa limites() {
+        try (PreparedStatement ps = conexao.prepareStatement("SELECT MIN(id_paciente), MAX(id_paciente) FROM paciente");
+             ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            long minimo = rs.getLong(1);
+            return rs.wasNull() ? null : new Faixa(minimo, rs.getLong(2));
+        } catch (SQLException e) {
+            throw new IllegalStateException("Erro ao ler os limites do MySQL", e);
+        }
+    }
+
+    @Override
+    public Resumo resumo(Faixa faixa) {
+        String sql = "SELECT COUNT(*), COALESCE(SUM(" + DigestoPaciente.EXPRESSAO_SQL + "), 0)"
+                + " FROM paciente WHERE id_paciente BETWEEN ? AND ?";
+        try (PreparedStatement ps = conexao.prepareStatement(sql)) {
+            ps.setLong(1, faixa.inicio());
+            ps.setLong(2, faixa.fim());
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return new Resumo(rs.getLong(1), rs.getLong(2));
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Erro ao resumir a faixa " + faixa + " no MySQL", e);
+        }
+    }
+
+    @Override
+    public Cursor linhas(Faixa faixa) {
+        return new Cursor() {
+            private final ArrayDeque<Linha> buffer = new ArrayDeque<>(pagina);
+            private long ultimo = faixa.inicio() - 1;
+            private boolean esgotado;
+
+            @Override
+            public boolean hasNext() {
+                if (buffer.isEmpty() && !esgotado) {
+                    esgotado = carregarPagina(faixa, ultimo, buffer) < pagina;
+                    if (!buffer.isEmpty()) {
+                        ultimo = buffer.peekLast().id();
+                    }
+                }
+                return !buffer.isEmpty();
+            }
+
+            @Override
+            public Linha next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return buffer.poll();
+            }
+
+            @Override
+            public void close() {
+                buffer.clear();
+            }
+        };
+    }
+
+    private int carregarPagina(Faixa faixa, long depoisDe, ArrayDeque<Linha> destino) {
+        String sql = "SELECT id_paciente, " + DigestoPaciente.EXPRESSAO_SQL
+                + " FROM paciente WHERE id_paciente > ? AND id_paciente <= ? ORDER BY id_paciente LIMIT ?";
+        try (PreparedStatement ps = conexao.prepareStatement(sql)) {
+            ps.setLong(1, depoisDe);
+            ps.setLong(2, faixa.fim());
+            ps.setInt(3, pagina);
+            int lidas = 0;
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    destino.add(new Linha(rs.getLong(1), rs.getLong(2)));
+                    lidas++;
+                }
+            }
+            return lidas;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Erro ao ler a faixa " + faixa + " do MySQL", e);
+        }
+    }
+
+    /**
+     * Monta o evento de reparo de um paciente no mesmo formato do outbox do ORM.
+     *
+     * @return o JSON do evento, ou {@code null} se o paciente não existir mais.
+     */
+    String eventoReparo(long idPaciente) {
+        String sql = "SELECT id_paciente, nome_completo, data_nascimento, cpf, endereco, telefone"
+                + " FROM paciente WHERE id_paciente = ?";
+        try (PreparedStatement ps = conexao.prepareStatement(sql)) {
+            ps.setLong(1, idPaciente);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                JsonObject evento = new JsonObject();
+                evento.addProperty("idPaciente", rs.getLong("id_paciente"));
+                evento.addProperty("nomeCompleto", rs.getString("nome_completo"));
+                evento.addProperty("dataNascimento", rs.getString("data_nascimento"));
+                evento.addProperty("cpf", rs.getString("cpf"));
+                evento.addProperty("endereco", rs.getString("endereco"));
+                evento.addProperty("telefone", rs.getString("telefone"));
+                evento.addProperty("entidade", "paciente");
+                evento.addProperty("operacao", "ATUALIZADO");
+                return evento.toString();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Erro ao ler o paciente " + idPaciente + " do MySQL", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            conexao.close();
+        } catch (SQLException e) {
+            LOG.warn("Erro ao fechar a conexão com o MySQL: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package br.group3.reconciliacao;
+
+import br.group3.Roteador;
+import br.group3.config.Configuracao;
+import br.group3.ingestao.ConsumidorStreams;
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.StreamEntryID;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ferramenta de linha de comando que encontra e corrige as diferenças entre a tabela {@code paciente}
+ * do MySQL e a coleção de pacientes do MongoDB.
+ * <p>Uso: {@code java -cp ... br.group3.reconciliacao.Reconciliador}. A comparação é feita por
+ * faixas de {@code idPaciente}, como numa árvore de Merkle: cada banco devolve a quantidade e a soma
+ * dos CRCs ({@link DigestoPaciente}) da faixa, calculadas no próprio banco. Faixas iguais são
+ * descartadas; as diferentes são divididas em {@code reconciliacao.ramos} partes e comparadas de
+ * novo, até ficarem com no máximo {@code reconciliacao.folha} pacientes. Só então as chaves e os
+ * CRCs da faixa são lidos dos dois lados, em ordem, e cruzados. Assim o tráfego depende do número
+ * de diferenças, não do tamanho das tabelas.</p>
+ * <p>Cada diferença vira um evento de reparo publicado em {@code eventos:sistema2}, o mesmo
+ * caminho do outbox ({@code PUBLISH} ou {@code XADD}, conforme {@code middleware.modo}):
+ * {@code ATUALIZADO} com a linha atual do MySQL para pacientes ausentes ou divergentes no MongoDB e
+ * {@code REMOVIDO} para os que só existem no MongoDB. Com {@code reconciliacao.simular=true} as
+ * diferenças são apenas listadas.</p>
+ */
+public final class Reconciliador {
+
+    private final LadoMysql mysql;
+    private final LadoMongo mongo;
+    private final JedisPooled redis;
+    private final boolean streams;
+    private final int ramos;
+    private final int folha;
+
+    private long faixasComparadas;
+    private long folhas;
+    private long linhasLidas;
+    private long ausentes;
+    private long divergentes;
+    private long sobrando;
+
+    private Reconciliador(LadoMysql mysql, LadoMongo mongo, JedisPooled redis) {
+        this.mysql = mysql;
+        this.mongo = mongo;
+        this.redis = redis;
+        this.streams = "streams".equalsIgnoreCase(Configuracao.texto("middleware.modo", "pubsub"));
+        this.ramos = Math.max(2, Configuracao.inteiro("reconciliacao.ramos", 16));
+        this.folha = Math.max(1, Configuracao.inteiro("reconciliacao.folha", 256));
+    }
+
+    public static void main(String[] args) {
+        boolean simular = Boolean.parseBoolean(Configuracao.texto("reconciliacao.simular", "false"));
+        long inicio = System.nanoTime();
+        try (LadoMysql mysql = new LadoMysql();
+             LadoMongo mongo = new LadoMongo();
+             JedisPooled redis = simular ? null : new JedisPooled(Configuracao.texto("redis.host", "localhost"),
+                     Configuracao.inteiro("redis.porta", 6379))) {
+            Reconciliador reconciliador = new Reconciliador(mysql, mongo, redis);
+            reconciliador.reconciliar();
+            System.out.println("Reconciliação concluída em " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio)
+                    + " ms: " + reconciliador.faixasComparadas + " faixas comparadas, " + reconciliador.folhas
+                    + " lidas linha a linha (" + reconciliador.linhasLidas + " linhas); " + reconciliador.ausentes
+                    + " ausentes, " + reconciliador.divergentes + " divergentes e " + reconciliador.sobrando
+                    + " sobrando no MongoDB" + (simular ? " (simulação, nada publicado)" : ""));
+        }
+    }
+
+    private void reconciliar() {
+        Faixa raiz = unir(mysql.limites(), mongo.limites());
+        if (raiz == null) {
+            System.out.println("Nenhum paciente nos dois bancos");
+            return;
+        }
+
+        // Busca em profundidade com pilha explícita: a memória usada é proporcional à altura da árvore
+        Deque<Faixa> pendentes = new ArrayDeque<>();
+        pendentes.push(raiz);
+        while (!pendentes.isEmpty()) {
+            Faixa faixa = pendentes.pop();
+            Lado.Resumo daOrigem = mysql.resumo(faixa);
+            Lado.Resumo doDestino = mongo.resumo(faixa);
+            faixasComparadas++;
+            if (daOrigem.equals(doDestino)) {
+                continue;
+            }
+            if (Math.max(daOrigem.quantidade(), doDestino.quantidade()) <= folha || faixa.tamanho() <= ramos) {
+                cruzarLinhas(faixa);
+                continue;
+            }
+            List<Faixa> partes = faixa.dividir(ramos);
+            // Empilhadas de trás para frente para que as faixas sejam visitadas em ordem crescente
+            for (int i = partes.size() - 1; i >= 0; i--) {
+                pendentes.push(partes.get(i));
+            }
+        }
+    }
+
+    private void cruzarLinhas(Faixa faixa) {
+        folhas++;
+        try (Lado.Cursor origem = mysql.linhas(faixa); Lado.Cursor destino = mongo.linhas(faixa)) {
+            Lado.Linha a = proxima(origem);
+            Lado.Linha b = proxima(destino);
+            while (a != null || b != null) {
+                if (b == null || (a != null && a.id() < b.id())) {
+                    ausentes++;
+                    reparar(a.id(), "ausente no MongoDB");
+                    a = proxima(origem);
+                } else if (a == null || b.id() < a.id()) {
+                    sobrando++;
+                    remover(b.id());
+                    b = proxima(destino);
+                } else {
+                    if (a.crc() != b.crc()) {
+                        divergentes++;
+                        reparar(a.id(), "divergente");
+                    }
+                    a = proxima(origem);
+                    b = proxima(destino);
+                }
+            }
+        }
+    }
+
+    private Lado.Linha proxima(Lado.Cursor cursor) {
+        if (!cursor.hasNext()) {
+            return null;
+        }
+        linhasLidas++;
+        return cursor.next();
+    }
+
+    private void reparar(long idPaciente, String motivo) {
+        System.out.println("Paciente " + idPaciente + " " + motivo);
+        String evento = redis == null ? null : mysql.eventoReparo(idPaciente);
+        if (evento != null) {
+            publicar(evento);
+        }
+    }
+
+    private void remover(long idPaciente) {
+        System.out.println("Paciente " + idPaciente + " só existe no MongoDB");
+        if (redis != null) {
+            publicar("{\"idPaciente\":" + idPaciente + ",\"entidade\":\"paciente\",\"operacao\":\"REMOVIDO\"}");
+        }
+    }
+
+    private void publicar(String evento) {
+        if (streams) {
+            redis.xadd(Roteador.CANAL_SISTEMA_2, StreamEntryID.NEW_ENTRY, Map.of(ConsumidorStreams.CAMPO_PAYLOAD, evento));
+        } else {
+            redis.publish(Roteador.CANAL_SISTEMA_2, evento);
+        }
+    }
+
+    private static Faixa unir(Faixa a, Faixa b) {
+        if (a == null || b == null) {
+            return a == null ? b : a;
+        }
+        return new Faixa(Math.min(a.inicio(), b.inicio()), Math.max(a.fim(), b.fim()));
+    }
+}
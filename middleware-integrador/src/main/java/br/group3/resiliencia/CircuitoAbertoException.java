@@ -0,0 +1,13 @@
+package br.group3.resiliencia;
+
+/**
+ * Lançada quando uma chamada é recusada porque o {@link Disjuntor} do destino está aberto.
+ */
+public class CircuitoAbertoException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CircuitoAbertoException(String destino) {
+        super("Disjuntor de '" + destino + "' aberto: chamada recusada sem contatar o destino");
+    }
+}
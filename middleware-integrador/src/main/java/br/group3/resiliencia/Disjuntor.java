@@ -0,0 +1,101 @@
+package br.group3.resiliencia;
+
+import br.group3.config.Configuracao;
+import br.group3.metricas.Metricas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Disjuntor (circuit breaker) de um destino.
+ * <p>Fechado, deixa todas as chamadas passarem. Depois de {@code <nome>.disjuntor.falhas}
+ * falhas seguidas ele abre e recusa chamadas imediatamente por {@code <nome>.disjuntor.aberturaMs},
+ * sem esperar pelo destino que está com problemas. Passado esse tempo fica meio aberto: uma
+ * única chamada de teste é liberada; se ela der certo o disjuntor fecha, se falhar abre de novo.</p>
+ * <p>O estado é exposto na métrica {@code middleware.disjuntor.estado} (0 fechado, 1 meio aberto,
+ * 2 aberto).</p>
+ */
+public class Disjuntor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(Disjuntor.class);
+
+    public enum Estado { FECHADO, MEIO_ABERTO, ABERTO }
+
+    private final String nome;
+    private final int limiteFalhas;
+    private final long aberturaNs;
+    private final LongSupplier relogio;
+
+    // Protegidos por 'this'
+    private Estado estado = Estado.FECHADO;
+    private int falhasSeguidas;
+    private long abertoAte;
+    private boolean testeEmAndamento;
+
+    /**
+     * @param relogio fonte de tempo em nanossegundos, como {@link System#nanoTime()}; os testes passam um relógio manual.
+     */
+    Disjuntor(String nome, LongSupplier relogio) {
+        this.nome = nome;
+        this.relogio = relogio;
+        this.limiteFalhas = Math.max(1, Configuracao.inteiro(nome + ".disjuntor.falhas", 5));
+        this.aberturaNs = TimeUnit.MILLISECONDS.toNanos(Configuracao.longo(nome + ".disjuntor.aberturaMs", 10_000));
+    }
+
+    /**
+     * Cria o disjuntor do destino e registra a métrica do seu estado.
+     */
+    public static Disjuntor criar(String nome) {
+        Disjuntor disjuntor = new Disjuntor(nome, System::nanoTime);
+        // Fora do construtor: o medidor guarda a referência, que só pode sair com o objeto pronto
+        Metricas.medidor("middleware.disjuntor.estado", disjuntor, d -> d.estado().ordinal(), "sink", nome);
+        return disjuntor;
+    }
+
+    /**
+     * Informa se a chamada pode seguir. Quando devolve {@code true}, quem chamou deve registrar
+     * o resultado com {@link #registrarSucesso()} ou {@link #registrarFalha()}.
+     */
+    public synchronized boolean permite() {
+        if (estado == Estado.ABERTO && relogio.getAsLong() - abertoAte >= 0) {
+            estado = Estado.MEIO_ABERTO;
+            testeEmAndamento = false;
+        }
+        return switch (estado) {
+            case FECHADO -> true;
+            case ABERTO -> false;
+            case MEIO_ABERTO -> {
+                if (testeEmAndamento) {
+                    yield false;
+                }
+                testeEmAndamento = true;
+                yield true;
+            }
+        };
+    }
+
+    public synchronized void registrarSucesso() {
+        if (estado != Estado.FECHADO) {
+            LOG.info("Disjuntor '{}' fechado: destino respondendo novamente", nome);
+        }
+        estado = Estado.FECHADO;
+        falhasSeguidas = 0;
+        testeEmAndamento = false;
+    }
+
+    public synchronized void registrarFalha() {
+        falhasSeguidas++;
+        if (estado == Estado.MEIO_ABERTO || (estado == Estado.FECHADO && falhasSeguidas >= limiteFalhas)) {
+            estado = Estado.ABERTO;
+            abertoAte = relogio.getAsLong() + aberturaNs;
+            testeEmAndamento = false;
+            LOG.warn("Disjuntor '{}' aberto após {} falhas seguidas", nome, falhasSeguidas);
+        }
+    }
+
+    public synchronized Estado estado() {
+        return estado;
+    }
+}
@@ -0,0 +1,24 @@
+package br.group3.resiliencia;
+
+/**
+ * Evento como chegou do Redis: canal de origem e payload original.
+ * <p>Acompanha a escrita pelos sinks para que, se ela falhar de vez, o evento possa ir para a
+ * {@link FilaMensagensMortas} e ser republicado depois no mesmo canal. Quem encerra o caminho
+ * do evento (o sink, depois de gravar, ou a DLQ) chama {@link #concluir()}, o que libera a
+ * confirmação da leitura no Redis ou no spool.</p>
+ *
+ * @param identidade identidade usada pelo filtro de duplicados (veja
+ *                   {@link br.group3.despacho.FiltroDuplicados#identidade}); pode ser {@code null}.
+ */
+public record EventoOrigem(String canal, String mensagem, String identidade, Runnable aoConcluir) {
+
+    public EventoOrigem(String canal, String mensagem) {
+        this(canal, mensagem, null, null);
+    }
+
+    public void concluir() {
+        if (aoConcluir != null) {
+            aoConcluir.run();
+        }
+    }
+}
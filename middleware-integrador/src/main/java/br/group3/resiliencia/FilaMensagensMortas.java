@@ -0,0 +1,93 @@
+package br.group3.resiliencia;
+
+import br.group3.Roteador;
+import br.group3.config.Configuracao;
+import br.group3.metricas.Metricas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.StreamEntryID;
+import redis.clients.jedis.params.XAddParams;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Fila de mensagens mortas (dead-letter) em um Redis Stream.
+ * <p>Recebe os eventos que não puderam ser gravados: os que esgotaram as retentativas, os
+ * recusados pelo destino e os que não puderam ser interpretados. Cada entrada guarda o canal
+ * de origem, o payload original, o destino que falhou e o motivo, e pode ser republicada
+ * com o {@link ReprocessadorDlq}.</p>
+ * <p>Gravado o evento na DLQ, ele é dado como concluído ({@link EventoOrigem#concluir()}). Se a
+ * gravação falhar, o evento continua pendente e volta a ser entregue pelo Redis Streams ou pelo
+ * spool na próxima partida. Nos dois casos ele sai do filtro de duplicados, para que a
+ * republicação ou a reentrega seja processada.</p>
+ * <p>Configurações: {@code dlq.stream} (padrão {@code eventos:dlq}) e {@code dlq.tamanhoMaximo},
+ * limite aproximado de entradas mantidas no stream.</p>
+ */
+public final class FilaMensagensMortas {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FilaMensagensMortas.class);
+
+    public static final String CAMPO_CANAL = "canal";
+    public static final String CAMPO_PAYLOAD = "payload";
+    public static final String CAMPO_DESTINO = "destino";
+    public static final String CAMPO_MOTIVO = "motivo";
+    public static final String CAMPO_DATA = "data";
+
+    private final JedisPooled redis;
+    private final String stream;
+    private final XAddParams params;
+
+    private FilaMensagensMortas() {
+        this.redis = new JedisPooled(Configuracao.texto("redis.host", "localhost"), Configuracao.inteiro("redis.porta", 6379));
+        this.stream = Configuracao.texto("dlq.stream", "eventos:dlq");
+        this.params = XAddParams.xAddParams()
+                .id(StreamEntryID.NEW_ENTRY)
+                .maxLen(Configuracao.longo("dlq.tamanhoMaximo", 100_000))
+                .approximateTrimming();
+    }
+
+    private static final class Holder {
+        private static final FilaMensagensMortas INSTANCIA = new FilaMensagensMortas();
+    }
+
+    public static FilaMensagensMortas instancia() {
+        return Holder.INSTANCIA;
+    }
+
+    /**
+     * Grava o evento na fila. Uma falha aqui só é registrada em log: não há para onde mais mandar o evento.
+     *
+     * @param destino sink que falhou ({@code http}, {@code mongo}) ou etapa que recusou o evento.
+     */
+    public void enviar(EventoOrigem evento, String destino, String motivo) {
+        if (evento == null) {
+            return;
+        }
+        try {
+            redis.xadd(stream, params, Map.of(
+                    CAMPO_CANAL, evento.canal(),
+                    CAMPO_PAYLOAD, evento.mensagem(),
+                    CAMPO_DESTINO, destino,
+                    CAMPO_MOTIVO, motivo == null ? "desconhecido" : motivo,
+                    CAMPO_DATA, Instant.now().toString()));
+            Metricas.contador("middleware.dlq.enviados", "destino", destino).increment();
+            evento.concluir();
+        } catch (Exception e) {
+            LOG.error("Evento do canal '{}' perdido: não foi possível gravá-lo na DLQ ({}). Motivo original: {}",
+                    evento.canal(), e.getMessage(), motivo);
+        } finally {
+            // Gravado na DLQ, a republicação precisa ser processada; sem gravar, a reentrega também
+            Roteador.esquecer(evento.canal(), evento.identidade());
+        }
+    }
+
+    public String stream() {
+        return stream;
+    }
+
+    public void fechar() {
+        redis.close();
+    }
+}
@@ -0,0 +1,47 @@
+package br.group3.resiliencia;
+
+import br.group3.config.Configuracao;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Quantas vezes tentar de novo e quanto esperar entre as tentativas.
+ * <p>O atraso cresce exponencialmente a partir de {@code <nome>.retentativa.baseMs} até o teto
+ * {@code <nome>.retentativa.maxMs}, e o valor efetivo é sorteado entre zero e esse limite
+ * ("full jitter"), para que vários eventos que falharam juntos não voltem todos no mesmo instante.
+ * {@code <nome>.retentativa.tentativas} conta a tentativa original.</p>
+ */
+public class PoliticaRetentativa {
+
+    private final int tentativas;
+    private final long baseMs;
+    private final long maxMs;
+
+    public PoliticaRetentativa(String nome) {
+        this.tentativas = Math.max(1, Configuracao.inteiro(nome + ".retentativa.tentativas", 4));
+        this.baseMs = Math.max(1, Configuracao.longo(nome + ".retentativa.baseMs", 100));
+        this.maxMs = Math.max(baseMs, Configuracao.longo(nome + ".retentativa.maxMs", 5_000));
+    }
+
+    /**
+     * @param tentativa número da tentativa que acabou de falhar, começando em 1.
+     * @return se ainda há tentativas disponíveis.
+     */
+    public boolean podeRepetir(int tentativa) {
+        return tentativa < tentativas;
+    }
+
+    /**
+     * Atraso antes da próxima tentativa, em milissegundos.
+     *
+     * @param tentativa número da tentativa que acabou de falhar, começando em 1.
+     */
+    public long atrasoMs(int tentativa) {
+        long limite = baseMs << Math.min(tentativa - 1, 30);
+        return ThreadLocalRandom.current().nextLong(Math.min(limite, maxMs) + 1);
+    }
+
+    public int tentativas() {
+        return tentativas;
+    }
+}
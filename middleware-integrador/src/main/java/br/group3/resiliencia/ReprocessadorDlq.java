@@ -0,0 +1,67 @@
+package br.group3.resiliencia;
+
+import br.group3.config.Configuracao;
+import br.group3.ingestao.ConsumidorStreams;
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.StreamEntryID;
+import redis.clients.jedis.resps.StreamEntry;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ferramenta de linha de comando que republica os eventos da DLQ nos seus canais de origem.
+ * <p>Uso: {@code java -cp ... br.group3.resiliencia.ReprocessadorDlq [limite] [canal]}. Sem
+ * argumentos, reprocessa toda a fila; {@code canal} restringe aos eventos daquele canal. Cada
+ * entrada é publicada do mesmo jeito que o middleware está consumindo ({@code middleware.modo}:
+ * {@code PUBLISH} no pub/sub, {@code XADD} no modo streams) e só então removida da DLQ. Como as
+ * escritas nos destinos são idempotentes, republicar um evento que já foi gravado não causa dano.</p>
+ */
+public final class ReprocessadorDlq {
+
+    private static final int LOTE = 100;
+
+    private ReprocessadorDlq() {
+    }
+
+    public static void main(String[] args) {
+        long limite = args.length > 0 ? Long.parseLong(args[0]) : Long.MAX_VALUE;
+        String filtroCanal = args.length > 1 ? args[1] : null;
+
+        String stream = Configuracao.texto("dlq.stream", "eventos:dlq");
+        boolean streams = "streams".equalsIgnoreCase(Configuracao.texto("middleware.modo", "pubsub"));
+
+        long republicados = 0;
+        try (JedisPooled redis = new JedisPooled(Configuracao.texto("redis.host", "localhost"),
+                Configuracao.inteiro("redis.porta", 6379))) {
+            StreamEntryID inicio = StreamEntryID.MINIMUM_ID;
+            while (republicados < limite) {
+                List<StreamEntry> entradas = redis.xrange(stream, inicio, StreamEntryID.MAXIMUM_ID, LOTE);
+                if (entradas.isEmpty()) {
+                    break;
+                }
+                for (StreamEntry entrada : entradas) {
+                    // O intervalo do XRANGE é inclusivo: a próxima página começa logo depois desta entrada
+                    inicio = new StreamEntryID(entrada.getID().getTime(), entrada.getID().getSequence() + 1);
+                    Map<String, String> campos = entrada.getFields();
+                    String canal = campos.get(FilaMensagensMortas.CAMPO_CANAL);
+                    String payload = campos.get(FilaMensagensMortas.CAMPO_PAYLOAD);
+                    if (canal == null || payload == null || (filtroCanal != null && !filtroCanal.equals(canal))) {
+                        continue;
+                    }
+
+                    if (streams) {
+                        redis.xadd(canal, StreamEntryID.NEW_ENTRY, Map.of(ConsumidorStreams.CAMPO_PAYLOAD, payload));
+                    } else {
+                        redis.publish(canal, payload);
+                    }
+                    redis.xdel(stream, entrada.getID());
+                    if (++republicados >= limite) {
+                        break;
+                    }
+                }
+            }
+        }
+        System.out.println(republicados + " eventos republicados a partir de '" + stream + "'");
+    }
+}
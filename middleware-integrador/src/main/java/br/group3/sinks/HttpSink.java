@@ -0,0 +1,292 @@
+package br.group3.sinks;
+
+import br.group3.config.Configuracao;
+import br.group3.metricas.Metricas;
+import br.group3.resiliencia.CircuitoAbertoException;
+import br.group3.resiliencia.Disjuntor;
+import br.group3.resiliencia.PoliticaRetentativa;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Destino HTTP compartilhado para a API Spring Boot.
+ * <p>Usa um único {@link HttpClient} (HTTP/2 quando o servidor aceitar, com keep-alive
+ * no HTTP/1.1 caso contrário) e envia as requisições com {@code sendAsync}. Um
+ * {@link Semaphore} limita quantas entregas (com suas retentativas) ficam pendentes ao mesmo
+ * tempo: quando o limite é atingido, quem chama {@link #enviar} espera por uma vaga, o que
+ * aplica contrapressão na origem dos eventos.</p>
+ * <p>As respostas são tratadas nas threads do executor do cliente, nunca na thread
+ * do assinante Redis.</p>
+ * <p>Um {@link Disjuntor} recusa as chamadas de imediato enquanto a API estiver falhando
+ * (erro de rede, timeout, 5xx ou 429). {@link #enviarComRetentativa} repete as falhas
+ * transitórias com backoff exponencial e jitter ({@link PoliticaRetentativa}, prefixo
+ * {@code http}), em uma thread virtual que só termina com a última tentativa. Entregas com a
+ * mesma chave formam uma fila: a próxima só começa quando a anterior, retentativas incluídas,
+ * terminar, para que um PUT repetido depois de um 503 não sobrescreva um PUT ou DELETE mais
+ * novo do mesmo registro.</p>
+ * <p>Métricas: latência de cada requisição por caminho e classe de status, falhas de envio e
+ * requisições em voo. IDs numéricos no caminho viram {@code {id}} no rótulo, para que
+ * {@code /api/consultas/1} e {@code /api/consultas/2} caiam na mesma série.</p>
+ * <p>Configurações: {@code api.url}, {@code http.versao}, {@code http.maxEmVoo},
+ * {@code http.threads} e {@code http.timeoutMs}.</p>
+ */
+public final class HttpSink implements Sink {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HttpSink.class);
+
+    private static final Pattern SEGMENTO_ID = Pattern.compile("/\\d+(?=/|$)");
+
+    private final HttpClient client;
+    private final ExecutorService executor;
+    private final int maxEmVoo;
+    private final Semaphore vagas;
+    private final AtomicInteger emVoo = new AtomicInteger();
+    private final String urlBase;
+    private final Duration timeout;
+    private final Disjuntor disjuntor = Disjuntor.criar("http");
+    private final PoliticaRetentativa retentativa = new PoliticaRetentativa("http");
+    // Cada entrega espera suas respostas e retentativas em uma thread virtual, sem prender o executor do cliente
+    private final ExecutorService entregas = Executors.newVirtualThreadPerTaskExecutor();
+    // Última entrega de cada chave; a seguinte começa quando ela terminar
+    private final ConcurrentMap<String, CompletableFuture<Void>> ultimaPorChave = new ConcurrentHashMap<>();
+    private volatile boolean encerrando;
+
+    private HttpSink() {
+        this.urlBase = Configuracao.texto("api.url", "http://localhost:8083");
+        this.timeout = Duration.ofMillis(Configuracao.longo("http.timeoutMs", 10_000));
+        this.maxEmVoo = Configuracao.inteiro("http.maxEmVoo", 64);
+        this.vagas = new Semaphore(maxEmVoo);
+
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Configuracao.inteiro("http.threads", 4), r -> {
+            Thread t = new Thread(r, "http-sink-" + contador.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        HttpClient.Version versao = "1.1".equals(Configuracao.texto("http.versao", "2"))
+                ? HttpClient.Version.HTTP_1_1
+                : HttpClient.Version.HTTP_2;
+        this.client = HttpClient.newBuilder()
+                .version(versao)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+
+        Metricas.medidor("middleware.sink.emvoo", this, HttpSink::emVoo, "sink", "http");
+    }
+
+    private static final class Holder {
+        private static final HttpSink INSTANCIA = new HttpSink();
+    }
+
+    public static HttpSink instancia() {
+        return Holder.INSTANCIA;
+    }
+
+    @Override
+    public String nome() {
+        return "http";
+    }
+
+    /**
+     * Envia um POST com corpo JSON para o caminho informado (relativo a {@code api.url}).
+     * <p>Bloqueia apenas enquanto não houver vaga para uma nova requisição em voo.</p>
+     *
+     * @return um futuro completado com a resposta da API.
+     */
+    public CompletableFuture<HttpResponse<String>> enviar(String caminho, String corpoJson) {
+        return enviar("POST", caminho, corpoJson);
+    }
+
+    /**
+     * Como {@link #enviar(String, String)}, com o método HTTP informado ({@code PUT}, {@code DELETE}...).
+     *
+     * @param corpoJson corpo da requisição, ou {@code null} para enviá-la sem corpo.
+     */
+    public CompletableFuture<HttpResponse<String>> enviar(String metodo, String caminho, String corpoJson) {
+        try {
+            vagas.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        return tentativa(metodo, caminho, corpoJson).whenComplete((resposta, erro) -> vagas.release());
+    }
+
+    private CompletableFuture<HttpResponse<String>> tentativa(String metodo, String caminho, String corpoJson) {
+        if (!disjuntor.permite()) {
+            return CompletableFuture.failedFuture(new CircuitoAbertoException("http"));
+        }
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(urlBase + caminho))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .method(metodo, corpoJson == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(corpoJson))
+                .build();
+
+        emVoo.incrementAndGet();
+        long inicio = System.nanoTime();
+
+        try {
+            return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((resposta, erro) -> {
+                        emVoo.decrementAndGet();
+                        registrar(caminho, resposta, erro, inicio);
+                        if (erro != null || falhaTransitoria(resposta.statusCode())) {
+                            disjuntor.registrarFalha();
+                        } else {
+                            disjuntor.registrarSucesso();
+                        }
+                    });
+        } catch (RuntimeException e) {
+            emVoo.decrementAndGet();
+            disjuntor.registrarFalha();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Como {@link #enviar}, mas repete erros de rede, 5xx, 429 e recusas do disjuntor até esgotar as
+     * tentativas.
+     *
+     * @param chave registro alterado pela requisição (o caminho do recurso, por exemplo): entregas com a
+     *              mesma chave são feitas na ordem em que foram pedidas, uma de cada vez. {@code null}
+     *              dispensa a ordem.
+     * @return um futuro com a última resposta recebida (que pode ser um erro não transitório, como 400),
+     * ou falho se a última tentativa terminou em exceção.
+     */
+    public CompletableFuture<HttpResponse<String>> enviarComRetentativa(String chave, String metodo, String caminho,
+                                                                         String corpoJson) {
+        try {
+            // A vaga vale pela entrega inteira, espera pela chave e retentativas incluídas
+            vagas.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<HttpResponse<String>> resultado = new CompletableFuture<>();
+        CompletableFuture<Void> vez = new CompletableFuture<>();
+        CompletableFuture<Void> anterior = chave == null ? null : ultimaPorChave.put(chave, vez);
+        Runnable entrega = () -> {
+            try {
+                resultado.complete(entregar(metodo, caminho, corpoJson));
+            } catch (CompletionException e) {
+                resultado.completeExceptionally(e.getCause());
+            } catch (InterruptedException e) {
+                // Interrompida no encerramento, esperando a próxima tentativa
+                Thread.currentThread().interrupt();
+                resultado.completeExceptionally(e);
+            } finally {
+                vagas.release();
+                if (chave != null) {
+                    ultimaPorChave.remove(chave, vez);
+                }
+                vez.complete(null);
+            }
+        };
+        if (anterior == null) {
+            iniciar(entrega);
+        } else {
+            anterior.whenComplete((nada, erro) -> iniciar(entrega));
+        }
+        return resultado;
+    }
+
+    private void iniciar(Runnable entrega) {
+        try {
+            entregas.execute(entrega);
+        } catch (RejectedExecutionException e) {
+            // Já encerrando: a entrega roda aqui mesmo, sem retentativas
+            entrega.run();
+        }
+    }
+
+    /**
+     * Faz as tentativas uma depois da outra, esperando o atraso da política entre elas. Roda em thread virtual.
+     */
+    private HttpResponse<String> entregar(String metodo, String caminho, String corpoJson) throws InterruptedException {
+        for (int numero = 1; ; numero++) {
+            HttpResponse<String> resposta;
+            try {
+                resposta = tentativa(metodo, caminho, corpoJson).join();
+            } catch (CompletionException e) {
+                if (!repetir(numero)) {
+                    throw e;
+                }
+                resposta = null;
+            }
+            if (resposta != null && (!falhaTransitoria(resposta.statusCode()) || !repetir(numero))) {
+                return resposta;
+            }
+            Metricas.contador("middleware.retentativas", "sink", "http").increment();
+            Thread.sleep(retentativa.atrasoMs(numero));
+        }
+    }
+
+    private boolean repetir(int tentativa) {
+        // Durante o encerramento não há mais retentativas: o chamador manda o evento para a DLQ
+        return retentativa.podeRepetir(tentativa) && !encerrando;
+    }
+
+    private static boolean falhaTransitoria(int status) {
+        return status >= 500 || status == 429;
+    }
+
+    private static void registrar(String caminho, HttpResponse<String> resposta, Throwable erro, long inicio) {
+        // Agrupa por classe de status (2xx, 4xx...) para não criar uma série por código
+        String resultado = erro != null ? "erro" : (resposta.statusCode() / 100) + "xx";
+        String destino = SEGMENTO_ID.matcher(caminho).replaceAll("/{id}");
+        Metricas.temporizador("middleware.sink.latencia", "sink", "http", "destino", destino, "resultado", resultado)
+                .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        if (erro != null || resposta.statusCode() >= 400) {
+            Metricas.contador("middleware.erros", "etapa", "http").increment();
+        }
+    }
+
+    /**
+     * Quantidade de requisições aguardando resposta neste momento.
+     */
+    public int emVoo() {
+        return emVoo.get();
+    }
+
+    /**
+     * Interrompe as retentativas, aguarda as entregas pendentes terminarem (até 10 segundos) e libera
+     * as threads do executor.
+     */
+    @Override
+    public void fechar() {
+        encerrando = true;
+        try {
+            if (!vagas.tryAcquire(maxEmVoo, 10, TimeUnit.SECONDS)) {
+                LOG.warn("HttpSink encerrado com {} requisições ainda em voo", emVoo());
+            }
+            // O que ainda espera por uma retentativa é interrompido e vai para a DLQ
+            entregas.shutdownNow();
+            executor.shutdown();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package br.group3.sinks;
+
+import br.group3.config.Configuracao;
+import br.group3.resiliencia.EventoOrigem;
+import br.group3.resiliencia.FilaMensagensMortas;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Agrupa corpos JSON em micro-lotes antes de enviá-los pelo {@link HttpSink}.
+ * <p>Os itens se acumulam até o lote atingir {@code http.lote.tamanho} ou até que o
+ * primeiro item do lote espere {@code http.lote.lingerMs}; então todos seguem em um único
+ * POST com um array JSON. A resposta esperada é um resultado por item com o campo
+ * {@code status}, como o de {@code POST /api/pacientes/lote}.</p>
+ * <p>O lote é enviado com {@link HttpSink#enviarComRetentativa}. Se ainda assim falhar, todos os
+ * eventos do lote vão para a {@link FilaMensagensMortas}; itens recusados como inválidos vão
+ * sozinhos, já que repeti-los não adianta. Uma resposta que não dá para ler também manda o lote
+ * inteiro para a DLQ, e um item que ficou sem resultado vai sozinho: nenhum evento fica sem
+ * conclusão.</p>
+ * <p>Os lotes de um mesmo caminho são entregues um de cada vez, na ordem em que foram fechados:
+ * um lote repetido depois de uma falha nunca chega depois do seguinte, que pode trazer uma
+ * versão mais nova do mesmo paciente.</p>
+ */
+public class LoteadorHttp {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoteadorHttp.class);
+
+    private static final Gson GSON = new Gson();
+
+    private record Item(String corpoJson, EventoOrigem origem) {
+    }
+
+    private final String caminho;
+    private final int tamanhoLote;
+    private final long lingerMs;
+    private final ScheduledExecutorService agendador;
+
+    // Corpos aguardando envio; protegidos por 'this'
+    private List<Item> pendentes = new ArrayList<>();
+    private long primeiroPendenteEm;
+
+    public LoteadorHttp(String caminho) {
+        this.caminho = caminho;
+        this.tamanhoLote = Configuracao.inteiro("http.lote.tamanho", 100);
+        this.lingerMs = Configuracao.longo("http.lote.lingerMs", 50);
+        this.agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "http-lote-" + caminho);
+            t.setDaemon(true);
+            return t;
+        });
+        long verificacaoMs = Math.max(1, lingerMs / 2);
+        agendador.scheduleWithFixedDelay(this::enviarSeExpirado, verificacaoMs, verificacaoMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Adiciona um corpo JSON (um objeto) ao lote corrente.
+     *
+     * @param origem evento que gerou o corpo, enviado para a DLQ se o item não puder ser gravado.
+     */
+    public void adicionar(String corpoJson, EventoOrigem origem) {
+        synchronized (this) {
+            if (pendentes.isEmpty()) {
+                primeiroPendenteEm = System.nanoTime();
+            }
+            pendentes.add(new Item(corpoJson, origem));
+            if (pendentes.size() >= tamanhoLote) {
+                // Enviado ainda com o lock: é aqui que a ordem dos lotes fica definida
+                enviar(trocarLote());
+            }
+        }
+    }
+
+    private synchronized void enviarSeExpirado() {
+        if (!pendentes.isEmpty()
+                && System.nanoTime() - primeiroPendenteEm >= TimeUnit.MILLISECONDS.toNanos(lingerMs)) {
+            enviar(trocarLote());
+        }
+    }
+
+    /**
+     * Envia imediatamente o que estiver acumulado.
+     */
+    public synchronized void flush() {
+        if (!pendentes.isEmpty()) {
+            enviar(trocarLote());
+        }
+    }
+
+    private List<Item> trocarLote() {
+        List<Item> lote = pendentes;
+        pendentes = new ArrayList<>(tamanhoLote);
+        return lote;
+    }
+
+    private void enviar(List<Item> lote) {
+        // Os itens já são objetos JSON serializados: basta concatená-los em um array
+        String corpo = lote.stream().map(Item::corpoJson).collect(Collectors.joining(",", "[", "]"));
+        long inicio = System.nanoTime();
+
+        HttpSink.instancia().enviarComRetentativa(caminho, "POST", caminho, corpo).whenComplete((response, erro) -> {
+            long ms = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+            if (erro != null) {
+                LOG.error("Erro ao enviar lote de {} itens para a API: {}", lote.size(), erro.getMessage());
+                descartar(lote, "falha no envio: " + erro.getMessage());
+            } else if (response.statusCode() != 200) {
+                LOG.error("API recusou lote de {} itens com Status: {}", lote.size(), response.statusCode());
+                descartar(lote, "lote recusado pela API com status " + response.statusCode());
+            } else {
+                relatarResultado(lote, response.body(), ms);
+            }
+        });
+    }
+
+    private static void descartar(List<Item> lote, String motivo) {
+        FilaMensagensMortas dlq = FilaMensagensMortas.instancia();
+        for (Item item : lote) {
+            dlq.enviar(item.origem(), "http", motivo);
+        }
+    }
+
+    private void relatarResultado(List<Item> lote, String corpoResposta, long ms) {
+        int tamanho = lote.size();
+        JsonObject[] resultados;
+        try {
+            resultados = lerResultados(corpoResposta, tamanho);
+        } catch (RuntimeException e) {
+            // Sem saber o que a API gravou, nenhum evento pode ser concluído: o lote inteiro vai para a DLQ
+            LOG.error("Resposta ilegível para o lote de {} itens: {}", tamanho, e.getMessage());
+            descartar(lote, "resposta do lote ilegível: " + e.getMessage());
+            return;
+        }
+
+        int recusados = 0;
+        for (int indice = 0; indice < tamanho; indice++) {
+            EventoOrigem origem = lote.get(indice).origem();
+            JsonObject resultado = resultados[indice];
+            if (resultado == null) {
+                recusados++;
+                LOG.warn("Item {} do lote sem resultado na resposta da API", indice);
+                FilaMensagensMortas.instancia().enviar(origem, "http", "item sem resultado na resposta do lote");
+                continue;
+            }
+            String status = resultado.get("status").getAsString();
+            if (!"CRIADO".equals(status)) {
+                recusados++;
+                LOG.warn("Item {} do lote recusado: {}", indice, resultado.get("erros"));
+            }
+            // DUPLICADO quer dizer que o paciente já está gravado; só itens inválidos precisam de atenção
+            if ("INVALIDO".equals(status)) {
+                FilaMensagensMortas.instancia().enviar(origem, "http", "item inválido: " + resultado.get("erros"));
+            } else {
+                origem.concluir();
+            }
+        }
+        LOG.info("Lote de {} itens enviado para '{}' em {} ms ({} gravados, {} recusados)",
+                tamanho, caminho, ms, tamanho - recusados, recusados);
+    }
+
+    /**
+     * Lê a resposta do lote antes de concluir qualquer evento, para que uma resposta malformada não
+     * deixe metade do lote concluída.
+     *
+     * @return o resultado de cada item na posição dele no lote; {@code null} onde a API não respondeu.
+     * @throws RuntimeException se a resposta não for um array de objetos com {@code indice} e
+     *                          {@code status} válidos.
+     */
+    private static JsonObject[] lerResultados(String corpoResposta, int tamanho) {
+        JsonArray itens = GSON.fromJson(corpoResposta, JsonArray.class);
+        if (itens == null) {
+            throw new IllegalStateException("resposta vazia");
+        }
+        JsonObject[] resultados = new JsonObject[tamanho];
+        for (JsonElement item : itens) {
+            JsonObject resultado = item.getAsJsonObject();
+            JsonElement indice = resultado.get("indice");
+            JsonElement status = resultado.get("status");
+            if (indice == null || !indice.isJsonPrimitive() || status == null || !status.isJsonPrimitive()) {
+                throw new IllegalStateException("item sem indice ou status: " + resultado);
+            }
+            int posicao = indice.getAsInt();
+            if (posicao < 0 || posicao >= tamanho) {
+                throw new IllegalStateException("indice " + posicao + " fora de um lote de " + tamanho + " itens");
+            }
+            resultados[posicao] = resultado;
+        }
+        return resultados;
+    }
+
+    /**
+     * Envia o lote pendente e encerra o agendador.
+     */
+    public void fechar() {
+        agendador.shutdown();
+        flush();
+    }
+}
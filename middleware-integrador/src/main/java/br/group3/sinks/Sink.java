@@ -0,0 +1,16 @@
+package br.group3.sinks;
+
+/**
+ * Destino final dos eventos transformados.
+ * <p>Os sinks são compartilhados entre pipelines e encerrados uma única vez, depois que todos os
+ * transformadores que escrevem neles foram encerrados.</p>
+ */
+public interface Sink {
+
+    String nome();
+
+    /**
+     * Grava o que estiver pendente e libera as conexões.
+     */
+    void fechar();
+}
@@ -0,0 +1,155 @@
+package br.group3.spool;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Um arquivo do spool, mapeado em memória.
+ * <p>Cada registro é {@code [tamanho:int][crc32:int][sequencia:long][tamanhoCanal:short][canal][payload]},
+ * em que tamanho e CRC cobrem tudo a partir da sequência. O arquivo é criado já com o tamanho
+ * final e preenchido com zeros, então um tamanho zero marca o fim dos registros. Um registro
+ * com CRC inválido (escrita interrompida) também encerra a leitura.</p>
+ */
+final class Segmento {
+
+    static final int CABECALHO = 8;
+    private static final String PREFIXO = "segmento-";
+    private static final String SUFIXO = ".log";
+
+    /**
+     * Registro lido de volta na recuperação.
+     */
+    record Registro(long sequencia, String canal, String mensagem) {
+    }
+
+    /**
+     * Recebe cada registro válido encontrado na leitura.
+     */
+    interface Leitor {
+        void ler(Registro registro);
+    }
+
+    private final Path arquivo;
+    private final long primeiraSequencia;
+    private final MappedByteBuffer buffer;
+
+    private Segmento(Path arquivo, long primeiraSequencia, MappedByteBuffer buffer) {
+        this.arquivo = arquivo;
+        this.primeiraSequencia = primeiraSequencia;
+        this.buffer = buffer;
+    }
+
+    static Segmento criar(Path diretorio, long primeiraSequencia, int tamanho) throws IOException {
+        Path arquivo = diretorio.resolve(nome(primeiraSequencia));
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // O mapeamento continua válido depois que o canal é fechado
+            return new Segmento(arquivo, primeiraSequencia, canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanho));
+        }
+    }
+
+    /**
+     * Segmento de uma execução anterior. Não aceita gravações; é mantido só para ser apagado
+     * quando o checkpoint passar dele.
+     */
+    static Segmento existente(Path arquivo) {
+        return new Segmento(arquivo, primeiraSequencia(arquivo), null);
+    }
+
+    static String nome(long primeiraSequencia) {
+        return String.format("%s%020d%s", PREFIXO, primeiraSequencia, SUFIXO);
+    }
+
+    static boolean ehSegmento(Path arquivo) {
+        String nome = arquivo.getFileName().toString();
+        return nome.startsWith(PREFIXO) && nome.endsWith(SUFIXO);
+    }
+
+    static long primeiraSequencia(Path arquivo) {
+        String nome = arquivo.getFileName().toString();
+        return Long.parseLong(nome.substring(PREFIXO.length(), nome.length() - SUFIXO.length()));
+    }
+
+    /**
+     * Percorre os registros válidos de um segmento existente, do início ao fim.
+     */
+    static void ler(Path arquivo, Leitor leitor) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            MappedByteBuffer leitura = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            CRC32 crc = new CRC32();
+            while (leitura.remaining() >= CABECALHO) {
+                int tamanho = leitura.getInt();
+                int esperado = leitura.getInt();
+                if (tamanho <= 0 || tamanho > leitura.remaining()) {
+                    return;
+                }
+                byte[] corpo = new byte[tamanho];
+                leitura.get(corpo);
+                crc.reset();
+                crc.update(corpo);
+                if ((int) crc.getValue() != esperado) {
+                    return;
+                }
+                leitor.ler(decodificar(corpo));
+            }
+        }
+    }
+
+    private static Registro decodificar(byte[] corpo) {
+        ByteBuffer dados = ByteBuffer.wrap(corpo);
+        long sequencia = dados.getLong();
+        int tamanhoCanal = dados.getShort() & 0xFFFF;
+        String canal = new String(corpo, dados.position(), tamanhoCanal, StandardCharsets.UTF_8);
+        int inicioMensagem = dados.position() + tamanhoCanal;
+        String mensagem = new String(corpo, inicioMensagem, corpo.length - inicioMensagem, StandardCharsets.UTF_8);
+        return new Registro(sequencia, canal, mensagem);
+    }
+
+    /**
+     * Tamanho em bytes que um registro ocupa no segmento, já com o cabeçalho.
+     */
+    static int tamanhoRegistro(byte[] canal, byte[] mensagem) {
+        return CABECALHO + Long.BYTES + Short.BYTES + canal.length + mensagem.length;
+    }
+
+    /**
+     * Grava o registro na posição corrente. Quem chama garante o acesso exclusivo e o espaço livre.
+     */
+    void gravar(long sequencia, byte[] canal, byte[] mensagem, CRC32 crc) {
+        int tamanho = Long.BYTES + Short.BYTES + canal.length + mensagem.length;
+        int inicio = buffer.position();
+        // O tamanho é escrito por último: um registro pela metade nunca parece completo
+        buffer.position(inicio + CABECALHO);
+        buffer.putLong(sequencia).putShort((short) canal.length).put(canal).put(mensagem);
+
+        crc.reset();
+        crc.update(buffer.slice(inicio + CABECALHO, tamanho));
+        buffer.putInt(inicio + Integer.BYTES, (int) crc.getValue());
+        buffer.putInt(inicio, tamanho);
+    }
+
+    int livre() {
+        return buffer.remaining();
+    }
+
+    /**
+     * Força as páginas alteradas para o disco.
+     */
+    void sincronizar() {
+        buffer.force();
+    }
+
+    long primeiraSequencia() {
+        return primeiraSequencia;
+    }
+
+    Path arquivo() {
+        return arquivo;
+    }
+}
@@ -0,0 +1,445 @@
+package br.group3.spool;
+
+import br.group3.config.Configuracao;
+import br.group3.metricas.Metricas;
+import br.group3.resiliencia.EventoOrigem;
+import br.group3.resiliencia.FilaMensagensMortas;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Spool (write-ahead log) dos eventos recebidos por pub/sub.
+ * <p>No pub/sub o Redis não guarda nada: se o processo cair depois de receber um evento e antes
+ * de gravá-lo no destino, o evento se perde. O spool registra cada evento em segmentos mapeados
+ * em memória antes de ele ser despachado, e cada evento ganha uma sequência. Quando o evento é
+ * gravado no destino (ou na DLQ), a sequência é concluída; o checkpoint é a menor sequência ainda
+ * pendente. Na partida, {@link #recuperar} devolve os eventos a partir do checkpoint para serem
+ * processados de novo.</p>
+ * <p>Gravar é só copiar bytes para a memória mapeada: a página já pertence ao cache do sistema
+ * operacional e sobrevive à queda do processo. A gravação no disco, que protege contra queda da
+ * máquina, é feita em grupo por uma thread que sincroniza o segmento a cada
+ * {@code spool.commit.intervaloMs}. Com {@code spool.sincrono=true}, {@link #registrar} só retorna
+ * depois desse commit em grupo, trocando latência por durabilidade total.</p>
+ * <p>Um evento que nunca termina seguraria o checkpoint e, com ele, a remoção dos segmentos.
+ * Por isso a sequência pendente há mais de {@code spool.pendente.idadeMaximaMs} (padrão 10 minutos;
+ * zero desliga) é relida do segmento e mandada para a {@link FilaMensagensMortas}, o que a conclui.
+ * A idade da pendente mais antiga é exposta em {@code middleware.spool.pendentes.idade.maxima.ms}.</p>
+ * <p>Configurações: {@code spool.diretorio}, {@code spool.segmento.bytes},
+ * {@code spool.commit.intervaloMs}, {@code spool.checkpoint.intervaloMs}, {@code spool.sincrono}
+ * e {@code spool.pendente.idadeMaximaMs}.</p>
+ */
+public class SpoolEventos {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SpoolEventos.class);
+
+    /**
+     * Recebe os eventos pendentes encontrados na partida.
+     */
+    @FunctionalInterface
+    public interface Reentrega {
+        void reentregar(long sequencia, String canal, String mensagem);
+    }
+
+    private static final String ARQUIVO_CHECKPOINT = "checkpoint";
+    private static final long MARCA_CHECKPOINT = 0x5350_4F4F_4C43_4B50L;
+
+    private final Path diretorio;
+    private final int tamanhoSegmento;
+    private final boolean sincrono;
+    private final long intervaloCommitMs;
+    private final long intervaloCheckpointMs;
+    private final long idadeMaximaNs;
+    private final FileChannel arquivoCheckpoint;
+    private Thread committer;
+    private final Timer tempoCommit = Metricas.temporizador("middleware.spool.commit");
+
+    // Sequências registradas e ainda não concluídas, com o instante (nanoTime) em que ficaram pendentes
+    private final ConcurrentSkipListMap<Long, Long> pendentes = new ConcurrentSkipListMap<>();
+    private final CRC32 crc = new CRC32();
+
+    // Protegidos por 'this'
+    private final Deque<Segmento> segmentos = new ArrayDeque<>();
+    private Segmento atual;
+    private long proximaSequencia;
+    private long gravadoAte = -1;
+    private long sincronizadoAte = -1;
+    private long checkpointGravado;
+
+    private volatile boolean aberto = true;
+
+    public SpoolEventos() {
+        this(Path.of(Configuracao.texto("spool.diretorio", "spool")));
+    }
+
+    public SpoolEventos(Path diretorio) {
+        this.diretorio = diretorio;
+        this.tamanhoSegmento = Configuracao.inteiro("spool.segmento.bytes", 64 * 1024 * 1024);
+        this.sincrono = Boolean.parseBoolean(Configuracao.texto("spool.sincrono", "false"));
+        this.intervaloCommitMs = Math.max(1, Configuracao.longo("spool.commit.intervaloMs", 5));
+        this.intervaloCheckpointMs = Math.max(intervaloCommitMs, Configuracao.longo("spool.checkpoint.intervaloMs", 500));
+        this.idadeMaximaNs = TimeUnit.MILLISECONDS.toNanos(Configuracao.longo("spool.pendente.idadeMaximaMs", 600_000));
+        try {
+            Files.createDirectories(diretorio);
+            this.arquivoCheckpoint = FileChannel.open(diretorio.resolve(ARQUIVO_CHECKPOINT),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.checkpointGravado = lerCheckpoint();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir o spool em " + diretorio, e);
+        }
+        Metricas.medidor("middleware.spool.pendentes", pendentes, ConcurrentSkipListMap::size);
+        Metricas.medidor("middleware.spool.pendentes.idade.maxima.ms", pendentes, SpoolEventos::idadeMaisAntigaMs);
+    }
+
+    /**
+     * Lê os segmentos existentes e entrega os eventos a partir do checkpoint, que voltam a ficar
+     * pendentes com a sequência original. Deve ser chamado uma vez, antes do primeiro {@link #registrar}:
+     * só depois dele o checkpoint volta a avançar.
+     *
+     * @return quantos eventos foram reentregues.
+     */
+    public int recuperar(Reentrega reentrega) {
+        List<Path> arquivos;
+        try (Stream<Path> listagem = Files.list(diretorio)) {
+            arquivos = listagem.filter(Segmento::ehSegmento)
+                    .sorted((a, b) -> Long.compare(Segmento.primeiraSequencia(a), Segmento.primeiraSequencia(b)))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        List<Segmento.Registro> aReentregar = new ArrayList<>();
+        List<Segmento> antigos = new ArrayList<>();
+        long maiorSequencia = checkpointGravado - 1;
+        for (Path arquivo : arquivos) {
+            try {
+                long[] ultima = {Long.MIN_VALUE};
+                Segmento.ler(arquivo, registro -> {
+                    ultima[0] = Math.max(ultima[0], registro.sequencia());
+                    if (registro.sequencia() >= checkpointGravado) {
+                        aReentregar.add(registro);
+                    }
+                });
+                if (ultima[0] == Long.MIN_VALUE) {
+                    // Segmento criado sem nenhum registro completo: nada a recuperar
+                    Files.deleteIfExists(arquivo);
+                    continue;
+                }
+                maiorSequencia = Math.max(maiorSequencia, ultima[0]);
+                antigos.add(Segmento.existente(arquivo));
+            } catch (IOException e) {
+                LOG.warn("Segmento do spool ilegível ignorado: {} ({})", arquivo, e.getMessage());
+            }
+        }
+
+        synchronized (this) {
+            proximaSequencia = Math.max(checkpointGravado, maiorSequencia + 1);
+            // Os segmentos antigos só são lidos; as novas gravações vão para um segmento novo
+            segmentos.addAll(antigos);
+            long agora = System.nanoTime();
+            for (Segmento.Registro registro : aReentregar) {
+                pendentes.put(registro.sequencia(), agora);
+            }
+            committer = Thread.ofPlatform().name("spool-commit").daemon(true).start(this::commitEmGrupo);
+        }
+        for (Segmento.Registro registro : aReentregar) {
+            reentrega.reentregar(registro.sequencia(), registro.canal(), registro.mensagem());
+        }
+        if (!aReentregar.isEmpty()) {
+            LOG.info("{} eventos pendentes recuperados do spool em {}", aReentregar.size(), diretorio);
+        }
+        return aReentregar.size();
+    }
+
+    /**
+     * Grava o evento no spool e devolve a sequência que deve ser passada a {@link #concluir}.
+     */
+    public long registrar(String canal, String mensagem) {
+        byte[] bytesCanal = canal.getBytes(StandardCharsets.UTF_8);
+        byte[] bytesMensagem = mensagem.getBytes(StandardCharsets.UTF_8);
+        int tamanho = Segmento.tamanhoRegistro(bytesCanal, bytesMensagem);
+        long sequencia;
+        synchronized (this) {
+            if (!aberto || committer == null) {
+                throw new IllegalStateException(aberto ? "Spool ainda não recuperado" : "Spool encerrado");
+            }
+            if (atual == null || atual.livre() < tamanho) {
+                trocarSegmento(tamanho);
+            }
+            sequencia = proximaSequencia++;
+            // Entra em pendentes antes de o checkpoint poder passar por esta sequência
+            pendentes.put(sequencia, System.nanoTime());
+            atual.gravar(sequencia, bytesCanal, bytesMensagem, crc);
+            gravadoAte = sequencia;
+            if (sincrono) {
+                aguardarCommit(sequencia);
+            }
+        }
+        return sequencia;
+    }
+
+    /**
+     * Marca o evento como gravado no destino. Chamar mais de uma vez não tem efeito.
+     */
+    public void concluir(long sequencia) {
+        pendentes.remove(sequencia);
+    }
+
+    /**
+     * Quantidade de eventos registrados e ainda não concluídos.
+     */
+    public int pendentes() {
+        return pendentes.size();
+    }
+
+    /**
+     * Há quanto tempo, em milissegundos, a sequência pendente mais antiga espera; zero sem pendentes.
+     */
+    public double idadePendenteMaisAntigaMs() {
+        return idadeMaisAntigaMs(pendentes);
+    }
+
+    private static double idadeMaisAntigaMs(ConcurrentSkipListMap<Long, Long> pendentes) {
+        Map.Entry<Long, Long> maisAntiga = pendentes.firstEntry();
+        return maisAntiga == null ? 0 : (System.nanoTime() - maisAntiga.getValue()) / 1_000_000.0;
+    }
+
+    private void trocarSegmento(int tamanhoMinimo) {
+        if (atual != null) {
+            atual.sincronizar();
+        }
+        try {
+            atual = Segmento.criar(diretorio, proximaSequencia, Math.max(tamanhoSegmento, tamanhoMinimo));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível criar um segmento no spool", e);
+        }
+        segmentos.addLast(atual);
+    }
+
+    private void aguardarCommit(long sequencia) {
+        // wait() libera o monitor, então outras threads continuam gravando e entram no mesmo commit
+        while (sincronizadoAte < sequencia && aberto) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void commitEmGrupo() {
+        long proximoCheckpoint = System.nanoTime();
+        // A expiração relê segmentos: basta verificá-la a cada décimo da idade máxima
+        long intervaloExpiracao = Math.max(TimeUnit.MILLISECONDS.toNanos(intervaloCheckpointMs), idadeMaximaNs / 10);
+        long proximaExpiracao = System.nanoTime() + intervaloExpiracao;
+        while (aberto) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(intervaloCommitMs);
+                sincronizar();
+                if (idadeMaximaNs > 0 && System.nanoTime() - proximaExpiracao >= 0) {
+                    expirarPendentes();
+                    proximaExpiracao = System.nanoTime() + intervaloExpiracao;
+                }
+                if (System.nanoTime() - proximoCheckpoint >= 0) {
+                    gravarCheckpoint();
+                    proximoCheckpoint = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(intervaloCheckpointMs);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                LOG.error("Erro no commit do spool: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void sincronizar() {
+        Segmento segmento;
+        long ate;
+        synchronized (this) {
+            if (gravadoAte <= sincronizadoAte || atual == null) {
+                return;
+            }
+            segmento = atual;
+            ate = gravadoAte;
+        }
+        // force() fora do monitor: as gravações seguem enquanto o disco trabalha
+        long inicio = System.nanoTime();
+        segmento.sincronizar();
+        tempoCommit.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        synchronized (this) {
+            sincronizadoAte = Math.max(sincronizadoAte, ate);
+            notifyAll();
+        }
+    }
+
+    /**
+     * Manda para a DLQ as sequências pendentes há mais de {@code spool.pendente.idadeMaximaMs}.
+     * <p>O spool só guarda os eventos em disco, então eles são relidos dos segmentos. A DLQ conclui a
+     * sequência; se a gravação nela falhar, a sequência continua pendente e é tentada de novo na
+     * próxima verificação.</p>
+     */
+    private void expirarPendentes() {
+        long limite = System.nanoTime() - idadeMaximaNs;
+        List<Long> vencidas = new ArrayList<>();
+        // A ordem das sequências é a ordem em que ficaram pendentes: a primeira que não venceu encerra a busca
+        for (Map.Entry<Long, Long> pendente : pendentes.entrySet()) {
+            if (pendente.getValue() - limite > 0) {
+                break;
+            }
+            vencidas.add(pendente.getKey());
+        }
+        if (vencidas.isEmpty()) {
+            return;
+        }
+
+        Map<Path, Set<Long>> porSegmento = new HashMap<>();
+        synchronized (this) {
+            for (long sequencia : vencidas) {
+                Segmento dono = null;
+                for (Segmento segmento : segmentos) {
+                    if (segmento.primeiraSequencia() > sequencia) {
+                        break;
+                    }
+                    dono = segmento;
+                }
+                if (dono != null) {
+                    porSegmento.computeIfAbsent(dono.arquivo(), a -> new HashSet<>()).add(sequencia);
+                }
+            }
+        }
+
+        long idadeMaximaMs = TimeUnit.NANOSECONDS.toMillis(idadeMaximaNs);
+        Set<Long> encontradas = new HashSet<>();
+        for (Map.Entry<Path, Set<Long>> segmento : porSegmento.entrySet()) {
+            Set<Long> procuradas = segmento.getValue();
+            try {
+                Segmento.ler(segmento.getKey(), registro -> {
+                    long sequencia = registro.sequencia();
+                    if (!procuradas.contains(sequencia) || !pendentes.containsKey(sequencia)) {
+                        return;
+                    }
+                    encontradas.add(sequencia);
+                    Metricas.contador("middleware.spool.expirados").increment();
+                    LOG.warn("Evento do canal '{}' (sequência {}) pendente no spool há mais de {} ms: enviado para a DLQ",
+                            registro.canal(), sequencia, idadeMaximaMs);
+                    FilaMensagensMortas.instancia().enviar(
+                            new EventoOrigem(registro.canal(), registro.mensagem(), null, () -> concluir(sequencia)),
+                            "spool", "pendente no spool há mais de " + idadeMaximaMs + " ms");
+                });
+            } catch (IOException e) {
+                LOG.error("Não foi possível reler o segmento {} do spool: {}", segmento.getKey(), e.getMessage());
+            }
+        }
+
+        // Sem registro legível não há o que mandar para a DLQ: a sequência é abandonada para não travar o spool
+        for (long sequencia : vencidas) {
+            if (!encontradas.contains(sequencia) && pendentes.remove(sequencia) != null) {
+                LOG.error("Evento pendente no spool (sequência {}) não encontrado nos segmentos: abandonado", sequencia);
+            }
+        }
+    }
+
+    private void gravarCheckpoint() throws IOException {
+        long checkpoint;
+        List<Segmento> descartaveis = new ArrayList<>();
+        synchronized (this) {
+            checkpoint = pendentes.isEmpty() ? proximaSequencia : Math.min(pendentes.firstKey(), proximaSequencia);
+            if (checkpoint == checkpointGravado) {
+                return;
+            }
+            // Um segmento pode ser apagado quando o seguinte começa antes do checkpoint:
+            // então todos os registros dele são anteriores e já foram concluídos
+            while (segmentos.size() > 1) {
+                Segmento primeiro = segmentos.pollFirst();
+                if (segmentos.peekFirst().primeiraSequencia() <= checkpoint) {
+                    descartaveis.add(primeiro);
+                } else {
+                    segmentos.addFirst(primeiro);
+                    break;
+                }
+            }
+        }
+
+        ByteBuffer dados = ByteBuffer.allocate(2 * Long.BYTES).putLong(checkpoint).putLong(checkpoint ^ MARCA_CHECKPOINT).flip();
+        arquivoCheckpoint.write(dados, 0);
+        arquivoCheckpoint.force(false);
+        checkpointGravado = checkpoint;
+
+        // Só depois do checkpoint em disco os segmentos antigos podem sumir
+        for (Segmento segmento : descartaveis) {
+            Files.deleteIfExists(segmento.arquivo());
+        }
+    }
+
+    private long lerCheckpoint() throws IOException {
+        ByteBuffer dados = ByteBuffer.allocate(2 * Long.BYTES);
+        if (arquivoCheckpoint.read(dados, 0) < dados.capacity()) {
+            return 0;
+        }
+        dados.flip();
+        long checkpoint = dados.getLong();
+        if ((checkpoint ^ MARCA_CHECKPOINT) != dados.getLong()) {
+            // Checkpoint corrompido: reprocessar tudo é seguro, porque as escritas são idempotentes
+            LOG.warn("Checkpoint do spool inválido; os segmentos serão reprocessados desde o início");
+            return 0;
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Sincroniza o que falta, grava o checkpoint final e para a thread de commit.
+     */
+    public void fechar() {
+        Thread commit;
+        synchronized (this) {
+            if (!aberto) {
+                return;
+            }
+            aberto = false;
+            commit = committer;
+            notifyAll();
+        }
+        try {
+            if (commit != null) {
+                commit.interrupt();
+                commit.join(TimeUnit.SECONDS.toMillis(5));
+                synchronized (this) {
+                    if (atual != null) {
+                        atual.sincronizar();
+                    }
+                }
+                gravarCheckpoint();
+            }
+            arquivoCheckpoint.close();
+        } catch (IOException e) {
+            LOG.error("Erro ao fechar o spool: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!pendentes.isEmpty()) {
+            LOG.info("{} eventos pendentes ficam no spool para a próxima partida", pendentes.size());
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package br.group3.transformers;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+
+/**
+ * Converte os eventos de consulta e prontuário do sistema NoSQL nos corpos aceitos por
+ * {@code PUT /api/consultas/{id}} e {@code PUT /api/prontuarios/{id}}.
+ * <p>Como no {@link CodecPaciente}, a leitura é feita em streaming, mas aqui cada campo é copiado
+ * para o {@link JsonWriter} assim que é lido: um prontuário com centenas de exames atravessa o
+ * codec exame a exame, sem que o documento ou a lista sejam montados em memória. Campos
+ * desconhecidos (inclusive dentro de cada exame) são pulados.</p>
+ * <p>As datas chegam do ODM como {@code "2025-01-15 10:00:00"} e são reescritas no formato ISO
+ * ({@code "2025-01-15T10:00:00"}) que a API espera.</p>
+ */
+public final class CodecOdm {
+
+    /**
+     * Corpo pronto para a API e o que o transformador precisa saber do evento.
+     *
+     * @param id valor do campo de ID do documento, ou {@code null} se ele não veio.
+     * @param remocao se o evento é uma remoção ({@code "operacao": "REMOVIDO"}).
+     * @param corpo JSON do DTO correspondente.
+     */
+    public record CorpoApi(String id, boolean remocao, String corpo) {
+    }
+
+    private static final Reserva<CodecOdm> RESERVA = new Reserva<>(CodecOdm::new);
+
+    private final StringWriter saida = new StringWriter(1024);
+
+    // Lidos durante a cópia; o ID e a operação podem aparecer em qualquer posição do evento
+    private String id;
+    private boolean remocao;
+
+    private CodecOdm() {
+    }
+
+    /**
+     * Converte um evento de consulta no corpo do {@code ConsultaDTO}.
+     */
+    public static CorpoApi consulta(String evento) {
+        CodecOdm codec = RESERVA.pegar();
+        try {
+            return codec.converter(evento, "idConsulta", false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            RESERVA.devolver(codec);
+        }
+    }
+
+    /**
+     * Converte um evento de prontuário no corpo do {@code ProntuarioDTO}, exames inclusos.
+     */
+    public static CorpoApi prontuario(String evento) {
+        CodecOdm codec = RESERVA.pegar();
+        try {
+            return codec.converter(evento, "idProntuario", true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            RESERVA.devolver(codec);
+        }
+    }
+
+    private CorpoApi converter(String evento, String campoId, boolean prontuario) throws IOException {
+        id = null;
+        remocao = false;
+        saida.getBuffer().setLength(0);
+        JsonWriter writer = new JsonWriter(saida);
+        try (JsonReader reader = new JsonReader(new StringReader(evento))) {
+            reader.beginObject();
+            writer.beginObject();
+            while (reader.hasNext()) {
+                String campo = reader.nextName();
+                if (campo.equals(campoId)) {
+                    id = reader.peek() == JsonToken.NULL ? pularNulo(reader) : reader.nextString();
+                } else if ("operacao".equals(campo)) {
+                    remocao = "REMOVIDO".equals(texto(reader));
+                } else if (prontuario) {
+                    copiarCampoProntuario(campo, reader, writer);
+                } else {
+                    copiarCampoConsulta(campo, reader, writer);
+                }
+            }
+            reader.endObject();
+            writer.endObject();
+        }
+        writer.flush();
+        return new CorpoApi(id, remocao, saida.toString());
+    }
+
+    private static void copiarCampoConsulta(String campo, JsonReader reader, JsonWriter writer) throws IOException {
+        switch (campo) {
+            case "dataHora" -> writer.name(campo).value(data(reader));
+            case "motivo", "status" -> writer.name(campo).value(texto(reader));
+            case "idMedico", "idPaciente" -> writer.name(campo).value(numero(reader));
+            default -> reader.skipValue();
+        }
+    }
+
+    private static void copiarCampoProntuario(String campo, JsonReader reader, JsonWriter writer) throws IOException {
+        switch (campo) {
+            case "dataCriacao" -> writer.name(campo).value(data(reader));
+            case "historicoMedico", "diagnostico", "tratamento" -> writer.name(campo).value(texto(reader));
+            case "idPaciente" -> writer.name(campo).value(numero(reader));
+            case "exames" -> copiarExames(reader, writer);
+            default -> reader.skipValue();
+        }
+    }
+
+    private static void copiarExames(JsonReader reader, JsonWriter writer) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+            reader.skipValue();
+            return;
+        }
+        writer.name("exames").beginArray();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                continue;
+            }
+            reader.beginObject();
+            writer.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "nomeExame" -> writer.name("nomeExame").value(texto(reader));
+                    case "dataRealizacao" -> writer.name("dataRealizacao").value(data(reader));
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+            writer.endObject();
+        }
+        reader.endArray();
+        writer.endArray();
+    }
+
+    private static String pularNulo(JsonReader reader) throws IOException {
+        reader.nextNull();
+        return null;
+    }
+
+    private static String texto(JsonReader reader) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+            return reader.nextString();
+        }
+        reader.skipValue();
+        return null;
+    }
+
+    private static Long numero(JsonReader reader) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.NUMBER || token == JsonToken.STRING) {
+            return reader.nextLong();
+        }
+        reader.skipValue();
+        return null;
+    }
+
+    // "2025-01-15 10:00:00" -> "2025-01-15T10:00:00"; só a data ganha meia-noite
+    private static String data(JsonReader reader) throws IOException {
+        String valor = texto(reader);
+        if (valor == null) {
+            return null;
+        }
+        if (valor.length() == 10) {
+            return valor + "T00:00:00";
+        }
+        if (valor.length() > 10 && valor.charAt(10) == ' ') {
+            return valor.substring(0, 10) + 'T' + valor.substring(11);
+        }
+        return valor;
+    }
+}
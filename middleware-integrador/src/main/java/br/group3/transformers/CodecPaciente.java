@@ -0,0 +1,108 @@
+package br.group3.transformers;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+
+/**
+ * Converte o evento de paciente do sistema NoSQL no corpo aceito por {@code POST /api/pacientes}
+ * sem montar objetos intermediários.
+ * <p>A leitura usa um {@link JsonReader} em streaming: só os cinco campos do {@code PacienteDTO}
+ * são lidos, direto para um {@link Paciente} reaproveitado; o restante do evento (inclusive
+ * objetos e listas aninhados) é pulado sem ser materializado. A escrita usa um {@link JsonWriter}
+ * sobre um buffer também reaproveitado. As instâncias ficam em uma {@link Reserva} compartilhada:
+ * cada chamada usa uma só para si e a devolve no fim.</p>
+ */
+public final class CodecPaciente {
+
+    /**
+     * Campos do paciente que seguem para a API. Reaproveitado entre mensagens, junto com o codec.
+     */
+    private static final class Paciente {
+        String nomeCompleto;
+        String dataNascimento;
+        String cpf;
+        String endereco;
+        String telefone;
+
+        void limpar() {
+            nomeCompleto = null;
+            dataNascimento = null;
+            cpf = null;
+            endereco = null;
+            telefone = null;
+        }
+    }
+
+    private static final Reserva<CodecPaciente> RESERVA = new Reserva<>(CodecPaciente::new);
+
+    private final Paciente paciente = new Paciente();
+    private final StringWriter saida = new StringWriter(256);
+
+    private CodecPaciente() {
+    }
+
+    /**
+     * Lê o evento NoSQL e devolve o JSON do {@code PacienteDTO}. Campos ausentes seguem como
+     * {@code null} e são recusados pela validação da API.
+     */
+    public static String paraCorpoApi(String eventoNosql) {
+        CodecPaciente codec = RESERVA.pegar();
+        try {
+            codec.ler(eventoNosql);
+            return codec.escrever();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            RESERVA.devolver(codec);
+        }
+    }
+
+    private void ler(String evento) throws IOException {
+        paciente.limpar();
+        try (JsonReader reader = new JsonReader(new StringReader(evento))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "nomeCompleto" -> paciente.nomeCompleto = texto(reader);
+                    case "dataNascimento" -> paciente.dataNascimento = texto(reader);
+                    case "cpf" -> paciente.cpf = texto(reader);
+                    case "endereco" -> paciente.endereco = texto(reader);
+                    case "telefone" -> paciente.telefone = texto(reader);
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+    }
+
+    // Números (um telefone sem máscara, por exemplo) são mantidos com o texto original
+    private static String texto(JsonReader reader) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+            return reader.nextString();
+        }
+        reader.skipValue();
+        return null;
+    }
+
+    private String escrever() throws IOException {
+        saida.getBuffer().setLength(0);
+        JsonWriter writer = new JsonWriter(saida);
+        writer.setSerializeNulls(true);
+        writer.beginObject()
+                .name("nomeCompleto").value(paciente.nomeCompleto)
+                .name("dataNascimento").value(paciente.dataNascimento)
+                .name("cpf").value(paciente.cpf)
+                .name("endereco").value(paciente.endereco)
+                .name("telefone").value(paciente.telefone)
+                .endObject();
+        writer.flush();
+        return saida.toString();
+    }
+}
@@ -0,0 +1,57 @@
+package br.group3.transformers;
+
+import br.group3.Roteador;
+import br.group3.metricas.Metricas;
+import br.group3.pipeline.Transformador;
+import br.group3.resiliencia.EventoOrigem;
+import br.group3.resiliencia.FilaMensagensMortas;
+import br.group3.sinks.HttpSink;
+import br.group3.sinks.Sink;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pipeline {@code consulta}: consultas do sistema 1 (MongoDB) são copiadas para a tabela de resumo
+ * do MySQL por {@code PUT /api/consultas/{idConsulta}}; eventos de remoção viram {@code DELETE}.
+ */
+public class ConsultaTransformer implements Transformador {
+
+    private static final String API_CONSULTA_ENDPOINT = "/api/consultas/";
+
+    private static final Timer TRANSFORMACAO = Metricas.temporizador("middleware.transformacao", "etapa", "consulta");
+
+    @Override
+    public String nome() {
+        return "consulta";
+    }
+
+    @Override
+    public List<String> canais() {
+        return List.of(Roteador.CANAL_CONSULTAS);
+    }
+
+    @Override
+    public List<Sink> sinks() {
+        return List.of(HttpSink.instancia());
+    }
+
+    @Override
+    public void transformarEEnviar(EventoOrigem origem) {
+        long inicio = System.nanoTime();
+        CodecOdm.CorpoApi corpo = CodecOdm.consulta(origem.mensagem());
+        TRANSFORMACAO.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+
+        if (corpo.id() == null) {
+            FilaMensagensMortas.instancia().enviar(origem, nome(), "evento sem idConsulta");
+            return;
+        }
+        String caminho = API_CONSULTA_ENDPOINT + corpo.id();
+        if (corpo.remocao()) {
+            EntregaHttp.entregar(origem, caminho, "DELETE", caminho, null);
+        } else {
+            EntregaHttp.entregar(origem, caminho, "PUT", caminho, corpo.corpo());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package br.group3.transformers;
+
+import br.group3.resiliencia.EventoOrigem;
+import br.group3.resiliencia.FilaMensagensMortas;
+import br.group3.sinks.HttpSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Envio de um único evento para a API, com o tratamento de resposta comum aos pipelines HTTP.
+ * <p>Respostas 2xx concluem o evento; falhas de envio e demais status o mandam para a
+ * {@link FilaMensagensMortas}. Um {@code DELETE} respondido com 404 também conclui o evento:
+ * o registro já não existe, que é o resultado pedido.</p>
+ * <p>Entregas com a mesma chave seguem uma de cada vez, na ordem em que foram pedidas (veja
+ * {@link HttpSink#enviarComRetentativa}).</p>
+ */
+final class EntregaHttp {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntregaHttp.class);
+
+    private EntregaHttp() {
+    }
+
+    /**
+     * @param chave registro alterado; {@code null} quando o evento não tiver uma.
+     */
+    static void entregar(EventoOrigem origem, String chave, String metodo, String caminho, String corpoJson) {
+        // O envio é assíncrono: a resposta é tratada fora da thread do despachante
+        HttpSink.instancia().enviarComRetentativa(chave, metodo, caminho, corpoJson)
+                .whenComplete((response, erro) -> {
+                    if (erro != null) {
+                        LOG.error("Erro ao enviar dados para a API: {}", erro.getMessage());
+                        FilaMensagensMortas.instancia().enviar(origem, "http", "falha no envio: " + erro.getMessage());
+                        return;
+                    }
+                    LOG.debug("API respondeu {} {} com Status: {}", metodo, caminho, response.statusCode());
+                    boolean jaRemovido = "DELETE".equals(metodo) && response.statusCode() == 404;
+                    if (response.statusCode() / 100 == 2 || jaRemovido) {
+                        origem.concluir();
+                    } else {
+                        FilaMensagensMortas.instancia().enviar(origem, "http",
+                                "recusado pela API com status " + response.statusCode() + ": " + response.body());
+                    }
+                });
+    }
+}
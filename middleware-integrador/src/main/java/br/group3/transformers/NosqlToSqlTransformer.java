@@ -1,46 +1,89 @@
 package br.group3.transformers;
 
-import com.google.gson.Gson;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.util.Map;
-
-public class NosqlToSqlTransformer {
-
-    // URL final e confirmada com base no PacienteController.java
-    private static final String API_PACIENTE_ENDPOINT = "http://localhost:8083/api/pacientes"; //
-
-    public static void transformarEEnviar(String dadosJsonNoSql) {
-        Gson gson = new Gson();
-        Map<String, Object> dadosNosql = gson.fromJson(dadosJsonNoSql, Map.class);
-        
+import br.group3.Roteador;
+import br.group3.config.Configuracao;
+import br.group3.despacho.ChaveEvento;
+import br.group3.logs.RedacaoPayload;
+import br.group3.metricas.Metricas;
+import br.group3.pipeline.Transformador;
+import br.group3.resiliencia.EventoOrigem;
+import br.group3.sinks.HttpSink;
+import br.group3.sinks.LoteadorHttp;
+import br.group3.sinks.Sink;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pipeline {@code nosql-para-sql}: pacientes publicados pelo sistema 1 (MongoDB) seguem para a API Spring Boot.
+ */
+public class NosqlToSqlTransformer implements Transformador {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NosqlToSqlTransformer.class);
+
+    // Caminho confirmado com base no PacienteController.java (a URL base vem de api.url)
+    private static final String API_PACIENTE_ENDPOINT = "/api/pacientes";
+    private static final String API_PACIENTE_LOTE_ENDPOINT = "/api/pacientes/lote";
+
+    // Com http.lote.tamanho maior que 1 os pacientes seguem em micro-lotes para o endpoint de lote
+    private static final LoteadorHttp LOTEADOR = Configuracao.inteiro("http.lote.tamanho", 100) > 1
+            ? new LoteadorHttp(API_PACIENTE_LOTE_ENDPOINT)
+            : null;
+
+    // Tempo de parse e remapeamento; a latência da API é medida no HttpSink
+    private static final Timer TRANSFORMACAO = Metricas.temporizador("middleware.transformacao", "etapa", "nosql_para_sql");
+
+    @Override
+    public String nome() {
+        return "nosql-para-sql";
+    }
+
+    @Override
+    public List<String> canais() {
+        return List.of(Roteador.CANAL_SISTEMA_1);
+    }
+
+    @Override
+    public List<Sink> sinks() {
+        return List.of(HttpSink.instancia());
+    }
+
+    @Override
+    public void transformarEEnviar(EventoOrigem origem) {
+        // Evento do Sistema 1 (NoSQL) -> Transformar para SQL
+        long inicio = System.nanoTime();
+        String requestBody = transformar(origem.mensagem());
+        TRANSFORMACAO.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+
+        if (LOTEADOR != null) {
+            LOTEADOR.adicionar(requestBody, origem);
+            return;
+        }
+
+        LOG.debug("Enviando para a API Spring Boot: {}", RedacaoPayload.de(requestBody));
+        EntregaHttp.entregar(origem, ChaveEvento.extrair(origem.mensagem()), "POST", API_PACIENTE_ENDPOINT, requestBody);
+    }
+
+    /**
+     * Converte o evento NoSQL no corpo JSON esperado pela API. Não faz I/O, o que permite
+     * medi-la isoladamente nos benchmarks.
+     */
+    public static String transformar(String dadosJsonNoSql) {
         // Mapeamento final dos campos com base no PacienteDTO.java
         // Supondo que os nomes dos campos no evento NoSQL sejam os mesmos.
-        Map<String, Object> payloadSql = Map.of(
-            "nomeCompleto", dadosNosql.get("nomeCompleto"),
-            "dataNascimento", dadosNosql.get("dataNascimento"),
-            "cpf", dadosNosql.get("cpf"),
-            "endereco", dadosNosql.get("endereco"),
-            "telefone", dadosNosql.get("telefone")
-        );
-
-        String requestBody = gson.toJson(payloadSql);
-        
-        System.out.println("Enviando para a API Spring Boot: " + requestBody);
-
-        HttpClient client = HttpClient.newHttpClient();
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(API_PACIENTE_ENDPOINT))
-                .header("Content-Type", "application/json")
-                .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                .build();
-        try {
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            System.out.println("API respondeu com Status: " + response.statusCode());
-        } catch (Exception e) {
-            System.err.println("Erro ao enviar dados para a API: " + e.getMessage());
+        return CodecPaciente.paraCorpoApi(dadosJsonNoSql);
+    }
+
+    /**
+     * Envia o micro-lote que ainda estiver acumulado. Deve ser chamado antes de fechar o {@link HttpSink}.
+     */
+    @Override
+    public void fechar() {
+        if (LOTEADOR != null) {
+            LOTEADOR.fechar();
         }
     }
-}
\ No newline at end of file
+}
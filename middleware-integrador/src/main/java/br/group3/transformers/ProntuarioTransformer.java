@@ -0,0 +1,64 @@
+package br.group3.transformers;
+
+import br.group3.Roteador;
+import br.group3.metricas.Metricas;
+import br.group3.pipeline.Transformador;
+import br.group3.resiliencia.EventoOrigem;
+import br.group3.resiliencia.FilaMensagensMortas;
+import br.group3.sinks.HttpSink;
+import br.group3.sinks.Sink;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pipeline {@code prontuario}: prontuários do sistema 1 (MongoDB) seguem para
+ * {@code PUT /api/prontuarios/{idProntuario}}, com os exames embutidos.
+ * <p>O documento é convertido em streaming pelo {@link CodecOdm} e a API grava só o que mudou
+ * desde a última sincronização (campos do prontuário e exames, que viram linhas próprias), então
+ * reenviar o documento inteiro a cada alteração custa pouco dos dois lados.</p>
+ * <p>Métricas: {@code middleware.prontuario.bytes}, o tamanho dos eventos recebidos.</p>
+ */
+public class ProntuarioTransformer implements Transformador {
+
+    private static final String API_PRONTUARIO_ENDPOINT = "/api/prontuarios/";
+
+    private static final Timer TRANSFORMACAO = Metricas.temporizador("middleware.transformacao", "etapa", "prontuario");
+    private static final DistributionSummary TAMANHO = Metricas.distribuicao("middleware.prontuario.bytes");
+
+    @Override
+    public String nome() {
+        return "prontuario";
+    }
+
+    @Override
+    public List<String> canais() {
+        return List.of(Roteador.CANAL_PRONTUARIOS);
+    }
+
+    @Override
+    public List<Sink> sinks() {
+        return List.of(HttpSink.instancia());
+    }
+
+    @Override
+    public void transformarEEnviar(EventoOrigem origem) {
+        TAMANHO.record(origem.mensagem().length());
+        long inicio = System.nanoTime();
+        CodecOdm.CorpoApi corpo = CodecOdm.prontuario(origem.mensagem());
+        TRANSFORMACAO.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+
+        if (corpo.id() == null) {
+            FilaMensagensMortas.instancia().enviar(origem, nome(), "evento sem idProntuario");
+            return;
+        }
+        String caminho = API_PRONTUARIO_ENDPOINT + corpo.id();
+        if (corpo.remocao()) {
+            EntregaHttp.entregar(origem, caminho, "DELETE", caminho, null);
+        } else {
+            EntregaHttp.entregar(origem, caminho, "PUT", caminho, corpo.corpo());
+        }
+    }
+}
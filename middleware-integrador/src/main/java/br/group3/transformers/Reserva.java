@@ -0,0 +1,61 @@
+package br.group3.transformers;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Poucas instâncias reaproveitáveis, compartilhadas entre todas as threads.
+ * <p>Um {@link ThreadLocal} só reaproveita em threads longas. Com {@code despacho.modo=virtual}
+ * cada evento roda em uma virtual thread nova, e ele criaria uma instância por evento. Quem usa a
+ * instância não bloqueia (só converte JSON), então quase nunca há mais usuários simultâneos que
+ * processadores: há uma vaga por processador. Sem vaga ocupada, {@link #pegar} cria uma instância
+ * nova; com todas ocupadas, {@link #devolver} descarta a que sobrou.</p>
+ */
+final class Reserva<T> {
+
+    private final Supplier<T> fabrica;
+    private final AtomicReferenceArray<T> vagas;
+
+    Reserva(Supplier<T> fabrica) {
+        this(fabrica, Runtime.getRuntime().availableProcessors());
+    }
+
+    Reserva(Supplier<T> fabrica, int vagas) {
+        this.fabrica = fabrica;
+        this.vagas = new AtomicReferenceArray<>(Math.max(1, vagas));
+    }
+
+    /**
+     * Tira uma instância da reserva, ou cria uma se não houver. Deve voltar com {@link #devolver}.
+     */
+    T pegar() {
+        int total = vagas.length();
+        int inicio = inicio(total);
+        for (int i = 0; i < total; i++) {
+            int vaga = (inicio + i) % total;
+            // Lê antes de trocar: vagas vazias não custam uma escrita
+            if (vagas.get(vaga) != null) {
+                T instancia = vagas.getAndSet(vaga, null);
+                if (instancia != null) {
+                    return instancia;
+                }
+            }
+        }
+        return fabrica.get();
+    }
+
+    void devolver(T instancia) {
+        int total = vagas.length();
+        int inicio = inicio(total);
+        for (int i = 0; i < total; i++) {
+            if (vagas.compareAndSet((inicio + i) % total, null, instancia)) {
+                return;
+            }
+        }
+    }
+
+    // Começa por uma vaga diferente em cada thread, para que elas não disputem sempre a primeira
+    private static int inicio(int total) {
+        return (int) Math.floorMod(Thread.currentThread().threadId(), (long) total);
+    }
+}
@@ -0,0 +1,45 @@
+package br.group3.despacho;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de {@link ChaveEvento}: a chave vem do tipo mais o ID da entidade, e {@code cpf} ou
+ * {@code crm} só na falta do ID.
+ */
+public class ChaveEventoTest {
+
+    @Test
+    @DisplayName("Deve usar o campo entidade do outbox para escolher o ID")
+    void deveUsarCampoEntidade() {
+        assertEquals("medico:5", ChaveEvento.extrair("{\"entidade\":\"medico\",\"idMedico\":5,\"idPaciente\":9}"));
+        assertEquals("paciente:9", ChaveEvento.extrair("{\"entidade\":\"paciente\",\"idMedico\":5,\"idPaciente\":9}"));
+    }
+
+    @Test
+    @DisplayName("Deve priorizar idConsulta e idProntuario sobre o paciente e o médico do evento")
+    void devePriorizarConsultaEProntuario() {
+        assertEquals("consulta:3", ChaveEvento.extrair("{\"idPaciente\":1,\"idMedico\":2,\"idConsulta\":3}"));
+        assertEquals("prontuario:4", ChaveEvento.extrair("{\"idPaciente\":1,\"idProntuario\":4}"));
+    }
+
+    @Test
+    @DisplayName("Deve usar cpf ou crm só quando não há ID")
+    void deveUsarCpfOuCrmSemId() {
+        assertEquals("paciente:12", ChaveEvento.extrair("{\"cpf\":\"123\",\"idPaciente\":12}"));
+        assertEquals("paciente:cpf:123", ChaveEvento.extrair("{\"nome\":\"Ana\",\"cpf\":\"123\"}"));
+        assertEquals("medico:crm:SP-1", ChaveEvento.extrair("{\"crm\":\"SP-1\"}"));
+        assertEquals("paciente:cpf:123", ChaveEvento.extrair("{\"idPaciente\":null,\"cpf\":\"123\"}"));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar campos aninhados e devolver null sem identificador ou com JSON inválido")
+    void deveDevolverNullSemIdentificador() {
+        assertEquals("paciente:1", ChaveEvento.extrair("{\"extra\":{\"idConsulta\":8},\"idPaciente\":1}"));
+        assertNull(ChaveEvento.extrair("{\"nome\":\"Ana\"}"));
+        assertNull(ChaveEvento.extrair("[1,2]"));
+        assertNull(ChaveEvento.extrair("{\"idPaciente\":"));
+    }
+}
@@ -0,0 +1,173 @@
+package br.group3.despacho;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de {@link DespachanteParticionado}: ordem por chave dentro da faixa, contrapressão com a
+ * fila cheia e o resultado da drenagem no encerramento.
+ * <p>Cada teste usa um pipeline próprio, configurado por propriedades de sistema
+ * ({@code pipeline.<nome>.despacho.*}).</p>
+ */
+public class DespachanteParticionadoTest {
+
+    private final List<String> propriedades = new ArrayList<>();
+    private DespachanteParticionado despachante;
+
+    @AfterEach
+    void tearDown() {
+        if (despachante != null) {
+            despachante.fechar(Duration.ofSeconds(1));
+        }
+        propriedades.forEach(System::clearProperty);
+    }
+
+    @Test
+    @DisplayName("Deve processar os eventos de uma mesma chave na ordem em que chegaram")
+    void deveManterOrdemPorChave() {
+        Map<String, List<Integer>> vistos = new ConcurrentHashMap<>();
+        despachante = criar("ordem", 4, 1_000, (canal, mensagem, idEntrega, aoConcluir) -> {
+            String chave = ChaveEvento.extrair(mensagem);
+            int sequencia = Integer.parseInt(mensagem.substring(mensagem.indexOf("\"seq\":") + 6, mensagem.length() - 1));
+            vistos.computeIfAbsent(chave, c -> new ArrayList<>()).add(sequencia);
+            aoConcluir.run();
+        });
+
+        for (int seq = 0; seq < 500; seq++) {
+            despachante.submeter("canal", "{\"idPaciente\":" + (seq % 7) + ",\"seq\":" + seq + "}");
+        }
+        Drenagem drenagem = despachante.fechar(Duration.ofSeconds(5));
+
+        assertEquals(0, drenagem.abandonados());
+        assertEquals(500, vistos.values().stream().mapToInt(List::size).sum());
+        assertEquals(7, vistos.size());
+        vistos.forEach((chave, sequencias) -> {
+            for (int i = 1; i < sequencias.size(); i++) {
+                assertTrue(sequencias.get(i - 1) < sequencias.get(i), "fora de ordem na chave " + chave);
+            }
+        });
+        assertEquals(despachante.faixa("paciente:3"), despachante.faixa("paciente:3"));
+    }
+
+    @Test
+    @DisplayName("Deve bloquear submeter enquanto a fila da faixa estiver cheia")
+    void deveBloquearComFilaCheia() throws InterruptedException {
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        despachante = criar("contrapressao", 1, 1, bloqueante(iniciou, liberar));
+
+        despachante.submeter("canal", "{\"idPaciente\":1}");
+        assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+        despachante.submeter("canal", "{\"idPaciente\":2}"); // ocupa a única vaga da fila
+        Thread leitor = Thread.ofVirtual().start(() -> despachante.submeter("canal", "{\"idPaciente\":3}"));
+
+        leitor.join(Duration.ofMillis(200));
+        assertTrue(leitor.isAlive(), "submeter deveria estar bloqueado");
+        assertEquals(1, despachante.profundidadeFila());
+
+        liberar.countDown();
+        assertTrue(leitor.join(Duration.ofSeconds(5)));
+        assertEquals(0, despachante.fechar(Duration.ofSeconds(5)).abandonados());
+        assertEquals(0, despachante.emAndamento());
+    }
+
+    @Test
+    @DisplayName("Deve contar como abandonados os eventos que não terminam dentro do prazo do encerramento")
+    void deveContarAbandonadosNoPrazo() throws InterruptedException {
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        AtomicInteger concluidos = new AtomicInteger();
+        despachante = criar("abandono", 1, 10, bloqueante(iniciou, liberar));
+
+        for (int i = 0; i < 3; i++) {
+            despachante.submeter("canal", "{\"idPaciente\":" + i + "}", concluidos::incrementAndGet);
+        }
+        assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+
+        Drenagem drenagem = despachante.fechar(Duration.ofMillis(100));
+
+        assertEquals(new Drenagem(0, 3), drenagem);
+        assertThrows(IllegalStateException.class, () -> despachante.submeter("canal", "{\"idPaciente\":9}"));
+        assertEquals(Drenagem.VAZIA, despachante.fechar(Duration.ofMillis(100)));
+
+        liberar.countDown();
+        // Só o evento que estava em execução termina; os que estavam na fila foram descartados
+        Thread.sleep(100);
+        assertEquals(1, concluidos.get());
+    }
+
+    @Test
+    @DisplayName("Deve drenar dentro do prazo os eventos que estavam na fila")
+    void deveDrenarFilaNoPrazo() {
+        AtomicInteger concluidos = new AtomicInteger();
+        CountDownLatch liberar = new CountDownLatch(1);
+        despachante = criar("drenagem", 2, 100, (canal, mensagem, idEntrega, aoConcluir) -> {
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            aoConcluir.run();
+        });
+
+        for (int i = 0; i < 50; i++) {
+            despachante.submeter("canal", "{\"idPaciente\":" + i + "}", concluidos::incrementAndGet);
+        }
+        // Nada terminou até o encerramento começar: os 50 eventos contam como drenados
+        Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            liberar.countDown();
+        });
+
+        assertEquals(new Drenagem(50, 0), despachante.fechar(Duration.ofSeconds(5)));
+        assertEquals(50, concluidos.get());
+        assertEquals(0, despachante.emAndamento());
+    }
+
+    private DespachanteParticionado criar(String pipeline, int faixas, int capacidade, Processador processador) {
+        String nome = "teste-" + pipeline;
+        definir("pipeline." + nome + ".despacho.faixas", faixas);
+        definir("pipeline." + nome + ".despacho.fila.capacidade", capacidade);
+        return new DespachanteParticionado(processador, nome);
+    }
+
+    private void definir(String chave, int valor) {
+        System.setProperty(chave, String.valueOf(valor));
+        propriedades.add(chave);
+    }
+
+    /**
+     * Processador em que o primeiro evento fica preso até {@code liberar}; os demais terminam na hora.
+     */
+    private static Processador bloqueante(CountDownLatch iniciou, CountDownLatch liberar) {
+        return (canal, mensagem, idEntrega, aoConcluir) -> {
+            if (iniciou.getCount() > 0) {
+                iniciou.countDown();
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            aoConcluir.run();
+        };
+    }
+}
@@ -0,0 +1,127 @@
+package br.group3.despacho;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de {@link FiltroDuplicados}: reentregas de eventos concluídos e em andamento, o prazo da
+ * cópia em andamento e o descarte do LRU.
+ */
+public class FiltroDuplicadosTest {
+
+    private static final String CANAL = "eventos:sistema2";
+
+    @Test
+    @DisplayName("Deve confirmar na hora a reentrega de um evento já concluído, sem processá-la")
+    void deveConfirmarReentregaDeEventoConcluido() {
+        FiltroDuplicados filtro = new FiltroDuplicados(10, 60_000);
+        AtomicInteger confirmacoes = new AtomicInteger();
+
+        FiltroDuplicados.Entrada primeira = filtro.entrar(CANAL, "evento:1", confirmacoes::incrementAndGet);
+        assertFalse(primeira.duplicado());
+        primeira.aoConcluir().run();
+        assertEquals(1, confirmacoes.get());
+
+        FiltroDuplicados.Entrada reentrega = filtro.entrar(CANAL, "evento:1", confirmacoes::incrementAndGet);
+
+        assertTrue(reentrega.duplicado());
+        assertEquals(2, confirmacoes.get());
+    }
+
+    @Test
+    @DisplayName("Deve segurar a confirmação da reentrega até a primeira cópia terminar")
+    void deveSegurarReentregaEnquantoPrimeiraEmAndamento() {
+        FiltroDuplicados filtro = new FiltroDuplicados(10, 60_000);
+        AtomicInteger primeira = new AtomicInteger();
+        AtomicInteger reentrega = new AtomicInteger();
+
+        FiltroDuplicados.Entrada entrada = filtro.entrar(CANAL, "evento:1", primeira::incrementAndGet);
+        FiltroDuplicados.Entrada duplicada = filtro.entrar(CANAL, "evento:1", reentrega::incrementAndGet);
+
+        assertTrue(duplicada.duplicado());
+        assertEquals(0, reentrega.get());
+
+        entrada.aoConcluir().run();
+
+        assertEquals(1, primeira.get());
+        assertEquals(1, reentrega.get());
+    }
+
+    @Test
+    @DisplayName("Deve processar de novo o evento esquecido, sem confirmar as reentregas que esperavam")
+    void deveProcessarDeNovoEventoEsquecido() {
+        FiltroDuplicados filtro = new FiltroDuplicados(10, 60_000);
+        AtomicInteger reentrega = new AtomicInteger();
+
+        filtro.entrar(CANAL, "evento:1", () -> { });
+        filtro.entrar(CANAL, "evento:1", reentrega::incrementAndGet);
+        filtro.esquecer(CANAL, "evento:1");
+
+        FiltroDuplicados.Entrada nova = filtro.entrar(CANAL, "evento:1", () -> { });
+
+        assertFalse(nova.duplicado());
+        nova.aoConcluir().run();
+        assertEquals(0, reentrega.get());
+    }
+
+    @Test
+    @DisplayName("Deve dar como perdida a cópia que passa do prazo, e a nova cópia herda as reentregas")
+    void deveProcessarReentregaDepoisDoPrazo() {
+        // Prazo zero: toda cópia em andamento já está vencida
+        FiltroDuplicados filtro = new FiltroDuplicados(10, 0);
+        AtomicInteger reentrega = new AtomicInteger();
+
+        filtro.entrar(CANAL, "evento:1", () -> { });
+        FiltroDuplicados.Entrada nova = filtro.entrar(CANAL, "evento:1", reentrega::incrementAndGet);
+
+        assertFalse(nova.duplicado());
+        nova.aoConcluir().run();
+        assertEquals(1, reentrega.get());
+        assertTrue(filtro.entrar(CANAL, "evento:1", () -> { }).duplicado());
+    }
+
+    @Test
+    @DisplayName("Deve descartar do LRU a identidade usada há mais tempo quando passa da capacidade")
+    void deveDescartarIdentidadeMaisAntigaDoLru() {
+        FiltroDuplicados filtro = new FiltroDuplicados(2, 60_000);
+        concluir(filtro, "evento:1");
+        concluir(filtro, "evento:2");
+        // Ver o 1 de novo o leva para o fim; o 2 passa a ser o mais antigo
+        assertTrue(filtro.entrar(CANAL, "evento:1", () -> { }).duplicado());
+        concluir(filtro, "evento:3");
+
+        assertEquals(2, filtro.tamanho());
+        assertTrue(filtro.entrar(CANAL, "evento:1", () -> { }).duplicado());
+        assertTrue(filtro.entrar(CANAL, "evento:3", () -> { }).duplicado());
+        assertFalse(filtro.entrar(CANAL, "evento:2", () -> { }).duplicado());
+    }
+
+    @Test
+    @DisplayName("Não deve filtrar eventos sem identidade nem eventos de outro canal")
+    void naoDeveFiltrarSemIdentidadeNemOutroCanal() {
+        FiltroDuplicados filtro = new FiltroDuplicados(10, 60_000);
+        concluir(filtro, "evento:1");
+
+        assertFalse(filtro.entrar(CANAL, null, () -> { }).duplicado());
+        assertFalse(filtro.entrar("eventos:sistema1", "evento:1", () -> { }).duplicado());
+        assertEquals(2, filtro.tamanho());
+    }
+
+    @Test
+    @DisplayName("Deve identificar o evento pelo idEvento e, na falta dele, pelo ID da entrada no stream")
+    void deveIdentificarPorIdEventoDepoisPeloStream() {
+        assertEquals("evento:7", FiltroDuplicados.identidade("{\"idEvento\":7,\"idPaciente\":1}", "1700-0"));
+        assertEquals("entrega:1700-0", FiltroDuplicados.identidade("{\"idPaciente\":1}", "1700-0"));
+        assertEquals("entrega:1700-0", FiltroDuplicados.identidade("{\"idEvento\":null}", "1700-0"));
+        assertNull(FiltroDuplicados.identidade("{\"idPaciente\":1}", null));
+        assertNull(FiltroDuplicados.identidade("não é json", null));
+    }
+
+    private static void concluir(FiltroDuplicados filtro, String identidade) {
+        filtro.entrar(CANAL, identidade, () -> { }).aoConcluir().run();
+    }
+}
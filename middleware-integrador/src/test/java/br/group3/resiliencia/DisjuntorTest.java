@@ -0,0 +1,104 @@
+package br.group3.resiliencia;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de {@link Disjuntor}: transições entre fechado, aberto e meio aberto, com um relógio
+ * manual no lugar de {@link System#nanoTime()}.
+ */
+public class DisjuntorTest {
+
+    private static final String NOME = "teste-disjuntor";
+
+    private final AtomicLong relogio = new AtomicLong();
+    private Disjuntor disjuntor;
+
+    @BeforeEach
+    void setUp() {
+        System.setProperty(NOME + ".disjuntor.falhas", "3");
+        System.setProperty(NOME + ".disjuntor.aberturaMs", "1000");
+        disjuntor = new Disjuntor(NOME, relogio::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(NOME + ".disjuntor.falhas");
+        System.clearProperty(NOME + ".disjuntor.aberturaMs");
+    }
+
+    @Test
+    @DisplayName("Deve abrir só depois do limite de falhas seguidas")
+    void deveAbrirNoLimiteDeFalhas() {
+        falhar(2);
+        assertEquals(Disjuntor.Estado.FECHADO, disjuntor.estado());
+        assertTrue(disjuntor.permite());
+
+        falhar(1);
+
+        assertEquals(Disjuntor.Estado.ABERTO, disjuntor.estado());
+        assertFalse(disjuntor.permite());
+    }
+
+    @Test
+    @DisplayName("Deve zerar as falhas seguidas a cada sucesso")
+    void deveZerarFalhasNoSucesso() {
+        falhar(2);
+        disjuntor.registrarSucesso();
+        falhar(2);
+
+        assertEquals(Disjuntor.Estado.FECHADO, disjuntor.estado());
+    }
+
+    @Test
+    @DisplayName("Deve liberar uma única chamada de teste depois do tempo de abertura e fechar se ela der certo")
+    void deveFecharQuandoTesteDaCerto() {
+        falhar(3);
+        avancarMs(999);
+        assertFalse(disjuntor.permite());
+
+        avancarMs(1);
+
+        assertTrue(disjuntor.permite());
+        assertEquals(Disjuntor.Estado.MEIO_ABERTO, disjuntor.estado());
+        assertFalse(disjuntor.permite(), "só uma chamada de teste por vez");
+
+        disjuntor.registrarSucesso();
+
+        assertEquals(Disjuntor.Estado.FECHADO, disjuntor.estado());
+        assertTrue(disjuntor.permite());
+    }
+
+    @Test
+    @DisplayName("Deve abrir de novo, por mais um período inteiro, se a chamada de teste falhar")
+    void deveReabrirQuandoTesteFalha() {
+        falhar(3);
+        avancarMs(1000);
+        assertTrue(disjuntor.permite());
+
+        disjuntor.registrarFalha();
+
+        assertEquals(Disjuntor.Estado.ABERTO, disjuntor.estado());
+        avancarMs(999);
+        assertFalse(disjuntor.permite());
+        avancarMs(1);
+        assertTrue(disjuntor.permite());
+    }
+
+    private void falhar(int vezes) {
+        for (int i = 0; i < vezes; i++) {
+            disjuntor.registrarFalha();
+        }
+    }
+
+    private void avancarMs(long ms) {
+        relogio.addAndGet(TimeUnit.MILLISECONDS.toNanos(ms));
+    }
+}
@@ -0,0 +1,54 @@
+package br.group3.resiliencia;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de {@link PoliticaRetentativa}: número de tentativas e limites do atraso com full jitter.
+ */
+public class PoliticaRetentativaTest {
+
+    private static final String NOME = "teste-retentativa";
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(NOME + ".retentativa.tentativas");
+        System.clearProperty(NOME + ".retentativa.baseMs");
+        System.clearProperty(NOME + ".retentativa.maxMs");
+    }
+
+    @Test
+    @DisplayName("Deve contar a tentativa original no total de tentativas")
+    void deveContarTentativaOriginal() {
+        System.setProperty(NOME + ".retentativa.tentativas", "3");
+        PoliticaRetentativa politica = new PoliticaRetentativa(NOME);
+
+        assertTrue(politica.podeRepetir(1));
+        assertTrue(politica.podeRepetir(2));
+        assertFalse(politica.podeRepetir(3));
+    }
+
+    @Test
+    @DisplayName("Deve sortear o atraso entre zero e min(teto, base * 2^(tentativa - 1))")
+    void deveManterAtrasoDentroDosLimites() {
+        System.setProperty(NOME + ".retentativa.baseMs", "100");
+        System.setProperty(NOME + ".retentativa.maxMs", "1000");
+        PoliticaRetentativa politica = new PoliticaRetentativa(NOME);
+
+        for (int tentativa = 1; tentativa <= 40; tentativa++) {
+            long limite = Math.min(1000, 100L << Math.min(tentativa - 1, 30));
+            long maior = 0;
+            for (int i = 0; i < 2_000; i++) {
+                long atraso = politica.atrasoMs(tentativa);
+                assertTrue(atraso >= 0 && atraso <= limite,
+                        "tentativa " + tentativa + ": atraso " + atraso + " fora de [0, " + limite + "]");
+                maior = Math.max(maior, atraso);
+            }
+            // Com 2000 sorteios, o maior atraso chega perto do limite: o jitter cobre o intervalo todo
+            assertTrue(maior > limite / 2, "tentativa " + tentativa + ": maior atraso " + maior);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package br.group3.spool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de {@link Segmento}: ida e volta dos registros e a leitura parando no primeiro registro
+ * incompleto ou corrompido.
+ */
+public class SegmentoTest {
+
+    @TempDir
+    Path diretorio;
+
+    private final CRC32 crc = new CRC32();
+
+    @Test
+    @DisplayName("Deve ler de volta os registros gravados, na ordem e com UTF-8 preservado")
+    void deveLerRegistrosGravados() throws IOException {
+        Segmento segmento = Segmento.criar(diretorio, 10, 4096);
+        gravar(segmento, 10, "eventos:sistema1", "{\"nome\":\"João\"}");
+        gravar(segmento, 11, "eventos:sistema2", "");
+        gravar(segmento, 12, "c", "{\"idPaciente\":3}");
+        segmento.sincronizar();
+
+        List<Segmento.Registro> lidos = ler(segmento.arquivo());
+
+        assertEquals(List.of(
+                new Segmento.Registro(10, "eventos:sistema1", "{\"nome\":\"João\"}"),
+                new Segmento.Registro(11, "eventos:sistema2", ""),
+                new Segmento.Registro(12, "c", "{\"idPaciente\":3}")), lidos);
+        assertEquals(10, Segmento.primeiraSequencia(segmento.arquivo()));
+        assertTrue(Segmento.ehSegmento(segmento.arquivo()));
+    }
+
+    @Test
+    @DisplayName("Deve parar no registro cujo tamanho não chegou a ser gravado")
+    void devePararNoRegistroSemTamanho() throws IOException {
+        Segmento segmento = Segmento.criar(diretorio, 0, 4096);
+        int inicioTerceiro = gravar(segmento, 0, "c", "a") + gravar(segmento, 1, "c", "b");
+        gravar(segmento, 2, "c", "c");
+        gravar(segmento, 3, "c", "d");
+        segmento.sincronizar();
+
+        // Escrita interrompida antes do último passo: corpo e CRC no lugar, tamanho ainda zero
+        escreverInt(segmento.arquivo(), inicioTerceiro, 0);
+
+        assertEquals(List.of(0L, 1L), sequencias(ler(segmento.arquivo())));
+    }
+
+    @Test
+    @DisplayName("Deve parar no registro com CRC inválido")
+    void devePararNoRegistroComCrcInvalido() throws IOException {
+        Segmento segmento = Segmento.criar(diretorio, 0, 4096);
+        int inicioSegundo = gravar(segmento, 0, "c", "a");
+        gravar(segmento, 1, "c", "payload");
+        gravar(segmento, 2, "c", "c");
+        segmento.sincronizar();
+
+        // Troca o último byte do payload do segundo registro
+        int ultimoByte = inicioSegundo + Segmento.tamanhoRegistro(bytes("c"), bytes("payload")) - 1;
+        try (FileChannel canal = FileChannel.open(segmento.arquivo(), StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.wrap(bytes("X")), ultimoByte);
+        }
+
+        assertEquals(List.of(0L), sequencias(ler(segmento.arquivo())));
+    }
+
+    @Test
+    @DisplayName("Deve parar quando o tamanho do registro passa do fim do arquivo")
+    void devePararNoTamanhoAlemDoFim() throws IOException {
+        Segmento segmento = Segmento.criar(diretorio, 0, 64);
+        int inicioSegundo = gravar(segmento, 0, "c", "a");
+        segmento.sincronizar();
+
+        escreverInt(segmento.arquivo(), inicioSegundo, 1_000);
+
+        assertEquals(List.of(0L), sequencias(ler(segmento.arquivo())));
+    }
+
+    private int gravar(Segmento segmento, long sequencia, String canal, String mensagem) {
+        segmento.gravar(sequencia, bytes(canal), bytes(mensagem), crc);
+        return Segmento.tamanhoRegistro(bytes(canal), bytes(mensagem));
+    }
+
+    private static List<Segmento.Registro> ler(Path arquivo) throws IOException {
+        List<Segmento.Registro> lidos = new ArrayList<>();
+        Segmento.ler(arquivo, lidos::add);
+        return lidos;
+    }
+
+    private static List<Long> sequencias(List<Segmento.Registro> registros) {
+        return registros.stream().map(Segmento.Registro::sequencia).toList();
+    }
+
+    private static void escreverInt(Path arquivo, int posicao, int valor) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.allocate(Integer.BYTES).putInt(valor).flip(), posicao);
+        }
+    }
+
+    private static byte[] bytes(String texto) {
+        return texto.getBytes(StandardCharsets.UTF_8);
+    }
+}
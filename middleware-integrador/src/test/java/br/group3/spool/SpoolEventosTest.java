@@ -0,0 +1,126 @@
+package br.group3.spool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de {@link SpoolEventos}: recuperação depois de uma queda e remoção dos segmentos já
+ * concluídos.
+ * <p>A queda é simulada abrindo um segundo spool no mesmo diretório sem fechar o primeiro: o
+ * disco fica como estaria se o processo tivesse morrido ali.</p>
+ */
+public class SpoolEventosTest {
+
+    private static final List<String> PROPRIEDADES = List.of(
+            "spool.segmento.bytes", "spool.commit.intervaloMs", "spool.checkpoint.intervaloMs");
+
+    @TempDir
+    Path diretorio;
+
+    private final List<SpoolEventos> abertos = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        System.setProperty("spool.segmento.bytes", "256");
+        System.setProperty("spool.commit.intervaloMs", "1");
+        System.setProperty("spool.checkpoint.intervaloMs", "5");
+    }
+
+    @AfterEach
+    void tearDown() {
+        abertos.forEach(SpoolEventos::fechar);
+        PROPRIEDADES.forEach(System::clearProperty);
+    }
+
+    @Test
+    @DisplayName("Deve reentregar depois da queda só as sequências a partir do checkpoint")
+    void deveReentregarAPartirDoCheckpoint() throws Exception {
+        SpoolEventos antes = abrir();
+        assertEquals(0, antes.recuperar((sequencia, canal, mensagem) -> fail("spool vazio")));
+        for (int i = 0; i < 12; i++) {
+            assertEquals(i, antes.registrar("canal-" + (i % 2), "{\"idPaciente\":" + i + "}"));
+        }
+        // Conclui fora de ordem: o 8 está concluído, mas o checkpoint para no 7
+        for (long sequencia : new long[]{0, 1, 2, 3, 4, 5, 6, 8}) {
+            antes.concluir(sequencia);
+        }
+        aguardarCheckpoint(7);
+
+        List<String> reentregues = new ArrayList<>();
+        SpoolEventos depois = abrir();
+        int total = depois.recuperar((sequencia, canal, mensagem) -> reentregues.add(sequencia + " " + canal + " " + mensagem));
+
+        assertEquals(5, total);
+        assertEquals(List.of(
+                "7 canal-1 {\"idPaciente\":7}",
+                "8 canal-0 {\"idPaciente\":8}",
+                "9 canal-1 {\"idPaciente\":9}",
+                "10 canal-0 {\"idPaciente\":10}",
+                "11 canal-1 {\"idPaciente\":11}"), reentregues);
+        assertEquals(5, depois.pendentes());
+        // As novas sequências continuam depois da maior já gravada
+        assertEquals(12, depois.registrar("canal-0", "{}"));
+    }
+
+    @Test
+    @DisplayName("Deve apagar os segmentos inteiramente concluídos depois do checkpoint")
+    void deveApagarSegmentosConcluidos() throws Exception {
+        SpoolEventos spool = abrir();
+        spool.recuperar((sequencia, canal, mensagem) -> { });
+        for (int i = 0; i < 40; i++) {
+            spool.registrar("canal", "{\"idPaciente\":" + i + "}");
+        }
+        long segmentosAntes = segmentos();
+        assertTrue(segmentosAntes > 2, "o teste precisa de vários segmentos");
+
+        for (long sequencia = 0; sequencia < 40; sequencia++) {
+            spool.concluir(sequencia);
+        }
+        aguardarCheckpoint(40);
+
+        assertEquals(1, segmentos());
+        assertEquals(0, spool.pendentes());
+    }
+
+    private SpoolEventos abrir() {
+        SpoolEventos spool = new SpoolEventos(diretorio);
+        abertos.add(spool);
+        return spool;
+    }
+
+    private void aguardarCheckpoint(long esperado) throws IOException, InterruptedException {
+        long limite = System.nanoTime() + 5_000_000_000L;
+        while (lerCheckpoint() != esperado) {
+            assertTrue(System.nanoTime() < limite, "checkpoint não chegou a " + esperado + ": " + lerCheckpoint());
+            Thread.sleep(5);
+        }
+    }
+
+    private long lerCheckpoint() throws IOException {
+        try (FileChannel canal = FileChannel.open(diretorio.resolve("checkpoint"), StandardOpenOption.READ)) {
+            ByteBuffer dados = ByteBuffer.allocate(Long.BYTES);
+            return canal.read(dados, 0) < Long.BYTES ? -1 : dados.flip().getLong();
+        }
+    }
+
+    private long segmentos() throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.filter(Segmento::ehSegmento).count();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package br.group3.transformers;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de {@link CodecOdm}: campos desconhecidos pulados (inclusive dentro dos exames), campos
+ * ausentes fora do corpo, datas no formato ISO e nenhum resto de uma conversão na seguinte.
+ */
+public class CodecOdmTest {
+
+    @Test
+    @DisplayName("Deve converter a consulta, pulando campos desconhecidos e reescrevendo a data")
+    void deveConverterConsulta() {
+        String evento = "{\"_id\":{\"$oid\":\"65a\"},\"dataHora\":\"2025-01-15 10:00:00\",\"motivo\":\"Rotina\","
+                + "\"idConsulta\":7,\"idMedico\":\"2\",\"idPaciente\":3,\"status\":\"AGENDADA\",\"extra\":[1,2]}";
+
+        CodecOdm.CorpoApi corpo = CodecOdm.consulta(evento);
+
+        assertEquals("7", corpo.id());
+        assertFalse(corpo.remocao());
+        assertEquals("{\"dataHora\":\"2025-01-15T10:00:00\",\"motivo\":\"Rotina\",\"idMedico\":2,\"idPaciente\":3,"
+                + "\"status\":\"AGENDADA\"}", corpo.corpo());
+    }
+
+    @Test
+    @DisplayName("Deve copiar os nulos como null e deixar fora do corpo os campos ausentes, que a API lê como null")
+    void deveManterNulosEOmitirAusentes() {
+        CodecOdm.CorpoApi corpo = CodecOdm.consulta("{\"motivo\":null,\"idPaciente\":3,\"dataHora\":\"2025-01-15\"}");
+
+        assertNull(corpo.id());
+        assertEquals("{\"motivo\":null,\"idPaciente\":3,\"dataHora\":\"2025-01-15T00:00:00\"}", corpo.corpo());
+    }
+
+    @Test
+    @DisplayName("Deve copiar os exames do prontuário pulando campos desconhecidos de cada exame")
+    void deveConverterProntuarioComExames() {
+        String evento = "{\"exames\":[{\"nomeExame\":\"Hemograma\",\"laboratorio\":{\"nome\":\"X\"},"
+                + "\"dataRealizacao\":\"2025-01-10 08:30:00\"},42,{\"nomeExame\":\"Raio X\"}],"
+                + "\"idPaciente\":3,\"diagnostico\":\"Gripe\",\"idProntuario\":9,\"operacao\":\"ATUALIZADO\"}";
+
+        CodecOdm.CorpoApi corpo = CodecOdm.prontuario(evento);
+
+        assertEquals("9", corpo.id());
+        assertFalse(corpo.remocao());
+        assertEquals("{\"exames\":[{\"nomeExame\":\"Hemograma\",\"dataRealizacao\":\"2025-01-10T08:30:00\"},"
+                + "{\"nomeExame\":\"Raio X\"}],\"idPaciente\":3,\"diagnostico\":\"Gripe\"}", corpo.corpo());
+    }
+
+    @Test
+    @DisplayName("Não deve levar o ID nem a remoção de uma conversão para a seguinte")
+    void naoDeveVazarEstadoEntreConversoes() {
+        CodecOdm.CorpoApi remocao = CodecOdm.prontuario("{\"operacao\":\"REMOVIDO\",\"idProntuario\":9,\"diagnostico\":\"Gripe\"}");
+        assertTrue(remocao.remocao());
+
+        CodecOdm.CorpoApi seguinte = CodecOdm.consulta("{\"motivo\":\"Retorno\"}");
+
+        assertNull(seguinte.id());
+        assertFalse(seguinte.remocao());
+        assertEquals("{\"motivo\":\"Retorno\"}", seguinte.corpo());
+    }
+}
@@ -0,0 +1,55 @@
+package br.group3.transformers;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de {@link CodecPaciente}: campos desconhecidos pulados, campos ausentes como {@code null}
+ * e nenhum resto de uma conversão na seguinte.
+ */
+public class CodecPacienteTest {
+
+    @Test
+    @DisplayName("Deve copiar só os campos do PacienteDTO e pular os demais, inclusive aninhados")
+    void devePularCamposDesconhecidos() {
+        String evento = "{\"_id\":{\"$oid\":\"65a\"},\"nomeCompleto\":\"Ana\",\"exames\":[{\"cpf\":\"999\"}],"
+                + "\"dataNascimento\":\"1990-01-01\",\"cpf\":\"123\",\"endereco\":\"Rua A\",\"telefone\":11999990000,"
+                + "\"extra\":null}";
+
+        assertEquals("{\"nomeCompleto\":\"Ana\",\"dataNascimento\":\"1990-01-01\",\"cpf\":\"123\","
+                + "\"endereco\":\"Rua A\",\"telefone\":\"11999990000\"}", CodecPaciente.paraCorpoApi(evento));
+    }
+
+    @Test
+    @DisplayName("Deve enviar como null os campos ausentes, nulos ou de tipo inesperado")
+    void deveEnviarNullNosCamposAusentes() {
+        String evento = "{\"nomeCompleto\":\"Ana\",\"cpf\":null,\"endereco\":{\"rua\":\"A\"}}";
+
+        assertEquals("{\"nomeCompleto\":\"Ana\",\"dataNascimento\":null,\"cpf\":null,\"endereco\":null,\"telefone\":null}",
+                CodecPaciente.paraCorpoApi(evento));
+    }
+
+    @Test
+    @DisplayName("Não deve levar campos de uma conversão para a seguinte")
+    void naoDeveVazarEstadoEntreConversoes() {
+        CodecPaciente.paraCorpoApi("{\"nomeCompleto\":\"Ana\",\"dataNascimento\":\"1990-01-01\",\"cpf\":\"123\","
+                + "\"endereco\":\"Rua A\",\"telefone\":\"11\"}");
+
+        assertEquals("{\"nomeCompleto\":\"Bia\",\"dataNascimento\":null,\"cpf\":null,\"endereco\":null,\"telefone\":null}",
+                CodecPaciente.paraCorpoApi("{\"nomeCompleto\":\"Bia\"}"));
+    }
+
+    @Test
+    @DisplayName("Deve falhar com JSON inválido sem estragar a próxima conversão")
+    void deveFalharComJsonInvalido() {
+        assertThrows(RuntimeException.class, () -> CodecPaciente.paraCorpoApi("{\"nomeCompleto\":\"Ana\","));
+        assertThrows(UncheckedIOException.class, () -> CodecPaciente.paraCorpoApi("{\"nomeCompleto\":"));
+
+        assertEquals("{\"nomeCompleto\":\"Bia\",\"dataNascimento\":null,\"cpf\":null,\"endereco\":null,\"telefone\":null}",
+                CodecPaciente.paraCorpoApi("{\"nomeCompleto\":\"Bia\"}"));
+    }
+}
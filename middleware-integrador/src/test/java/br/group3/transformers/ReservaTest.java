@@ -0,0 +1,48 @@
+package br.group3.transformers;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de {@link Reserva}: reaproveitamento das instâncias devolvidas e limite de vagas.
+ */
+public class ReservaTest {
+
+    @Test
+    @DisplayName("Deve reaproveitar a instância devolvida, sem criar outra")
+    void deveReaproveitarInstanciaDevolvida() {
+        AtomicInteger criadas = new AtomicInteger();
+        Reserva<Object> reserva = new Reserva<>(() -> { criadas.incrementAndGet(); return new Object(); }, 2);
+
+        Object primeira = reserva.pegar();
+        reserva.devolver(primeira);
+
+        assertSame(primeira, reserva.pegar());
+        assertEquals(1, criadas.get());
+    }
+
+    @Test
+    @DisplayName("Deve criar instâncias além das vagas e descartar as que não couberem na volta")
+    void deveCriarAlemDasVagasEDescartarExcedente() {
+        AtomicInteger criadas = new AtomicInteger();
+        Reserva<Object> reserva = new Reserva<>(() -> { criadas.incrementAndGet(); return new Object(); }, 2);
+
+        Object a = reserva.pegar();
+        Object b = reserva.pegar();
+        Object c = reserva.pegar();
+        assertEquals(3, criadas.get());
+        reserva.devolver(a);
+        reserva.devolver(b);
+        reserva.devolver(c);
+
+        reserva.pegar();
+        reserva.pegar();
+        assertEquals(3, criadas.get());
+        reserva.pegar();
+        assertEquals(4, criadas.get());
+    }
+}